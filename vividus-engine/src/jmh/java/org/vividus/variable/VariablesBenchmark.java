@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.variable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the variable lookup of {@link Variables} against the baseline {@link LegacyVariables} implementation.
+ * Run with <code>./gradlew :vividus-engine:jmh</code>, add <code>-Pjmh.profilers=gc</code> to see allocation
+ * rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariablesBenchmark
+{
+    @Param({ "stepVariable", "batchVariable", "users[1].name", "order.items[0].price", "missing:default" })
+    private String key;
+
+    private Variables variables;
+    private LegacyVariables legacyVariables;
+
+    @Setup
+    public void setUp()
+    {
+        Map<String, Object> batchVariables = Map.of("batchVariable", "batch", "order",
+                Map.of("items", List.of(Map.of("price", "10"))));
+        variables = new Variables(batchVariables);
+        legacyVariables = new LegacyVariables(batchVariables);
+
+        List<User> users = List.of(new User("first"), new User("second"));
+        variables.putStoryVariable("users", users);
+        legacyVariables.putStoryVariable("users", users);
+        for (int i = 0; i < 20; i++)
+        {
+            variables.putScenarioVariable("scenarioVariable" + i, i);
+            legacyVariables.putScenarioVariable("scenarioVariable" + i, i);
+        }
+
+        variables.initStepVariables();
+        legacyVariables.initStepVariables();
+        variables.putStepVariable("stepVariable", "step");
+        legacyVariables.putStepVariable("stepVariable", "step");
+        variables.initStepVariables();
+        legacyVariables.initStepVariables();
+    }
+
+    @Benchmark
+    public Object scopedLookup()
+    {
+        return variables.getVariable(key);
+    }
+
+    @Benchmark
+    public Object legacyLookup()
+    {
+        return legacyVariables.getVariable(key);
+    }
+
+    private static final class User
+    {
+        @SuppressWarnings("unused")
+        private final String name;
+
+        private User(String name)
+        {
+            this.name = name;
+        }
+    }
+}
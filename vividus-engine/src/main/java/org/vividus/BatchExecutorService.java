@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.vividus.context.RunTestContext;
+import org.vividus.context.VariableContext;
+
+/**
+ * The view of the executor shared by the batches running concurrently. The view limits the number of the batch tasks
+ * executed simultaneously by the number of the batch threads, binds the batch to the worker thread for the time of
+ * the task execution and clears the batch variables once the task is completed, since the worker threads are reused
+ * by the different batches.
+ */
+final class BatchExecutorService extends AbstractExecutorService
+{
+    private final Executor sharedExecutor;
+    private final String batchKey;
+    private final int threads;
+    private final RunTestContext runTestContext;
+    private final VariableContext variableContext;
+
+    private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+    private int runningTasks;
+    private boolean shutdown;
+
+    BatchExecutorService(Executor sharedExecutor, String batchKey, int threads, RunTestContext runTestContext,
+            VariableContext variableContext)
+    {
+        this.sharedExecutor = sharedExecutor;
+        this.batchKey = batchKey;
+        this.threads = threads;
+        this.runTestContext = runTestContext;
+        this.variableContext = variableContext;
+    }
+
+    @Override
+    public synchronized void execute(Runnable command)
+    {
+        if (shutdown)
+        {
+            throw new RejectedExecutionException("Executor of " + batchKey + " is shut down");
+        }
+        pendingTasks.add(command);
+        schedulePendingTasks();
+    }
+
+    private synchronized void schedulePendingTasks()
+    {
+        while (runningTasks < threads && !pendingTasks.isEmpty())
+        {
+            Runnable task = pendingTasks.poll();
+            runningTasks++;
+            try
+            {
+                sharedExecutor.execute(() -> runTask(task));
+            }
+            catch (RejectedExecutionException e)
+            {
+                runningTasks--;
+                throw e;
+            }
+        }
+    }
+
+    private void runTask(Runnable task)
+    {
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        thread.setName(batchKey + '-' + threadName);
+        runTestContext.bindRunningBatch(batchKey);
+        try
+        {
+            task.run();
+        }
+        finally
+        {
+            variableContext.clearBatchVariables();
+            runTestContext.unbindRunningBatch();
+            thread.setName(threadName);
+            completeTask();
+        }
+    }
+
+    private synchronized void completeTask()
+    {
+        runningTasks--;
+        schedulePendingTasks();
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void shutdown()
+    {
+        shutdown = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow()
+    {
+        shutdown = true;
+        List<Runnable> notStartedTasks = new ArrayList<>(pendingTasks);
+        pendingTasks.clear();
+        notifyAll();
+        return notStartedTasks;
+    }
+
+    @Override
+    public synchronized boolean isShutdown()
+    {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated()
+    {
+        return shutdown && runningTasks == 0 && pendingTasks.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated())
+        {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+            {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+}
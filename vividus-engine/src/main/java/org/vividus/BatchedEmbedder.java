@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,17 @@
 
 package org.vividus;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
@@ -32,6 +36,7 @@ import org.jbehave.core.embedder.EmbedderControls;
 import org.jbehave.core.embedder.EmbedderMonitor;
 import org.jbehave.core.embedder.MetaFilter;
 import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.embedder.StoryManager;
 import org.jbehave.core.failures.BatchFailures;
 import org.jbehave.core.steps.InjectableStepsFactory;
 import org.vividus.batch.BatchConfiguration;
@@ -48,6 +53,7 @@ public class BatchedEmbedder extends Embedder
     private boolean reportBeforeStories = true;
     private boolean reportAfterStories;
     private boolean generateViewAfterBatches;
+    private int concurrentBatchesThreads;
 
     private String batch;
     private boolean failFast;
@@ -63,67 +69,226 @@ public class BatchedEmbedder extends Embedder
     public void runStoriesAsPaths(Map<String, List<String>> storyPathsBatches)
     {
         processSystemProperties();
-        int batchesSize = storyPathsBatches.size();
-        Iterator<Entry<String, List<String>>> iterator = storyPathsBatches.entrySet().iterator();
+        List<Entry<String, List<String>>> batches = List.copyOf(storyPathsBatches.entrySet());
         generateViewAfterExecution(() ->
         {
-            for (int i = 1; iterator.hasNext(); i++)
+            int batchIndex = 0;
+            while (batchIndex < batches.size())
             {
-                reportBeforeStories = i == 1;
-                reportAfterStories = i == batchesSize;
+                int nextBatchIndex = findEndOfConcurrentBatches(batches, batchIndex);
+                boolean firstBatches = batchIndex == 0;
+                boolean lastBatches = nextBatchIndex == batches.size();
+                boolean failedFast = nextBatchIndex - batchIndex > 1
+                        ? runBatchesConcurrently(batches.subList(batchIndex, nextBatchIndex), firstBatches,
+                                lastBatches)
+                        : runBatch(batches.get(batchIndex), firstBatches, lastBatches);
+                if (failedFast)
+                {
+                    break;
+                }
+                batchIndex = nextBatchIndex;
+            }
+        });
+    }
 
-                Entry<String, List<String>> storyPathsBatch = iterator.next();
-                batch = storyPathsBatch.getKey();
+    private int findEndOfConcurrentBatches(List<Entry<String, List<String>>> batches, int batchIndex)
+    {
+        int nextBatchIndex = batchIndex + 1;
+        if (concurrentBatchesThreads > 0 && isIndependent(batches.get(batchIndex)))
+        {
+            while (nextBatchIndex < batches.size() && isIndependent(batches.get(nextBatchIndex)))
+            {
+                nextBatchIndex++;
+            }
+        }
+        return nextBatchIndex;
+    }
 
-                BatchConfiguration batchConfiguration = batchStorage.getBatchConfiguration(
-                        batch);
-                Optional.ofNullable(batchConfiguration.isFailStoryFast())
-                        .ifPresent(fsf -> configuration().storyControls().doResetStateBeforeScenario(!fsf));
-                useEmbedderControls(createEmbedderControls(batchConfiguration));
-                useMetaFilters(batchConfiguration.getMetaFilters());
+    private boolean isIndependent(Entry<String, List<String>> storyPathsBatch)
+    {
+        BatchConfiguration batchConfiguration = batchStorage.getBatchConfiguration(storyPathsBatch.getKey());
+        // Story fail-fast is applied to the configuration shared by all batches, so it can't vary among the batches
+        // running concurrently
+        return batchConfiguration.isIndependent() && batchConfiguration.isFailStoryFast() == null;
+    }
 
-                failFast = batchConfiguration.isFailFast();
+    private boolean runBatch(Entry<String, List<String>> storyPathsBatch, boolean firstBatch, boolean lastBatch)
+    {
+        reportBeforeStories = firstBatch;
+        reportAfterStories = lastBatch;
 
-                EmbedderControls embedderControls = embedderControls();
-                embedderMonitor.usingControls(embedderControls);
-                ExecutorService executorService = createExecutorService(embedderControls.threads());
-                useExecutorService(executorService);
+        batch = storyPathsBatch.getKey();
 
-                List<String> storyPaths = storyPathsBatch.getValue();
-                if (embedderControls.skip())
-                {
-                    embedderMonitor.storiesSkipped(storyPaths);
-                    continue;
-                }
+        BatchConfiguration batchConfiguration = batchStorage.getBatchConfiguration(
+                batch);
+        Optional.ofNullable(batchConfiguration.isFailStoryFast())
+                .ifPresent(fsf -> configuration().storyControls().doResetStateBeforeScenario(!fsf));
+        useEmbedderControls(createEmbedderControls(batchConfiguration));
+        useMetaFilters(batchConfiguration.getMetaFilters());
 
-                try
-                {
-                    runTestContext.putRunningBatch(batch);
+        failFast = batchConfiguration.isFailFast();
 
-                    // JBehaveJUnitRunner may have already initialized StoryManager with default PerformableTree and
-                    // EmebedderControls, so we need to reset it and new one will be created in storyManager()
-                    storyManager = null;
+        EmbedderControls embedderControls = embedderControls();
+        embedderMonitor.usingControls(embedderControls);
+        ExecutorService executorService = createExecutorService(embedderControls.threads());
+        useExecutorService(executorService);
 
-                    MetaFilter filter = metaFilter();
-                    BatchFailures failures = new BatchFailures(embedderControls.verboseFailures());
+        List<String> storyPaths = storyPathsBatch.getValue();
+        if (embedderControls.skip())
+        {
+            embedderMonitor.storiesSkipped(storyPaths);
+            return false;
+        }
 
-                    storyManager().runStoriesAsPaths(storyPaths, filter, failures);
+        try
+        {
+            runTestContext.putRunningBatch(batch);
 
-                    handleFailures(failures);
-                    if (failFast && !failures.isEmpty())
-                    {
-                        break;
-                    }
-                }
-                finally
-                {
-                    variableContext.clearBatchVariables();
-                    runTestContext.removeRunningBatch();
-                    executorService.shutdownNow();
-                    storyManager = null;
-                }
+            // JBehaveJUnitRunner may have already initialized StoryManager with default PerformableTree and
+            // EmebedderControls, so we need to reset it and new one will be created in storyManager()
+            storyManager = null;
+
+            MetaFilter filter = metaFilter();
+            BatchFailures failures = new BatchFailures(embedderControls.verboseFailures());
+
+            storyManager().runStoriesAsPaths(storyPaths, filter, failures);
+
+            handleFailures(failures);
+            return failFast && !failures.isEmpty();
+        }
+        finally
+        {
+            variableContext.clearBatchVariables();
+            runTestContext.removeRunningBatch();
+            executorService.shutdownNow();
+            storyManager = null;
+        }
+    }
+
+    private boolean runBatchesConcurrently(List<Entry<String, List<String>>> storyPathsBatches, boolean firstBatches,
+            boolean lastBatches)
+    {
+        BatchedPerformableTree batchedPerformableTree = (BatchedPerformableTree) super.performableTree();
+        ForkJoinPool sharedPool = new ForkJoinPool(concurrentBatchesThreads);
+        List<ConcurrentBatch> concurrentBatches = new ArrayList<>(storyPathsBatches.size());
+        try
+        {
+            for (Entry<String, List<String>> storyPathsBatch : storyPathsBatches)
+            {
+                prepareConcurrentBatch(storyPathsBatch, sharedPool, firstBatches && concurrentBatches.isEmpty(),
+                        lastBatches).ifPresent(concurrentBatches::add);
             }
-        });
+            if (concurrentBatches.isEmpty())
+            {
+                return false;
+            }
+            ConcurrentBatchGroup group = new ConcurrentBatchGroup(concurrentBatches.size(), lastBatches);
+            concurrentBatches.forEach(b -> {
+                b.performableTree().setConcurrentBatchGroup(group);
+                batchedPerformableTree.bindConcurrentBatchTree(b.batchKey(), b.performableTree());
+            });
+            runConcurrentBatches(concurrentBatches, group);
+
+            boolean failedFast = false;
+            for (ConcurrentBatch concurrentBatch : concurrentBatches)
+            {
+                handleFailures(concurrentBatch.failures());
+                failedFast |= concurrentBatch.failFast() && !concurrentBatch.failures().isEmpty();
+            }
+            return failedFast;
+        }
+        finally
+        {
+            concurrentBatches.forEach(b -> b.executorService().shutdownNow());
+            sharedPool.shutdownNow();
+            batchedPerformableTree.unbindConcurrentBatchTrees();
+            usePerformableTree(batchedPerformableTree);
+            storyManager = null;
+        }
+    }
+
+    private Optional<ConcurrentBatch> prepareConcurrentBatch(Entry<String, List<String>> storyPathsBatch,
+            ForkJoinPool sharedPool, boolean reportBeforeStories, boolean reportAfterStories)
+    {
+        String batchKey = storyPathsBatch.getKey();
+        BatchConfiguration batchConfiguration = batchStorage.getBatchConfiguration(batchKey);
+        EmbedderControls embedderControls = createEmbedderControls(batchConfiguration);
+        useEmbedderControls(embedderControls);
+        useMetaFilters(batchConfiguration.getMetaFilters());
+        embedderMonitor.usingControls(embedderControls);
+
+        List<String> storyPaths = storyPathsBatch.getValue();
+        if (embedderControls.skip())
+        {
+            embedderMonitor.storiesSkipped(storyPaths);
+            return Optional.empty();
+        }
+
+        this.reportBeforeStories = reportBeforeStories;
+        this.reportAfterStories = reportAfterStories;
+        this.failFast = batchConfiguration.isFailFast();
+
+        // Each batch running concurrently needs its own StoryManager, PerformableTree and ExecutorService, they are
+        // created here sequentially, since Embedder keeps them in its state
+        BatchedPerformableTree performableTree = new BatchedPerformableTree();
+        usePerformableTree(performableTree);
+        ExecutorService executorService = new BatchExecutorService(sharedPool, batchKey, embedderControls.threads(),
+                runTestContext, variableContext);
+        useExecutorService(executorService);
+        storyManager = null;
+        ConcurrentBatch concurrentBatch = new ConcurrentBatch(batchKey, storyPaths, storyManager(), metaFilter(),
+                new BatchFailures(embedderControls.verboseFailures()), failFast, performableTree, executorService);
+        storyManager = null;
+        return Optional.of(concurrentBatch);
+    }
+
+    private void runConcurrentBatches(List<ConcurrentBatch> concurrentBatches, ConcurrentBatchGroup group)
+    {
+        ThreadFactory threadFactory = new BasicThreadFactory.Builder()
+                .namingPattern("concurrent-batches-thread-%d")
+                .build();
+        ExecutorService batchesExecutor = Executors.newFixedThreadPool(concurrentBatches.size(), threadFactory);
+        try
+        {
+            List<CompletableFuture<Void>> batchRuns = new ArrayList<>(concurrentBatches.size());
+            Iterator<ConcurrentBatch> iterator = concurrentBatches.iterator();
+            CompletableFuture<Void> firstBatchRun = CompletableFuture.runAsync(
+                    () -> runConcurrentBatch(iterator.next()), batchesExecutor);
+            batchRuns.add(firstBatchRun);
+            // The first batch performs BeforeStories, the rest batches must not start until they are completed
+            CompletableFuture.anyOf(group.getBeforeStoriesPerformed(), firstBatchRun).exceptionally(e -> null)
+                    .join();
+            iterator.forEachRemaining(b -> batchRuns.add(
+                    CompletableFuture.runAsync(() -> runConcurrentBatch(b), batchesExecutor)));
+            CompletableFuture.allOf(batchRuns.toArray(CompletableFuture[]::new)).join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+            {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        finally
+        {
+            batchesExecutor.shutdownNow();
+        }
+    }
+
+    private void runConcurrentBatch(ConcurrentBatch concurrentBatch)
+    {
+        runTestContext.bindRunningBatch(concurrentBatch.batchKey());
+        try
+        {
+            concurrentBatch.storyManager().runStoriesAsPaths(concurrentBatch.storyPaths(), concurrentBatch.filter(),
+                    concurrentBatch.failures());
+        }
+        finally
+        {
+            variableContext.clearBatchVariables();
+            runTestContext.unbindRunningBatch();
+        }
     }
 
     private void generateViewAfterExecution(Runnable runnable)
@@ -196,4 +361,21 @@ public class BatchedEmbedder extends Embedder
     {
         this.generateViewAfterBatches = generateViewAfterBatches;
     }
+
+    /**
+     * Sets the max number of threads shared by the independent batches running concurrently. A value less than or
+     * equal to zero disables the concurrent execution of the batches.
+     *
+     * @param concurrentBatchesThreads The max number of threads shared by the batches running concurrently
+     */
+    public void setConcurrentBatchesThreads(int concurrentBatchesThreads)
+    {
+        this.concurrentBatchesThreads = concurrentBatchesThreads;
+    }
+
+    private record ConcurrentBatch(String batchKey, List<String> storyPaths, StoryManager storyManager,
+            MetaFilter filter, BatchFailures failures, boolean failFast, BatchedPerformableTree performableTree,
+            ExecutorService executorService)
+    {
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@
 package org.vividus;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jbehave.core.embedder.PerformableTree;
 import org.jbehave.core.model.Story;
@@ -29,6 +31,8 @@ public class BatchedPerformableTree extends PerformableTree
     private boolean failFast;
     private boolean reportBeforeStories;
     private boolean reportAfterStories;
+    private ConcurrentBatchGroup concurrentBatchGroup;
+    private final Map<String, PerformableTree> concurrentBatchTrees = new ConcurrentHashMap<>();
 
     @Override
     public void performBeforeOrAfterStories(RunContext context, Stage stage)
@@ -41,13 +45,39 @@ public class BatchedPerformableTree extends PerformableTree
                     .toList();
             IDENTICAL_STORY_NAMES_RESOLVER.resolveIdenticalNames(currentBatchStories);
         }
-        if (reportBeforeStories && Stage.BEFORE.equals(stage) || Stage.AFTER.equals(stage)
+        if (concurrentBatchGroup != null)
+        {
+            performBeforeOrAfterStoriesInGroup(context, stage);
+        }
+        else if (reportBeforeStories && Stage.BEFORE.equals(stage) || Stage.AFTER.equals(stage)
                 && (reportAfterStories || failFast && !context.getFailures().isEmpty()))
         {
             super.performBeforeOrAfterStories(context, stage);
         }
     }
 
+    private void performBeforeOrAfterStoriesInGroup(RunContext context, Stage stage)
+    {
+        if (Stage.BEFORE.equals(stage))
+        {
+            try
+            {
+                if (reportBeforeStories)
+                {
+                    super.performBeforeOrAfterStories(context, stage);
+                }
+            }
+            finally
+            {
+                concurrentBatchGroup.completeBeforeStories();
+            }
+        }
+        else if (concurrentBatchGroup.completeBatch(failFast && !context.getFailures().isEmpty()))
+        {
+            super.performBeforeOrAfterStories(context, stage);
+        }
+    }
+
     public void setReportBeforeStories(boolean reportBeforeStories)
     {
         this.reportBeforeStories = reportBeforeStories;
@@ -62,4 +92,31 @@ public class BatchedPerformableTree extends PerformableTree
     {
         this.failFast = failFast;
     }
+
+    void setConcurrentBatchGroup(ConcurrentBatchGroup concurrentBatchGroup)
+    {
+        this.concurrentBatchGroup = concurrentBatchGroup;
+    }
+
+    /**
+     * Returns the tree of the batch: the batches running concurrently are performed by their own trees bound via
+     * {@link #bindConcurrentBatchTree(String, PerformableTree)}, the rest batches are performed by this tree.
+     *
+     * @param batchKey The key of the batch
+     * @return The tree performing the batch
+     */
+    public PerformableTree getBatchTree(String batchKey)
+    {
+        return concurrentBatchTrees.getOrDefault(batchKey, this);
+    }
+
+    void bindConcurrentBatchTree(String batchKey, PerformableTree performableTree)
+    {
+        concurrentBatchTrees.put(batchKey, performableTree);
+    }
+
+    void unbindConcurrentBatchTrees()
+    {
+        concurrentBatchTrees.clear();
+    }
 }
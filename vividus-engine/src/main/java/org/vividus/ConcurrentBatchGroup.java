@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coordinates the lifecycle of the batches running concurrently: <code>BeforeStories</code> are performed by the
+ * first batch of the group before the rest batches are started, <code>AfterStories</code> are performed by the batch
+ * completed last.
+ */
+final class ConcurrentBatchGroup
+{
+    private final CompletableFuture<Void> beforeStoriesPerformed = new CompletableFuture<>();
+    private final AtomicInteger pendingBatches;
+    private final AtomicBoolean failedFast = new AtomicBoolean();
+    private final boolean reportAfterStories;
+
+    ConcurrentBatchGroup(int batches, boolean reportAfterStories)
+    {
+        this.pendingBatches = new AtomicInteger(batches);
+        this.reportAfterStories = reportAfterStories;
+    }
+
+    void completeBeforeStories()
+    {
+        beforeStoriesPerformed.complete(null);
+    }
+
+    CompletableFuture<Void> getBeforeStoriesPerformed()
+    {
+        return beforeStoriesPerformed;
+    }
+
+    /**
+     * Marks one of the batches in the group as completed.
+     *
+     * @param batchFailedFast <code>true</code> if the batch has failures and it is configured to fail fast
+     * @return <code>true</code> if the batch is the last one running in the group and <code>AfterStories</code> must
+     * be performed by it
+     */
+    boolean completeBatch(boolean batchFailedFast)
+    {
+        if (batchFailedFast)
+        {
+            failedFast.set(true);
+        }
+        return pendingBatches.decrementAndGet() == 0 && (reportAfterStories || failedFast.get());
+    }
+}
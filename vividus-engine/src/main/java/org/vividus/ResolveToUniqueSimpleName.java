@@ -19,7 +19,6 @@ package org.vividus;
 import java.io.File;
 
 import org.apache.commons.lang3.StringUtils;
-import org.jbehave.core.embedder.PerformableTree;
 import org.jbehave.core.embedder.PerformableTree.PerformableStory;
 import org.jbehave.core.io.StoryLocation;
 import org.jbehave.core.reporters.FilePrintStreamFactory.ResolveToSimpleName;
@@ -30,9 +29,9 @@ public class ResolveToUniqueSimpleName extends ResolveToSimpleName
     private static final char UNIX_PATH_SEPARATOR = '/';
 
     private final RunContext runContext;
-    private final PerformableTree performableTree;
+    private final BatchedPerformableTree performableTree;
 
-    public ResolveToUniqueSimpleName(RunContext runContext, PerformableTree performableTree)
+    public ResolveToUniqueSimpleName(RunContext runContext, BatchedPerformableTree performableTree)
     {
         this.runContext = runContext;
         this.performableTree = performableTree;
@@ -48,13 +47,14 @@ public class ResolveToUniqueSimpleName extends ResolveToSimpleName
             return super.resolveName(storyLocation, extension);
         }
 
-        String storyName = performableTree.getRoot().getStories().stream()
+        String batchKey = runContext.getRunningBatchKey();
+        String storyName = performableTree.getBatchTree(batchKey).getRoot().getStories().stream()
                            .map(PerformableStory::getStory)
                            .filter(s -> s.getPath().equals(storyPath))
                            .findFirst().get().getName();
         String storyNameOutput = StringUtils.removeEnd(storyName, "story")
                                             .replace(UNIX_PATH_SEPARATOR, '.') + extension;
 
-        return runContext.getRunningBatchKey() + File.separator + storyNameOutput;
+        return batchKey + File.separator + storyNameOutput;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ public class BatchConfiguration
     private Integer threads;
     private List<String> metaFilters;
     private Boolean failFast;
+    private boolean independent;
     private ScenarioExecutionConfiguration scenario = new ScenarioExecutionConfiguration();
     private StoryExecutionConfiguration story = new StoryExecutionConfiguration();
     private Map<String, String> variables = Map.of();
@@ -122,6 +123,16 @@ public class BatchConfiguration
         this.failFast = failFast;
     }
 
+    public boolean isIndependent()
+    {
+        return independent;
+    }
+
+    public void setIndependent(boolean independent)
+    {
+        this.independent = independent;
+    }
+
     public Boolean isFailScenarioFast()
     {
         return scenario.failFast;
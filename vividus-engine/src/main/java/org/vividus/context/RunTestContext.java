@@ -27,6 +27,7 @@ import org.vividus.testcontext.TestContext;
 
 public class RunTestContext implements RunContext
 {
+    private final ThreadLocal<String> threadRunningBatchKey = new ThreadLocal<>();
     private TestContext testContext;
 
     // must be initialized for jbehave-junit-runner
@@ -90,9 +91,30 @@ public class RunTestContext implements RunContext
         runningBatchKey = Optional.empty();
     }
 
+    /**
+     * Binds the running batch to the current thread only. The batch bound to the thread takes precedence over the
+     * batch put via {@link #putRunningBatch(String)}, this allows to run several batches concurrently.
+     *
+     * @param batchKey The key of the batch running in the current thread
+     */
+    public void bindRunningBatch(String batchKey)
+    {
+        threadRunningBatchKey.set(batchKey);
+    }
+
+    public void unbindRunningBatch()
+    {
+        threadRunningBatchKey.remove();
+    }
+
     @Override
     public String getRunningBatchKey()
     {
+        String batchKey = threadRunningBatchKey.get();
+        if (batchKey != null)
+        {
+            return batchKey;
+        }
         return runningBatchKey.orElseThrow(() -> new IllegalStateException("No running batch is found"));
     }
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import java.util.Comparator;
+
+import org.jbehave.core.model.Story;
+
+/**
+ * Sorts stories in the longest-processing-time-first order using the story durations measured during the previous
+ * runs: the longest stories start first, so the short ones fill the threads at the end of the batch and no long story
+ * delays the batch completion. The stories not run previously are estimated by the average story duration, the ties
+ * are resolved by the fallback comparator, e.g. {@link MetaBasedStoryExecutionPriority#byNumericMetaValue(String)}.
+ */
+public class DurationBasedStoryExecutionPriority implements Comparator<Story>
+{
+    private final Comparator<Story> comparator;
+
+    public DurationBasedStoryExecutionPriority(StoryDurationHistory storyDurationHistory)
+    {
+        this(storyDurationHistory, (story1, story2) -> 0);
+    }
+
+    public DurationBasedStoryExecutionPriority(StoryDurationHistory storyDurationHistory,
+            Comparator<Story> fallbackComparator)
+    {
+        this.comparator = Comparator.<Story>comparingLong(
+                story -> storyDurationHistory.estimateDuration(story.getPath())).reversed()
+                .thenComparing(fallbackComparator);
+    }
+
+    @Override
+    public int compare(Story story1, Story story2)
+    {
+        return comparator.compare(story1, story2);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.util.json.JsonUtils;
+
+/**
+ * Keeps wall-clock durations of the stories: the durations measured during the previous runs are loaded from the
+ * history file, the durations measured during the current run are merged into the history file on {@link #save()}.
+ * If the history file is not set, the durations are neither loaded nor recorded.
+ */
+public class StoryDurationHistory
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoryDurationHistory.class);
+
+    private final Path historyFile;
+    private final JsonUtils jsonUtils;
+    private final Map<String, Long> previousDurations;
+    private final long averagePreviousDuration;
+    private final Map<String, Long> currentDurations = new ConcurrentHashMap<>();
+
+    public StoryDurationHistory(File historyFile, JsonUtils jsonUtils)
+    {
+        this.historyFile = historyFile != null ? historyFile.toPath() : null;
+        this.jsonUtils = jsonUtils;
+        this.previousDurations = loadDurations();
+        this.averagePreviousDuration = (long) previousDurations.values().stream().mapToLong(Long::longValue)
+                .average().orElse(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> loadDurations()
+    {
+        if (historyFile == null || !Files.exists(historyFile))
+        {
+            return Map.of();
+        }
+        try
+        {
+            Map<String, Number> durations = jsonUtils.toObject(Files.readString(historyFile, StandardCharsets.UTF_8),
+                    Map.class);
+            Map<String, Long> durationsInMillis = new ConcurrentHashMap<>(durations.size());
+            durations.forEach((storyPath, duration) -> durationsInMillis.put(storyPath, duration.longValue()));
+            return durationsInMillis;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOGGER.atWarn().addArgument(historyFile).setCause(e).log("Unable to read story durations from {}");
+            return Map.of();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return historyFile != null;
+    }
+
+    /**
+     * Estimates the duration of the story: if the story was run previously its last known duration is used,
+     * otherwise the average duration of all previously run stories is used.
+     *
+     * @param storyPath The path of the story
+     * @return The estimated duration of the story in milliseconds
+     */
+    public long estimateDuration(String storyPath)
+    {
+        return previousDurations.getOrDefault(storyPath, averagePreviousDuration);
+    }
+
+    public void recordDuration(String storyPath, Duration duration)
+    {
+        currentDurations.put(storyPath, duration.toMillis());
+    }
+
+    /**
+     * Predicts the makespan, i.e. the time from the start of the first story till the end of the last story, of the
+     * stories run in the longest-processing-time-first order using the specified number of threads.
+     *
+     * @param storyPaths The paths of the stories
+     * @param threads    The number of threads used to run the stories
+     * @return The predicted makespan
+     */
+    public Duration predictMakespan(List<String> storyPaths, int threads)
+    {
+        long[] estimatedDurations = storyPaths.stream().mapToLong(this::estimateDuration).toArray();
+        Arrays.sort(estimatedDurations);
+        PriorityQueue<Long> threadLoads = new PriorityQueue<>(Collections.nCopies(Math.max(threads, 1), 0L));
+        long makespan = 0;
+        for (int i = estimatedDurations.length - 1; i >= 0; i--)
+        {
+            long threadLoad = threadLoads.poll() + estimatedDurations[i];
+            makespan = Math.max(makespan, threadLoad);
+            threadLoads.add(threadLoad);
+        }
+        return Duration.ofMillis(makespan);
+    }
+
+    public void save()
+    {
+        if (historyFile == null || currentDurations.isEmpty())
+        {
+            return;
+        }
+        Map<String, Long> durations = new TreeMap<>(previousDurations);
+        durations.putAll(currentDurations);
+        try
+        {
+            Files.createDirectories(historyFile.toAbsolutePath().getParent());
+            Files.writeString(historyFile, jsonUtils.toPrettyJson(durations), StandardCharsets.UTF_8);
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().addArgument(historyFile).setCause(e).log("Unable to write story durations to {}");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.StepCollector.Stage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.ChainedStoryReporter;
+import org.vividus.batch.BatchStorage;
+import org.vividus.context.RunContext;
+import org.vividus.testcontext.TestContext;
+
+public class StoryDurationStoryReporter extends ChainedStoryReporter
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoryDurationStoryReporter.class);
+
+    private final StoryDurationHistory storyDurationHistory;
+    private final RunContext runContext;
+    private final TestContext testContext;
+    private final BatchStorage batchStorage;
+    private final Map<String, BatchTimeline> batchTimelines = new ConcurrentHashMap<>();
+
+    public StoryDurationStoryReporter(StoryDurationHistory storyDurationHistory, RunContext runContext,
+            TestContext testContext, BatchStorage batchStorage)
+    {
+        this.storyDurationHistory = storyDurationHistory;
+        this.runContext = runContext;
+        this.testContext = testContext;
+        this.batchStorage = batchStorage;
+    }
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory)
+    {
+        if (!givenStory && !runContext.isDryRun() && storyDurationHistory.isEnabled())
+        {
+            testContext.put(StoryStart.class, new StoryStart(story.getPath(), System.nanoTime()));
+        }
+        super.beforeStory(story, givenStory);
+    }
+
+    @Override
+    public void afterStory(boolean givenStory)
+    {
+        super.afterStory(givenStory);
+        if (!givenStory)
+        {
+            StoryStart storyStart = testContext.remove(StoryStart.class);
+            if (storyStart != null)
+            {
+                long end = System.nanoTime();
+                storyDurationHistory.recordDuration(storyStart.storyPath(), Duration.ofNanos(end - storyStart.start()));
+                batchTimelines.computeIfAbsent(runContext.getRunningBatchKey(), k -> new BatchTimeline())
+                        .addStory(storyStart.storyPath(), storyStart.start(), end);
+            }
+        }
+    }
+
+    @Override
+    public void afterStoriesSteps(Stage stage)
+    {
+        super.afterStoriesSteps(stage);
+        if (stage == Stage.AFTER)
+        {
+            batchTimelines.forEach((batchKey, batchTimeline) -> {
+                int threads = Optional.ofNullable(batchStorage.getBatchConfiguration(batchKey).getThreads())
+                        .orElse(1);
+                Duration predictedMakespan = storyDurationHistory.predictMakespan(batchTimeline.getStoryPaths(),
+                        threads);
+                LOGGER.info("Stories of {} predicted makespan: {}, actual makespan: {}", batchKey, predictedMakespan,
+                        batchTimeline.getMakespan());
+            });
+            storyDurationHistory.save();
+        }
+    }
+
+    private record StoryStart(String storyPath, long start)
+    {
+    }
+
+    private static final class BatchTimeline
+    {
+        private final List<String> storyPaths = new ArrayList<>();
+        private long start = Long.MAX_VALUE;
+        private long end = Long.MIN_VALUE;
+
+        synchronized void addStory(String storyPath, long storyStart, long storyEnd)
+        {
+            storyPaths.add(storyPath);
+            start = Math.min(start, storyStart);
+            end = Math.max(end, storyEnd);
+        }
+
+        synchronized List<String> getStoryPaths()
+        {
+            return List.copyOf(storyPaths);
+        }
+
+        synchronized Duration getMakespan()
+        {
+            return Duration.ofNanos(end - start);
+        }
+    }
+}
@@ -46,6 +46,7 @@ import org.vividus.converter.ResolvingPlaceholdersExamplesTableConverter;
 import org.vividus.log.LoggingTableTransformerMonitor;
 import org.vividus.steps.ParameterConvertersDecorator;
 import org.vividus.steps.PlaceholderResolver;
+import org.vividus.transformer.ColumnarTablesReleasingExamplesTableFactory;
 
 import jakarta.inject.Inject;
 
@@ -74,6 +75,7 @@ public class ExtendedConfiguration extends Configuration
         useParameterConverters(new ParameterConvertersDecorator(this, placeholderResolver)
                 .addConverters(customConverters));
         useTableTransformerMonitor(new LoggingTableTransformerMonitor(tableParsers()));
+        useExamplesTableFactory(new ColumnarTablesReleasingExamplesTableFactory(this));
         parameterConverters().addConverters(
                 new ResolvingPlaceholdersExamplesTableConverter(examplesTableFactory(), placeholderResolver));
         useStoryParser(new RegexStoryParser(examplesTableFactory()));
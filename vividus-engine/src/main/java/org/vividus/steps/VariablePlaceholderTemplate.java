@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Text parsed into the sequence of literals and variable placeholders: <code>literal0 ${key0} literal1 ...
+ * ${keyN} literalN+1</code>. The variable keys may contain nested placeholders, e.g. <code>${var${index}}</code>,
+ * such keys are parsed into templates as well. The instances are immutable and can be shared between threads.
+ */
+final class VariablePlaceholderTemplate
+{
+    private static final String VARIABLE_START_MARKER = "${";
+
+    private final String[] literals;
+    private final Placeholder[] placeholders;
+    private final int estimatedLength;
+
+    private VariablePlaceholderTemplate(String[] literals, Placeholder[] placeholders, int estimatedLength)
+    {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.estimatedLength = estimatedLength;
+    }
+
+    static VariablePlaceholderTemplate compile(String value)
+    {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int length = value.length();
+        while (true)
+        {
+            int start = -1;
+            int end = -1;
+            int level = 0;
+            for (int i = literalStart; i < length; i++)
+            {
+                char currentChar = value.charAt(i);
+                if (currentChar == '$')
+                {
+                    if (i + 1 < length && value.charAt(i + 1) == '{')
+                    {
+                        if (start == -1)
+                        {
+                            start = i;
+                        }
+                        level++;
+                    }
+                }
+                else if (currentChar == '}')
+                {
+                    if (start != -1)
+                    {
+                        end = i;
+                    }
+                    if (level > 0)
+                    {
+                        level--;
+                    }
+                }
+                if (level == 0 && end != -1)
+                {
+                    break;
+                }
+            }
+            if (level != 0 || end == -1)
+            {
+                literals.add(value.substring(literalStart));
+                break;
+            }
+            literals.add(value.substring(literalStart, start));
+            String key = value.substring(start + 2, end);
+            placeholders.add(new Placeholder(key, key.contains(VARIABLE_START_MARKER) ? compile(key) : null));
+            literalStart = end + 1;
+        }
+        return new VariablePlaceholderTemplate(literals.toArray(String[]::new),
+                placeholders.toArray(Placeholder[]::new), length);
+    }
+
+    /**
+     * Resolves the template in one pass. The placeholders with unknown variables are kept as is (with resolved
+     * nested placeholders in their keys). If the template consists of the only placeholder optionally surrounded by
+     * line breaks, the variable value is returned as is without conversion to string.
+     *
+     * @param variableValueProvider the function to get the variable value by its key, it returns <code>null</code>
+     *                              for unknown variables
+     * @return the resolved value
+     */
+    Object resolve(Function<String, Object> variableValueProvider)
+    {
+        int lastPlaceholderIndex = placeholders.length - 1;
+        if (lastPlaceholderIndex == -1)
+        {
+            return literals[0];
+        }
+        StringBuilder result = new StringBuilder(estimatedLength).append(literals[0]);
+        for (int i = 0; i <= lastPlaceholderIndex; i++)
+        {
+            String key = placeholders[i].resolveKey(variableValueProvider);
+            Object value = variableValueProvider.apply(key);
+            String nextLiteral = literals[i + 1];
+            if (value == null)
+            {
+                result.append(VARIABLE_START_MARKER).append(key).append('}');
+            }
+            else if (i == lastPlaceholderIndex && isLineBreaks(result) && isLineBreaks(nextLiteral))
+            {
+                return value;
+            }
+            else
+            {
+                result.append(value);
+            }
+            result.append(nextLiteral);
+        }
+        return result.toString();
+    }
+
+    private static boolean isLineBreaks(CharSequence value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char currentChar = value.charAt(i);
+            if (currentChar != '\r' && currentChar != '\n')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Placeholder(String key, VariablePlaceholderTemplate keyTemplate)
+    {
+        String resolveKey(Function<String, Object> variableValueProvider)
+        {
+            return keyTemplate == null ? key : keyTemplate.resolve(variableValueProvider).toString();
+        }
+    }
+}
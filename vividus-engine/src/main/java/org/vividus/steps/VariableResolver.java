@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,14 @@ package org.vividus.steps;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 import com.google.common.base.CaseFormat;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
 
-import org.apache.commons.lang3.StringUtils;
+import org.jbehave.core.annotations.AfterStories;
 import org.jbehave.core.embedder.StoryControls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,11 +39,13 @@ public class VariableResolver implements DryRunAwareExecutor
     private static final Logger LOGGER = LoggerFactory.getLogger(VariableResolver.class);
 
     private static final String VARIABLE_START_MARKER = "${";
-    private static final String LINE_BREAKS = "[\r\n]*";
+    private static final long DEFAULT_TEMPLATES_CACHE_MAX_LENGTH = 5_000_000;
 
     private final VariableContext variableContext;
     private final Map<String, DynamicVariable> dynamicVariables;
     private final StoryControls storyControls;
+    private LoadingCache<String, VariablePlaceholderTemplate> templates = createTemplatesCache(
+            DEFAULT_TEMPLATES_CACHE_MAX_LENGTH);
 
     public VariableResolver(VariableContext variableContext, Map<String, DynamicVariable> dynamicVariables,
             StoryControls storyControls)
@@ -61,96 +66,49 @@ public class VariableResolver implements DryRunAwareExecutor
 
     public Object resolve(final String value)
     {
-        if (value == null)
+        if (value == null || !value.contains(VARIABLE_START_MARKER))
         {
-            return null;
+            return value;
         }
 
-        return resolveVariables(0, value);
+        return templates.getUnchecked(value).resolve(this::getVariableValue);
     }
 
-    private Object resolveVariables(int scanStartPosition, String value)
+    /**
+     * Sets the max total length of the parsed texts with variable placeholders to cache, the least recently used
+     * entries are evicted first. <code>0</code> disables caching, every text is parsed before resolution then.
+     *
+     * @param templatesCacheMaxLength the max total number of characters in the cached parsed texts
+     */
+    public void setTemplatesCacheMaxLength(long templatesCacheMaxLength)
     {
-        int start = -1;
-        int end = -1;
-        int level = 0;
-
-        for (int i = scanStartPosition; i < value.length(); i++)
-        {
-            char currentChar = value.charAt(i);
-            if (currentChar == '$')
-            {
-                if (i + 1 < value.length() && value.charAt(i + 1) == '{')
-                {
-                    if (start == -1)
-                    {
-                        start = i;
-                    }
-                    level++;
-                }
-            }
-            else if (currentChar == '}')
-            {
-                if (start != -1)
-                {
-                    end = i;
-                }
-                if (level > 0)
-                {
-                    level--;
-                }
-            }
-            if (level == 0 && end != -1)
-            {
-                return resolveVariable(value, start, end);
-            }
-        }
-        return value;
+        this.templates = createTemplatesCache(templatesCacheMaxLength);
     }
 
-    private Object resolveVariable(String value, int start, int end)
+    public CacheStats getTemplatesCacheStats()
     {
-        String variableKey = value.substring(start + 2, end);
-        Object resolved = resolveVariable(value, variableKey);
-        if (end == value.length() - 1)
-        {
-            return resolved;
-        }
-        String resolvedStr = (String) resolved;
-        int nextScanStartPosition = resolvedStr.indexOf(value.substring(end + 1), start);
-        return resolveVariables(nextScanStartPosition, resolvedStr);
+        return templates.stats();
     }
 
-    private Object resolveVariable(String value, String variableKey)
+    @AfterStories
+    public void logTemplatesCacheStats()
     {
-        String updatedVariableKey;
-        String target;
-        if (variableKey.contains(VARIABLE_START_MARKER))
-        {
-            updatedVariableKey = (String) resolveVariables(0, variableKey);
-            target = StringUtils.replaceOnce(value, variableKey, updatedVariableKey);
-        }
-        else
-        {
-            updatedVariableKey = variableKey;
-            target = value;
-        }
-        return replaceVariableKeyWithValue(target, updatedVariableKey);
+        CacheStats stats = getTemplatesCacheStats();
+        LOGGER.atInfo()
+                .addArgument(stats::hitCount)
+                .addArgument(stats::missCount)
+                .addArgument(stats::evictionCount)
+                .addArgument(() -> String.format("%.2f", stats.hitRate()))
+                .log("Variable placeholder templates cache: {} hits, {} misses, {} evictions, hit rate: {}");
     }
 
-    private Object replaceVariableKeyWithValue(String target, String variableKey)
+    private static LoadingCache<String, VariablePlaceholderTemplate> createTemplatesCache(long maxLength)
     {
-        Object variableValue = getVariableValue(variableKey);
-        if (variableValue == null)
-        {
-            return target;
-        }
-        String variablePlaceholder = VARIABLE_START_MARKER + variableKey + "}";
-        if (target.matches(LINE_BREAKS + Pattern.quote(variablePlaceholder) + LINE_BREAKS))
-        {
-            return variableValue;
-        }
-        return StringUtils.replaceOnce(target, variablePlaceholder, variableValue.toString());
+        return CacheBuilder.newBuilder()
+                .maximumWeight(maxLength)
+                .weigher((String text, VariablePlaceholderTemplate template) -> text.length())
+                .recordStats()
+                .build(CacheLoader.from(VariablePlaceholderTemplate::compile));
     }
 
     private Object getVariableValue(String variableKey)
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory table keeping the values column by column. Every column is dictionary-encoded: each distinct
+ * value is stored once and the cells refer to it by an integer code, so the cells with equal values have equal codes.
+ * The row and the column selections share the dictionaries with the source table and don't copy the values.
+ */
+public final class ColumnarTable
+{
+    private static final String EMPTY_VALUE = "";
+
+    private final List<String> headers;
+    private final List<Column> columns;
+    private final int rowCount;
+
+    private ColumnarTable(List<String> headers, List<Column> columns, int rowCount)
+    {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Creates the table from the rows. The missing trailing values of the rows are treated as empty ones and the
+     * values exceeding the number of the headers are ignored, like ExamplesTable does.
+     *
+     * @param headers The table headers
+     * @param rows    The table rows
+     * @return The columnar table
+     */
+    public static ColumnarTable of(List<String> headers, Collection<List<String>> rows)
+    {
+        int columnCount = headers.size();
+        List<ColumnBuilder> builders = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++)
+        {
+            builders.add(new ColumnBuilder(rows.size()));
+        }
+        for (List<String> row : rows)
+        {
+            int rowSize = row.size();
+            for (int i = 0; i < columnCount; i++)
+            {
+                builders.get(i).add(i < rowSize ? row.get(i) : EMPTY_VALUE);
+            }
+        }
+        List<Column> columns = builders.stream().map(ColumnBuilder::build).toList();
+        return new ColumnarTable(List.copyOf(headers), columns, rows.size());
+    }
+
+    public List<String> getHeaders()
+    {
+        return headers;
+    }
+
+    public int getRowCount()
+    {
+        return rowCount;
+    }
+
+    public int getColumnIndex(String header)
+    {
+        return headers.indexOf(header);
+    }
+
+    public String getValue(int row, int column)
+    {
+        return columns.get(column).getValue(row);
+    }
+
+    /**
+     * Returns the dictionary code of the cell value, the cells of the same column have equal codes if and only if
+     * their values are equal.
+     *
+     * @param row    The row index
+     * @param column The column index
+     * @return The code of the value
+     */
+    public int getCode(int row, int column)
+    {
+        return columns.get(column).codes[row];
+    }
+
+    /**
+     * Returns the number of the codes of the column, the dictionary may contain the values absent in the table, if the
+     * table is a row selection of another table.
+     *
+     * @param column The column index
+     * @return The size of the column dictionary
+     */
+    public int getDictionarySize(int column)
+    {
+        return columns.get(column).dictionary.length;
+    }
+
+    public String getDictionaryValue(int column, int code)
+    {
+        return columns.get(column).dictionary[code];
+    }
+
+    /**
+     * Ranks the values of the column: the ranks of the values follow their order defined by the comparator and the
+     * values equal according to the comparator have equal ranks. The comparator is invoked for the distinct values
+     * present in the table only.
+     *
+     * @param column     The column index
+     * @param comparator The comparator of the values
+     * @return The ranks of the values indexed by the value codes
+     */
+    public int[] rankValues(int column, Comparator<String> comparator)
+    {
+        Column targetColumn = columns.get(column);
+        String[] dictionary = targetColumn.dictionary;
+        Integer[] usedCodes = targetColumn.getUsedCodes();
+        Arrays.sort(usedCodes, (code1, code2) -> comparator.compare(dictionary[code1], dictionary[code2]));
+        int[] ranks = new int[dictionary.length];
+        int rank = 0;
+        for (int i = 0; i < usedCodes.length; i++)
+        {
+            if (i > 0 && comparator.compare(dictionary[usedCodes[i - 1]], dictionary[usedCodes[i]]) != 0)
+            {
+                rank++;
+            }
+            ranks[usedCodes[i]] = rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * Tests the values of the column against the predicate, the predicate is invoked for the distinct values present
+     * in the table only.
+     *
+     * @param column    The column index
+     * @param predicate The predicate to test the values
+     * @return The results of the test indexed by the value codes
+     */
+    public boolean[] testValues(int column, Predicate<String> predicate)
+    {
+        Column targetColumn = columns.get(column);
+        boolean[] results = new boolean[targetColumn.dictionary.length];
+        for (Integer code : targetColumn.getUsedCodes())
+        {
+            results[code] = predicate.test(targetColumn.dictionary[code]);
+        }
+        return results;
+    }
+
+    /**
+     * Checks whether the values of the table satisfy the condition, the condition is checked for the distinct values
+     * present in the table only.
+     *
+     * @param column    The column index
+     * @param condition The condition to check
+     * @return <code>true</code> if all values satisfy the condition
+     */
+    public boolean allValuesMatch(int column, Predicate<String> condition)
+    {
+        Column targetColumn = columns.get(column);
+        for (Integer code : targetColumn.getUsedCodes())
+        {
+            if (!condition.test(targetColumn.dictionary[code]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the table consisting of the rows with the specified indexes in the specified order, the same row may be
+     * selected several times.
+     *
+     * @param rowIndexes The indexes of the rows to select
+     * @return The table with the selected rows
+     */
+    public ColumnarTable selectRows(int[] rowIndexes)
+    {
+        for (int rowIndex : rowIndexes)
+        {
+            Objects.checkIndex(rowIndex, rowCount);
+        }
+        List<Column> selectedColumns = columns.stream().map(c -> c.selectRows(rowIndexes)).toList();
+        return new ColumnarTable(headers, selectedColumns, rowIndexes.length);
+    }
+
+    /**
+     * Creates the table consisting of the columns with the specified headers in the specified order.
+     *
+     * @param columnHeaders The headers of the columns to select
+     * @return The table with the selected columns
+     */
+    public ColumnarTable selectColumns(List<String> columnHeaders)
+    {
+        List<Column> selectedColumns = columnHeaders.stream().map(h -> columns.get(headers.indexOf(h))).toList();
+        return new ColumnarTable(List.copyOf(columnHeaders), selectedColumns, rowCount);
+    }
+
+    public List<String> getRow(int row)
+    {
+        return new AbstractList<>()
+        {
+            @Override
+            public String get(int column)
+            {
+                return getValue(row, column);
+            }
+
+            @Override
+            public int size()
+            {
+                return columns.size();
+            }
+        };
+    }
+
+    public List<List<String>> getRows()
+    {
+        return new AbstractList<>()
+        {
+            @Override
+            public List<String> get(int row)
+            {
+                return getRow(row);
+            }
+
+            @Override
+            public int size()
+            {
+                return rowCount;
+            }
+        };
+    }
+
+    private static final class Column
+    {
+        private final String[] dictionary;
+        private final int[] codes;
+
+        private Column(String[] dictionary, int[] codes)
+        {
+            this.dictionary = dictionary;
+            this.codes = codes;
+        }
+
+        private String getValue(int row)
+        {
+            return dictionary[codes[row]];
+        }
+
+        private Integer[] getUsedCodes()
+        {
+            boolean[] used = new boolean[dictionary.length];
+            int usedCount = 0;
+            for (int code : codes)
+            {
+                if (!used[code])
+                {
+                    used[code] = true;
+                    usedCount++;
+                }
+            }
+            Integer[] usedCodes = new Integer[usedCount];
+            for (int code = 0, i = 0; code < used.length; code++)
+            {
+                if (used[code])
+                {
+                    usedCodes[i++] = code;
+                }
+            }
+            return usedCodes;
+        }
+
+        private Column selectRows(int[] rowIndexes)
+        {
+            int[] selectedCodes = new int[rowIndexes.length];
+            for (int i = 0; i < rowIndexes.length; i++)
+            {
+                selectedCodes[i] = codes[rowIndexes[i]];
+            }
+            return new Column(dictionary, selectedCodes);
+        }
+    }
+
+    private static final class ColumnBuilder
+    {
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final int[] codes;
+        private int size;
+
+        private ColumnBuilder(int rowCount)
+        {
+            this.codes = new int[rowCount];
+        }
+
+        private void add(String value)
+        {
+            Integer code = codesByValue.get(value);
+            if (code == null)
+            {
+                code = dictionary.size();
+                codesByValue.put(value, code);
+                dictionary.add(value);
+            }
+            codes[size++] = code;
+        }
+
+        private Column build()
+        {
+            return new Column(dictionary.toArray(String[]::new), codes);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.jbehave.core.model.TableTransformers.TableTransformer;
+import org.vividus.util.ExamplesTableProcessor;
+
+/**
+ * Passes {@link ColumnarTable} between the consecutive transformers of one chain. JBehave hands the tables over to the
+ * transformers as strings, so the transformer still renders its result to the text, but the next transformer of the
+ * chain reuses the columnar table instead of parsing the text, if the text is exactly the one rendered by the previous
+ * transformer and the table format is the same.
+ * <p>
+ * Only the parsing is avoided: every transformer of the chain renders its result, not only the last one, since the
+ * transformer doesn't know whether it is the last one in the chain.
+ */
+public final class ColumnarTables
+{
+    private static final List<String> CUSTOM_PARSING_PROPERTIES = List.of("nullPlaceholder", "commentSeparator",
+            "metaByRow");
+    private static final String LINE_BREAK = "\n";
+    private static final String CARRIAGE_RETURN = "\r";
+
+    private static final ThreadLocal<RenderedTable> LAST_RENDERED_TABLE = new ThreadLocal<>();
+
+    private ColumnarTables()
+    {
+    }
+
+    /**
+     * Reads the table passed to the transformer, the table rendered by the previous transformer of the chain is
+     * reused if possible, otherwise the table is parsed.
+     *
+     * @param tableAsString The table passed to the {@link TableTransformer}
+     * @param tableParsers  The table parsers
+     * @param properties    The properties of the table
+     * @return The columnar table
+     */
+    public static ColumnarTable read(String tableAsString, TableParsers tableParsers, TableProperties properties)
+    {
+        RenderedTable renderedTable = LAST_RENDERED_TABLE.get();
+        if (renderedTable != null)
+        {
+            LAST_RENDERED_TABLE.remove();
+            ColumnarTable table = renderedTable.getTable(tableAsString, TableFormat.of(properties));
+            if (table != null)
+            {
+                return table;
+            }
+        }
+        var tableRows = tableParsers.parseRows(tableAsString, properties);
+        return ColumnarTable.of(tableRows.getHeaders(), tableRows.getRows());
+    }
+
+    /**
+     * Renders the table to be returned by the transformer and keeps it for the next transformer of the chain, if the
+     * rendered text parses back exactly to the same table.
+     *
+     * @param table      The columnar table
+     * @param properties The properties of the table
+     * @return The table as string
+     */
+    public static String write(ColumnarTable table, TableProperties properties)
+    {
+        String tableAsString = ExamplesTableProcessor.buildExamplesTable(table.getHeaders(), table.getRows(),
+                properties);
+        TableFormat format = TableFormat.of(properties);
+        if (format.isRenderedLosslessly(table))
+        {
+            LAST_RENDERED_TABLE.set(new RenderedTable(tableAsString, table, format));
+        }
+        else
+        {
+            LAST_RENDERED_TABLE.remove();
+        }
+        return tableAsString;
+    }
+
+    /**
+     * Releases the table kept for the next transformer, it must be invoked once the chain of the transformers is
+     * completed.
+     */
+    public static void release()
+    {
+        LAST_RENDERED_TABLE.remove();
+    }
+
+    private static final class RenderedTable
+    {
+        private final WeakReference<String> text;
+        private final SoftReference<ColumnarTable> table;
+        private final TableFormat format;
+
+        private RenderedTable(String text, ColumnarTable table, TableFormat format)
+        {
+            this.text = new WeakReference<>(text);
+            this.table = new SoftReference<>(table);
+            this.format = format;
+        }
+
+        private ColumnarTable getTable(String tableAsString, TableFormat tableFormat)
+        {
+            return text.get() == tableAsString && format.equals(tableFormat) ? table.get() : null;
+        }
+    }
+
+    private record TableFormat(String headerSeparator, String valueSeparator, String ignorableSeparator,
+            String rowSeparator, boolean customParsing)
+    {
+        static TableFormat of(TableProperties properties)
+        {
+            Properties tableProperties = properties.getProperties();
+            return new TableFormat(properties.getHeaderSeparator(), properties.getValueSeparator(),
+                    properties.getIgnorableSeparator(), properties.getRowSeparator(),
+                    CUSTOM_PARSING_PROPERTIES.stream().anyMatch(tableProperties::containsKey));
+        }
+
+        boolean isRenderedLosslessly(ColumnarTable table)
+        {
+            List<String> headers = table.getHeaders();
+            if (customParsing || headers.isEmpty() || !isFirstValueRenderedLosslessly(headers.get(0), headerSeparator)
+                    || !headers.stream().allMatch(h -> isRenderedLosslessly(h, headerSeparator)))
+            {
+                return false;
+            }
+            return table.allValuesMatch(0, v -> isFirstValueRenderedLosslessly(v, valueSeparator))
+                    && IntStream.range(1, headers.size()).allMatch(
+                        i -> table.allValuesMatch(i, v -> isRenderedLosslessly(v, valueSeparator)));
+        }
+
+        private boolean isFirstValueRenderedLosslessly(String value, String separator)
+        {
+            return isRenderedLosslessly(value, separator)
+                    && !value.startsWith(StringUtils.removeStart(ignorableSeparator, separator));
+        }
+
+        private boolean isRenderedLosslessly(String value, String separator)
+        {
+            return value != null && value.equals(value.trim()) && !value.contains(separator)
+                    && !value.contains(ignorableSeparator) && !value.contains(rowSeparator)
+                    && !value.contains(LINE_BREAK) && !value.contains(CARRIAGE_RETURN);
+        }
+    }
+}
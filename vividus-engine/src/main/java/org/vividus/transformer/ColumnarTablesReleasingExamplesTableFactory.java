@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.model.ExamplesTable;
+import org.jbehave.core.model.ExamplesTableFactory;
+
+/**
+ * Releases the table kept by {@link ColumnarTables} for the next transformer once the whole chain of the transformers
+ * of the table is applied, so the last rendered table is not held by the thread until the next table is transformed.
+ */
+public class ColumnarTablesReleasingExamplesTableFactory extends ExamplesTableFactory
+{
+    public ColumnarTablesReleasingExamplesTableFactory(Configuration configuration)
+    {
+        super(configuration);
+    }
+
+    @Override
+    public ExamplesTable createExamplesTable(String input)
+    {
+        try
+        {
+            return super.createExamplesTable(input);
+        }
+        finally
+        {
+            ColumnarTables.release();
+        }
+    }
+}
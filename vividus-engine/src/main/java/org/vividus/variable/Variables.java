@@ -16,96 +16,131 @@
 
 package org.vividus.variable;
 
-import java.util.Deque;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
 
 public class Variables
 {
     public static final String VIVIDUS_NULL_EXPRESSION = "#{null}";
-    private static final int VARIABLE_NAME_GROUP = 1;
-    private static final int LIST_INDEX_GROUP = 2;
-    private static final int MAP_KEY_GROUP = 3;
-    private static final Pattern COMPOUND_VARIABLE_PATTERN = Pattern.compile(
-            "([^\\[\\].:]+):?(?:\\[(\\d+)])?:?(?:\\.([^:]+))?:?");
 
     private final Map<String, Object> batchVariables;
     private final Map<String, Object> storyVariables;
     private final Map<String, Object> scenarioVariables;
-    private final Deque<Map<String, Object>> stepVariables;
+    // The last element is the top of the stack, it allows to iterate over the step scopes without allocations
+    private final List<Map<String, Object>> stepVariables;
 
     public Variables(Map<String, Object> batchVariables)
     {
         this.batchVariables = batchVariables;
         storyVariables = new HashMap<>();
         scenarioVariables = new HashMap<>();
-        stepVariables = new LinkedList<>();
+        stepVariables = new ArrayList<>();
     }
 
     public Object getVariable(String variableKey)
     {
-        VariableKey key = new VariableKey(variableKey);
-        return concatedVariables()
-                .map(scopedVariables -> getVariable(scopedVariables, key))
-                .flatMap(Optional::stream)
-                .findFirst()
-                .or(() -> key.defaultValue)
-                .or(() -> getSystemProperty(variableKey))
-                .orElseGet(() -> System.getenv(variableKey));
-    }
-
-    private Stream<Map<String, Object>> concatedVariables()
-    {
-        return Stream.concat(stepVariables.stream(), Stream.of(scenarioVariables, storyVariables, batchVariables));
+        VariableKey key = VariableKey.of(variableKey);
+        for (int i = stepVariables.size() - 1; i >= 0; i--)
+        {
+            Object variable = getVariable(stepVariables.get(i), key);
+            if (variable != null)
+            {
+                return variable;
+            }
+        }
+        Object variable = getVariable(scenarioVariables, key);
+        if (variable == null)
+        {
+            variable = getVariable(storyVariables, key);
+            if (variable == null)
+            {
+                variable = getVariable(batchVariables, key);
+            }
+        }
+        if (variable != null)
+        {
+            return variable;
+        }
+        if (key.defaultValue != null)
+        {
+            return key.defaultValue;
+        }
+        if (!variableKey.isBlank())
+        {
+            String systemProperty = System.getProperty(variableKey);
+            if (systemProperty != null)
+            {
+                return systemProperty;
+            }
+        }
+        return System.getenv(variableKey);
     }
 
     public Map<String, Object> getVariables()
     {
-        // Do not use Collectors#toMap, it results in NPE, it's OpenJDK bug:
-        // https://stackoverflow.com/questions/24630963/nullpointerexception-in-collectors-tomap-with-null-entry-values
-        // https://bugs.openjdk.java.net/browse/JDK-8148463
-        return concatedVariables().map(Map::entrySet)
-                .flatMap(Set::stream)
-                .collect(HashMap::new, (m, e) -> m.put(e.getKey(), e.getValue()), HashMap::putAll);
-    }
-
-    private Optional<Object> getVariable(Map<String, Object> variables, VariableKey variableKey)
-    {
-        return Optional.ofNullable(variables.get(variableKey.key))
-                .or(() -> getNullValue(variables, variableKey.key))
-                .or(() -> variableKey.hasDefaultValue()
-                        ? Optional.ofNullable(variables.get(variableKey.name))
-                        : Optional.empty()
-                )
-                .or(() -> resolveAsCompound(variables, variableKey.key));
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = stepVariables.size() - 1; i >= 0; i--)
+        {
+            variables.putAll(stepVariables.get(i));
+        }
+        variables.putAll(scenarioVariables);
+        variables.putAll(storyVariables);
+        variables.putAll(batchVariables);
+        return variables;
     }
 
-    private Optional<Object> resolveAsCompound(Map<String, Object> variables, String key)
+    private static Object getVariable(Map<String, Object> variables, VariableKey variableKey)
     {
-        Matcher variableMatcher = COMPOUND_VARIABLE_PATTERN.matcher(key);
-        if (!variableMatcher.find())
+        Object variable = variables.get(variableKey.key);
+        if (variable != null)
         {
-            return Optional.empty();
+            return variable;
         }
-        String variableKey = variableMatcher.group(VARIABLE_NAME_GROUP);
-        return Optional.ofNullable(variables.get(variableKey))
-                       .map(v -> resolveAsListItem(variableMatcher, v))
-                       .map(v -> resolveAsMapItemOrObjectField(variableMatcher, v));
+        if (variables.containsKey(variableKey.key))
+        {
+            return VIVIDUS_NULL_EXPRESSION;
+        }
+        if (variableKey.defaultValue != null)
+        {
+            variable = variables.get(variableKey.name);
+            if (variable != null)
+            {
+                return variable;
+            }
+        }
+        return variableKey.compoundKey != null ? resolveAsCompound(variables, variableKey.compoundKey) : null;
     }
 
     @SuppressWarnings("unchecked")
-    private Object resolveAsMapItemOrObjectField(Matcher variableMatcher, Object variable)
+    private static Object resolveAsCompound(Map<String, Object> variables, CompoundKey compoundKey)
     {
-        String key = variableMatcher.group(MAP_KEY_GROUP);
+        Object variable = variables.get(compoundKey.name);
+        if (variable == null)
+        {
+            return null;
+        }
+        if (compoundKey.listIndex != null && variable instanceof List<?> listVariable)
+        {
+            int elementIndex = Integer.parseInt(compoundKey.listIndex);
+            if (elementIndex >= listVariable.size())
+            {
+                return null;
+            }
+            variable = getElementOrNullValue(listVariable, elementIndex);
+        }
+        String key = compoundKey.mapKey;
         if (key == null)
         {
             return variable;
@@ -113,21 +148,27 @@ public class Variables
         if (variable instanceof Map)
         {
             Map<String, Object> map = (Map<String, Object>) variable;
-            return Optional.ofNullable(map.get(key))
-                    .or(() -> getNullValue(map, key))
-                    .or(() -> resolveAsCompound(map, key)).orElse(null);
-        }
-        else
-        {
-            return Optional.ofNullable(readFieldSafely(variable, key)).orElse(variable);
+            Object value = map.get(key);
+            if (value != null)
+            {
+                return value;
+            }
+            if (map.containsKey(key))
+            {
+                return VIVIDUS_NULL_EXPRESSION;
+            }
+            return compoundKey.nestedKey != null ? resolveAsCompound(map, compoundKey.nestedKey) : null;
         }
+        Object field = readFieldSafely(variable, key);
+        return field != null ? field : variable;
     }
 
-    private Object readFieldSafely(Object variable, String fieldName)
+    private static Object readFieldSafely(Object variable, String fieldName)
     {
         try
         {
-            return FieldUtils.readDeclaredField(variable, fieldName, true);
+            Field field = DeclaredFields.get(variable.getClass(), fieldName);
+            return field != null ? field.get(variable) : null;
         }
         catch (IllegalAccessException | IllegalArgumentException e)
         {
@@ -135,36 +176,15 @@ public class Variables
         }
     }
 
-    private Object resolveAsListItem(Matcher variableMatcher, Object variable)
-    {
-        String listIndex = variableMatcher.group(LIST_INDEX_GROUP);
-        if (listIndex != null && variable instanceof List<?> listVariable)
-        {
-            int elementIndex = Integer.parseInt(listIndex);
-            return elementIndex < listVariable.size() ? getElementOrNullValue(listVariable, elementIndex) : null;
-        }
-        return variable;
-    }
-
-    private Optional<Object> getNullValue(Map<String, Object> map, String key)
-    {
-        return map.containsKey(key) ? Optional.of(VIVIDUS_NULL_EXPRESSION) : Optional.empty();
-    }
-
-    private Object getElementOrNullValue(List<?> listVariable, int elementIndex)
+    private static Object getElementOrNullValue(List<?> listVariable, int elementIndex)
     {
         Object target = listVariable.get(elementIndex);
         return target == null ? VIVIDUS_NULL_EXPRESSION : target;
     }
 
-    private Optional<String> getSystemProperty(String variableKey)
-    {
-        return variableKey.isBlank() ? Optional.empty() : Optional.ofNullable(System.getProperty(variableKey));
-    }
-
     public void putStepVariable(String variableKey, Object variableValue)
     {
-        stepVariables.peek().put(variableKey, variableValue);
+        stepVariables.get(stepVariables.size() - 1).put(variableKey, variableValue);
     }
 
     public void putScenarioVariable(String variableKey, Object variableValue)
@@ -179,7 +199,7 @@ public class Variables
 
     public void initStepVariables()
     {
-        stepVariables.push(new HashMap<>());
+        stepVariables.add(new HashMap<>());
     }
 
     public void clearStepVariables()
@@ -188,7 +208,7 @@ public class Variables
         // report 'failed', which will trigger  step variables clean up
         if (!stepVariables.isEmpty())
         {
-            stepVariables.pop();
+            stepVariables.remove(stepVariables.size() - 1);
         }
     }
 
@@ -197,13 +217,22 @@ public class Variables
         scenarioVariables.clear();
     }
 
+    /**
+     * Variable key parsed once and shared between all threads: the default value part (after the first colon) and
+     * the compound key path (e.g. <code>name[1].field</code>) are extracted at the first usage of the key.
+     */
     private static final class VariableKey
     {
         private static final char COLON = ':';
+        private static final int CACHE_SIZE = 10_000;
+        private static final LoadingCache<String, VariableKey> CACHE = CacheBuilder.newBuilder()
+                .maximumSize(CACHE_SIZE)
+                .build(CacheLoader.from(VariableKey::new));
 
         private final String key;
         private final String name;
-        private final Optional<String> defaultValue;
+        private final String defaultValue;
+        private final CompoundKey compoundKey;
 
         private VariableKey(String key)
         {
@@ -213,18 +242,87 @@ public class Variables
             if (colonIndex >= 0)
             {
                 name = key.substring(0, colonIndex);
-                defaultValue = Optional.of(key.substring(colonIndex + 1));
+                defaultValue = key.substring(colonIndex + 1);
             }
             else
             {
                 name = key;
-                defaultValue = Optional.empty();
+                defaultValue = null;
+            }
+            compoundKey = CompoundKey.parse(key);
+        }
+
+        private static VariableKey of(String key)
+        {
+            return CACHE.getUnchecked(key);
+        }
+    }
+
+    /**
+     * Accessor path of the compound variable key: <code>name[listIndex].mapKey</code>, where the map key may be
+     * a compound key itself.
+     */
+    private static final class CompoundKey
+    {
+        private static final int VARIABLE_NAME_GROUP = 1;
+        private static final int LIST_INDEX_GROUP = 2;
+        private static final int MAP_KEY_GROUP = 3;
+        private static final Pattern COMPOUND_VARIABLE_PATTERN = Pattern.compile(
+                "([^\\[\\].:]+):?(?:\\[(\\d+)])?:?(?:\\.([^:]+))?:?");
+
+        private final String name;
+        private final String listIndex;
+        private final String mapKey;
+        private final CompoundKey nestedKey;
+
+        private CompoundKey(String name, String listIndex, String mapKey)
+        {
+            this.name = name;
+            this.listIndex = listIndex;
+            this.mapKey = mapKey;
+            this.nestedKey = mapKey != null ? parse(mapKey) : null;
+        }
+
+        private static CompoundKey parse(String key)
+        {
+            Matcher variableMatcher = COMPOUND_VARIABLE_PATTERN.matcher(key);
+            if (!variableMatcher.find())
+            {
+                return null;
             }
+            return new CompoundKey(variableMatcher.group(VARIABLE_NAME_GROUP), variableMatcher.group(LIST_INDEX_GROUP),
+                    variableMatcher.group(MAP_KEY_GROUP));
         }
+    }
 
-        private boolean hasDefaultValue()
+    private static final class DeclaredFields
+    {
+        private static final Object NO_FIELD = new Object();
+        private static final ClassValue<Map<String, Object>> FIELDS = new ClassValue<>()
+        {
+            @Override
+            protected Map<String, Object> computeValue(Class<?> type)
+            {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        private DeclaredFields()
         {
-            return defaultValue.isPresent();
+        }
+
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        private static Field get(Class<?> type, String fieldName)
+        {
+            Map<String, Object> fields = FIELDS.get(type);
+            Object field = fields.get(fieldName);
+            if (field == null)
+            {
+                Field declaredField = FieldUtils.getDeclaredField(type, fieldName, true);
+                field = declaredField != null ? declaredField : NO_FIELD;
+                fields.put(fieldName, field);
+            }
+            return field != NO_FIELD ? (Field) field : null;
         }
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.context.RunTestContext;
+import org.vividus.context.VariableContext;
+
+@ExtendWith(MockitoExtension.class)
+class BatchExecutorServiceTests
+{
+    private static final String BATCH_KEY = "batch-1";
+
+    private final List<Runnable> sharedExecutorTasks = new ArrayList<>();
+
+    @Mock private RunTestContext runTestContext;
+    @Mock private VariableContext variableContext;
+
+    @Test
+    void shouldLimitNumberOfRunningTasks() throws InterruptedException
+    {
+        BatchExecutorService executorService = createExecutorService();
+        List<String> executedTasks = new ArrayList<>();
+        executorService.execute(() -> executedTasks.add("first"));
+        executorService.execute(() -> executedTasks.add("second"));
+        assertEquals(1, sharedExecutorTasks.size());
+        executorService.shutdown();
+        assertFalse(executorService.isTerminated());
+        runSharedExecutorTask(0);
+        assertEquals(2, sharedExecutorTasks.size());
+        runSharedExecutorTask(1);
+        assertEquals(List.of("first", "second"), executedTasks);
+        assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldBindBatchAndClearBatchVariables()
+    {
+        BatchExecutorService executorService = createExecutorService();
+        String threadName = Thread.currentThread().getName();
+        List<String> threadNames = new ArrayList<>();
+        executorService.execute(() -> threadNames.add(Thread.currentThread().getName()));
+        runSharedExecutorTask(0);
+        assertEquals(List.of(BATCH_KEY + '-' + threadName), threadNames);
+        assertEquals(threadName, Thread.currentThread().getName());
+        InOrder ordered = inOrder(runTestContext, variableContext);
+        ordered.verify(runTestContext).bindRunningBatch(BATCH_KEY);
+        ordered.verify(variableContext).clearBatchVariables();
+        ordered.verify(runTestContext).unbindRunningBatch();
+    }
+
+    @Test
+    void shouldRejectTasksAfterShutdown()
+    {
+        BatchExecutorService executorService = createExecutorService();
+        executorService.execute(() -> { });
+        executorService.execute(() -> { });
+        assertEquals(1, executorService.shutdownNow().size());
+        assertTrue(executorService.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> executorService.execute(() -> { }));
+        runSharedExecutorTask(0);
+        assertTrue(executorService.isTerminated());
+        verify(variableContext).clearBatchVariables();
+    }
+
+    private void runSharedExecutorTask(int index)
+    {
+        sharedExecutorTasks.get(index).run();
+    }
+
+    private BatchExecutorService createExecutorService()
+    {
+        return new BatchExecutorService(sharedExecutorTasks::add, BATCH_KEY, 1, runTestContext, variableContext);
+    }
+}
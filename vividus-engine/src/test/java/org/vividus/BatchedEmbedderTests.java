@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,12 +23,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,8 +39,11 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.jbehave.core.configuration.Configuration;
@@ -70,6 +75,8 @@ class BatchedEmbedderTests
     private static final int THREADS = 2;
     private static final String PATH = "path1";
     private static final String BATCH = "batch-1";
+    private static final String BATCH_2 = "batch-2";
+    private static final String PATH_2 = "path2";
     private static final String META_FILTERS = "groovy: !skip";
 
     @Mock
@@ -103,7 +110,7 @@ class BatchedEmbedderTests
         mockBatchConfiguration(true);
         Map<String, List<String>> batches = new LinkedHashMap<>();
         batches.put(BATCH, testStoryPaths);
-        batches.put("batch-2", List.of("path2"));
+        batches.put(BATCH_2, List.of(PATH_2));
         spy.runStoriesAsPaths(batches);
         InOrder ordered = inOrder(spy, embedderMonitor, storyManager, runTestContext, variableContext);
         ordered.verify(spy).processSystemProperties();
@@ -148,6 +155,91 @@ class BatchedEmbedderTests
         verifyExecutorService(service.get(0));
     }
 
+    @Test
+    void shouldRunIndependentBatchesConcurrently()
+    {
+        BatchedEmbedder spy = createBatchedEmbedderSpy(false);
+        spy.setConcurrentBatchesThreads(THREADS);
+        MetaFilter mockedFilter = mock(MetaFilter.class);
+        doReturn(mockedFilter).when(spy).metaFilter();
+        // Each batch waits for the other one, so the batches can pass the barrier only if they run at the same time
+        CyclicBarrier batchesStarted = new CyclicBarrier(THREADS);
+        AtomicInteger overlappedBatches = new AtomicInteger();
+        doAnswer(invocation -> {
+            batchesStarted.await(10, TimeUnit.SECONDS);
+            overlappedBatches.incrementAndGet();
+            return null;
+        }).when(storyManager).runStoriesAsPaths(any(), eq(mockedFilter), any(BatchFailures.class));
+        mockIndependentBatchConfiguration(BATCH, true, false);
+        mockIndependentBatchConfiguration(BATCH_2, true, false);
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        batches.put(BATCH, List.of(PATH));
+        batches.put(BATCH_2, List.of(PATH_2));
+        spy.runStoriesAsPaths(batches);
+        verify(storyManager).runStoriesAsPaths(eq(List.of(PATH)), eq(mockedFilter), any(BatchFailures.class));
+        verify(storyManager).runStoriesAsPaths(eq(List.of(PATH_2)), eq(mockedFilter), any(BatchFailures.class));
+        verify(runTestContext).bindRunningBatch(BATCH);
+        verify(runTestContext).bindRunningBatch(BATCH_2);
+        verify(runTestContext, times(2)).unbindRunningBatch();
+        verify(variableContext, times(2)).clearBatchVariables();
+        verify(runTestContext, never()).putRunningBatch(any());
+        verify(spy, times(2)).useExecutorService(argThat(BatchExecutorService.class::isInstance));
+        verify(spy, times(2)).usePerformableTree(argThat(BatchedPerformableTree.class::isInstance));
+        assertEquals(THREADS, overlappedBatches.get());
+    }
+
+    @Test
+    void shouldStopAfterConcurrentBatchesIfAnyOfThemFailedFast()
+    {
+        BatchedEmbedder spy = createBatchedEmbedderSpy(false);
+        spy.setConcurrentBatchesThreads(THREADS);
+        MetaFilter mockedFilter = mock(MetaFilter.class);
+        doReturn(mockedFilter).when(spy).metaFilter();
+        List<String> testStoryPaths = List.of(PATH);
+        doAnswer(invocation -> {
+            if (testStoryPaths.equals(invocation.getArgument(0)))
+            {
+                invocation.<BatchFailures>getArgument(2).put(PATH, mock(Throwable.class));
+            }
+            return null;
+        }).when(storyManager).runStoriesAsPaths(any(), eq(mockedFilter), any(BatchFailures.class));
+        mockIndependentBatchConfiguration(BATCH, true, true);
+        mockIndependentBatchConfiguration(BATCH_2, true, false);
+        String batch3 = "batch-3";
+        mockIndependentBatchConfiguration(batch3, false, false);
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        batches.put(BATCH, testStoryPaths);
+        batches.put(BATCH_2, List.of(PATH_2));
+        batches.put(batch3, List.of("path3"));
+        spy.runStoriesAsPaths(batches);
+        verify(storyManager).runStoriesAsPaths(eq(List.of(PATH_2)), eq(mockedFilter), any(BatchFailures.class));
+        verify(storyManager, times(2)).runStoriesAsPaths(any(), any(), any());
+        verify(runTestContext, never()).putRunningBatch(batch3);
+    }
+
+    @Test
+    void shouldRunIndependentBatchesOneAfterAnotherIfConcurrentExecutionIsDisabled()
+    {
+        BatchedEmbedder spy = createBatchedEmbedderSpy(false);
+        MetaFilter mockedFilter = mock(MetaFilter.class);
+        doReturn(mockedFilter).when(spy).metaFilter();
+        mockIndependentBatchConfiguration(BATCH, true, false);
+        mockIndependentBatchConfiguration(BATCH_2, true, false);
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        batches.put(BATCH, List.of(PATH));
+        batches.put(BATCH_2, List.of(PATH_2));
+        spy.runStoriesAsPaths(batches);
+        InOrder ordered = inOrder(storyManager, runTestContext);
+        ordered.verify(runTestContext).putRunningBatch(BATCH);
+        ordered.verify(storyManager).runStoriesAsPaths(eq(List.of(PATH)), eq(mockedFilter), any(BatchFailures.class));
+        ordered.verify(runTestContext).removeRunningBatch();
+        ordered.verify(runTestContext).putRunningBatch(BATCH_2);
+        ordered.verify(storyManager).runStoriesAsPaths(eq(List.of(PATH_2)), eq(mockedFilter),
+                any(BatchFailures.class));
+        ordered.verify(runTestContext).removeRunningBatch();
+        verify(runTestContext, never()).bindRunningBatch(any());
+    }
+
     private void verifyExecutorService(ExecutorService service)
     {
         ThreadPoolExecutor executorService = (ThreadPoolExecutor) service;
@@ -278,6 +370,17 @@ class BatchedEmbedderTests
         when(batchStorage.getBatchConfiguration(BATCH)).thenReturn(batchConfiguration);
     }
 
+    private void mockIndependentBatchConfiguration(String batchKey, boolean independent, boolean failFast)
+    {
+        var batchConfiguration = new BatchConfiguration();
+        batchConfiguration.overrideStoryExecutionTimeout(Duration.ofHours(1));
+        batchConfiguration.setMetaFilters(META_FILTERS);
+        batchConfiguration.setThreads(THREADS);
+        batchConfiguration.setFailFast(failFast);
+        batchConfiguration.setIndependent(independent);
+        when(batchStorage.getBatchConfiguration(batchKey)).thenReturn(batchConfiguration);
+    }
+
     private boolean assertEmbedderControls(EmbedderControls controls)
     {
         return controls.threads() == THREADS
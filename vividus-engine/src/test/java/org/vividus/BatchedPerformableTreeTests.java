@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,10 @@
 package org.vividus;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -129,6 +132,52 @@ class BatchedPerformableTreeTests
         verifyNoMoreInteractions(storyMock);
     }
 
+    @Test
+    void shouldPerformBeforeStoriesInConcurrentBatchGroup()
+    {
+        mockRunContext();
+        ConcurrentBatchGroup group = new ConcurrentBatchGroup(2, true);
+        batchedPerformableTree.setConcurrentBatchGroup(group);
+        batchedPerformableTree.setReportBeforeStories(true);
+        batchedPerformableTree.performBeforeOrAfterStories(runContext, Stage.BEFORE);
+        verify(runContext).currentPath("BeforeStories");
+        assertTrue(group.getBeforeStoriesPerformed().isDone());
+    }
+
+    @Test
+    void shouldCompleteBeforeStoriesWithoutReportingInConcurrentBatchGroup()
+    {
+        ConcurrentBatchGroup group = new ConcurrentBatchGroup(2, true);
+        batchedPerformableTree.setConcurrentBatchGroup(group);
+        batchedPerformableTree.performBeforeOrAfterStories(runContext, Stage.BEFORE);
+        verifyNoInteractions(runContext);
+        assertTrue(group.getBeforeStoriesPerformed().isDone());
+    }
+
+    @Test
+    void shouldPerformAfterStoriesByLastBatchInConcurrentBatchGroup()
+    {
+        ConcurrentBatchGroup group = new ConcurrentBatchGroup(2, true);
+        assertFalse(group.completeBatch(false));
+        mockRunContext();
+        when(runContext.getFailures()).thenReturn(new BatchFailures());
+        batchedPerformableTree.setConcurrentBatchGroup(group);
+        batchedPerformableTree.performBeforeOrAfterStories(runContext, Stage.AFTER);
+        verify(runContext).currentPath(AFTER_STORIES);
+    }
+
+    @Test
+    void shouldPerformAfterStoriesIfAnyBatchInConcurrentBatchGroupFailedFast()
+    {
+        ConcurrentBatchGroup group = new ConcurrentBatchGroup(2, false);
+        batchedPerformableTree.setConcurrentBatchGroup(group);
+        batchedPerformableTree.setFailFast(true);
+        when(runContext.getFailures()).thenReturn(getFailures());
+        batchedPerformableTree.performBeforeOrAfterStories(runContext, Stage.AFTER);
+        verify(runContext, never()).currentPath(AFTER_STORIES);
+        assertTrue(group.completeBatch(false));
+    }
+
     private BatchFailures getFailures()
     {
         BatchFailures failures = new BatchFailures();
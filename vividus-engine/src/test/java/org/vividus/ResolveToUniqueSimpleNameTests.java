@@ -24,6 +24,11 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import org.jbehave.core.embedder.PerformableTree;
@@ -33,6 +38,7 @@ import org.jbehave.core.io.StoryLocation;
 import org.jbehave.core.model.Story;
 import org.jbehave.core.steps.StepCollector.Stage;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -47,6 +53,8 @@ class ResolveToUniqueSimpleNameTests
     private static final String EXTENSION = "xml";
     private static final String SEPARATOR = File.separator;
     private static final String BATCH_DIR = "batch-1";
+    private static final String BATCH_2 = "batch-2";
+    private static final String BATCH_3 = "batch-3";
     private static final String STORY_NAME = "file:/tests/name.story";
     private static final String STORY_DIRECTORY_NAME = "file:/tests/directory/name.story";
     private static final String STORY_DIRECTORY_ANOTHER_NAME = "file:/tests/directory/nomen.story";
@@ -96,7 +104,7 @@ class ResolveToUniqueSimpleNameTests
     @ValueSource(strings = { "BeforeStories", "AfterStories" })
     void shouldIgnoreBeforeAndAfterStories(String ignoredPath)
     {
-        PerformableTree performableTreeMocked = mock();
+        BatchedPerformableTree performableTreeMocked = mock();
         ResolveToUniqueSimpleName resolveToUniqueSimpleName = new ResolveToUniqueSimpleName(new RunTestContext(),
                 performableTreeMocked);
         StoryLocation storyLocation = new StoryLocation(codeLocation, ignoredPath);
@@ -105,8 +113,65 @@ class ResolveToUniqueSimpleNameTests
         verifyNoInteractions(performableTreeMocked);
     }
 
+    @Test
+    void shouldResolveNameAgainstTreesOfConcurrentBatches() throws Exception
+    {
+        BatchedPerformableTree sharedTree = new BatchedPerformableTree();
+        RunTestContext runContext = new RunTestContext();
+        ResolveToUniqueSimpleName resolveToUniqueSimpleName = new ResolveToUniqueSimpleName(runContext, sharedTree);
+        sharedTree.bindConcurrentBatchTree(BATCH_2, createBatchTree(STORY_NAME, "first.story"));
+        sharedTree.bindConcurrentBatchTree(BATCH_3, createBatchTree(STORY_DIRECTORY_NAME, "second.story"));
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            CompletableFuture<String> firstName = CompletableFuture.supplyAsync(
+                    () -> resolveInBatch(runContext, resolveToUniqueSimpleName, barrier, BATCH_2, STORY_NAME),
+                    executor);
+            CompletableFuture<String> secondName = CompletableFuture.supplyAsync(
+                    () -> resolveInBatch(runContext, resolveToUniqueSimpleName, barrier, BATCH_3,
+                            STORY_DIRECTORY_NAME), executor);
+
+            assertEquals(BATCH_2 + SEPARATOR + "first.xml", firstName.get());
+            assertEquals(BATCH_3 + SEPARATOR + "second.xml", secondName.get());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private String resolveInBatch(RunTestContext runContext, ResolveToUniqueSimpleName resolveToUniqueSimpleName,
+            CyclicBarrier barrier, String batchKey, String storyPath)
+    {
+        runContext.bindRunningBatch(batchKey);
+        try
+        {
+            barrier.await();
+            return resolveToUniqueSimpleName.resolveName(new StoryLocation(codeLocation, storyPath), EXTENSION);
+        }
+        catch (InterruptedException | BrokenBarrierException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        finally
+        {
+            runContext.unbindRunningBatch();
+        }
+    }
+
+    private PerformableTree createBatchTree(String storyPath, String storyName)
+    {
+        Story story = new Story(storyPath);
+        story.namedAs(storyName);
+        PerformableTree batchTree = new BatchedPerformableTree();
+        batchTree.getRoot().add(createPerformableStory(story));
+        return batchTree;
+    }
+
     private PerformableStory createPerformableStory(Story story)
     {
         return new PerformableStory(story, null, false);
     }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.vividus.model.RunningStory;
@@ -99,6 +100,20 @@ class RunTestContextTests
         assertEquals(BATCH_KEY, runTestContext.getRunningBatchKey());
     }
 
+    @Test
+    void shouldPreferRunningBatchBoundToThread() throws Exception
+    {
+        runTestContext.putRunningBatch(BATCH_KEY);
+        String threadBatchKey = "batch-2";
+        runTestContext.bindRunningBatch(threadBatchKey);
+        assertEquals(threadBatchKey, runTestContext.getRunningBatchKey());
+        CompletableFuture<String> otherThreadBatchKey = CompletableFuture.supplyAsync(
+                runTestContext::getRunningBatchKey);
+        assertEquals(BATCH_KEY, otherThreadBatchKey.get());
+        runTestContext.unbindRunningBatch();
+        assertEquals(BATCH_KEY, runTestContext.getRunningBatchKey());
+    }
+
     @Test
     void testRemoveRunningBatchKey()
     {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.jbehave.core.model.Story;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DurationBasedStoryExecutionPriorityTests
+{
+    private static final String LONG_STORY = "long.story";
+    private static final String SHORT_STORY = "short.story";
+    private static final String NEW_STORY = "new.story";
+    private static final String OTHER_NEW_STORY = "other-new.story";
+
+    @Mock private StoryDurationHistory storyDurationHistory;
+
+    @Test
+    void shouldSortLongestStoriesFirst()
+    {
+        Story longStory = new Story(LONG_STORY);
+        Story shortStory = new Story(SHORT_STORY);
+        Story newStory = new Story(NEW_STORY);
+        when(storyDurationHistory.estimateDuration(LONG_STORY)).thenReturn(3000L);
+        when(storyDurationHistory.estimateDuration(SHORT_STORY)).thenReturn(1000L);
+        when(storyDurationHistory.estimateDuration(NEW_STORY)).thenReturn(2000L);
+        List<Story> stories = List.of(shortStory, newStory, longStory);
+        assertEquals(List.of(longStory, newStory, shortStory),
+                stories.stream().sorted(new DurationBasedStoryExecutionPriority(storyDurationHistory)).toList());
+    }
+
+    @Test
+    void shouldUseFallbackComparatorForStoriesWithSameEstimation()
+    {
+        Story newStory = new Story(NEW_STORY);
+        Story otherNewStory = new Story(OTHER_NEW_STORY);
+        when(storyDurationHistory.estimateDuration(NEW_STORY)).thenReturn(2000L);
+        when(storyDurationHistory.estimateDuration(OTHER_NEW_STORY)).thenReturn(2000L);
+        Comparator<Story> fallbackComparator = Comparator.comparing(Story::getPath, Comparator.reverseOrder());
+        List<Story> stories = List.of(newStory, otherNewStory);
+        assertEquals(List.of(otherNewStory, newStory), stories.stream()
+                .sorted(new DurationBasedStoryExecutionPriority(storyDurationHistory, fallbackComparator)).toList());
+    }
+}
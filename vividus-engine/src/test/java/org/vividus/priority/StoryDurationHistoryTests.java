@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vividus.util.json.JsonUtils;
+
+class StoryDurationHistoryTests
+{
+    private static final String LONG_STORY = "long.story";
+    private static final String SHORT_STORY = "short.story";
+    private static final String NEW_STORY = "new.story";
+    private static final String HISTORY = "{\"long.story\":3000,\"short.story\":1000}";
+
+    private final JsonUtils jsonUtils = new JsonUtils();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldEstimateDurations() throws IOException
+    {
+        StoryDurationHistory history = createHistory(HISTORY);
+        assertEquals(3000, history.estimateDuration(LONG_STORY));
+        assertEquals(1000, history.estimateDuration(SHORT_STORY));
+        assertEquals(2000, history.estimateDuration(NEW_STORY));
+    }
+
+    @Test
+    void shouldEstimateZeroDurationsWithoutHistory()
+    {
+        StoryDurationHistory history = new StoryDurationHistory(tempDir.resolve("absent.json").toFile(), jsonUtils);
+        assertEquals(0, history.estimateDuration(NEW_STORY));
+    }
+
+    @Test
+    void shouldIgnoreInvalidHistory() throws IOException
+    {
+        StoryDurationHistory history = createHistory("not a json");
+        assertEquals(0, history.estimateDuration(LONG_STORY));
+    }
+
+    @Test
+    void shouldPredictMakespanOfLongestStoriesFirstSchedule() throws IOException
+    {
+        StoryDurationHistory history = createHistory(
+                "{\"a.story\":5000,\"b.story\":4000,\"c.story\":3000,\"d.story\":3000,\"e.story\":3000}");
+        List<String> storyPaths = List.of("c.story", "a.story", "d.story", "b.story", "e.story");
+        assertEquals(Duration.ofSeconds(10), history.predictMakespan(storyPaths, 2));
+        assertEquals(Duration.ofSeconds(18), history.predictMakespan(storyPaths, 1));
+        assertEquals(Duration.ofSeconds(5), history.predictMakespan(storyPaths, 10));
+    }
+
+    @Test
+    void shouldMergeCurrentDurationsIntoHistory() throws IOException
+    {
+        Path historyFile = tempDir.resolve("durations/story-durations.json");
+        Files.createDirectories(historyFile.getParent());
+        Files.writeString(historyFile, HISTORY, StandardCharsets.UTF_8);
+        StoryDurationHistory history = new StoryDurationHistory(historyFile.toFile(), jsonUtils);
+        history.recordDuration(SHORT_STORY, Duration.ofMillis(1500));
+        history.recordDuration(NEW_STORY, Duration.ofMillis(500));
+        history.save();
+        StoryDurationHistory nextRunHistory = new StoryDurationHistory(historyFile.toFile(), jsonUtils);
+        assertEquals(3000, nextRunHistory.estimateDuration(LONG_STORY));
+        assertEquals(1500, nextRunHistory.estimateDuration(SHORT_STORY));
+        assertEquals(500, nextRunHistory.estimateDuration(NEW_STORY));
+    }
+
+    @Test
+    void shouldNotSaveHistoryWithoutCurrentDurations()
+    {
+        Path historyFile = tempDir.resolve("story-durations.json");
+        new StoryDurationHistory(historyFile.toFile(), jsonUtils).save();
+        assertFalse(Files.exists(historyFile));
+    }
+
+    @Test
+    void shouldNotLoadOrSaveHistoryWithoutHistoryFile()
+    {
+        StoryDurationHistory history = new StoryDurationHistory(null, jsonUtils);
+        assertFalse(history.isEnabled());
+        history.recordDuration(NEW_STORY, Duration.ofMillis(500));
+        history.save();
+        assertEquals(0, history.estimateDuration(NEW_STORY));
+    }
+
+    private StoryDurationHistory createHistory(String history) throws IOException
+    {
+        Path historyFile = tempDir.resolve("story-durations.json");
+        Files.writeString(historyFile, history, StandardCharsets.UTF_8);
+        return new StoryDurationHistory(historyFile.toFile(), jsonUtils);
+    }
+}
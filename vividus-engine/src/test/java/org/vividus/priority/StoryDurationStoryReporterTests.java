@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.priority;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.jbehave.core.model.Story;
+import org.jbehave.core.reporters.StoryReporter;
+import org.jbehave.core.steps.StepCollector.Stage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.batch.BatchConfiguration;
+import org.vividus.batch.BatchStorage;
+import org.vividus.context.RunContext;
+import org.vividus.testcontext.SimpleTestContext;
+
+@ExtendWith(MockitoExtension.class)
+class StoryDurationStoryReporterTests
+{
+    private static final String STORY_PATH = "path/to/some.story";
+    private static final String BATCH_KEY = "batch-1";
+
+    @Mock private StoryDurationHistory storyDurationHistory;
+    @Mock private RunContext runContext;
+    @Mock private BatchStorage batchStorage;
+    @Mock private StoryReporter next;
+
+    private StoryDurationStoryReporter reporter;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        reporter = new StoryDurationStoryReporter(storyDurationHistory, runContext, new SimpleTestContext(),
+                batchStorage);
+        reporter.setNext(next);
+    }
+
+    @Test
+    void shouldRecordStoryDurationsAndSaveHistory()
+    {
+        Story story = new Story(STORY_PATH);
+        when(storyDurationHistory.isEnabled()).thenReturn(true);
+        when(runContext.getRunningBatchKey()).thenReturn(BATCH_KEY);
+        BatchConfiguration batchConfiguration = new BatchConfiguration();
+        batchConfiguration.setThreads(2);
+        when(batchStorage.getBatchConfiguration(BATCH_KEY)).thenReturn(batchConfiguration);
+        when(storyDurationHistory.predictMakespan(List.of(STORY_PATH), 2)).thenReturn(Duration.ofSeconds(1));
+        reporter.beforeStory(story, false);
+        reporter.beforeStory(story, true);
+        reporter.afterStory(true);
+        reporter.afterStory(false);
+        reporter.afterStoriesSteps(Stage.AFTER);
+        verify(storyDurationHistory).recordDuration(eq(STORY_PATH), argThat(d -> !d.isNegative()));
+        verify(storyDurationHistory).predictMakespan(List.of(STORY_PATH), 2);
+        verify(storyDurationHistory).save();
+        verify(next).beforeStory(story, false);
+        verify(next).afterStory(false);
+        verify(next).afterStoriesSteps(Stage.AFTER);
+    }
+
+    @Test
+    void shouldNotRecordStoryDurationsInDryRun()
+    {
+        when(runContext.isDryRun()).thenReturn(true);
+        reporter.beforeStory(new Story(STORY_PATH), false);
+        reporter.afterStory(false);
+        verifyNoInteractions(storyDurationHistory);
+    }
+
+    @Test
+    void shouldNotRecordStoryDurationsIfHistoryIsDisabled()
+    {
+        reporter.beforeStory(new Story(STORY_PATH), false);
+        reporter.afterStory(false);
+        verify(storyDurationHistory, never()).recordDuration(any(), any());
+    }
+
+    @Test
+    void shouldNotSaveHistoryAfterBeforeStoriesSteps()
+    {
+        reporter.afterStoriesSteps(Stage.BEFORE);
+        verifyNoInteractions(storyDurationHistory);
+        verify(next).afterStoriesSteps(Stage.BEFORE);
+    }
+}
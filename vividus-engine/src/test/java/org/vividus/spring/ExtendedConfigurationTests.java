@@ -64,6 +64,7 @@ import org.vividus.batch.BatchConfiguration;
 import org.vividus.log.LoggingTableTransformerMonitor;
 import org.vividus.steps.ParameterConvertersDecorator;
 import org.vividus.steps.PlaceholderResolver;
+import org.vividus.transformer.ColumnarTablesReleasingExamplesTableFactory;
 
 @ExtendWith(MockitoExtension.class)
 class ExtendedConfigurationTests
@@ -131,6 +132,12 @@ class ExtendedConfigurationTests
                     assertEquals(1, context.getCount());
                     assertEquals(List.of(tableParsers), context.arguments());
                     constructedMocks.put(LoggingTableTransformerMonitor.class, mock);
+                });
+            var ignoredExamplesTableFactory = mockConstruction(
+                ColumnarTablesReleasingExamplesTableFactory.class, (mock, context) -> {
+                    assertEquals(1, context.getCount());
+                    assertEquals(List.of(configuration), context.arguments());
+                    constructedMocks.put(ColumnarTablesReleasingExamplesTableFactory.class, mock);
                 }))
         {
             StoryControls storyControls = mock();
@@ -152,6 +159,8 @@ class ExtendedConfigurationTests
                     (ParameterConvertersDecorator) constructedMocks.get(ParameterConvertersDecorator.class));
             ordered.verify(configuration).useTableTransformerMonitor(
                     (LoggingTableTransformerMonitor) constructedMocks.get(LoggingTableTransformerMonitor.class));
+            ordered.verify(configuration).useExamplesTableFactory((ColumnarTablesReleasingExamplesTableFactory)
+                    constructedMocks.get(ColumnarTablesReleasingExamplesTableFactory.class));
             ordered.verify(configuration).useStoryParser(
                     (RegexStoryParser) constructedMocks.get(RegexStoryParser.class));
             ordered.verify(configuration).useStoryControls(storyControls);
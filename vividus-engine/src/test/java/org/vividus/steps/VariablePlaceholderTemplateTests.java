@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class VariablePlaceholderTemplateTests
+{
+    private static final Map<String, Object> VARIABLES = Map.of(
+            "a", "1",
+            "b", "2",
+            "var1", "b",
+            "a1", "nested",
+            "empty", ""
+    );
+
+    @ParameterizedTest
+    @CsvSource({
+            "plain text,             plain text",
+            "${a},                   1",
+            "${a}${b},               12",
+            "x${a}y${b}z,            x1y2z",
+            "${unknown},             ${unknown}",
+            "${unknown}${a},         ${unknown}1",
+            "${${var1}},             2",
+            "${a${a}},               nested",
+            "${x${a}},               ${x1}",
+            "${a${unclosed},         ${a${unclosed}",
+            "}${a}{,                 }1{",
+            "${},                    ${}",
+            "$${a},                  $1",
+            "${a}} ${b},             1} 2"
+    })
+    void shouldResolve(String template, String expected)
+    {
+        assertEquals(expected, VariablePlaceholderTemplate.compile(template).resolve(VARIABLES::get));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "${object}",
+            "\n${object}",
+            "${object}\r\n",
+            "\n\n${object}\r\n\r\n",
+            "${empty}${object}"
+    })
+    void shouldReturnObjectIfTemplateContainsOnlyPlaceholder(String template)
+    {
+        Object object = new Object();
+        Map<String, Object> variables = Map.of("object", object, "empty", "");
+        assertSame(object, VariablePlaceholderTemplate.compile(template).resolve(variables::get));
+    }
+
+    @Test
+    void shouldConvertObjectToStringIfTemplateContainsText()
+    {
+        Map<String, Object> variables = Map.of("list", List.of(1, 2));
+        assertEquals("list: [1, 2]", VariablePlaceholderTemplate.compile("list: ${list}").resolve(variables::get));
+    }
+
+    @Test
+    void shouldResolveVariablesOnEveryInvocation()
+    {
+        VariablePlaceholderTemplate template = VariablePlaceholderTemplate.compile("${counter}");
+        List<String> requestedKeys = new ArrayList<>();
+        assertEquals("counter", template.resolve(key -> {
+            requestedKeys.add(key);
+            return key;
+        }));
+        assertEquals(2, template.resolve(key -> 2));
+        assertEquals(List.of("counter"), requestedKeys);
+    }
+}
@@ -17,11 +17,14 @@
 package org.vividus.steps;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.error;
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +34,7 @@ import java.util.Map;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+import com.google.common.cache.CacheStats;
 
 import org.jbehave.core.embedder.StoryControls;
 import org.junit.jupiter.api.Test;
@@ -199,6 +203,68 @@ class VariableResolverTests
         assertEquals(varReference, actualValue);
     }
 
+    @Test
+    void shouldCacheParsedTemplates()
+    {
+        when(variableContext.getVariable(VAR1)).thenReturn(VALUE1, VALUE2);
+        var variableResolver = new VariableResolver(variableContext, Map.of(), storyControls);
+        String value = "value: ${var1}";
+        assertEquals("value: 2", variableResolver.resolve(value));
+        assertEquals("value: 3", variableResolver.resolve(value));
+        assertEquals(KEY, variableResolver.resolve(KEY));
+        CacheStats stats = variableResolver.getTemplatesCacheStats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        verify(variableContext, times(2)).getVariable(VAR1);
+    }
+
+    @Test
+    void shouldNotCacheParsedTemplatesIfCacheIsDisabled()
+    {
+        when(variableContext.getVariable(VAR1)).thenReturn(VALUE1);
+        var variableResolver = new VariableResolver(variableContext, Map.of(), storyControls);
+        variableResolver.setTemplatesCacheMaxLength(0);
+        String value = "${var1}";
+        assertEquals(VALUE1, variableResolver.resolve(value));
+        assertEquals(VALUE1, variableResolver.resolve(value));
+        CacheStats stats = variableResolver.getTemplatesCacheStats();
+        assertEquals(0, stats.hitCount());
+        assertEquals(2, stats.missCount());
+    }
+
+    @Test
+    void shouldNotKeepParsedTemplatesExceedingMaxLength()
+    {
+        when(variableContext.getVariable(VAR1)).thenReturn(VALUE1);
+        var variableResolver = new VariableResolver(variableContext, Map.of(), storyControls);
+        variableResolver.setTemplatesCacheMaxLength(1000);
+        String shortValue = asRef(VAR1);
+        String longValue = shortValue + " ".repeat(1000);
+        String resolvedLongValue = VALUE1 + " ".repeat(1000);
+        assertEquals(VALUE1, variableResolver.resolve(shortValue));
+        assertEquals(VALUE1, variableResolver.resolve(shortValue));
+        assertEquals(resolvedLongValue, variableResolver.resolve(longValue));
+        assertEquals(resolvedLongValue, variableResolver.resolve(longValue));
+        CacheStats stats = variableResolver.getTemplatesCacheStats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(3, stats.missCount());
+        assertEquals(2, stats.evictionCount());
+    }
+
+    @Test
+    void shouldLogTemplatesCacheStats()
+    {
+        when(variableContext.getVariable(VAR1)).thenReturn(VALUE1);
+        var variableResolver = new VariableResolver(variableContext, Map.of(), storyControls);
+        String value = asRef(VAR1);
+        variableResolver.resolve(value);
+        variableResolver.resolve(value);
+        variableResolver.logTemplatesCacheStats();
+        assertThat(logger.getLoggingEvents(), is(List.of(info(
+                "Variable placeholder templates cache: {} hits, {} misses, {} evictions, hit rate: {}", 1L, 1L, 0L,
+                String.format("%.2f", 0.5)))));
+    }
+
     private static String asRef(String name)
     {
         return "${" + name + "}";
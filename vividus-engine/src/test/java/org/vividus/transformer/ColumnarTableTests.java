@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnarTableTests
+{
+    private static final String KEY_1 = "key1";
+    private static final String KEY_2 = "key2";
+    private static final String KEY_3 = "key3";
+    private static final List<String> HEADERS = List.of(KEY_1, KEY_2, KEY_3);
+
+    private final ColumnarTable table = ColumnarTable.of(HEADERS, List.of(
+            List.of("b", "10", "x"),
+            List.of("a", "2", "y"),
+            List.of("b", "10", "z")
+    ));
+
+    @Test
+    void shouldKeepValuesAndEncodeEqualValuesWithEqualCodes()
+    {
+        assertEquals(HEADERS, table.getHeaders());
+        assertEquals(3, table.getRowCount());
+        assertEquals(1, table.getColumnIndex(KEY_2));
+        assertEquals(-1, table.getColumnIndex("key4"));
+        assertEquals(List.of("a", "2", "y"), table.getRow(1));
+        assertEquals(List.of(List.of("b", "10", "x"), List.of("a", "2", "y"), List.of("b", "10", "z")),
+                table.getRows());
+        assertEquals(table.getCode(0, 0), table.getCode(2, 0));
+        assertNotEquals(table.getCode(0, 0), table.getCode(1, 0));
+        assertNotEquals(table.getCode(0, 2), table.getCode(2, 2));
+    }
+
+    @Test
+    void shouldAlignRowsWithHeaders()
+    {
+        ColumnarTable alignedTable = ColumnarTable.of(List.of(KEY_1, KEY_2), List.of(List.of("a"),
+                List.of("b", "c", "d")));
+        assertEquals(List.of(List.of("a", ""), List.of("b", "c")), alignedTable.getRows());
+    }
+
+    @Test
+    void shouldSelectRows()
+    {
+        ColumnarTable selectedTable = table.selectRows(new int[] { 2, 1, 2 });
+        assertEquals(HEADERS, selectedTable.getHeaders());
+        assertEquals(List.of(List.of("b", "10", "z"), List.of("a", "2", "y"), List.of("b", "10", "z")),
+                selectedTable.getRows());
+    }
+
+    @Test
+    void shouldFailToSelectMissingRow()
+    {
+        int[] rowIndexes = { 0, 3 };
+        assertThrows(IndexOutOfBoundsException.class, () -> table.selectRows(rowIndexes));
+    }
+
+    @Test
+    void shouldSelectColumns()
+    {
+        ColumnarTable selectedTable = table.selectColumns(List.of(KEY_3, KEY_1));
+        assertEquals(List.of(KEY_3, KEY_1), selectedTable.getHeaders());
+        assertEquals(List.of(List.of("x", "b"), List.of("y", "a"), List.of("z", "b")), selectedTable.getRows());
+    }
+
+    @Test
+    void shouldRankValues()
+    {
+        int[] stringRanks = table.rankValues(1, Comparator.naturalOrder());
+        assertEquals(1, stringRanks[table.getCode(0, 1)]);
+        assertEquals(2, stringRanks[table.getCode(1, 1)]);
+        int[] numberRanks = table.rankValues(1, Comparator.comparing(BigDecimal::new));
+        assertEquals(1, numberRanks[table.getCode(0, 1)]);
+        assertEquals(0, numberRanks[table.getCode(1, 1)]);
+        int[] equalRanks = table.rankValues(2, (v1, v2) -> 0);
+        assertArrayEquals(new int[] { 0, 0, 0 }, equalRanks);
+    }
+
+    @Test
+    void shouldRankOnlyValuesPresentInTable()
+    {
+        ColumnarTable selectedTable = table.selectRows(new int[] { 0 });
+        int[] ranks = selectedTable.rankValues(1, (v1, v2) -> {
+            throw new IllegalStateException();
+        });
+        assertEquals(0, ranks[selectedTable.getCode(0, 1)]);
+    }
+
+    @Test
+    void shouldExposeDictionary()
+    {
+        ColumnarTable selectedTable = table.selectRows(new int[] { 1 });
+        assertEquals(2, selectedTable.getDictionarySize(0));
+        assertEquals("a", selectedTable.getDictionaryValue(0, selectedTable.getCode(0, 0)));
+    }
+
+    @Test
+    void shouldTestValues()
+    {
+        ColumnarTable selectedTable = table.selectRows(new int[] { 1, 2 });
+        boolean[] results = selectedTable.testValues(2, "z"::equals);
+        assertFalse(results[selectedTable.getCode(0, 2)]);
+        assertTrue(results[selectedTable.getCode(1, 2)]);
+        assertTrue(selectedTable.allValuesMatch(1, v -> !v.isEmpty()));
+        assertFalse(table.allValuesMatch(0, "b"::equals));
+        assertTrue(selectedTable.selectRows(new int[] { 1 }).allValuesMatch(0, "b"::equals));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.util.List;
+
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.configuration.MostUsefulConfiguration;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.jbehave.core.steps.ParameterConverters;
+import org.junit.jupiter.api.Test;
+
+class ColumnarTablesReleasingExamplesTableFactoryTests
+{
+    private static final List<String> HEADERS = List.of("key");
+
+    @Test
+    void shouldReleaseRenderedTableOnceExamplesTableIsCreated()
+    {
+        var parameterConverters = new ParameterConverters();
+        var properties = new TableProperties("", new Keywords(), parameterConverters);
+        var table = ColumnarTable.of(HEADERS, List.of(List.of("value")));
+        var tableAsString = ColumnarTables.write(table, properties);
+
+        var factory = new ColumnarTablesReleasingExamplesTableFactory(new MostUsefulConfiguration());
+        assertEquals(HEADERS, factory.createExamplesTable("|key|\n|another value|").getHeaders());
+
+        var tableParsers = new TableParsers(parameterConverters);
+        assertNotSame(table, ColumnarTables.read(tableAsString, tableParsers, properties));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.jbehave.core.steps.ParameterConverters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ColumnarTablesTests
+{
+    private static final String TABLE = "|key1|key2|\n|a|b|\n|c|d|";
+    private static final List<String> HEADERS = List.of("key1", "key2");
+
+    private final ParameterConverters parameterConverters = new ParameterConverters();
+    private final TableParsers tableParsers = spy(new TableParsers(parameterConverters));
+
+    @Test
+    void shouldParseTable()
+    {
+        ColumnarTable table = ColumnarTables.read(TABLE, tableParsers, createProperties(""));
+        assertEquals(HEADERS, table.getHeaders());
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), table.getRows());
+    }
+
+    @Test
+    void shouldReuseTableRenderedByPreviousTransformer()
+    {
+        ColumnarTable table = ColumnarTable.of(HEADERS, List.of(List.of("a", "b"), List.of("c", "d")));
+        String tableAsString = ColumnarTables.write(table, createProperties(""));
+        assertEquals(TABLE, tableAsString);
+        assertSame(table, ColumnarTables.read(tableAsString, tableParsers, createProperties("")));
+        verify(tableParsers, never()).parseRows(any(), any());
+    }
+
+    @Test
+    void shouldReuseRenderedTableOnlyOnce()
+    {
+        ColumnarTable table = ColumnarTable.of(HEADERS, List.of(List.of("a", "b")));
+        TableProperties properties = createProperties("");
+        String tableAsString = ColumnarTables.write(table, properties);
+        assertSame(table, ColumnarTables.read(tableAsString, tableParsers, properties));
+        assertNotSame(table, ColumnarTables.read(tableAsString, tableParsers, properties));
+        verify(tableParsers).parseRows(tableAsString, properties);
+    }
+
+    @Test
+    void shouldParseTableNotRenderedByPreviousTransformer()
+    {
+        ColumnarTable table = ColumnarTable.of(HEADERS, List.of(List.of("a", "b"), List.of("c", "d")));
+        String tableAsString = ColumnarTables.write(table, createProperties(""));
+        String copy = new String(tableAsString);
+        ColumnarTable parsedTable = ColumnarTables.read(copy, tableParsers, createProperties(""));
+        assertNotSame(table, parsedTable);
+        assertEquals(table.getRows(), parsedTable.getRows());
+        verify(tableParsers).parseRows(any(), any());
+    }
+
+    @Test
+    void shouldParseTableInAnotherFormat()
+    {
+        ColumnarTable table = ColumnarTable.of(HEADERS, List.of(List.of("a", "b")));
+        String tableAsString = ColumnarTables.write(table, createProperties(""));
+        ColumnarTables.read(tableAsString, tableParsers, createProperties("headerSeparator=!, valueSeparator=!"));
+        verify(tableParsers).parseRows(any(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "a|b", " a", "a ", "a\nb", "--a" })
+    void shouldParseTableWithValuesChangedByRendering(String value)
+    {
+        ColumnarTable table = ColumnarTable.of(HEADERS, List.of(List.of(value, "b")));
+        String tableAsString = ColumnarTables.write(table, createProperties(""));
+        assertNotSame(table, ColumnarTables.read(tableAsString, tableParsers, createProperties("")));
+        verify(tableParsers, times(1)).parseRows(any(), any());
+    }
+
+    private TableProperties createProperties(String propertiesAsString)
+    {
+        return new TableProperties(propertiesAsString, new Keywords(), parameterConverters);
+    }
+}
@@ -167,6 +167,19 @@ class VariablesTests
         assertNull(variables.getVariable(VARIABLE_KEY));
     }
 
+    @Test
+    void shouldReturnVariableFromTopmostStepScope()
+    {
+        Variables variables = new Variables(Map.of());
+        variables.initStepVariables();
+        variables.putStepVariable(VARIABLE_KEY, SCENARIO);
+        variables.initStepVariables();
+        variables.putStepVariable(VARIABLE_KEY, STEP);
+        assertEquals(STEP, variables.getVariable(VARIABLE_KEY));
+        variables.clearStepVariables();
+        assertEquals(SCENARIO, variables.getVariable(VARIABLE_KEY));
+    }
+
     @Test
     void shouldSkipCleanOfEmptyStepVariables()
     {
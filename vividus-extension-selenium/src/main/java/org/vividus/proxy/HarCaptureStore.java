@@ -0,0 +1,283 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarContent;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HarResponse;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersAdapter;
+import org.littleshoot.proxy.HttpFiltersSource;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * Index of the HAR entries recorded by the proxy: the entries are grouped by URL and HTTP method as they are
+ * captured, so the lookups cost is proportional to the number of new distinct URLs and the number of matches rather
+ * than to the size of the whole HAR. Every captured HTTP message increments the generation of the captured data, so
+ * the waiters can't miss the messages captured between their lookups and waits.
+ */
+public class HarCaptureStore
+{
+    private final Supplier<Har> harSupplier;
+    private final int maxContentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dataCaptured = lock.newCondition();
+
+    private long capturedDataGeneration;
+    private Har indexedHar;
+    private int indexedEntriesCount;
+    private final List<String> urls = new ArrayList<>();
+    private final Map<String, Map<HttpMethod, List<IndexedEntry>>> entriesByUrl = new HashMap<>();
+    private final Map<PatternKey, MatchedUrls> matchedUrlsByPattern = new HashMap<>();
+    private final List<HarEntry> entriesAwaitingResponse = new ArrayList<>();
+
+    public HarCaptureStore(Supplier<Har> harSupplier, int maxContentSize)
+    {
+        this.harSupplier = harSupplier;
+        this.maxContentSize = maxContentSize;
+    }
+
+    /**
+     * Finds the recorded entries matching any of the HTTP methods and the URL pattern
+     * @param httpMethods The HTTP methods to filter by
+     * @param urlPattern  The regular expression to match the whole HTTP request URL
+     * @return The matching entries in the order they were recorded
+     */
+    public List<HarEntry> findEntries(Set<HttpMethod> httpMethods, Pattern urlPattern)
+    {
+        lock.lock();
+        try
+        {
+            index();
+            MatchedUrls matchedUrls = matchedUrlsByPattern.computeIfAbsent(
+                    new PatternKey(urlPattern.pattern(), urlPattern.flags()), k -> new MatchedUrls());
+            for (; matchedUrls.checkedUrlsCount < urls.size(); matchedUrls.checkedUrlsCount++)
+            {
+                String url = urls.get(matchedUrls.checkedUrlsCount);
+                if (urlPattern.matcher(url).matches())
+                {
+                    matchedUrls.urls.add(url);
+                }
+            }
+            return matchedUrls.urls.stream()
+                    .map(entriesByUrl::get)
+                    .flatMap(entriesByMethod -> httpMethods.stream().map(entriesByMethod::get))
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .sorted(Comparator.comparingInt(IndexedEntry::position))
+                    .map(IndexedEntry::entry)
+                    .toList();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the generation of the captured data, it's incremented every time a new HTTP request or response is captured
+     * @return The generation of the captured data
+     */
+    public long getCapturedDataGeneration()
+    {
+        lock.lock();
+        try
+        {
+            return capturedDataGeneration;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a new HTTP request or response is captured after the specified generation of the captured data
+     * @param generation The generation of the captured data known to the caller
+     * @param timeout    The maximum time to wait
+     * @return <code>true</code> if new HTTP message is captured, <code>false</code> if the timeout is reached
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitCapturedData(long generation, Duration timeout) throws InterruptedException
+    {
+        lock.lock();
+        try
+        {
+            long nanosToWait = timeout.toNanos();
+            while (capturedDataGeneration == generation)
+            {
+                if (nanosToWait <= 0)
+                {
+                    return false;
+                }
+                nanosToWait = dataCaptured.awaitNanos(nanosToWait);
+            }
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates the source of the proxy filters notifying the store about the captured HTTP messages. The filters must
+     * be added after the HAR capture filters.
+     * @return The source of the proxy filters
+     */
+    public HttpFiltersSource createHttpFiltersSource()
+    {
+        return new HttpFiltersSourceAdapter()
+        {
+            @Override
+            public HttpFilters filterRequest(HttpRequest originalRequest)
+            {
+                return new HttpFiltersAdapter(originalRequest)
+                {
+                    @Override
+                    public HttpResponse clientToProxyRequest(HttpObject httpObject)
+                    {
+                        if (httpObject instanceof HttpRequest)
+                        {
+                            onDataCaptured();
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public HttpObject proxyToClientResponse(HttpObject httpObject)
+                    {
+                        if (httpObject instanceof LastHttpContent)
+                        {
+                            onDataCaptured();
+                        }
+                        return httpObject;
+                    }
+                };
+            }
+        };
+    }
+
+    void onDataCaptured()
+    {
+        lock.lock();
+        try
+        {
+            index();
+            capturedDataGeneration++;
+            dataCaptured.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void index()
+    {
+        Har har = harSupplier.get();
+        if (har != indexedHar)
+        {
+            indexedHar = har;
+            indexedEntriesCount = 0;
+            urls.clear();
+            entriesByUrl.clear();
+            matchedUrlsByPattern.clear();
+            entriesAwaitingResponse.clear();
+        }
+        if (har == null)
+        {
+            return;
+        }
+        List<HarEntry> entries = har.getLog().getEntries();
+        int entriesCount = entries.size();
+        for (; indexedEntriesCount < entriesCount; indexedEntriesCount++)
+        {
+            HarEntry entry = entries.get(indexedEntriesCount);
+            HarRequest request = entry.getRequest();
+            if (request.getUrl() != null && request.getMethod() != null)
+            {
+                entriesByUrl.computeIfAbsent(request.getUrl(), url -> {
+                    urls.add(url);
+                    return new EnumMap<>(HttpMethod.class);
+                }).computeIfAbsent(request.getMethod(), method -> new ArrayList<>())
+                        .add(new IndexedEntry(indexedEntriesCount, entry));
+            }
+            entriesAwaitingResponse.add(entry);
+        }
+        entriesAwaitingResponse.removeIf(this::truncateContentIfCompleted);
+    }
+
+    private boolean truncateContentIfCompleted(HarEntry entry)
+    {
+        // The response status is captured along with the response headers, while the content and the body size are
+        // captured only once the last chunk of the response is received
+        HarResponse response = entry.getResponse();
+        Long bodySize = response == null ? null : response.getBodySize();
+        if (bodySize == null || bodySize < 0)
+        {
+            return false;
+        }
+        HarContent content = response.getContent();
+        if (content != null && content.getText() != null && content.getText().length() > maxContentSize)
+        {
+            int originalSize = content.getText().length();
+            content.setText(content.getText().substring(0, maxContentSize));
+            content.setComment(String.format("The content is truncated to %d characters, the original size is %d"
+                    + " characters", maxContentSize, originalSize));
+        }
+        return true;
+    }
+
+    private record IndexedEntry(int position, HarEntry entry)
+    {
+    }
+
+    private record PatternKey(String regex, int flags)
+    {
+    }
+
+    private static final class MatchedUrls
+    {
+        private final List<String> urls = new ArrayList<>();
+        private int checkedUrlsCount;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,15 @@
 
 package org.vividus.proxy;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
 
 import org.openqa.selenium.Proxy;
 
@@ -34,6 +41,34 @@ public interface IProxy
      */
     Har getRecordedData();
 
+    /**
+     * Finds the recorded HAR entries using the index built while the HTTP messages are captured.
+     *
+     * @param httpMethods The HTTP methods to filter by
+     * @param urlPattern  The regular expression to match the whole HTTP request URL
+     * @return the matching entries in the order they were recorded
+     */
+    List<HarEntry> findRecordedEntries(Set<HttpMethod> httpMethods, Pattern urlPattern);
+
+    /**
+     * Gets the generation of the recorded data, it's incremented every time the proxy captures a new HTTP request or
+     * response.
+     *
+     * @return the generation of the recorded data
+     */
+    long getRecordedDataGeneration();
+
+    /**
+     * Waits until the proxy captures a new HTTP request or response after the specified generation of the recorded
+     * data.
+     *
+     * @param generation the generation of the recorded data known to the caller
+     * @param timeout the maximum time to wait
+     * @return true if new HTTP message is captured, false if the timeout is reached
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    boolean awaitRecordedData(long generation, Duration timeout) throws InterruptedException;
+
     void clearRecordedData();
 
     void stopRecording();
@@ -44,6 +79,13 @@ public interface IProxy
 
     void addRequestFilter(RequestFilter requestFilter);
 
+    /**
+     * Adds the rule to the single mock request filter of the proxy, the filter is registered on the first rule
+     * addition and is removed along with the rest of the request filters
+     * @param rule The rule to process the proxied requests
+     */
+    void addMockRule(ProxyMockRule rule);
+
     void clearRequestFilters();
 
     Proxy createSeleniumProxy();
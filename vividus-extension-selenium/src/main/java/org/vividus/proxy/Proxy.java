@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,14 @@
 package org.vividus.proxy;
 
 import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import com.browserup.bup.BrowserUpProxy;
 import com.browserup.bup.BrowserUpProxyServer;
@@ -27,12 +32,20 @@ import com.browserup.bup.client.ClientUtil;
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.RequestFilterAdapter.FilterSource;
 import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.vividus.reporter.event.IAttachmentPublisher;
 
 public class Proxy implements IProxy
 {
     private final IProxyServerFactory proxyServerFactory;
     private final String proxyHost;
     private BrowserUpProxyServer proxyServer;
+    private HarCaptureStore harCaptureStore;
+    private ProxyMockRouter mockRouter;
+    private int maxRecordedContentSize = Integer.MAX_VALUE;
+    private IAttachmentPublisher attachmentPublisher;
 
     public Proxy(IProxyServerFactory proxyServerFactory, String proxyHost)
     {
@@ -57,6 +70,9 @@ public class Proxy implements IProxy
         {
             proxyServer = proxyServerFactory.createProxyServer();
             starter.accept(proxyServer);
+            harCaptureStore = new HarCaptureStore(proxyServer::getHar, maxRecordedContentSize);
+            // The filters are added after the start to be executed after the HAR capture filters
+            proxyServer.addLastHttpFilterFactory(harCaptureStore.createHttpFiltersSource());
         }
     }
 
@@ -85,6 +101,8 @@ public class Proxy implements IProxy
         {
             proxyServer.stop();
             proxyServer = null;
+            harCaptureStore = null;
+            publishMockRuleHits();
         }
     }
 
@@ -100,16 +118,50 @@ public class Proxy implements IProxy
         return getIfProxyStarted(BrowserUpProxy::getHar);
     }
 
+    @Override
+    public List<HarEntry> findRecordedEntries(Set<HttpMethod> httpMethods, Pattern urlPattern)
+    {
+        return getIfProxyStarted(proxy -> harCaptureStore.findEntries(httpMethods, urlPattern));
+    }
+
+    @Override
+    public long getRecordedDataGeneration()
+    {
+        return getIfProxyStarted(proxy -> harCaptureStore.getCapturedDataGeneration());
+    }
+
+    @Override
+    public boolean awaitRecordedData(long generation, Duration timeout) throws InterruptedException
+    {
+        return getIfProxyStarted(proxy -> harCaptureStore).awaitCapturedData(generation, timeout);
+    }
+
     @Override
     public void addRequestFilter(RequestFilter requestFilter)
     {
         executeIfProxyStarted(proxy -> proxy.addRequestFilter(requestFilter));
     }
 
+    @Override
+    public void addMockRule(ProxyMockRule rule)
+    {
+        executeIfProxyStarted(proxy -> {
+            if (mockRouter == null)
+            {
+                mockRouter = new ProxyMockRouter();
+                proxy.addRequestFilter(mockRouter);
+            }
+            mockRouter.addRule(rule);
+        });
+    }
+
     @Override
     public void clearRequestFilters()
     {
-        executeIfProxyStarted(proxy -> proxy.getFilterFactories().removeIf(source -> source instanceof FilterSource));
+        executeIfProxyStarted(proxy -> {
+            proxy.getFilterFactories().removeIf(source -> source instanceof FilterSource);
+            publishMockRuleHits();
+        });
     }
 
     @Override
@@ -122,6 +174,16 @@ public class Proxy implements IProxy
         );
     }
 
+    private void publishMockRuleHits()
+    {
+        if (mockRouter != null)
+        {
+            attachmentPublisher.publishAttachment("/org/vividus/proxy/proxy-mock-rule-hits.ftl",
+                    Map.of("rules", mockRouter.getRules()), "Proxy mock rule hits");
+            mockRouter = null;
+        }
+    }
+
     private org.openqa.selenium.Proxy createSeleniumProxy(String hostName, int port)
     {
         String proxyAddress = hostName + ':' + port;
@@ -130,6 +192,16 @@ public class Proxy implements IProxy
                                               .setProxyType(org.openqa.selenium.Proxy.ProxyType.MANUAL);
     }
 
+    public void setMaxRecordedContentSize(int maxRecordedContentSize)
+    {
+        this.maxRecordedContentSize = maxRecordedContentSize;
+    }
+
+    public void setAttachmentPublisher(IAttachmentPublisher attachmentPublisher)
+    {
+        this.attachmentPublisher = attachmentPublisher;
+    }
+
     BrowserUpProxy getProxyServer()
     {
         return proxyServer;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,14 @@
 
 package org.vividus.proxy;
 
+import org.vividus.reporter.event.IAttachmentPublisher;
+
 public class ProxyFactory implements IProxyFactory
 {
     private final IProxyServerFactory proxyServerFactory;
     private String proxyHost;
+    private int maxRecordedContentSize = Integer.MAX_VALUE;
+    private IAttachmentPublisher attachmentPublisher;
 
     public ProxyFactory(IProxyServerFactory proxyServerFactory)
     {
@@ -29,11 +33,24 @@ public class ProxyFactory implements IProxyFactory
     @Override
     public Proxy createProxy()
     {
-        return new Proxy(proxyServerFactory, proxyHost);
+        Proxy proxy = new Proxy(proxyServerFactory, proxyHost);
+        proxy.setMaxRecordedContentSize(maxRecordedContentSize);
+        proxy.setAttachmentPublisher(attachmentPublisher);
+        return proxy;
     }
 
     public void setProxyHost(String proxyHost)
     {
         this.proxyHost = proxyHost;
     }
+
+    public void setMaxRecordedContentSize(int maxRecordedContentSize)
+    {
+        this.maxRecordedContentSize = maxRecordedContentSize;
+    }
+
+    public void setAttachmentPublisher(IAttachmentPublisher attachmentPublisher)
+    {
+        this.attachmentPublisher = attachmentPublisher;
+    }
 }
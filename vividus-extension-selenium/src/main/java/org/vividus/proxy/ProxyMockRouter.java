@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.browserup.bup.filters.RequestFilter;
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
+
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+
+/**
+ * The single request filter routing the proxied requests through the registered mock rules. The rules with the exact
+ * URL condition are looked up by the request URL, the rest of the rules are evaluated one by one. The newest rules are
+ * applied first, just like the proxy applies the newest request filters first: the request is processed by every
+ * matching rule until the first one responding with the mocked response.
+ */
+public class ProxyMockRouter implements RequestFilter
+{
+    private final List<ProxyMockRule> rules = new ArrayList<>();
+    private volatile RoutingTable routingTable = new RoutingTable(Map.of(), List.of());
+
+    /**
+     * Adds the rule and recompiles the routing table
+     * @param rule The rule to add
+     */
+    public synchronized void addRule(ProxyMockRule rule)
+    {
+        rules.add(rule);
+        Map<String, List<IndexedRule>> exactRules = new HashMap<>();
+        List<IndexedRule> otherRules = new ArrayList<>();
+        for (int order = 0; order < rules.size(); order++)
+        {
+            ProxyMockRule currentRule = rules.get(rules.size() - 1 - order);
+            IndexedRule indexedRule = new IndexedRule(order, currentRule);
+            if (currentRule.isExactUrlMatch())
+            {
+                exactRules.computeIfAbsent(currentRule.getUrl(), k -> new ArrayList<>()).add(indexedRule);
+            }
+            else
+            {
+                otherRules.add(indexedRule);
+            }
+        }
+        routingTable = new RoutingTable(exactRules, otherRules);
+    }
+
+    /**
+     * Returns the registered rules in the order of registration
+     * @return The registered rules
+     */
+    public synchronized List<ProxyMockRule> getRules()
+    {
+        return List.copyOf(rules);
+    }
+
+    @Override
+    public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo)
+    {
+        RoutingTable table = routingTable;
+        String url = messageInfo.getUrl();
+        List<IndexedRule> exactRules = table.exactRules().getOrDefault(url, List.of());
+        List<IndexedRule> otherRules = table.otherRules();
+        int exactIndex = 0;
+        int otherIndex = 0;
+        while (exactIndex < exactRules.size() || otherIndex < otherRules.size())
+        {
+            IndexedRule rule;
+            if (otherIndex == otherRules.size() || exactIndex < exactRules.size()
+                    && exactRules.get(exactIndex).order() < otherRules.get(otherIndex).order())
+            {
+                rule = exactRules.get(exactIndex);
+                exactIndex++;
+            }
+            else
+            {
+                rule = otherRules.get(otherIndex);
+                otherIndex++;
+                if (!rule.rule().matchesUrl(url))
+                {
+                    continue;
+                }
+            }
+            HttpResponse response = rule.rule().process(request, messageInfo);
+            if (response != null)
+            {
+                return response;
+            }
+        }
+        return null;
+    }
+
+    private record IndexedRule(int order, ProxyMockRule rule)
+    {
+    }
+
+    private record RoutingTable(Map<String, List<IndexedRule>> exactRules, List<IndexedRule> otherRules)
+    {
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.browserup.bup.util.HttpMessageInfo;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.vividus.steps.StringComparisonRule;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * The rule processing the proxied HTTP requests: either modifies the request and lets it go further or responds with
+ * the mocked HTTP response. The URL condition is compiled once at the rule creation, the mocked responses are built
+ * from the pre-built status, headers and content buffer.
+ */
+public final class ProxyMockRule
+{
+    private final StringComparisonRule comparisonRule;
+    private final String url;
+    private final Predicate<String> urlMatcher;
+    private final Set<String> httpMethods;
+    private final String action;
+    private final Function<HttpRequest, HttpResponse> requestProcessor;
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private ProxyMockRule(StringComparisonRule comparisonRule, String url, Optional<Set<HttpMethod>> httpMethods,
+            String action, Function<HttpRequest, HttpResponse> requestProcessor)
+    {
+        this.comparisonRule = comparisonRule;
+        this.url = url;
+        this.urlMatcher = compileUrlMatcher(comparisonRule, url);
+        this.httpMethods = httpMethods.map(methods -> methods.stream().map(HttpMethod::name)
+                .collect(Collectors.toUnmodifiableSet())).orElse(Set.of());
+        this.action = action;
+        this.requestProcessor = requestProcessor;
+    }
+
+    /**
+     * Creates the rule adding the headers to the requests matching the URL condition
+     * @param comparisonRule The rule to compare the request URL with the expected URL
+     * @param url            The expected URL
+     * @param headers        The headers to add to the request
+     * @return The rule
+     */
+    public static ProxyMockRule addHeaders(StringComparisonRule comparisonRule, String url, HttpHeaders headers)
+    {
+        return new ProxyMockRule(comparisonRule, url, Optional.empty(), "add headers", request -> {
+            request.headers().add(headers);
+            return null;
+        });
+    }
+
+    /**
+     * Creates the rule responding to the requests matching the HTTP methods and the URL condition with the mocked
+     * response
+     * @param httpMethods    The HTTP methods to match, if empty any method is matched
+     * @param comparisonRule The rule to compare the request URL with the expected URL
+     * @param url            The expected URL
+     * @param responseCode   The response status code
+     * @param content        The response content, if empty the response has no body
+     * @param headers        The response headers
+     * @return The rule
+     */
+    public static ProxyMockRule mockResponse(Optional<Set<HttpMethod>> httpMethods,
+            StringComparisonRule comparisonRule, String url, int responseCode, Optional<byte[]> content,
+            HttpHeaders headers)
+    {
+        HttpResponseStatus status = HttpResponseStatus.valueOf(responseCode);
+        HttpHeaders responseHeaders = new DefaultHttpHeaders();
+        Function<HttpRequest, HttpResponse> responseFactory;
+        if (content.isPresent())
+        {
+            byte[] contentBytes = content.get();
+            responseHeaders.add(HttpHeaderNames.CONTENT_LENGTH, contentBytes.length);
+            responseHeaders.add(headers);
+            // The buffer is shared by all the mocked responses: each response gets the own reader index and
+            // the release of the response after the write doesn't release the shared buffer
+            ByteBuf sharedContent = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(contentBytes));
+            responseFactory = request -> new DefaultFullHttpResponse(request.protocolVersion(), status,
+                    sharedContent.duplicate(), responseHeaders.copy(), EmptyHttpHeaders.INSTANCE);
+        }
+        else
+        {
+            responseHeaders.add(headers);
+            responseFactory = request -> new DefaultHttpResponse(request.protocolVersion(), status,
+                    responseHeaders.copy());
+        }
+        return new ProxyMockRule(comparisonRule, url, httpMethods, "respond with " + responseCode, responseFactory);
+    }
+
+    private static Predicate<String> compileUrlMatcher(StringComparisonRule comparisonRule, String url)
+    {
+        // The exact match is the most common condition and doesn't need the matcher overhead
+        return comparisonRule == StringComparisonRule.IS_EQUAL_TO ? url::equals
+                : comparisonRule.createMatcher(url)::matches;
+    }
+
+    /**
+     * Processes the request if it matches the HTTP methods of the rule, the URL condition is expected to be checked
+     * by the caller
+     * @param request     The request to process
+     * @param messageInfo The information about the original request
+     * @return The mocked response or <code>null</code> if the request should be proxied further
+     */
+    HttpResponse process(HttpRequest request, HttpMessageInfo messageInfo)
+    {
+        if (!httpMethods.isEmpty() && !httpMethods.contains(messageInfo.getOriginalRequest().method().name()))
+        {
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return requestProcessor.apply(request);
+    }
+
+    boolean matchesUrl(String actualUrl)
+    {
+        return urlMatcher.test(actualUrl);
+    }
+
+    boolean isExactUrlMatch()
+    {
+        return comparisonRule == StringComparisonRule.IS_EQUAL_TO;
+    }
+
+    String getUrl()
+    {
+        return url;
+    }
+
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        String methods = httpMethods.isEmpty() ? "All" : String.join(" or ", new TreeSet<>(httpMethods));
+        return String.format("%s requests with URL which %s '%s': %s", methods, comparisonRule, url, action);
+    }
+}
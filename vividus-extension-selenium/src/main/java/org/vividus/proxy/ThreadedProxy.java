@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,17 @@ package org.vividus.proxy;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
 
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -137,12 +142,36 @@ public final class ThreadedProxy implements IProxy
         return proxy().getRecordedData();
     }
 
+    @Override
+    public List<HarEntry> findRecordedEntries(Set<HttpMethod> httpMethods, Pattern urlPattern)
+    {
+        return proxy().findRecordedEntries(httpMethods, urlPattern);
+    }
+
+    @Override
+    public long getRecordedDataGeneration()
+    {
+        return proxy().getRecordedDataGeneration();
+    }
+
+    @Override
+    public boolean awaitRecordedData(long generation, Duration timeout) throws InterruptedException
+    {
+        return proxy().awaitRecordedData(generation, timeout);
+    }
+
     @Override
     public void addRequestFilter(RequestFilter requestFilter)
     {
         proxy().addRequestFilter(requestFilter);
     }
 
+    @Override
+    public void addMockRule(ProxyMockRule rule)
+    {
+        proxy().addMockRule(rule);
+    }
+
     @Override
     public void clearRequestFilters()
     {
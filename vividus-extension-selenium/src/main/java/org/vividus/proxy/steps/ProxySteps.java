@@ -16,25 +16,23 @@
 
 package org.vividus.proxy.steps;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import com.browserup.bup.util.HttpMessageInfo;
 import com.browserup.harreader.model.HarEntry;
 import com.browserup.harreader.model.HttpMethod;
 
 import org.apache.hc.core5.http.HttpStatus;
-import org.hamcrest.Matcher;
 import org.jbehave.core.annotations.Then;
 import org.jbehave.core.annotations.When;
 import org.vividus.context.VariableContext;
 import org.vividus.proxy.IProxy;
+import org.vividus.proxy.ProxyMockRule;
 import org.vividus.proxy.model.HttpMessagePart;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
@@ -45,15 +43,7 @@ import org.vividus.ui.monitor.CaptureHarOnFailure;
 import org.vividus.ui.monitor.TakeScreenshotOnFailure;
 import org.vividus.variable.VariableScope;
 
-import io.netty.buffer.Unpooled;
-import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
-import io.netty.handler.codec.http.DefaultHttpResponse;
-import io.netty.handler.codec.http.HttpHeaders;
-import io.netty.handler.codec.http.HttpRequest;
-import io.netty.handler.codec.http.HttpResponse;
-import io.netty.handler.codec.http.HttpResponseStatus;
-import io.netty.handler.codec.http.HttpVersion;
 import jakarta.inject.Inject;
 
 @SuppressWarnings("PMD.ExcessiveImports")
@@ -65,6 +55,7 @@ public class ProxySteps
     @Inject private ISoftAssert softAssert;
     @Inject private VariableContext variableContext;
     @Inject private IWaitActions waitActions;
+    private Duration waitTimeout;
 
     /**
      * Clears the network recordings
@@ -168,11 +159,26 @@ public class ProxySteps
     @When("I wait until HTTP $httpMethods request with URL pattern `$urlPattern` is captured")
     public void waitRequestIsCaptured(Set<HttpMethod> httpMethods, Pattern urlPattern)
     {
-        waitActions.wait(urlPattern, new Function<>()
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        waitActions.wait(urlPattern, waitTimeout, Duration.ZERO, new Function<>()
         {
             @Override
             public Boolean apply(Pattern urlPattern)
             {
+                long generation = proxy.getRecordedDataGeneration();
+                if (!getLogEntries(httpMethods, urlPattern).isEmpty())
+                {
+                    return true;
+                }
+                try
+                {
+                    proxy.awaitRecordedData(generation, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
                 return !getLogEntries(httpMethods, urlPattern).isEmpty();
             }
 
@@ -195,11 +201,7 @@ public class ProxySteps
     @When("I add headers to proxied requests with URL pattern which $comparisonRule `$url`:$headers")
     public void addHeadersToProxyRequest(StringComparisonRule comparisonRule, String url, DefaultHttpHeaders headers)
     {
-        Matcher<String> expected = comparisonRule.createMatcher(url);
-        applyUrlFilter(List.of(m -> expected.matches(m.getUrl())), request -> {
-            request.headers().add(headers);
-            return null;
-        });
+        proxy.addMockRule(ProxyMockRule.addHeaders(comparisonRule, url, headers));
     }
 
     /**
@@ -236,13 +238,8 @@ public class ProxySteps
     public void mockHttpRequests(StringComparisonRule comparisonRule, String url, int responseCode,
             DefaultHttpHeaders headers)
     {
-        Matcher<String> expected = comparisonRule.createMatcher(url);
-        applyUrlFilter(List.of(m -> expected.matches(m.getUrl())), request -> {
-            DefaultHttpResponse mockedRequest =
-                new DefaultHttpResponse(request.protocolVersion(), HttpResponseStatus.valueOf(responseCode));
-            mockedRequest.headers().add(headers);
-            return mockedRequest;
-        });
+        proxy.addMockRule(ProxyMockRule.mockResponse(Optional.empty(), comparisonRule, url, responseCode,
+                Optional.empty(), headers));
     }
 
     /**
@@ -268,27 +265,8 @@ public class ProxySteps
     private void mockHttpRequests(Optional<Set<HttpMethod>> httpMethods, StringComparisonRule comparisonRule,
             String url, int responseCode, DataWrapper content, DefaultHttpHeaders headers)
     {
-        List<Predicate<HttpMessageInfo>> filters = new ArrayList<>();
-        Matcher<String> expected = comparisonRule.createMatcher(url);
-        filters.add(m -> expected.matches(m.getUrl()));
-        if (!httpMethods.isEmpty())
-        {
-            filters.add(m -> httpMethods.get().stream()
-                    .anyMatch(e -> m.getOriginalRequest().method().toString().equals(e.toString())));
-        }
-        byte[] contentBytes = content.getBytes();
-        applyUrlFilter(filters, request -> {
-            HttpResponseStatus responseStatus = HttpResponseStatus.valueOf(responseCode);
-            HttpVersion protocolVersion = request.protocolVersion();
-
-            DefaultFullHttpResponse mockedRequest =
-                new DefaultFullHttpResponse(protocolVersion, responseStatus, Unpooled.wrappedBuffer(contentBytes));
-
-            HttpHeaders httpHeaders = mockedRequest.headers();
-            httpHeaders.add("Content-Length", contentBytes.length);
-            httpHeaders.add(headers);
-            return mockedRequest;
-        });
+        proxy.addMockRule(ProxyMockRule.mockResponse(httpMethods, comparisonRule, url, responseCode,
+                Optional.of(content.getBytes()), headers));
     }
 
     /**
@@ -300,29 +278,19 @@ public class ProxySteps
         proxy.clearRequestFilters();
     }
 
-    private void applyUrlFilter(List<Predicate<HttpMessageInfo>> messageFilters,
-            Function<HttpRequest, HttpResponse> requestProcessor)
-    {
-        proxy.addRequestFilter((request, contents, messageInfo) ->
-        {
-            if (messageFilters.stream().allMatch(p -> p.test(messageInfo)))
-            {
-                return requestProcessor.apply(request);
-            }
-            return null;
-        });
-    }
-
     private List<HarEntry> getLogEntries(Set<HttpMethod> httpMethods, Pattern urlPattern)
     {
-        return proxy.getRecordedData().getLog()
-                .findEntries(urlPattern)
+        return proxy.findRecordedEntries(httpMethods, urlPattern)
                 .stream()
-                .filter(entry -> entry.getResponse().getStatus() != HttpStatus.SC_MOVED_TEMPORARILY
-                        && httpMethods.contains(entry.getRequest().getMethod()))
+                .filter(entry -> entry.getResponse().getStatus() != HttpStatus.SC_MOVED_TEMPORARILY)
                 .toList();
     }
 
+    public void setWaitTimeout(Duration waitTimeout)
+    {
+        this.waitTimeout = waitTimeout;
+    }
+
     private String methodsToString(Set<HttpMethod> httpMethods, String delimiter)
     {
         return httpMethods.stream().map(HttpMethod::toString).collect(Collectors.joining(delimiter));
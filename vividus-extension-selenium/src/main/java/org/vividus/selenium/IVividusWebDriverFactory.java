@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,13 @@
 package org.vividus.selenium;
 
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
 
 public interface IVividusWebDriverFactory
 {
     WebDriver createWebDriver();
+
+    WebDriver createWebDriver(DesiredCapabilities desiredCapabilities);
+
+    DesiredCapabilities getDesiredCapabilities();
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,10 +52,17 @@ public class VividusWebDriverFactory implements IVividusWebDriverFactory
     @Override
     public WebDriver createWebDriver()
     {
-        return webDriverFactory.createWebDriver(getDesiredCapabilities());
+        return createWebDriver(getDesiredCapabilities());
     }
 
-    private DesiredCapabilities getDesiredCapabilities()
+    @Override
+    public WebDriver createWebDriver(DesiredCapabilities desiredCapabilities)
+    {
+        return webDriverFactory.createWebDriver(desiredCapabilities);
+    }
+
+    @Override
+    public DesiredCapabilities getDesiredCapabilities()
     {
         DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
 
@@ -26,6 +26,7 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 import org.vividus.selenium.event.AfterWebDriverQuitEvent;
 import org.vividus.selenium.event.BeforeWebDriverQuitEvent;
 import org.vividus.selenium.event.WebDriverCreateEvent;
+import org.vividus.selenium.session.WebDriverSessionPool;
 import org.vividus.testcontext.TestContext;
 
 import jakarta.inject.Inject;
@@ -33,6 +34,7 @@ import jakarta.inject.Inject;
 public class WebDriverProvider implements IWebDriverProvider
 {
     private IVividusWebDriverFactory vividusWebDriverFactory;
+    private WebDriverSessionPool sessionPool;
     private final Queue<WebDriver> webDrivers = new ConcurrentLinkedQueue<>();
     @Inject private EventBus eventBus;
     private final TestContext testContext;
@@ -53,7 +55,7 @@ public class WebDriverProvider implements IWebDriverProvider
         WebDriver webDriver = testContext.get(WebDriver.class);
         if (webDriver == null)
         {
-            webDriver = vividusWebDriverFactory.createWebDriver();
+            webDriver = isSessionPoolEnabled() ? sessionPool.acquire() : vividusWebDriverFactory.createWebDriver();
             testContext.put(WebDriver.class, webDriver);
             webDrivers.add(webDriver);
             eventBus.post(new WebDriverCreateEvent(webDriver));
@@ -77,7 +79,10 @@ public class WebDriverProvider implements IWebDriverProvider
             try
             {
                 eventBus.post(new BeforeWebDriverQuitEvent(sessionId));
-                webDriver.quit();
+                if (!isSessionPoolEnabled() || !sessionPool.release(webDriver))
+                {
+                    webDriver.quit();
+                }
             }
             finally
             {
@@ -94,6 +99,11 @@ public class WebDriverProvider implements IWebDriverProvider
         return null != testContext.get(WebDriver.class);
     }
 
+    private boolean isSessionPoolEnabled()
+    {
+        return sessionPool != null && sessionPool.isEnabled();
+    }
+
     public void destroy()
     {
         webDrivers.forEach(WebDriver::quit);
@@ -103,4 +113,9 @@ public class WebDriverProvider implements IWebDriverProvider
     {
         this.vividusWebDriverFactory = vividusWebDriverFactory;
     }
+
+    public void setSessionPool(WebDriverSessionPool sessionPool)
+    {
+        this.sessionPool = sessionPool;
+    }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.session;
+
+import org.openqa.selenium.WebDriver;
+
+public interface AllCookiesCleaner
+{
+    /**
+     * Deletes the cookies of all domains, not only the cookies visible to the current page.
+     * @param webDriver WebDriver session
+     * @return <code>true</code> if the cookies are deleted, <code>false</code> if the browser doesn't support this
+     */
+    boolean deleteAllCookies(WebDriver webDriver);
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.session;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.context.RunContext;
+import org.vividus.model.RunningStory;
+import org.vividus.selenium.IVividusWebDriverFactory;
+import org.vividus.selenium.WebDriverStartContext;
+import org.vividus.selenium.WebDriverStartParameters;
+
+import jakarta.inject.Inject;
+
+/**
+ * Pool of WebDriver sessions created in background ahead of demand, so the tests don't wait for the sessions to start.
+ * If the sessions reuse is enabled, the session is reset instead of being quit when a test finishes with it, otherwise
+ * every session is used by a single test only. Sessions are matched by the requested capabilities, the idle sessions
+ * not requested during the idle timeout are quit. The sessions requested with a proxy or with the command line
+ * arguments are never pooled, since both are bound to the thread requesting the session. The sessions named after the
+ * running test (e.g. the cloud sessions) are never pooled either, since the name can't be changed once the session is
+ * created.
+ */
+public class WebDriverSessionPool
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverSessionPool.class);
+
+    private static final String CLEAR_STORAGES_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { }";
+
+    private final IVividusWebDriverFactory vividusWebDriverFactory;
+    private final RunContext runContext;
+    private final WebDriverStartContext webDriverStartContext;
+    private final Map<Map<String, Object>, Deque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private final Map<Map<String, Object>, AtomicInteger> warmingSessionCounters = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> busySessions = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final ExecutorService warmingExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("webdriver-session-pool-%d")
+            .setDaemon(true)
+            .build());
+    private volatile boolean destroyed;
+    private Optional<AllCookiesCleaner> allCookiesCleaner = Optional.empty();
+
+    private boolean enabled;
+    private int warmSessions;
+    private boolean reuseSessions;
+    private int maxReuseCount;
+    private Duration idleTimeout;
+
+    public WebDriverSessionPool(IVividusWebDriverFactory vividusWebDriverFactory, RunContext runContext,
+            WebDriverStartContext webDriverStartContext)
+    {
+        this.vividusWebDriverFactory = vividusWebDriverFactory;
+        this.runContext = runContext;
+        this.webDriverStartContext = webDriverStartContext;
+    }
+
+    /**
+     * Provides a healthy idle session with the capabilities requested for the current test or creates a new one, if
+     * there are no such sessions. Then the pool is replenished in background up to the configured number of warm
+     * sessions, the idle sessions not requested during the idle timeout are quit.
+     * @return WebDriver session
+     */
+    public WebDriver acquire()
+    {
+        evictExpiredSessions();
+        DesiredCapabilities desiredCapabilities = vividusWebDriverFactory.getDesiredCapabilities();
+        if (desiredCapabilities.getCapability(CapabilityType.PROXY) != null
+                || webDriverStartContext.get(WebDriverStartParameters.COMMAND_LINE_ARGUMENTS) != null
+                || isNamedAfterTest(desiredCapabilities))
+        {
+            return vividusWebDriverFactory.createWebDriver(desiredCapabilities);
+        }
+        Map<String, Object> key = new HashMap<>(desiredCapabilities.asMap());
+        PooledSession session = pollHealthySession(key);
+        if (session == null)
+        {
+            session = new PooledSession(vividusWebDriverFactory.createWebDriver(desiredCapabilities), key);
+        }
+        warmUp(key, desiredCapabilities);
+        session.usages++;
+        busySessions.put(session.webDriver, session);
+        return session.webDriver;
+    }
+
+    /**
+     * Resets the session (closes all windows except the first one, deletes cookies, clears local and session
+     * storages and opens blank page) and returns it to the pool.
+     * @param webDriver WebDriver session to release
+     * @return <code>true</code> if the session is returned to the pool, <code>false</code> if the sessions reuse is
+     * disabled, the session is not pooled, exceeded the max reuse count or failed to be reset, so it must be quit
+     */
+    public boolean release(WebDriver webDriver)
+    {
+        PooledSession session = busySessions.remove(webDriver);
+        if (!reuseSessions || session == null || destroyed || session.usages >= maxReuseCount)
+        {
+            return false;
+        }
+        try
+        {
+            reset(webDriver);
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to reset WebDriver session, it will be quit");
+            return false;
+        }
+        session.idleSince = System.nanoTime();
+        getIdleSessions(session.key).offerFirst(session);
+        return true;
+    }
+
+    public void destroy()
+    {
+        destroyed = true;
+        warmingExecutor.shutdownNow();
+        idleSessions.values().forEach(sessions -> sessions.forEach(session -> quit(session.webDriver)));
+        idleSessions.clear();
+    }
+
+    private boolean isNamedAfterTest(DesiredCapabilities desiredCapabilities)
+    {
+        Optional<String> testName = Optional.ofNullable(runContext.getRootRunningStory()).map(RunningStory::getName);
+        return testName.isPresent() && desiredCapabilities.asMap().values().stream().anyMatch(
+                value -> testName.get().equals(value) || value instanceof Map<?, ?> nestedCapabilities
+                        && nestedCapabilities.containsValue(testName.get()));
+    }
+
+    private void evictExpiredSessions()
+    {
+        long now = System.nanoTime();
+        idleSessions.values().forEach(sessions -> sessions.forEach(session -> {
+            if (now - session.idleSince >= idleTimeout.toNanos() && sessions.remove(session))
+            {
+                LOGGER.atInfo().log("Idle WebDriver session is not requested during {}, it will be quit", idleTimeout);
+                quit(session.webDriver);
+            }
+        }));
+    }
+
+    private PooledSession pollHealthySession(Map<String, Object> key)
+    {
+        Deque<PooledSession> sessions = getIdleSessions(key);
+        PooledSession session = sessions.pollFirst();
+        while (session != null && !isHealthy(session.webDriver))
+        {
+            quit(session.webDriver);
+            session = sessions.pollFirst();
+        }
+        return session;
+    }
+
+    private void warmUp(Map<String, Object> key, DesiredCapabilities desiredCapabilities)
+    {
+        AtomicInteger warmingSessions = warmingSessionCounters.computeIfAbsent(key, k -> new AtomicInteger());
+        int missingSessions = warmSessions - getIdleSessions(key).size() - warmingSessions.get();
+        for (int i = 0; i < missingSessions; i++)
+        {
+            warmingSessions.incrementAndGet();
+            warmingExecutor.execute(() -> {
+                try
+                {
+                    WebDriver webDriver = vividusWebDriverFactory.createWebDriver(
+                            new DesiredCapabilities(desiredCapabilities));
+                    if (destroyed)
+                    {
+                        quit(webDriver);
+                    }
+                    else
+                    {
+                        getIdleSessions(key).offerLast(new PooledSession(webDriver, key));
+                    }
+                }
+                catch (RuntimeException e)
+                {
+                    LOGGER.atWarn().setCause(e).log("Unable to create WebDriver session ahead of demand");
+                }
+                finally
+                {
+                    warmingSessions.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private Deque<PooledSession> getIdleSessions(Map<String, Object> key)
+    {
+        return idleSessions.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    }
+
+    private void reset(WebDriver webDriver)
+    {
+        Iterator<String> windowHandles = webDriver.getWindowHandles().iterator();
+        String mainWindowHandle = windowHandles.next();
+        windowHandles.forEachRemaining(windowHandle -> webDriver.switchTo().window(windowHandle).close());
+        webDriver.switchTo().window(mainWindowHandle);
+        if (!allCookiesCleaner.map(cleaner -> cleaner.deleteAllCookies(webDriver)).orElse(false))
+        {
+            webDriver.manage().deleteAllCookies();
+        }
+        if (webDriver instanceof JavascriptExecutor javascriptExecutor)
+        {
+            javascriptExecutor.executeScript(CLEAR_STORAGES_SCRIPT);
+        }
+        webDriver.navigate().to("about:blank");
+    }
+
+    private static boolean isHealthy(WebDriver webDriver)
+    {
+        try
+        {
+            webDriver.getWindowHandle();
+            return true;
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.atInfo().setCause(e).log("Idle WebDriver session is not responding, it will be quit");
+            return false;
+        }
+    }
+
+    private static void quit(WebDriver webDriver)
+    {
+        try
+        {
+            webDriver.quit();
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to quit pooled WebDriver session");
+        }
+    }
+
+    @Inject
+    public void setAllCookiesCleaner(Optional<AllCookiesCleaner> allCookiesCleaner)
+    {
+        this.allCookiesCleaner = allCookiesCleaner;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public void setWarmSessions(int warmSessions)
+    {
+        this.warmSessions = warmSessions;
+    }
+
+    public void setReuseSessions(boolean reuseSessions)
+    {
+        this.reuseSessions = reuseSessions;
+    }
+
+    public void setMaxReuseCount(int maxReuseCount)
+    {
+        this.maxReuseCount = maxReuseCount;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout)
+    {
+        this.idleTimeout = idleTimeout;
+    }
+
+    private static final class PooledSession
+    {
+        private final WebDriver webDriver;
+        private final Map<String, Object> key;
+        private int usages;
+        private volatile long idleSince = System.nanoTime();
+
+        private PooledSession(WebDriver webDriver, Map<String, Object> key)
+        {
+            this.webDriver = webDriver;
+            this.key = key;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.vividus.ui.action;
 
+import java.util.List;
+
 import org.openqa.selenium.WebElement;
 
 public interface ElementActions
@@ -34,4 +36,15 @@ public interface ElementActions
      * @return whether or not the element is visible
      */
     boolean isElementVisible(WebElement element);
+
+    /**
+     * Determine which of the elements are currently visible. The default implementation checks the elements one by
+     * one, implementations are encouraged to check all the elements at once where the underlying driver allows it
+     * @param elements elements to check visibility of
+     * @return visibility flags in the same order as the elements
+     */
+    default List<Boolean> areElementsVisible(List<WebElement> elements)
+    {
+        return elements.stream().map(this::isElementVisible).toList();
+    }
 }
@@ -19,6 +19,7 @@ package org.vividus.ui.action.search;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
@@ -114,6 +115,27 @@ public abstract class AbstractElementAction implements IElementAction
             boolean retry)
     {
         boolean visible = visibility == Visibility.VISIBLE;
+        List<Boolean> visibilities;
+        try
+        {
+            visibilities = elementActions.areElementsVisible(elements);
+        }
+        catch (StaleElementReferenceException e)
+        {
+            if (retrySearchIfStale && !retry)
+            {
+                throw e;
+            }
+            return filterElementsByVisibilityOneByOne(elements, visible);
+        }
+        return IntStream.range(0, elements.size())
+                .filter(i -> visible == visibilities.get(i))
+                .mapToObj(elements::get)
+                .toList();
+    }
+
+    private List<WebElement> filterElementsByVisibilityOneByOne(List<WebElement> elements, boolean visible)
+    {
         return elements.stream().filter(element -> {
             try
             {
@@ -121,10 +143,6 @@ public abstract class AbstractElementAction implements IElementAction
             }
             catch (StaleElementReferenceException e)
             {
-                if (retrySearchIfStale && !retry)
-                {
-                    throw e;
-                }
                 LOGGER.atWarn().addArgument(e::getMessage).setCause(e).log("{}");
                 return false;
             }
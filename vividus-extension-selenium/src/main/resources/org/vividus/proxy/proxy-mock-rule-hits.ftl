@@ -0,0 +1,41 @@
+<#ftl strip_whitespace=true>
+
+<!DOCTYPE html>
+<html lang="en">
+<head>
+    <meta charset="utf-8">
+    <title>Proxy mock rule hits</title>
+    <link rel="stylesheet" href="../../webjars/vividus/style.css"/>
+    <link rel="stylesheet" href="../../webjars/bootstrap/5.3.1/css/bootstrap.min.css"/>
+    <style>
+        table {
+            border-collapse: collapse;
+            width: 100%;
+        }
+        table th {
+            text-align: center;
+            font-family: Arial, Helvetica, sans-serif;
+        }
+    </style>
+</head>
+<body>
+    <#outputformat "HTML">
+    <table class="table table-hover table-bordered">
+        <thead>
+            <tr>
+                <th>Rule</th>
+                <th>Hits</th>
+            </tr>
+        </thead>
+        <tbody>
+            <#list rules as rule>
+                <tr<#if rule.hitCount == 0> class="table-warning"</#if>>
+                    <td>${rule.toString()}</td>
+                    <td>${rule.hitCount?c}</td>
+                </tr>
+            </#list>
+        </tbody>
+    </table>
+    </#outputformat>
+</body>
+</html>
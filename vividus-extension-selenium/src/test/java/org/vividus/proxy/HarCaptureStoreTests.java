@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarContent;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HarResponse;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.junit.jupiter.api.Test;
+import org.littleshoot.proxy.HttpFilters;
+
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+
+class HarCaptureStoreTests
+{
+    private static final String URL_A = "https://example.com/a";
+    private static final String URL_B = "https://example.com/b";
+    private static final Pattern ANY_URL = Pattern.compile("https://example\\.com/.*");
+    private static final String CONTENT = "abcdef";
+    private static final int MAX_CONTENT_SIZE = 3;
+
+    private final List<HarEntry> entries = new ArrayList<>();
+    private Har har = createHar(entries);
+    private final HarCaptureStore store = new HarCaptureStore(() -> har, MAX_CONTENT_SIZE);
+
+    @Test
+    void shouldFindEntriesByMethodsAndUrlPatternInRecordingOrder()
+    {
+        HarEntry getA = addEntry(HttpMethod.GET, URL_A);
+        addEntry(HttpMethod.POST, URL_B);
+        HarEntry getB = addEntry(HttpMethod.GET, URL_B);
+        HarEntry putA = addEntry(HttpMethod.PUT, URL_A);
+
+        assertEquals(List.of(getA, getB), store.findEntries(Set.of(HttpMethod.GET), ANY_URL));
+        assertEquals(List.of(getA, putA), store.findEntries(Set.of(HttpMethod.GET, HttpMethod.PUT),
+                Pattern.compile(URL_A)));
+
+        HarEntry anotherGetA = addEntry(HttpMethod.GET, URL_A);
+        HarEntry getC = addEntry(HttpMethod.GET, "https://example.com/c");
+        assertEquals(List.of(getA, getB, anotherGetA, getC), store.findEntries(Set.of(HttpMethod.GET), ANY_URL));
+        assertEquals(List.of(), store.findEntries(Set.of(HttpMethod.DELETE), ANY_URL));
+    }
+
+    @Test
+    void shouldResetIndexWhenHarIsRecreated()
+    {
+        addEntry(HttpMethod.GET, URL_A);
+        assertEquals(1, store.findEntries(Set.of(HttpMethod.GET), ANY_URL).size());
+
+        entries.clear();
+        har = createHar(entries);
+        HarEntry getB = addEntry(HttpMethod.GET, URL_B);
+        assertEquals(List.of(getB), store.findEntries(Set.of(HttpMethod.GET), ANY_URL));
+    }
+
+    @Test
+    void shouldFindNoEntriesIfHarIsNotRecorded()
+    {
+        har = null;
+        assertEquals(List.of(), store.findEntries(Set.of(HttpMethod.GET), ANY_URL));
+    }
+
+    @Test
+    void shouldTruncateContentOnceResponseIsReceived()
+    {
+        HarEntry entry = addEntry(HttpMethod.GET, URL_A);
+        entry.getResponse().setStatus(200);
+        store.onDataCaptured();
+
+        HarContent content = entry.getResponse().getContent();
+        content.setText(CONTENT);
+        entry.getResponse().setBodySize((long) CONTENT.length());
+        store.onDataCaptured();
+        assertEquals("abc", content.getText());
+        assertEquals("The content is truncated to 3 characters, the original size is 6 characters",
+                content.getComment());
+    }
+
+    @Test
+    void shouldNotTruncateShortContent()
+    {
+        HarEntry entry = addEntry(HttpMethod.GET, URL_A);
+        HarContent content = entry.getResponse().getContent();
+        content.setText("abc");
+        entry.getResponse().setStatus(200);
+        entry.getResponse().setBodySize(3L);
+        store.onDataCaptured();
+        assertEquals("abc", content.getText());
+        assertNull(content.getComment());
+    }
+
+    @Test
+    void shouldNotifyWaitersWhenHttpMessagesAreCaptured()
+            throws InterruptedException, ExecutionException, TimeoutException
+    {
+        HttpFilters filters = store.createHttpFiltersSource().filterRequest(mock(HttpRequest.class));
+        HttpRequest request = mock(HttpRequest.class);
+        assertTrue(awaitAsync(() -> assertNull(filters.clientToProxyRequest(request))));
+        HttpObject lastContent = mock(LastHttpContent.class);
+        assertTrue(awaitAsync(() -> assertSame(lastContent, filters.proxyToClientResponse(lastContent))));
+    }
+
+    @Test
+    void shouldNotWaitIfDataIsCapturedAfterKnownGeneration() throws InterruptedException
+    {
+        long generation = store.getCapturedDataGeneration();
+        store.onDataCaptured();
+        assertEquals(generation + 1, store.getCapturedDataGeneration());
+        assertTrue(store.awaitCapturedData(generation, Duration.ZERO));
+    }
+
+    @Test
+    void shouldStopWaitingOnTimeout() throws InterruptedException
+    {
+        assertFalse(store.awaitCapturedData(store.getCapturedDataGeneration(), Duration.ofMillis(1)));
+    }
+
+    private boolean awaitAsync(Runnable capture) throws InterruptedException, ExecutionException, TimeoutException
+    {
+        long generation = store.getCapturedDataGeneration();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return store.awaitCapturedData(generation, Duration.ofSeconds(10));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        while (!waiter.isDone())
+        {
+            capture.run();
+            Thread.sleep(10);
+        }
+        return waiter.get(1, TimeUnit.SECONDS);
+    }
+
+    private HarEntry addEntry(HttpMethod method, String url)
+    {
+        HarRequest request = new HarRequest();
+        request.setMethod(method);
+        request.setUrl(url);
+        HarResponse response = new HarResponse();
+        response.setContent(new HarContent());
+        HarEntry entry = new HarEntry();
+        entry.setRequest(request);
+        entry.setResponse(response);
+        entries.add(entry);
+        return entry;
+    }
+
+    private static Har createHar(List<HarEntry> entries)
+    {
+        HarLog harLog = new HarLog();
+        harLog.setEntries(entries);
+        Har har = new Har();
+        har.setLog(harLog);
+        return har;
+    }
+}
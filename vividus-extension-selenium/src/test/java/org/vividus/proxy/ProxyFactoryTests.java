@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,14 @@ package org.vividus.proxy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.reporter.event.IAttachmentPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class ProxyFactoryTests
@@ -35,9 +37,17 @@ class ProxyFactoryTests
     void testCreateProxy() throws IllegalAccessException
     {
         String proxyHost = "somehost";
+        int maxRecordedContentSize = 1024;
         proxyFactory.setProxyHost(proxyHost);
+        proxyFactory.setMaxRecordedContentSize(maxRecordedContentSize);
+        IAttachmentPublisher attachmentPublisher = mock();
+        proxyFactory.setAttachmentPublisher(attachmentPublisher);
         Proxy actualProxy = proxyFactory.createProxy();
         assertNotNull(actualProxy);
         assertEquals(proxyHost, FieldUtils.getField(Proxy.class, "proxyHost", true).get(actualProxy));
+        assertEquals(maxRecordedContentSize,
+                FieldUtils.getField(Proxy.class, "maxRecordedContentSize", true).get(actualProxy));
+        assertEquals(attachmentPublisher,
+                FieldUtils.getField(Proxy.class, "attachmentPublisher", true).get(actualProxy));
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.browserup.bup.util.HttpMessageInfo;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vividus.steps.StringComparisonRule;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+
+class ProxyMockRouterTests
+{
+    private static final String URL = "https://www.example.com/path";
+    private static final String HEADER = "header";
+    private static final String VALUE = "value";
+
+    private final ProxyMockRouter router = new ProxyMockRouter();
+
+    @ParameterizedTest
+    @CsvSource({
+        "IS_EQUAL_TO,      https://www.example.com/path, 201",
+        "CONTAINS,         example.com,                  202",
+        "DOES_NOT_CONTAIN, example.org,                  203",
+        "MATCHES,          .*/pa.h,                      204"
+    })
+    void shouldRouteRequestToMatchingRule(StringComparisonRule comparisonRule, String url, int responseCode)
+    {
+        router.addRule(mockResponse(StringComparisonRule.IS_EQUAL_TO, URL + "/other", 500));
+        router.addRule(mockResponse(comparisonRule, url, responseCode));
+        HttpResponse response = filterRequest(io.netty.handler.codec.http.HttpMethod.GET, URL);
+        assertEquals(responseCode, response.status().code());
+        List<ProxyMockRule> rules = router.getRules();
+        assertAll(
+            () -> assertEquals(0, rules.get(0).getHitCount()),
+            () -> assertEquals(1, rules.get(1).getHitCount())
+        );
+    }
+
+    @Test
+    void shouldApplyNewestRulesFirstRegardlessOfIndexing()
+    {
+        router.addRule(mockResponse(StringComparisonRule.IS_EQUAL_TO, URL, 201));
+        router.addRule(mockResponse(StringComparisonRule.CONTAINS, "example", 202));
+        assertEquals(202, filterRequest(io.netty.handler.codec.http.HttpMethod.GET, URL).status().code());
+        router.addRule(mockResponse(StringComparisonRule.IS_EQUAL_TO, URL, 203));
+        assertEquals(203, filterRequest(io.netty.handler.codec.http.HttpMethod.GET, URL).status().code());
+        List<ProxyMockRule> rules = router.getRules();
+        assertAll(
+            () -> assertEquals(0, rules.get(0).getHitCount()),
+            () -> assertEquals(1, rules.get(1).getHitCount()),
+            () -> assertEquals(1, rules.get(2).getHitCount())
+        );
+    }
+
+    @Test
+    void shouldAddHeadersBeforeMockingResponseAndSkipOlderRulesAfterMock()
+    {
+        HttpHeaders headers = new DefaultHttpHeaders().add(HEADER, VALUE);
+        router.addRule(ProxyMockRule.addHeaders(StringComparisonRule.CONTAINS, URL, headers));
+        router.addRule(mockResponse(StringComparisonRule.MATCHES, ".*", 200));
+        router.addRule(ProxyMockRule.addHeaders(StringComparisonRule.IS_EQUAL_TO, URL, headers));
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, io.netty.handler.codec.http.HttpMethod.GET,
+                URL);
+        HttpResponse response = router.filterRequest(request, null, mockMessageInfo(request, URL));
+        assertEquals(200, response.status().code());
+        assertEquals(List.of(VALUE), request.headers().getAll(HEADER));
+        List<ProxyMockRule> rules = router.getRules();
+        assertAll(
+            () -> assertEquals(0, rules.get(0).getHitCount()),
+            () -> assertEquals(1, rules.get(1).getHitCount()),
+            () -> assertEquals(1, rules.get(2).getHitCount())
+        );
+    }
+
+    @Test
+    void shouldSkipRulesNotMatchingHttpMethod()
+    {
+        router.addRule(mockResponse(StringComparisonRule.IS_EQUAL_TO, URL, 202));
+        router.addRule(ProxyMockRule.mockResponse(Optional.of(Set.of(HttpMethod.POST)),
+                StringComparisonRule.IS_EQUAL_TO, URL, 201, Optional.empty(), new DefaultHttpHeaders()));
+        assertEquals(202, filterRequest(io.netty.handler.codec.http.HttpMethod.GET, URL).status().code());
+        assertEquals(201, filterRequest(io.netty.handler.codec.http.HttpMethod.POST, URL).status().code());
+    }
+
+    @Test
+    void shouldNotRouteRequestIfNoRuleMatches()
+    {
+        router.addRule(mockResponse(StringComparisonRule.IS_EQUAL_TO, URL + "/other", 200));
+        router.addRule(mockResponse(StringComparisonRule.DOES_NOT_CONTAIN, "example", 200));
+        assertNull(filterRequest(io.netty.handler.codec.http.HttpMethod.GET, URL));
+    }
+
+    private HttpResponse filterRequest(io.netty.handler.codec.http.HttpMethod httpMethod, String url)
+    {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, httpMethod, url);
+        return router.filterRequest(request, null, mockMessageInfo(request, url));
+    }
+
+    private static HttpMessageInfo mockMessageInfo(HttpRequest request, String url)
+    {
+        HttpMessageInfo messageInfo = mock(HttpMessageInfo.class);
+        when(messageInfo.getUrl()).thenReturn(url);
+        when(messageInfo.getOriginalRequest()).thenReturn(request);
+        return messageInfo;
+    }
+
+    private static ProxyMockRule mockResponse(StringComparisonRule comparisonRule, String url, int responseCode)
+    {
+        return ProxyMockRule.mockResponse(Optional.empty(), comparisonRule, url, responseCode, Optional.empty(),
+                new DefaultHttpHeaders());
+    }
+}
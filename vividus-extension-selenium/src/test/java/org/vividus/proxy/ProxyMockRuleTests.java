@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+
+import com.browserup.bup.util.HttpMessageInfo;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vividus.steps.StringComparisonRule;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+
+class ProxyMockRuleTests
+{
+    private static final String URL = "https://www.example.com";
+    private static final String CONTENT = "content";
+
+    @Test
+    void shouldReuseContentBufferAcrossMockedResponses()
+    {
+        ProxyMockRule rule = ProxyMockRule.mockResponse(Optional.empty(), StringComparisonRule.IS_EQUAL_TO, URL, 200,
+                Optional.of(CONTENT.getBytes(StandardCharsets.UTF_8)), new DefaultHttpHeaders().add("name", "value"));
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_0, io.netty.handler.codec.http.HttpMethod.GET,
+                URL);
+        HttpMessageInfo messageInfo = mock(HttpMessageInfo.class);
+        FullHttpResponse first = (FullHttpResponse) rule.process(request, messageInfo);
+        assertEquals(CONTENT, first.content().readCharSequence(CONTENT.length(), StandardCharsets.UTF_8).toString());
+        first.release();
+        first.headers().add("extra", "header");
+        FullHttpResponse second = (FullHttpResponse) rule.process(request, messageInfo);
+        assertAll(
+            () -> assertNotSame(first, second),
+            () -> assertEquals(CONTENT, second.content().toString(StandardCharsets.UTF_8)),
+            () -> assertEquals("7", second.headers().get(HttpHeaderNames.CONTENT_LENGTH)),
+            () -> assertEquals("value", second.headers().get("name")),
+            () -> assertNull(second.headers().get("extra")),
+            () -> assertEquals(HttpVersion.HTTP_1_0, second.protocolVersion()),
+            () -> assertEquals(2, rule.getHitCount())
+        );
+    }
+
+    @Test
+    void shouldDescribeRule()
+    {
+        ProxyMockRule mockRule = ProxyMockRule.mockResponse(Optional.of(Set.of(HttpMethod.POST, HttpMethod.GET)),
+                StringComparisonRule.MATCHES, ".*", 404, Optional.empty(), new DefaultHttpHeaders());
+        ProxyMockRule headersRule = ProxyMockRule.addHeaders(StringComparisonRule.CONTAINS, URL,
+                new DefaultHttpHeaders());
+        assertAll(
+            () -> assertEquals("GET or POST requests with URL which matches '.*': respond with 404",
+                    mockRule.toString()),
+            () -> assertEquals("All requests with URL which contains 'https://www.example.com': add headers",
+                    headersRule.toString())
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "IS_EQUAL_TO,      https://www.example.com,      https://www.example.com,      true",
+        "IS_EQUAL_TO,      https://www.example.com,      https://www.example.com/path, false",
+        "CONTAINS,         example,                      https://www.example.com,      true",
+        "CONTAINS,         vividus,                      https://www.example.com,      false",
+        "DOES_NOT_CONTAIN, vividus,                      https://www.example.com,      true",
+        "DOES_NOT_CONTAIN, example,                      https://www.example.com,      false",
+        "MATCHES,          .*example\\.com,              https://www.example.com,      true",
+        "MATCHES,          example,                      https://www.example.com,      false"
+    })
+    void shouldMatchUrl(StringComparisonRule comparisonRule, String url, String actualUrl, boolean expected)
+    {
+        ProxyMockRule rule = ProxyMockRule.addHeaders(comparisonRule, url, new DefaultHttpHeaders());
+        assertEquals(expected, rule.matchesUrl(actualUrl));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,16 @@ package org.vividus.proxy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -31,7 +35,10 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import com.browserup.bup.BrowserUpProxyServer;
@@ -39,24 +46,45 @@ import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.RequestFilterAdapter;
 import com.browserup.bup.filters.ResponseFilter;
 import com.browserup.bup.filters.ResponseFilterAdapter;
+import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HttpMethod;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.littleshoot.proxy.HttpFiltersSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.Proxy.ProxyType;
+import org.vividus.reporter.event.IAttachmentPublisher;
+import org.vividus.steps.StringComparisonRule;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
 
 @ExtendWith(MockitoExtension.class)
 class ProxyTests
 {
+    private static final String MOCK_RULE_HITS_TEMPLATE = "/org/vividus/proxy/proxy-mock-rule-hits.ftl";
+    private static final String MOCK_RULE_HITS_TITLE = "Proxy mock rule hits";
+
     @Mock private IProxyServerFactory proxyServerFactory;
     @Mock private BrowserUpProxyServer browserUpProxyServer;
+    @Mock private IAttachmentPublisher attachmentPublisher;
     @InjectMocks private Proxy proxy;
 
+    @BeforeEach
+    void beforeEach()
+    {
+        proxy.setAttachmentPublisher(attachmentPublisher);
+    }
+
     @Test
     void testIfNotStartedAfterCreation()
     {
@@ -146,6 +174,34 @@ class ProxyTests
         verify(browserUpProxyServer).getHar();
     }
 
+    @Test
+    void shouldRegisterHarCaptureStoreFiltersAfterStart()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        proxy.start();
+        var ordered = inOrder(browserUpProxyServer);
+        ordered.verify(browserUpProxyServer).start();
+        ordered.verify(browserUpProxyServer).addLastHttpFilterFactory(any(HttpFiltersSource.class));
+    }
+
+    @Test
+    void shouldFindRecordedEntries()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        proxy.start();
+        Har har = new Har();
+        HarEntry entry = new HarEntry();
+        HarRequest request = new HarRequest();
+        request.setMethod(HttpMethod.GET);
+        request.setUrl("https://example.com");
+        entry.setRequest(request);
+        HarLog harLog = new HarLog();
+        harLog.setEntries(List.of(entry));
+        har.setLog(harLog);
+        when(browserUpProxyServer.getHar()).thenReturn(har);
+        assertEquals(List.of(entry), proxy.findRecordedEntries(Set.of(HttpMethod.GET), Pattern.compile(".*")));
+    }
+
     @Test
     void testStopRecording()
     {
@@ -184,6 +240,41 @@ class ProxyTests
         assertTrue(toRemove.size() == 1 && toRemove.contains(fsResponse));
     }
 
+    @Test
+    void shouldRegisterSingleMockRouterAndReRegisterItAfterClear()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        when(browserUpProxyServer.getFilterFactories()).thenReturn(new ArrayList<>());
+        proxy.start();
+        ProxyMockRule rule = ProxyMockRule.addHeaders(StringComparisonRule.CONTAINS, "url", new DefaultHttpHeaders());
+        proxy.addMockRule(rule);
+        proxy.addMockRule(rule);
+        ArgumentCaptor<RequestFilter> routerCaptor = ArgumentCaptor.forClass(RequestFilter.class);
+        verify(browserUpProxyServer).addRequestFilter(routerCaptor.capture());
+        ProxyMockRouter router = (ProxyMockRouter) routerCaptor.getValue();
+        assertEquals(List.of(rule, rule), router.getRules());
+        proxy.clearRequestFilters();
+        verify(attachmentPublisher).publishAttachment(MOCK_RULE_HITS_TEMPLATE, Map.of("rules", List.of(rule, rule)),
+                MOCK_RULE_HITS_TITLE);
+        proxy.addMockRule(rule);
+        verify(browserUpProxyServer, times(2)).addRequestFilter(routerCaptor.capture());
+        assertNotSame(router, routerCaptor.getValue());
+    }
+
+    @Test
+    void shouldPublishMockRuleHitsOnStop()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        proxy.start();
+        ProxyMockRule rule = ProxyMockRule.addHeaders(StringComparisonRule.CONTAINS, "url", new DefaultHttpHeaders());
+        proxy.addMockRule(rule);
+        proxy.stop();
+        proxy.stop();
+        verify(attachmentPublisher).publishAttachment(MOCK_RULE_HITS_TEMPLATE, Map.of("rules", List.of(rule)),
+                MOCK_RULE_HITS_TITLE);
+        verifyNoMoreInteractions(attachmentPublisher);
+    }
+
     @Test
     void shouldCreateSeleniumProxy()
     {
@@ -214,6 +305,8 @@ class ProxyTests
                 Proxy::startRecording,
                 Proxy::stopRecording,
                 Proxy::getRecordedData,
+                proxy -> proxy.findRecordedEntries(Set.of(HttpMethod.GET), Pattern.compile(".*")),
+                Proxy::getRecordedDataGeneration,
                 Proxy::clearRecordedData,
                 Proxy::clearRequestFilters,
                 Proxy::createSeleniumProxy,
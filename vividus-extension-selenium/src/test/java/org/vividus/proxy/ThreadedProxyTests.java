@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,11 +27,15 @@ import static org.mockito.Mockito.when;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import com.browserup.bup.BrowserUpProxy;
 import com.browserup.bup.filters.RequestFilter;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
@@ -44,8 +48,11 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.model.IntegerRange;
+import org.vividus.steps.StringComparisonRule;
 import org.vividus.testcontext.SimpleTestContext;
 
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+
 @ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
 class ThreadedProxyTests
 {
@@ -210,6 +217,29 @@ class ThreadedProxyTests
         verify(proxy).getRecordedData();
     }
 
+    @Test
+    void shouldFindRecordedEntries() throws UnknownHostException
+    {
+        defaultInit();
+        Set<HttpMethod> httpMethods = Set.of(HttpMethod.GET);
+        Pattern urlPattern = Pattern.compile(".*");
+        List<HarEntry> entries = List.of(new HarEntry());
+        when(proxy.findRecordedEntries(httpMethods, urlPattern)).thenReturn(entries);
+        assertEquals(entries, threadedProxy.findRecordedEntries(httpMethods, urlPattern));
+    }
+
+    @Test
+    void shouldAwaitRecordedData() throws UnknownHostException, InterruptedException
+    {
+        defaultInit();
+        Duration timeout = Duration.ofSeconds(1);
+        long generation = 1;
+        when(proxy.getRecordedDataGeneration()).thenReturn(generation);
+        assertEquals(generation, threadedProxy.getRecordedDataGeneration());
+        when(proxy.awaitRecordedData(generation, timeout)).thenReturn(true);
+        assertTrue(threadedProxy.awaitRecordedData(generation, timeout));
+    }
+
     @Test
     void testClearRequestFilters() throws UnknownHostException
     {
@@ -227,6 +257,16 @@ class ThreadedProxyTests
         verify(proxy).addRequestFilter(requestFilter);
     }
 
+    @Test
+    void testAddMockRule() throws UnknownHostException
+    {
+        defaultInit();
+        ProxyMockRule rule = ProxyMockRule.addHeaders(StringComparisonRule.CONTAINS, LOCALHOST,
+                new DefaultHttpHeaders());
+        threadedProxy.addMockRule(rule);
+        verify(proxy).addMockRule(rule);
+    }
+
     private void defaultInit() throws UnknownHostException
     {
         threadedProxy = new ThreadedProxy(LOCALHOST, range(0), proxyFactory, new SimpleTestContext());
@@ -19,6 +19,7 @@ package org.vividus.proxy.steps;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -27,8 +28,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
@@ -39,19 +40,16 @@ import java.util.stream.Stream;
 
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.util.HttpMessageInfo;
-import com.browserup.harreader.model.Har;
-import com.browserup.harreader.model.HarCreatorBrowser;
 import com.browserup.harreader.model.HarEntry;
-import com.browserup.harreader.model.HarLog;
 import com.browserup.harreader.model.HarPostData;
 import com.browserup.harreader.model.HarPostDataParam;
 import com.browserup.harreader.model.HarQueryParam;
 import com.browserup.harreader.model.HarRequest;
 import com.browserup.harreader.model.HarResponse;
 import com.browserup.harreader.model.HttpMethod;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.apache.hc.core5.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -65,6 +63,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.context.VariableContext;
 import org.vividus.proxy.IProxy;
+import org.vividus.proxy.ProxyMockRouter;
+import org.vividus.proxy.ProxyMockRule;
 import org.vividus.proxy.model.HttpMessagePart;
 import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
@@ -86,7 +86,6 @@ import io.netty.handler.codec.http.HttpVersion;
 class ProxyStepsTests
 {
     private static final String CONTENT_LENGTH = "Content-Length";
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final String URL = "www.test.com";
     private static final String REQUESTS_MATCHING_URL_ASSERTION_PATTERN =
             "Number of HTTP %s requests matching URL pattern '%s'";
@@ -100,6 +99,7 @@ class ProxyStepsTests
     private static final String CONTENT_LENGTH_VALUE = "6";
     private static final DefaultHttpHeaders HEADERS = new DefaultHttpHeaders();
     private static final Pattern URL_PATTERN = Pattern.compile(URL);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(1);
 
     @Mock private ISoftAssert nonFailingAssert;
     @Mock private VariableContext variableContext;
@@ -108,6 +108,12 @@ class ProxyStepsTests
     @Mock private IWaitActions waitActions;
     @InjectMocks private ProxySteps proxySteps;
 
+    @BeforeEach
+    void beforeEach()
+    {
+        proxySteps.setWaitTimeout(WAIT_TIMEOUT);
+    }
+
     @Test
     void testClearProxyLog()
     {
@@ -116,7 +122,7 @@ class ProxyStepsTests
     }
 
     @Test
-    void checkHarEntryExistenceWithHttpMethodAndUrlPattern() throws IOException
+    void checkHarEntryExistenceWithHttpMethodAndUrlPattern()
     {
         HttpMethod httpMethod = HttpMethod.POST;
         mockHar(httpMethod, HttpStatus.SC_OK);
@@ -135,7 +141,6 @@ class ProxyStepsTests
             "POST, 302"
     })
     void checkHarEntryExistenceWithHttpMethodAndUrlPatternNoCalls(HttpMethod httpMethodInHar, int statusCode)
-            throws IOException
     {
         HttpMethod httpMethod = HttpMethod.POST;
         mockHar(httpMethodInHar, statusCode);
@@ -148,7 +153,7 @@ class ProxyStepsTests
 
     @SuppressWarnings("unchecked")
     @Test
-    void checkCaptureQueryStringFromHarEntry() throws IOException
+    void checkCaptureQueryStringFromHarEntry()
     {
         HttpMethod httpMethod = HttpMethod.POST;
         mockHar(httpMethod, HttpStatus.SC_OK);
@@ -164,7 +169,7 @@ class ProxyStepsTests
     }
 
     @Test
-    void shouldSaveUrlFromCapturedHar() throws IOException
+    void shouldSaveUrlFromCapturedHar()
     {
         HttpMethod httpMethod = HttpMethod.POST;
         mockHar(httpMethod, HttpStatus.SC_OK);
@@ -176,7 +181,7 @@ class ProxyStepsTests
 
     @SuppressWarnings("unchecked")
     @Test
-    void checkCaptureRequestDataFromHarEntry() throws IOException
+    void checkCaptureRequestDataFromHarEntry()
     {
         HttpMethod httpMethod = HttpMethod.POST;
         int statusCode = HttpStatus.SC_OK;
@@ -203,7 +208,7 @@ class ProxyStepsTests
     }
 
     @Test
-    void checkCaptureQueryStringSeveralHarEntriesFound() throws IOException
+    void checkCaptureQueryStringSeveralHarEntriesFound()
     {
         HttpMethod httpMethod = HttpMethod.POST;
         ProxySteps spy = spy(proxySteps);
@@ -217,23 +222,25 @@ class ProxyStepsTests
             "POST, true",
             "PUT, false"
     })
-    void testWaitRequestInProxyLog(HttpMethod actualHttpMethod, boolean waitSuccessful) throws IOException
+    void testWaitRequestInProxyLog(HttpMethod actualHttpMethod, boolean waitSuccessful)
     {
         mockHar(actualHttpMethod, HttpStatus.SC_OK);
         proxySteps.waitRequestIsCaptured(EnumSet.of(HttpMethod.POST), URL_PATTERN);
-        verify(waitActions).wait(eq(URL_PATTERN), argThat((Function<Pattern, Boolean> e) ->
-                "waiting for HTTP POST request with URL pattern www.test.com".equals(e.toString())
-                        && e.apply(URL_PATTERN) == waitSuccessful));
+        verify(waitActions).wait(eq(URL_PATTERN), eq(WAIT_TIMEOUT), eq(Duration.ZERO),
+                argThat((Function<Pattern, Boolean> e) ->
+                        "waiting for HTTP POST request with URL pattern www.test.com".equals(e.toString())
+                                && e.apply(URL_PATTERN) == waitSuccessful));
     }
 
     @Test
-    void testWaitAnyOfRequestInProxyLog() throws IOException
+    void testWaitAnyOfRequestInProxyLog()
     {
         mockHar(HttpMethod.PUT, HttpStatus.SC_OK);
         proxySteps.waitRequestIsCaptured(EnumSet.of(HttpMethod.POST, HttpMethod.PUT), URL_PATTERN);
-        verify(waitActions).wait(eq(URL_PATTERN), argThat((Function<Pattern, Boolean> e) ->
-                "waiting for HTTP POST or PUT request with URL pattern www.test.com".equals(e.toString())
-                        && e.apply(URL_PATTERN)));
+        verify(waitActions).wait(eq(URL_PATTERN), eq(WAIT_TIMEOUT), eq(Duration.ZERO),
+                argThat((Function<Pattern, Boolean> e) ->
+                        "waiting for HTTP POST or PUT request with URL pattern www.test.com".equals(e.toString())
+                                && e.apply(URL_PATTERN)));
     }
 
     @Test
@@ -245,9 +252,8 @@ class ProxyStepsTests
         HttpMessageInfo messageInfo = mock(HttpMessageInfo.class);
         when(messageInfo.getUrl()).thenReturn(URL);
         proxySteps.addHeadersToProxyRequest(StringComparisonRule.IS_EQUAL_TO, URL, HEADERS);
-        ArgumentCaptor<RequestFilter> filterCaptor = ArgumentCaptor.forClass(RequestFilter.class);
-        verify(proxy).addRequestFilter(filterCaptor.capture());
-        assertNull(filterCaptor.getValue().filterRequest(request, null, messageInfo));
+        RequestFilter filter = captureMockRouter();
+        assertNull(filter.filterRequest(request, null, messageInfo));
         verify(httpHeaders).add(HEADERS);
     }
 
@@ -256,7 +262,7 @@ class ProxyStepsTests
     {
         HttpMessageInfo messageInfo = mock(HttpMessageInfo.class);
         proxySteps.addHeadersToProxyRequest(StringComparisonRule.IS_EQUAL_TO, URL, HEADERS);
-        verify(proxy).addRequestFilter(argThat(filter -> filter.filterRequest(null, null, messageInfo) == null));
+        assertNull(captureMockRouter().filterRequest(null, null, messageInfo));
     }
 
     static Stream<Arguments> contentSource()
@@ -277,9 +283,8 @@ class ProxyStepsTests
         proxySteps.mockHttpRequests(StringComparisonRule.CONTAINS, URL, HttpStatus.SC_OK, new DataWrapper(content),
                 headers);
 
-        ArgumentCaptor<RequestFilter> filterCaptor = ArgumentCaptor.forClass(RequestFilter.class);
-        verify(proxy).addRequestFilter(filterCaptor.capture());
-        FullHttpResponse response = (FullHttpResponse) filterCaptor.getValue().filterRequest(request, null,
+        RequestFilter filter = captureMockRouter();
+        FullHttpResponse response = (FullHttpResponse) filter.filterRequest(request, null,
                 messageInfo);
         assertEquals(HttpResponseStatus.OK, response.status());
         assertEquals(VALUE1, response.content().toString(StandardCharsets.UTF_8));
@@ -316,9 +321,8 @@ class ProxyStepsTests
         headers.add(KEY1, VALUE2);
         proxySteps.mockHttpRequests(Set.of(HttpMethod.GET, HttpMethod.POST), StringComparisonRule.CONTAINS,
                 URL, HttpStatus.SC_OK, new DataWrapper(VALUE1), headers);
-        ArgumentCaptor<RequestFilter> filterCaptor = ArgumentCaptor.forClass(RequestFilter.class);
-        verify(proxy).addRequestFilter(filterCaptor.capture());
-        FullHttpResponse response = (FullHttpResponse) filterCaptor.getValue().filterRequest(request, null,
+        RequestFilter filter = captureMockRouter();
+        FullHttpResponse response = (FullHttpResponse) filter.filterRequest(request, null,
                 messageInfo);
         assertNull(response);
     }
@@ -334,9 +338,8 @@ class ProxyStepsTests
         headers.add(KEY1, VALUE2);
         proxySteps.mockHttpRequests(StringComparisonRule.CONTAINS, URL, HttpStatus.SC_OK, headers);
 
-        ArgumentCaptor<RequestFilter> filterCaptor = ArgumentCaptor.forClass(RequestFilter.class);
-        verify(proxy).addRequestFilter(filterCaptor.capture());
-        HttpResponse response = filterCaptor.getValue().filterRequest(request, null, messageInfo);
+        RequestFilter filter = captureMockRouter();
+        HttpResponse response = filter.filterRequest(request, null, messageInfo);
         assertEquals(HttpResponseStatus.OK, response.status());
         assertEquals(VALUE2, response.headers().get(KEY1));
         assertNull(response.headers().get(CONTENT_LENGTH));
@@ -360,9 +363,8 @@ class ProxyStepsTests
 
     private void verifyResponse(HttpRequest request, HttpMessageInfo messageInfo)
     {
-        ArgumentCaptor<RequestFilter> filterCaptor = ArgumentCaptor.forClass(RequestFilter.class);
-        verify(proxy).addRequestFilter(filterCaptor.capture());
-        FullHttpResponse response = (FullHttpResponse) filterCaptor.getValue().filterRequest(request, null,
+        RequestFilter filter = captureMockRouter();
+        FullHttpResponse response = (FullHttpResponse) filter.filterRequest(request, null,
                 messageInfo);
         assertEquals(HttpResponseStatus.OK, response.status());
         assertEquals(VALUE1, response.content().toString(StandardCharsets.UTF_8));
@@ -371,6 +373,15 @@ class ProxyStepsTests
         assertEquals(HttpVersion.HTTP_1_1, response.protocolVersion());
     }
 
+    private RequestFilter captureMockRouter()
+    {
+        ArgumentCaptor<ProxyMockRule> ruleCaptor = ArgumentCaptor.forClass(ProxyMockRule.class);
+        verify(proxy).addMockRule(ruleCaptor.capture());
+        ProxyMockRouter router = new ProxyMockRouter();
+        router.addRule(ruleCaptor.getValue());
+        return router;
+    }
+
     private void mockSizeAssertion(String message, int actualMatchedEntriesNumber, ComparisonRule rule, int callsNumber)
     {
         when(nonFailingAssert.assertThat(eq(message), eq(actualMatchedEntriesNumber),
@@ -378,23 +389,13 @@ class ProxyStepsTests
                         .equals(rule.getComparisonRule(callsNumber).toString())))).thenReturn(true);
     }
 
-    private byte[] mockHar(HttpMethod httpMethod, int statusCode) throws IOException
+    private void mockHar(HttpMethod httpMethod, int statusCode)
     {
         HarEntry harEntry = createHarEntry(httpMethod, statusCode);
-
-        HarCreatorBrowser browser = new HarCreatorBrowser();
-        browser.setName("chrome");
-        browser.setVersion("66");
-
-        HarLog harLog = new HarLog();
-        harLog.setBrowser(browser);
-        harLog.setCreator(browser);
-        harLog.setEntries(List.of(harEntry));
-
-        Har har = new Har();
-        har.setLog(harLog);
-        when(proxy.getRecordedData()).thenReturn(har);
-        return OBJECT_MAPPER.writeValueAsBytes(har);
+        when(proxy.findRecordedEntries(any(), eq(URL_PATTERN))).thenAnswer(invocation -> {
+            Set<HttpMethod> httpMethods = invocation.getArgument(0);
+            return httpMethods.contains(httpMethod) ? List.of(harEntry) : List.of();
+        });
     }
 
     private HarEntry createHarEntry(HttpMethod httpMethod, int statusCode)
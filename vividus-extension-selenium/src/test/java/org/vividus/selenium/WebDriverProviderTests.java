@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -45,6 +46,7 @@ import org.openqa.selenium.remote.SessionId;
 import org.vividus.selenium.event.AfterWebDriverQuitEvent;
 import org.vividus.selenium.event.BeforeWebDriverQuitEvent;
 import org.vividus.selenium.event.WebDriverCreateEvent;
+import org.vividus.selenium.session.WebDriverSessionPool;
 import org.vividus.testcontext.SimpleTestContext;
 import org.vividus.testcontext.TestContext;
 
@@ -102,6 +104,42 @@ class WebDriverProviderTests
         verify(remoteWebDriver).quit();
     }
 
+    @Test
+    void shouldAcquireWebDriverFromSessionPoolAndReleaseItOnEnd()
+    {
+        var sessionPool = mock(WebDriverSessionPool.class);
+        webDriverProvider.setSessionPool(sessionPool);
+        when(sessionPool.isEnabled()).thenReturn(true);
+        when(sessionPool.acquire()).thenReturn(remoteWebDriver);
+        assertEquals(remoteWebDriver, webDriverProvider.get());
+        verify(mockedEventBus).post(any(WebDriverCreateEvent.class));
+        SessionId sessionId = mock();
+        when(remoteWebDriver.getSessionId()).thenReturn(sessionId);
+        when(sessionId.toString()).thenReturn(SESSION_ID);
+        when(sessionPool.release(remoteWebDriver)).thenReturn(true);
+        webDriverProvider.end();
+        verify(remoteWebDriver, never()).quit();
+        verifyNoInteractions(vividusDriverFactory);
+        webDriverProvider.destroy();
+        verify(remoteWebDriver, never()).quit();
+    }
+
+    @Test
+    void shouldQuitWebDriverNotReturnedToSessionPool()
+    {
+        var sessionPool = mock(WebDriverSessionPool.class);
+        webDriverProvider.setSessionPool(sessionPool);
+        when(sessionPool.isEnabled()).thenReturn(true);
+        SessionId sessionId = mock();
+        testContext.put(WebDriver.class, remoteWebDriver);
+        when(remoteWebDriver.getSessionId()).thenReturn(sessionId);
+        when(sessionId.toString()).thenReturn(SESSION_ID);
+        when(sessionPool.release(remoteWebDriver)).thenReturn(false);
+        webDriverProvider.end();
+        verify(remoteWebDriver).quit();
+        verifyEventsPosting();
+    }
+
     @Test
     void testGetUnwrapped()
     {
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.session;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriver.Options;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.vividus.context.RunContext;
+import org.vividus.model.RunningStory;
+import org.vividus.selenium.IVividusWebDriverFactory;
+import org.vividus.selenium.WebDriverStartContext;
+import org.vividus.selenium.WebDriverStartParameters;
+
+@ExtendWith(MockitoExtension.class)
+class WebDriverSessionPoolTests
+{
+    private static final String TEST_NAME = "Login story";
+    private static final String MAIN_WINDOW = "main";
+    private static final String POPUP_WINDOW = "popup";
+
+    private final DesiredCapabilities desiredCapabilities = new DesiredCapabilities("chrome", "", null);
+
+    @Mock private IVividusWebDriverFactory vividusWebDriverFactory;
+    @Mock private RunContext runContext;
+    @Mock private WebDriverStartContext webDriverStartContext;
+    @Mock(extraInterfaces = JavascriptExecutor.class) private WebDriver webDriver;
+    @Mock private WebDriver warmWebDriver;
+    @Mock private TargetLocator targetLocator;
+    @Mock private Options options;
+    @Mock private Navigation navigation;
+
+    private WebDriverSessionPool sessionPool;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        sessionPool = new WebDriverSessionPool(vividusWebDriverFactory, runContext, webDriverStartContext);
+        sessionPool.setEnabled(true);
+        sessionPool.setReuseSessions(true);
+        sessionPool.setMaxReuseCount(2);
+        sessionPool.setIdleTimeout(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void afterEach()
+    {
+        sessionPool.destroy();
+    }
+
+    @Test
+    void shouldResetSessionAndReuseItUntilMaxReuseCountIsReached()
+    {
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver);
+        mockSessionReset(MAIN_WINDOW, POPUP_WINDOW);
+        when(webDriver.manage()).thenReturn(options);
+        when(targetLocator.window(POPUP_WINDOW)).thenReturn(webDriver);
+
+        assertSame(webDriver, sessionPool.acquire());
+        assertTrue(sessionPool.release(webDriver));
+        var ordered = inOrder(webDriver, targetLocator, options, navigation);
+        ordered.verify(targetLocator).window(POPUP_WINDOW);
+        ordered.verify(webDriver).close();
+        ordered.verify(targetLocator).window(MAIN_WINDOW);
+        ordered.verify(options).deleteAllCookies();
+        ordered.verify((JavascriptExecutor) webDriver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { }");
+        ordered.verify(navigation).to("about:blank");
+
+        assertSame(webDriver, sessionPool.acquire());
+        verify(webDriver).getWindowHandle();
+        assertFalse(sessionPool.release(webDriver));
+        verify(vividusWebDriverFactory).createWebDriver(desiredCapabilities);
+    }
+
+    @Test
+    void shouldDeleteCookiesOfAllDomainsOnReset()
+    {
+        var allCookiesCleaner = mock(AllCookiesCleaner.class);
+        sessionPool.setAllCookiesCleaner(Optional.of(allCookiesCleaner));
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver);
+        mockSessionReset(MAIN_WINDOW);
+        when(allCookiesCleaner.deleteAllCookies(webDriver)).thenReturn(true);
+
+        sessionPool.acquire();
+        assertTrue(sessionPool.release(webDriver));
+        verify(webDriver, never()).manage();
+    }
+
+    @Test
+    void shouldQuitSessionsIfReuseIsDisabled()
+    {
+        sessionPool.setReuseSessions(false);
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver);
+
+        assertSame(webDriver, sessionPool.acquire());
+        assertFalse(sessionPool.release(webDriver));
+        verify(webDriver, never()).getWindowHandles();
+    }
+
+    @Test
+    void shouldCreateSessionsAheadOfDemand()
+    {
+        sessionPool.setWarmSessions(1);
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(any(DesiredCapabilities.class))).thenReturn(webDriver,
+                warmWebDriver);
+
+        assertSame(webDriver, sessionPool.acquire());
+        verify(vividusWebDriverFactory, timeout(5000).times(2)).createWebDriver(any(DesiredCapabilities.class));
+        assertSame(warmWebDriver, sessionPool.acquire());
+        verify(warmWebDriver).getWindowHandle();
+    }
+
+    @Test
+    void shouldNotCreateSessionsAheadOfDemandIfWarmSessionsAreNotRequested()
+    {
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver, warmWebDriver);
+
+        assertSame(webDriver, sessionPool.acquire());
+        assertSame(warmWebDriver, sessionPool.acquire());
+        verify(vividusWebDriverFactory, times(2)).createWebDriver(desiredCapabilities);
+    }
+
+    @Test
+    void shouldNotPoolSessionsRequestedWithProxy()
+    {
+        sessionPool.setWarmSessions(1);
+        var capabilitiesWithProxy = new DesiredCapabilities();
+        capabilitiesWithProxy.setCapability(CapabilityType.PROXY, new Proxy());
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(capabilitiesWithProxy);
+        when(vividusWebDriverFactory.createWebDriver(capabilitiesWithProxy)).thenReturn(webDriver);
+
+        assertSame(webDriver, sessionPool.acquire());
+        assertFalse(sessionPool.release(webDriver));
+        verify(vividusWebDriverFactory).createWebDriver(capabilitiesWithProxy);
+    }
+
+    @Test
+    void shouldNotPoolSessionsRequestedWithCommandLineArguments()
+    {
+        sessionPool.setWarmSessions(1);
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(webDriverStartContext.get(WebDriverStartParameters.COMMAND_LINE_ARGUMENTS)).thenReturn("--incognito");
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver);
+
+        assertSame(webDriver, sessionPool.acquire());
+        assertFalse(sessionPool.release(webDriver));
+        verify(vividusWebDriverFactory).createWebDriver(desiredCapabilities);
+    }
+
+    @Test
+    void shouldNotPoolSessionsNamedAfterRunningTest()
+    {
+        sessionPool.setWarmSessions(1);
+        var runningStory = mock(RunningStory.class);
+        when(runningStory.getName()).thenReturn(TEST_NAME);
+        when(runContext.getRootRunningStory()).thenReturn(runningStory);
+        var namedCapabilities = new DesiredCapabilities();
+        namedCapabilities.setCapability("sauce:options", Map.of("name", TEST_NAME));
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(namedCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(namedCapabilities)).thenReturn(webDriver);
+
+        assertSame(webDriver, sessionPool.acquire());
+        verify(vividusWebDriverFactory).createWebDriver(namedCapabilities);
+    }
+
+    @Test
+    void shouldQuitUnhealthyIdleSession()
+    {
+        var newWebDriver = mock(WebDriver.class);
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver, newWebDriver);
+        mockSessionReset(MAIN_WINDOW);
+        when(webDriver.manage()).thenReturn(options);
+        when(webDriver.getWindowHandle()).thenThrow(new WebDriverException("session is gone"));
+
+        sessionPool.acquire();
+        assertTrue(sessionPool.release(webDriver));
+        assertSame(newWebDriver, sessionPool.acquire());
+        verify(webDriver).quit();
+    }
+
+    @Test
+    void shouldQuitIdleSessionsNotRequestedDuringIdleTimeout()
+    {
+        var newWebDriver = mock(WebDriver.class);
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver, newWebDriver);
+        mockSessionReset(MAIN_WINDOW);
+        when(webDriver.manage()).thenReturn(options);
+
+        sessionPool.acquire();
+        assertTrue(sessionPool.release(webDriver));
+        sessionPool.setIdleTimeout(Duration.ZERO);
+        assertSame(newWebDriver, sessionPool.acquire());
+        verify(webDriver).quit();
+        verify(webDriver, never()).getWindowHandle();
+    }
+
+    @Test
+    void shouldNotReturnSessionToPoolIfResetFails()
+    {
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(desiredCapabilities)).thenReturn(webDriver);
+        when(webDriver.getWindowHandles()).thenThrow(new WebDriverException("no windows"));
+
+        sessionPool.acquire();
+        assertFalse(sessionPool.release(webDriver));
+        sessionPool.destroy();
+        verify(webDriver, never()).quit();
+    }
+
+    @Test
+    void shouldNotReturnUnknownSessionToPool()
+    {
+        assertFalse(sessionPool.release(webDriver));
+    }
+
+    @Test
+    void shouldQuitIdleSessionsOnDestroy()
+    {
+        sessionPool.setWarmSessions(1);
+        when(vividusWebDriverFactory.getDesiredCapabilities()).thenReturn(desiredCapabilities);
+        when(vividusWebDriverFactory.createWebDriver(any(DesiredCapabilities.class))).thenReturn(webDriver,
+                warmWebDriver);
+
+        sessionPool.acquire();
+        verify(vividusWebDriverFactory, timeout(5000).times(2)).createWebDriver(any(DesiredCapabilities.class));
+        sessionPool.destroy();
+        verify(warmWebDriver).quit();
+        verify(webDriver, never()).quit();
+    }
+
+    private void mockSessionReset(String... windowHandles)
+    {
+        when(webDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of(windowHandles)));
+        when(webDriver.switchTo()).thenReturn(targetLocator);
+        when(webDriver.navigate()).thenReturn(navigation);
+    }
+}
@@ -24,10 +24,13 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -47,6 +50,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Answers;
 import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -79,7 +83,7 @@ class AbstractElementSearchActionTests
 
     @Mock private SearchContext searchContext;
     @Mock private IWaitActions waitActions;
-    @Mock private ElementActions elementActions;
+    @Mock(answer = Answers.CALLS_REAL_METHODS) private ElementActions elementActions;
 
     @InjectMocks
     private final AbstractElementAction elementSearchAction = new AbstractElementAction(TestLocatorType.SEARCH) { };
@@ -188,6 +192,44 @@ class AbstractElementSearchActionTests
         )));
     }
 
+    @Test
+    void shouldFilterElementsUsingBatchedVisibilityCheck()
+    {
+        var element1 = mock(WebElement.class);
+        var element2 = mock(WebElement.class);
+        var element3 = mock(WebElement.class);
+        var elementsList = List.of(element1, element2, element3);
+        when(searchContext.findElements(LOCATOR)).thenReturn(elementsList);
+        doReturn(List.of(true, false, true)).when(elementActions).areElementsVisible(elementsList);
+        var foundElements = elementSearchAction.findElements(searchContext, LOCATOR,
+                new SearchParameters().setWaitForElement(false));
+        assertEquals(List.of(element1, element3), foundElements);
+        verify(elementActions, never()).isElementVisible(any());
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+            info(NUMBER_OF_VISIBLE_ELEMENTS, LOGGED_LOCATOR, 3, Visibility.VISIBLE.getDescription(), 2)
+        )));
+    }
+
+    @Test
+    void shouldCheckElementsOneByOneIfBatchedVisibilityCheckFailsWithStaleElement()
+    {
+        var element1 = mock(WebElement.class);
+        var element2 = mock(WebElement.class);
+        var elementsList = List.of(element1, element2);
+        var exception = new StaleElementReferenceException(EXCEPTION);
+        when(searchContext.findElements(LOCATOR)).thenReturn(elementsList);
+        doThrow(exception).when(elementActions).areElementsVisible(elementsList);
+        doThrow(exception).when(elementActions).isElementVisible(element1);
+        when(elementActions.isElementVisible(element2)).thenReturn(Boolean.TRUE);
+        var foundElements = elementSearchAction.findElements(searchContext, LOCATOR,
+                new SearchParameters().setWaitForElement(false));
+        assertEquals(List.of(element2), foundElements);
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+                buildWarnMessage(exception),
+                info(NUMBER_OF_VISIBLE_ELEMENTS, LOGGED_LOCATOR, 2, Visibility.VISIBLE.getDescription(), 1)
+        )));
+    }
+
     @Test
     void testFindAllElementsWithException()
     {
@@ -210,11 +252,11 @@ class AbstractElementSearchActionTests
     {
         var exception = new StaleElementReferenceException(EXCEPTION);
         return Stream.of(
-            arguments((Answer<Boolean>) invocation -> { throw exception; }, 0, List.of(
+            arguments((Answer<Boolean>) invocation -> { throw exception; }, 0, 3, List.of(
                     buildWarnMessage(exception),
                     info(NUMBER_OF_VISIBLE_ELEMENTS, LOGGED_LOCATOR, 1, Visibility.VISIBLE.getDescription(), 0)
             )),
-            arguments((Answer<Boolean>) invocation -> true, 1, List.of(
+            arguments((Answer<Boolean>) invocation -> true, 1, 2, List.of(
                     info(NUMBER_OF_VISIBLE_ELEMENTS, LOGGED_LOCATOR, 1, Visibility.VISIBLE.getDescription(), 1)
             ))
         );
@@ -227,7 +269,8 @@ class AbstractElementSearchActionTests
 
     @ParameterizedTest
     @MethodSource("provideStaleElementTestData")
-    void testStaleElementSearchRetry(Answer<Boolean> answer, int expectedSize, List<LoggingEvent> loggingEvents)
+    void testStaleElementSearchRetry(Answer<Boolean> answer, int expectedSize, int expectedVisibilityChecks,
+            List<LoggingEvent> loggingEvents)
     {
         elementSearchAction.setRetrySearchIfStale(true);
         var element = mock(WebElement.class);
@@ -239,7 +282,7 @@ class AbstractElementSearchActionTests
         assertEquals(expectedSize, foundElements.size());
         verify(element, Mockito.never()).getSize();
         verifyNoInteractions(waitActions);
-        verify(elementActions, times(2)).isElementVisible(element);
+        verify(elementActions, times(expectedVisibilityChecks)).isElementVisible(element);
         assertThat(logger.getLoggingEvents(), equalTo(loggingEvents));
     }
 }
@@ -0,0 +1,438 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.hc.client5.http.ClientProtocolException;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.cookie.CookieStore;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpRequestInterceptor;
+import org.apache.hc.core5.http.HttpResponseInterceptor;
+import org.apache.hc.core5.http.impl.BasicEntityDetails;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.vividus.http.handler.HttpResponseHandler;
+import org.vividus.http.metrics.HttpMetrics;
+
+/**
+ * HTTP client built on top of the asynchronous HttpClient 5 stack: depending on the HTTP version policy the requests
+ * to the same route are either multiplexed over HTTP/2 connections or sent over the pooled HTTP/1.1 connections
+ * without blocking the calling threads.
+ * <p>
+ * The configured request and response interceptors and the response handlers are invoked by this client rather than
+ * by the I/O threads: the blocking methods invoke them in the calling thread, so the interceptors relying on the
+ * thread-bound test context keep working, while the {@link #executeAsync(ClassicHttpRequest, HttpClientContext)}
+ * invokes the response interceptors and handlers in the dedicated callback thread, so the slow handlers don't stall
+ * the other exchanges processed by the I/O threads.
+ * <p>
+ * As a consequence, the request interceptors are invoked once per executed request, before it is handed over to the
+ * asynchronous protocol chain: the default headers are added to the copy of the request beforehand, but the cookies
+ * and the non-preemptive authentication headers are added by the protocol chain later, so the request interceptors
+ * don't see them. Also the request interceptors are not invoked for the requests sent while following the redirects and
+ * performing the retries, in contrast to the classic {@link HttpClient}.
+ * <p>
+ * The blocking methods wait for the response not longer than the execution timeout, if it is set.
+ */
+public class AsyncHttpClient implements IHttpClient, AutoCloseable
+{
+    private static final boolean USE_PREEMPTIVE_BASIC_AUTH_IF_AVAILABLE = false;
+
+    private static final long CALLBACK_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService callbackExecutor;
+
+    private CloseableHttpAsyncClient closeableHttpAsyncClient;
+    private HttpHost httpHost;
+    private List<Header> defaultHeaders = List.of();
+    private Duration executionTimeout;
+    private boolean skipResponseEntity;
+    private CookieStore cookieStore;
+    private List<HttpRequestInterceptor> requestInterceptors = List.of();
+    private List<HttpResponseInterceptor> responseInterceptors = List.of();
+    private List<HttpResponseHandler> httpResponseHandlers = List.of();
+    private HttpMetrics httpMetrics;
+
+    /**
+     * Creates the client
+     * @param callbackThreads The max number of threads invoking the response interceptors and handlers of the
+     *                        asynchronous executions, the idle threads are released
+     */
+    public AsyncHttpClient(int callbackThreads)
+    {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(callbackThreads, callbackThreads,
+                CALLBACK_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("http-async-callback-%d")
+                        .daemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        this.callbackExecutor = executor;
+    }
+
+    @Override
+    public HttpHost getHttpHost()
+    {
+        return httpHost;
+    }
+
+    @Override
+    public HttpResponse doHttpGet(URI uri) throws IOException
+    {
+        return doHttpGet(uri, USE_PREEMPTIVE_BASIC_AUTH_IF_AVAILABLE);
+    }
+
+    @Override
+    public HttpResponse doHttpGet(URI uri, boolean usePreemptiveBasicAuthIfAvailable) throws IOException
+    {
+        return execute(new HttpGet(uri), null, usePreemptiveBasicAuthIfAvailable);
+    }
+
+    @Override
+    public HttpResponse doHttpHead(URI uri) throws IOException
+    {
+        return doHttpHead(uri, USE_PREEMPTIVE_BASIC_AUTH_IF_AVAILABLE);
+    }
+
+    @Override
+    public HttpResponse doHttpHead(URI uri, boolean usePreemptiveBasicAuthIfAvailable) throws IOException
+    {
+        return execute(new HttpHead(uri), null, usePreemptiveBasicAuthIfAvailable);
+    }
+
+    @Override
+    public HttpResponse execute(ClassicHttpRequest request) throws IOException
+    {
+        return execute(request, null);
+    }
+
+    @Override
+    public HttpResponse execute(ClassicHttpRequest request, HttpClientContext context) throws IOException
+    {
+        return execute(request, context, USE_PREEMPTIVE_BASIC_AUTH_IF_AVAILABLE);
+    }
+
+    /**
+     * Executes HTTP request without blocking the calling thread and handles URI user info in the fully-automated way:
+     * converts user info provided as a part of URI to non-preemptive basic authentication configuration.
+     *
+     * @param request Request to execute
+     * @return Future HTTP response
+     */
+    public CompletableFuture<HttpResponse> executeAsync(ClassicHttpRequest request)
+    {
+        return executeAsync(request, null);
+    }
+
+    /**
+     * Executes HTTP request without blocking the calling thread and handles URI user info in the fully-automated way:
+     * converts user info provided as a part of URI to non-preemptive basic authentication configuration.
+     *
+     * @param request Request to execute
+     * @param context HTTP client context
+     * @return Future HTTP response
+     */
+    public CompletableFuture<HttpResponse> executeAsync(ClassicHttpRequest request, HttpClientContext context)
+    {
+        try
+        {
+            return send(request, context, USE_PREEMPTIVE_BASIC_AUTH_IF_AVAILABLE).thenComposeAsync(exchange -> {
+                try
+                {
+                    return CompletableFuture.completedFuture(handle(exchange));
+                }
+                catch (IOException e)
+                {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }, callbackExecutor);
+        }
+        catch (IOException e)
+        {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private HttpResponse execute(ClassicHttpRequest request, HttpClientContext context,
+            boolean usePreemptiveBasicAuthIfAvailable) throws IOException
+    {
+        return handle(await(send(request, context, usePreemptiveBasicAuthIfAvailable)));
+    }
+
+    private CompletableFuture<Exchange> send(ClassicHttpRequest userRequest, HttpClientContext context,
+            boolean usePreemptiveBasicAuthIfAvailable) throws IOException
+    {
+        // The default headers are added to the copy, so the request reused or retried by the caller isn't changed
+        ClassicHttpRequest request = ClassicRequestBuilder.copy(userRequest).build();
+        URI uri = HttpClient.getRequestUri(request);
+        HttpClientContext internalContext = HttpClient.prepareContext(request, uri, context,
+                usePreemptiveBasicAuthIfAvailable);
+        if (cookieStore != null && internalContext.getCookieStore() == null)
+        {
+            // The cookies are processed by I/O threads, so the thread-bound cookie store must be resolved beforehand
+            internalContext.setCookieStore(cookieStore instanceof ThreadedBasicCookieStore threadedCookieStore
+                    ? threadedCookieStore.getCurrentThreadCookieStore() : cookieStore);
+        }
+        for (Header defaultHeader : defaultHeaders)
+        {
+            if (!request.containsHeader(defaultHeader.getName()))
+            {
+                request.addHeader(defaultHeader);
+            }
+        }
+        try
+        {
+            for (HttpRequestInterceptor interceptor : requestInterceptors)
+            {
+                interceptor.process(request, request.getEntity(), internalContext);
+            }
+        }
+        catch (HttpException e)
+        {
+            throw new ClientProtocolException(e.getMessage(), e);
+        }
+
+        CompletableFuture<Exchange> exchange = new CompletableFuture<>();
+        StopWatch watch = StopWatch.createStarted();
+        Future<SimpleHttpResponse> execution = closeableHttpAsyncClient.execute(
+                SimpleRequestProducer.create(toAsyncRequest(request)),
+                SimpleResponseConsumer.create(), internalContext, new FutureCallback<>()
+                {
+                    @Override
+                    public void completed(SimpleHttpResponse response)
+                    {
+                        watch.stop();
+                        exchange.complete(new Exchange(request, uri, internalContext, response,
+                                watch.getDuration().toMillis()));
+                    }
+
+                    @Override
+                    public void failed(Exception e)
+                    {
+                        exchange.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled()
+                    {
+                        exchange.cancel(false);
+                    }
+                });
+        exchange.whenComplete((result, e) -> {
+            if (e instanceof CancellationException)
+            {
+                execution.cancel(true);
+            }
+        });
+        return exchange;
+    }
+
+    private SimpleHttpRequest toAsyncRequest(ClassicHttpRequest request) throws IOException
+    {
+        SimpleRequestBuilder builder = SimpleRequestBuilder.create(request.getMethod());
+        if (httpHost != null)
+        {
+            builder.setHttpHost(httpHost);
+        }
+        else
+        {
+            builder.setScheme(request.getScheme()).setAuthority(request.getAuthority());
+        }
+        builder.setPath(request.getPath()).setHeaders(request.getHeaders());
+        HttpEntity entity = request.getEntity();
+        if (entity != null)
+        {
+            builder.setBody(EntityUtils.toByteArray(entity), ContentType.parseLenient(entity.getContentType()));
+        }
+        return builder.build();
+    }
+
+    private HttpResponse handle(Exchange exchange) throws IOException
+    {
+        SimpleHttpResponse response = exchange.response();
+        byte[] body = response.getBodyBytes();
+        try
+        {
+            for (HttpResponseInterceptor interceptor : responseInterceptors)
+            {
+                interceptor.process(response, body != null
+                        ? new BasicEntityDetails(body.length, response.getContentType()) : null, exchange.context());
+            }
+        }
+        catch (HttpException e)
+        {
+            throw new ClientProtocolException(e.getMessage(), e);
+        }
+
+        HttpResponse httpResponse = new HttpResponse();
+        httpResponse.setMethod(exchange.request().getMethod());
+        httpResponse.setFrom(exchange.uri());
+        if (!skipResponseEntity)
+        {
+            httpResponse.setResponseBody(body);
+        }
+        httpResponse.setResponseHeaders(response.getHeaders());
+        httpResponse.setStatusCode(response.getCode());
+        httpResponse.setResponseTimeInMs(exchange.responseTimeInMs());
+        httpResponse.setRedirectLocations(exchange.context().getRedirectLocations());
+        if (httpMetrics != null)
+        {
+            HttpClient.recordExchange(httpMetrics, exchange.request(), exchange.uri(), exchange.context(),
+                    httpResponse);
+        }
+
+        for (HttpResponseHandler handler : httpResponseHandlers)
+        {
+            handler.handle(httpResponse);
+        }
+        return httpResponse;
+    }
+
+    private <T> T await(CompletableFuture<T> future) throws IOException
+    {
+        try
+        {
+            if (executionTimeout == null)
+            {
+                return future.get();
+            }
+            return future.get(executionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            future.cancel(true);
+            SocketTimeoutException exception = new SocketTimeoutException(
+                    "HTTP request execution is not completed within " + executionTimeout);
+            exception.initCause(e);
+            throw exception;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("HTTP request execution is interrupted");
+            exception.initCause(e);
+            throw exception;
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException)
+            {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException)
+            {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    public void setCloseableHttpAsyncClient(CloseableHttpAsyncClient closeableHttpAsyncClient)
+    {
+        this.closeableHttpAsyncClient = closeableHttpAsyncClient;
+    }
+
+    public void setHttpHost(HttpHost httpHost)
+    {
+        this.httpHost = httpHost;
+    }
+
+    public void setDefaultHeaders(List<Header> defaultHeaders)
+    {
+        this.defaultHeaders = defaultHeaders;
+    }
+
+    public void setExecutionTimeout(Duration executionTimeout)
+    {
+        this.executionTimeout = executionTimeout;
+    }
+
+    public void setSkipResponseEntity(boolean skipResponseEntity)
+    {
+        this.skipResponseEntity = skipResponseEntity;
+    }
+
+    public void setCookieStore(CookieStore cookieStore)
+    {
+        this.cookieStore = cookieStore;
+    }
+
+    public void setRequestInterceptors(List<HttpRequestInterceptor> requestInterceptors)
+    {
+        this.requestInterceptors = requestInterceptors;
+    }
+
+    public void setResponseInterceptors(List<HttpResponseInterceptor> responseInterceptors)
+    {
+        this.responseInterceptors = responseInterceptors;
+    }
+
+    public void setHttpResponseHandlers(List<HttpResponseHandler> httpResponseHandlers)
+    {
+        this.httpResponseHandlers = httpResponseHandlers;
+    }
+
+    public void setHttpMetrics(HttpMetrics httpMetrics)
+    {
+        this.httpMetrics = httpMetrics;
+    }
+
+    @Override
+    public void close()
+    {
+        closeableHttpAsyncClient.close(CloseMode.GRACEFUL);
+        callbackExecutor.shutdown();
+    }
+
+    private record Exchange(ClassicHttpRequest request, URI uri, HttpClientContext context,
+            SimpleHttpResponse response, long responseTimeInMs)
+    {
+    }
+}
@@ -17,12 +17,17 @@
 package org.vividus.http.client;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.hc.client5.http.auth.AuthScope;
@@ -34,6 +39,7 @@ import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.auth.BasicScheme;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.RouteInfo;
 import org.apache.hc.client5.http.routing.RoutingSupport;
 import org.apache.hc.core5.http.ClassicHttpRequest;
 import org.apache.hc.core5.http.HttpEntity;
@@ -42,17 +48,23 @@ import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.net.URIAuthority;
 import org.vividus.http.handler.HttpResponseHandler;
+import org.vividus.http.metrics.HttpMetrics;
 import org.vividus.util.UriUtils;
 import org.vividus.util.UriUtils.UserInfo;
 
 public class HttpClient implements IHttpClient, AutoCloseable
 {
     private static final boolean USE_PREEMPTIVE_BASIC_AUTH_IF_AVAILABLE = false;
+    // Some JVMs reserve header words in arrays, so the larger arrays can't be allocated
+    private static final int MAX_BUFFERED_BODY_SIZE = Integer.MAX_VALUE - 8;
 
     private CloseableHttpClient closeableHttpClient;
     private HttpHost httpHost;
     private boolean skipResponseEntity;
+    private int responseBodySpillThreshold = -1;
     private List<HttpResponseHandler> httpResponseHandlers;
+    private HttpMetrics httpMetrics;
+    private Path responseBodiesDirectory;
 
     @Override
     public HttpHost getHttpHost()
@@ -100,15 +112,7 @@ public class HttpClient implements IHttpClient, AutoCloseable
             boolean usePreemptiveBasicAuthIfAvailable) throws IOException
     {
         URI uri = getRequestUri(request);
-
-        HttpClientContext internalContext = Optional.ofNullable(context).orElseGet(HttpClientContext::create);
-
-        Optional.ofNullable(request.getAuthority()).map(URIAuthority::getUserInfo).ifPresent(userInfo ->
-        {
-            HttpHost host = RoutingSupport.normalize(HttpHost.create(uri), DefaultSchemePortResolver.INSTANCE);
-            configureBasicAuth(usePreemptiveBasicAuthIfAvailable, userInfo, host, internalContext);
-            request.setAuthority(new URIAuthority(host));
-        });
+        HttpClientContext internalContext = prepareContext(request, uri, context, usePreemptiveBasicAuthIfAvailable);
 
         HttpClientResponseHandler<HttpResponse> responseHandler = response -> {
             HttpResponse httpResponse = new HttpResponse();
@@ -117,13 +121,17 @@ public class HttpClient implements IHttpClient, AutoCloseable
             HttpEntity entity = response.getEntity();
             if (entity != null)
             {
-                if (!skipResponseEntity)
+                if (skipResponseEntity)
                 {
-                    httpResponse.setResponseBody(EntityUtils.toByteArray(entity));
+                    EntityUtils.consume(entity);
+                }
+                else if (responseBodySpillThreshold >= 0)
+                {
+                    readResponseBody(entity, httpResponse);
                 }
                 else
                 {
-                    EntityUtils.consume(entity);
+                    httpResponse.setResponseBody(EntityUtils.toByteArray(entity));
                 }
             }
             httpResponse.setResponseHeaders(response.getHeaders());
@@ -138,6 +146,10 @@ public class HttpClient implements IHttpClient, AutoCloseable
         watch.stop();
         httpResponse.setResponseTimeInMs(watch.getDuration().toMillis());
         httpResponse.setRedirectLocations(internalContext.getRedirectLocations());
+        if (httpMetrics != null)
+        {
+            recordExchange(httpMetrics, request, uri, internalContext, httpResponse);
+        }
 
         for (HttpResponseHandler handler : httpResponseHandlers)
         {
@@ -147,7 +159,102 @@ public class HttpClient implements IHttpClient, AutoCloseable
         return httpResponse;
     }
 
-    private static URI getRequestUri(ClassicHttpRequest request) throws IOException
+    private void readResponseBody(HttpEntity entity, HttpResponse httpResponse) throws IOException
+    {
+        try (InputStream content = entity.getContent())
+        {
+            if (content == null)
+            {
+                return;
+            }
+            byte[] head = new byte[0];
+            if (entity.getContentLength() <= responseBodySpillThreshold)
+            {
+                // Read one byte more than the threshold to find out whether the body of unknown length exceeds it
+                int limit = (int) Math.min(responseBodySpillThreshold + 1L, MAX_BUFFERED_BODY_SIZE);
+                head = content.readNBytes(limit);
+                if (head.length < limit)
+                {
+                    httpResponse.setResponseBody(head);
+                    return;
+                }
+            }
+            Path responseBodyFile = Files.createTempFile(getResponseBodiesDirectory(), "response-", ".bin");
+            try (OutputStream output = Files.newOutputStream(responseBodyFile))
+            {
+                output.write(head);
+                content.transferTo(output);
+            }
+            catch (IOException e)
+            {
+                Files.deleteIfExists(responseBodyFile);
+                throw e;
+            }
+            httpResponse.setResponseBody(responseBodyFile);
+        }
+    }
+
+    private synchronized Path getResponseBodiesDirectory() throws IOException
+    {
+        if (responseBodiesDirectory == null)
+        {
+            responseBodiesDirectory = Files.createTempDirectory("vividus-http-responses-");
+        }
+        return responseBodiesDirectory;
+    }
+
+    private synchronized void deleteResponseBodies() throws IOException
+    {
+        if (responseBodiesDirectory != null)
+        {
+            try (Stream<Path> responseBodyFiles = Files.list(responseBodiesDirectory))
+            {
+                for (Path responseBodyFile : (Iterable<Path>) responseBodyFiles::iterator)
+                {
+                    Files.deleteIfExists(responseBodyFile);
+                }
+            }
+            Files.deleteIfExists(responseBodiesDirectory);
+            responseBodiesDirectory = null;
+        }
+    }
+
+    /**
+     * Creates the context for the request execution if it's not provided and converts user info provided as a part of
+     * the request URI to basic authentication configuration.
+     *
+     * @param request                           Request to execute
+     * @param uri                               Request URI
+     * @param context                           HTTP client context, may be <code>null</code>
+     * @param usePreemptiveBasicAuthIfAvailable If true, preemptive basic authentication configuration will be used
+     * @return HTTP client context to use for the request execution
+     */
+    static HttpClientContext prepareContext(ClassicHttpRequest request, URI uri, HttpClientContext context,
+            boolean usePreemptiveBasicAuthIfAvailable)
+    {
+        HttpClientContext internalContext = Optional.ofNullable(context).orElseGet(HttpClientContext::create);
+
+        Optional.ofNullable(request.getAuthority()).map(URIAuthority::getUserInfo).ifPresent(userInfo ->
+        {
+            HttpHost host = RoutingSupport.normalize(HttpHost.create(uri), DefaultSchemePortResolver.INSTANCE);
+            configureBasicAuth(usePreemptiveBasicAuthIfAvailable, userInfo, host, internalContext);
+            request.setAuthority(new URIAuthority(host));
+        });
+        return internalContext;
+    }
+
+    static void recordExchange(HttpMetrics httpMetrics, ClassicHttpRequest request, URI uri,
+            HttpClientContext context, HttpResponse httpResponse)
+    {
+        RouteInfo route = context.getHttpRoute();
+        HttpHost targetHost = route != null ? route.getTargetHost() : HttpHost.create(uri);
+        HttpEntity requestEntity = request.getEntity();
+        long requestBodySize = requestEntity != null ? Math.max(requestEntity.getContentLength(), 0) : 0;
+        httpMetrics.recordExchange(targetHost, httpResponse.getResponseTimeInMs(), requestBodySize,
+                httpResponse.getResponseBodySize());
+    }
+
+    static URI getRequestUri(ClassicHttpRequest request) throws IOException
     {
         try
         {
@@ -196,14 +303,40 @@ public class HttpClient implements IHttpClient, AutoCloseable
         this.skipResponseEntity = skipResponseEntity;
     }
 
+    /**
+     * Sets the size of the response body in bytes, the bodies exceeding this size are stored in temporary files
+     * instead of the memory. A negative value disables storing of the response bodies in files. The bodies larger than
+     * the maximum array size are always stored in files.
+     *
+     * @param responseBodySpillThreshold The maximum size of the response body kept in the memory
+     */
+    public void setResponseBodySpillThreshold(int responseBodySpillThreshold)
+    {
+        this.responseBodySpillThreshold = responseBodySpillThreshold;
+    }
+
     public void setHttpResponseHandlers(List<HttpResponseHandler> httpResponseHandlers)
     {
         this.httpResponseHandlers = httpResponseHandlers;
     }
 
+    public void setHttpMetrics(HttpMetrics httpMetrics)
+    {
+        this.httpMetrics = httpMetrics;
+    }
+
     @Override
     public void close() throws IOException
     {
-        closeableHttpClient.close();
+        try
+        {
+            closeableHttpClient.close();
+        }
+        finally
+        {
+            // The response bodies stored in files are deleted as soon as the responses become unreachable, while the
+            // remaining ones are deleted along with the client
+            deleteResponseBodies();
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.vividus.http.client;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -31,7 +32,9 @@ import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpRequestInterceptor;
 import org.apache.hc.core5.http.HttpResponseInterceptor;
 import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
 import org.vividus.http.handler.HttpResponseHandler;
+import org.vividus.http.metrics.HttpMetrics;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @SuppressWarnings("MethodCount")
@@ -52,11 +55,16 @@ public class HttpClientConfig
     private int socketTimeout;
     private CookieStore cookieStore;
     private boolean skipResponseEntity;
+    private int responseBodySpillThreshold = -1;
     private DnsResolver dnsResolver;
     private boolean circularRedirectsAllowed;
     private String cookieSpec;
     private HttpRequestRetryStrategy httpRequestRetryStrategy;
     private List<HttpResponseHandler> httpResponseHandlers;
+    private boolean asyncEnabled;
+    private HttpVersionPolicy httpVersionPolicy = HttpVersionPolicy.NEGOTIATE;
+    private Duration asyncExecutionTimeout;
+    private HttpMetrics httpMetrics;
 
     public boolean hasBaseUrl()
     {
@@ -221,6 +229,16 @@ public class HttpClientConfig
         this.skipResponseEntity = skipResponseEntity;
     }
 
+    public int getResponseBodySpillThreshold()
+    {
+        return responseBodySpillThreshold;
+    }
+
+    public void setResponseBodySpillThreshold(int responseBodySpillThreshold)
+    {
+        this.responseBodySpillThreshold = responseBodySpillThreshold;
+    }
+
     public DnsResolver getDnsResolver()
     {
         return dnsResolver;
@@ -270,4 +288,44 @@ public class HttpClientConfig
     {
         this.httpResponseHandlers = httpResponseHandlers;
     }
+
+    public boolean isAsyncEnabled()
+    {
+        return asyncEnabled;
+    }
+
+    public void setAsyncEnabled(boolean asyncEnabled)
+    {
+        this.asyncEnabled = asyncEnabled;
+    }
+
+    public HttpVersionPolicy getHttpVersionPolicy()
+    {
+        return httpVersionPolicy;
+    }
+
+    public void setHttpVersionPolicy(HttpVersionPolicy httpVersionPolicy)
+    {
+        this.httpVersionPolicy = httpVersionPolicy;
+    }
+
+    public Duration getAsyncExecutionTimeout()
+    {
+        return asyncExecutionTimeout;
+    }
+
+    public void setAsyncExecutionTimeout(Duration asyncExecutionTimeout)
+    {
+        this.asyncExecutionTimeout = asyncExecutionTimeout;
+    }
+
+    public HttpMetrics getHttpMetrics()
+    {
+        return httpMetrics;
+    }
+
+    public void setHttpMetrics(HttpMetrics httpMetrics)
+    {
+        this.httpMetrics = httpMetrics;
+    }
 }
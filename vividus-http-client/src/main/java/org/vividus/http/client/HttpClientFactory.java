@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,30 +23,45 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.net.ssl.SSLContext;
 
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.Credentials;
+import org.apache.hc.client5.http.auth.CredentialsProvider;
 import org.apache.hc.client5.http.auth.CredentialsStore;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.auth.BasicScheme;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.impl.win.WinHttpClients;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
 import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpRequestInterceptor;
 import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
 import org.apache.hc.core5.util.Timeout;
 import org.vividus.http.keystore.IKeyStoreFactory;
+import org.vividus.http.metrics.HttpMetrics;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -67,6 +82,10 @@ public class HttpClientFactory implements IHttpClientFactory
     @Override
     public IHttpClient buildHttpClient(HttpClientConfig config) throws GeneralSecurityException
     {
+        if (config.isAsyncEnabled())
+        {
+            return buildAsyncHttpClient(config);
+        }
         // There is no need to provide user credentials: HttpClient will attempt to access current user security
         // context through Windows platform specific methods via JNI.
         HttpClientBuilder builder = WinHttpClients.custom();
@@ -77,21 +96,21 @@ public class HttpClientFactory implements IHttpClientFactory
             builder.setDefaultCookieStore(config.getCookieStore());
         }
 
-        configureAuth(config, builder);
+        configureAuth(config, builder::addRequestInterceptorFirst, builder::setDefaultCredentialsProvider);
 
-        builder.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
                 .setMaxConnTotal(config.getMaxTotalConnections())
                 .setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
                 .setDnsResolver(config.getDnsResolver())
                 .setDefaultSocketConfig(SocketConfig.custom()
                         .setSoTimeout(Timeout.ofMilliseconds(config.getSocketTimeout()))
                         .build())
-                .setDefaultConnectionConfig(ConnectionConfig.custom()
-                        .setConnectTimeout(Timeout.ofMilliseconds(config.getConnectTimeout()))
-                        .setSocketTimeout(Timeout.ofMilliseconds(config.getSocketTimeout()))
-                        .build())
+                .setDefaultConnectionConfig(buildConnectionConfig(config))
                 .setSSLSocketFactory(buildSslSocketFactory(config.getSslConfig()))
-                .build());
+                .build();
+        Optional<HttpMetrics> httpMetrics = getEnabledHttpMetrics(config);
+        builder.setConnectionManager(httpMetrics.map(metrics -> metrics.instrument(connectionManager))
+                .orElse(connectionManager));
 
         Optional.ofNullable(config.getFirstRequestInterceptor()).ifPresent(builder::addRequestInterceptorFirst);
         Optional.ofNullable(config.getLastRequestInterceptor()).ifPresent(builder::addRequestInterceptorLast);
@@ -99,11 +118,7 @@ public class HttpClientFactory implements IHttpClientFactory
 
         builder.setRedirectStrategy(config.getRedirectStrategy());
         builder.setRetryStrategy(config.getHttpRequestRetryStrategy());
-        builder.setDefaultRequestConfig(RequestConfig.custom()
-                .setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getConnectionRequestTimeout()))
-                .setCircularRedirectsAllowed(config.isCircularRedirectsAllowed())
-                .setCookieSpec(config.getCookieSpec())
-                .build());
+        builder.setDefaultRequestConfig(buildRequestConfig(config));
         builder.useSystemProperties();
 
         HttpClient httpClient = new HttpClient();
@@ -113,10 +128,97 @@ public class HttpClientFactory implements IHttpClientFactory
             httpClient.setHttpHost(HttpHost.create(URI.create(config.getBaseUrl())));
         }
         httpClient.setSkipResponseEntity(config.isSkipResponseEntity());
+        httpClient.setResponseBodySpillThreshold(config.getResponseBodySpillThreshold());
+        httpClient.setHttpResponseHandlers(Optional.ofNullable(config.getHttpResponseHandlers()).orElseGet(List::of));
+        httpMetrics.ifPresent(httpClient::setHttpMetrics);
+        return httpClient;
+    }
+
+    private IHttpClient buildAsyncHttpClient(HttpClientConfig config) throws GeneralSecurityException
+    {
+        HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
+
+        builder.setVersionPolicy(config.getHttpVersionPolicy());
+        configureAuth(config, builder::addRequestInterceptorFirst, builder::setDefaultCredentialsProvider);
+
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getMaxTotalConnections())
+                .setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+                .setDnsResolver(config.getDnsResolver())
+                .setDefaultConnectionConfig(buildConnectionConfig(config))
+                .setTlsStrategy(buildTlsStrategy(config.getSslConfig()))
+                .build();
+        builder.setConnectionManager(connectionManager);
+        Optional<HttpMetrics> httpMetrics = getEnabledHttpMetrics(config);
+        httpMetrics.ifPresent(metrics -> metrics.registerConnectionPool(connectionManager));
+        builder.setIOReactorConfig(IOReactorConfig.custom()
+                .setSoTimeout(Timeout.ofMilliseconds(config.getSocketTimeout()))
+                .build());
+
+        builder.setRedirectStrategy(config.getRedirectStrategy());
+        builder.setRetryStrategy(config.getHttpRequestRetryStrategy());
+        builder.setDefaultRequestConfig(buildRequestConfig(config));
+        builder.useSystemProperties();
+
+        CloseableHttpAsyncClient closeableHttpAsyncClient = builder.build();
+        closeableHttpAsyncClient.start();
+
+        // The callbacks of the in-flight exchanges are processed concurrently, their number is limited by the pool size
+        AsyncHttpClient httpClient = new AsyncHttpClient(Math.max(1, config.getMaxTotalConnections()));
+        httpClient.setCloseableHttpAsyncClient(closeableHttpAsyncClient);
+        if (config.hasBaseUrl())
+        {
+            httpClient.setHttpHost(HttpHost.create(URI.create(config.getBaseUrl())));
+        }
+        // The default headers are added by the client itself to make them visible to the request interceptors
+        httpClient.setDefaultHeaders(config.createHeaders());
+        httpClient.setExecutionTimeout(config.getAsyncExecutionTimeout());
+        httpClient.setSkipResponseEntity(config.isSkipResponseEntity());
+        if (config.hasCookieStore())
+        {
+            httpClient.setCookieStore(config.getCookieStore());
+        }
+        httpClient.setRequestInterceptors(Stream.of(config.getFirstRequestInterceptor(),
+                config.getLastRequestInterceptor()).filter(Objects::nonNull).toList());
+        httpClient.setResponseInterceptors(Stream.ofNullable(config.getLastResponseInterceptor()).toList());
         httpClient.setHttpResponseHandlers(Optional.ofNullable(config.getHttpResponseHandlers()).orElseGet(List::of));
+        httpMetrics.ifPresent(httpClient::setHttpMetrics);
         return httpClient;
     }
 
+    private static Optional<HttpMetrics> getEnabledHttpMetrics(HttpClientConfig config)
+    {
+        return Optional.ofNullable(config.getHttpMetrics()).filter(HttpMetrics::isEnabled);
+    }
+
+    private static ConnectionConfig buildConnectionConfig(HttpClientConfig config)
+    {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(config.getConnectTimeout()))
+                .setSocketTimeout(Timeout.ofMilliseconds(config.getSocketTimeout()))
+                .build();
+    }
+
+    private static RequestConfig buildRequestConfig(HttpClientConfig config)
+    {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getConnectionRequestTimeout()))
+                .setCircularRedirectsAllowed(config.isCircularRedirectsAllowed())
+                .setCookieSpec(config.getCookieSpec())
+                .build();
+    }
+
+    private TlsStrategy buildTlsStrategy(SslConfig sslConfig) throws GeneralSecurityException
+    {
+        ClientTlsStrategyBuilder builder = ClientTlsStrategyBuilder.create();
+        createSslContext(sslConfig.isSslCertificateCheckEnabled()).ifPresent(builder::setSslContext);
+        if (!sslConfig.isSslHostnameVerificationEnabled())
+        {
+            builder.setHostnameVerifier(NoopHostnameVerifier.INSTANCE);
+        }
+        return builder.build();
+    }
+
     private SSLConnectionSocketFactory buildSslSocketFactory(SslConfig sslConfig) throws GeneralSecurityException
     {
         SSLConnectionSocketFactoryBuilder builder = SSLConnectionSocketFactoryBuilder.create();
@@ -143,7 +245,8 @@ public class HttpClientFactory implements IHttpClientFactory
     }
 
     @SuppressFBWarnings("NP_NULL_ON_SOME_PATH")
-    private void configureAuth(HttpClientConfig config, HttpClientBuilder builder)
+    private void configureAuth(HttpClientConfig config, Consumer<HttpRequestInterceptor> firstRequestInterceptorSetter,
+            Consumer<CredentialsProvider> credentialsProviderSetter)
     {
         AuthConfig authConfig = config.getAuthConfig();
         String username = authConfig.getUsername();
@@ -161,7 +264,7 @@ public class HttpClientFactory implements IHttpClientFactory
         Credentials credentials = new UsernamePasswordCredentials(username, password.toCharArray());
         if (authConfig.isPreemptiveAuthEnabled())
         {
-            builder.addRequestInterceptorFirst((req, entity, ctx) ->
+            firstRequestInterceptorSetter.accept((req, entity, ctx) ->
             {
                 BasicScheme scheme = new BasicScheme(StandardCharsets.UTF_8);
                 scheme.initPreemptive(credentials);
@@ -173,7 +276,7 @@ public class HttpClientFactory implements IHttpClientFactory
         {
             CredentialsStore credentialsStore = new BasicCredentialsProvider();
             credentialsStore.setCredentials(ANY_AUTH_SCOPE, credentials);
-            builder.setDefaultCredentialsProvider(credentialsStore);
+            credentialsProviderSetter.accept(credentialsStore);
         }
     }
 
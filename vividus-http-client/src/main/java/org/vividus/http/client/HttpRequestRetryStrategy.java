@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.vividus.http.client;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -23,17 +24,42 @@ import java.util.Set;
 
 import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
 import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
 import org.apache.hc.core5.util.TimeValue;
+import org.vividus.http.metrics.HttpMetrics;
 
 public class HttpRequestRetryStrategy extends DefaultHttpRequestRetryStrategy
 {
     private List<String> idempotentMethodsSendingRequestBody;
+    private HttpMetrics httpMetrics;
 
     public HttpRequestRetryStrategy(int maxRetries, Duration retryInterval, Set<Integer> statusCodes)
     {
         super(maxRetries, TimeValue.of(retryInterval), Set.of(), Optional.ofNullable(statusCodes).orElseGet(Set::of));
     }
 
+    @Override
+    public boolean retryRequest(HttpRequest request, IOException exception, int execCount, HttpContext context)
+    {
+        return recordRetry(super.retryRequest(request, exception, execCount, context), context);
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int execCount, HttpContext context)
+    {
+        return recordRetry(super.retryRequest(response, execCount, context), context);
+    }
+
+    private boolean recordRetry(boolean retry, HttpContext context)
+    {
+        if (retry && httpMetrics != null && httpMetrics.isEnabled())
+        {
+            httpMetrics.recordRetry(context);
+        }
+        return retry;
+    }
+
     @Override
     protected boolean handleAsIdempotent(final HttpRequest request)
     {
@@ -50,4 +76,9 @@ public class HttpRequestRetryStrategy extends DefaultHttpRequestRetryStrategy
     {
         this.idempotentMethodsSendingRequestBody = idempotentMethodsSendingRequestBody;
     }
+
+    public void setHttpMetrics(HttpMetrics httpMetrics)
+    {
+        this.httpMetrics = httpMetrics;
+    }
 }
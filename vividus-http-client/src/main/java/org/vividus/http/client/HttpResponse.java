@@ -16,8 +16,15 @@
 
 package org.vividus.http.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -27,11 +34,14 @@ import org.apache.hc.core5.http.Header;
 
 public class HttpResponse
 {
+    private static final Cleaner CLEANER = Cleaner.create();
+
     private URI from;
     private String method;
     private int statusCode;
     private long responseTimeInMs;
     private byte[] responseBody;
+    private Path responseBodyFile;
     private Header[] responseHeaders;
     private RedirectLocations redirectLocations;
 
@@ -77,17 +87,102 @@ public class HttpResponse
 
     public byte[] getResponseBody()
     {
+        if (responseBodyFile != null)
+        {
+            try
+            {
+                return Files.readAllBytes(responseBodyFile);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
         return ArrayUtils.clone(responseBody);
     }
 
     public void setResponseBody(byte[] responseBody)
     {
         this.responseBody = ArrayUtils.clone(responseBody);
+        this.responseBodyFile = null;
+    }
+
+    /**
+     * Sets the response body stored in the file, the body is read from the file only on demand. The file is deleted
+     * as soon as the response becomes unreachable or the HTTP client that created it is closed.
+     *
+     * @param responseBodyFile The file containing the response body
+     */
+    public void setResponseBody(Path responseBodyFile)
+    {
+        this.responseBody = null;
+        this.responseBodyFile = responseBodyFile;
+        CLEANER.register(this, () -> deleteQuietly(responseBodyFile));
     }
 
+    /**
+     * Returns the response body as a string, the body stored in the file is loaded into the memory entirely, so
+     * prefer {@link #getResponseBodyAsStream()} to process large bodies.
+     *
+     * @return The response body as a string or <code>null</code> if the response has no body
+     */
     public String getResponseBodyAsString()
     {
-        return responseBody != null ? new String(responseBody, StandardCharsets.UTF_8) : null;
+        byte[] body = responseBodyFile != null ? getResponseBody() : responseBody;
+        return body != null ? new String(body, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Opens the stream to read the response body without loading the whole body into the memory.
+     *
+     * @return The stream to read the response body or <code>null</code> if the response has no body
+     * @throws IOException in case of any I/O errors
+     */
+    public InputStream getResponseBodyAsStream() throws IOException
+    {
+        if (responseBodyFile != null)
+        {
+            return Files.newInputStream(responseBodyFile);
+        }
+        return responseBody != null ? new ByteArrayInputStream(responseBody) : null;
+    }
+
+    public boolean hasResponseBody()
+    {
+        return responseBody != null || responseBodyFile != null;
+    }
+
+    /**
+     * Returns the size of the response body without loading the body into the memory.
+     *
+     * @return The size of the response body in bytes or 0 if the response has no body
+     */
+    public long getResponseBodySize()
+    {
+        if (responseBodyFile != null)
+        {
+            try
+            {
+                return Files.size(responseBodyFile);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return responseBody != null ? responseBody.length : 0;
+    }
+
+    private static void deleteQuietly(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e)
+        {
+            // The remaining files are deleted when the HTTP client is closed
+        }
     }
 
     public Header[] getResponseHeaders()
@@ -123,6 +218,10 @@ public class HttpResponse
     @Override
     public String toString()
     {
+        if (responseBodyFile != null)
+        {
+            return statusCode + " : <" + getResponseBodySize() + " bytes stored in " + responseBodyFile + ">";
+        }
         return statusCode + " : " + getResponseBodyAsString();
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,17 @@ public class ThreadedBasicCookieStore implements CookieStore
         cookieStoreThreadLocal.get().clear();
     }
 
+    /**
+     * Returns the cookie store bound to the current thread, it allows to share the cookies of the current thread
+     * with the requests executed by other threads, e.g. by I/O threads of asynchronous HTTP client.
+     *
+     * @return the cookie store of the current thread
+     */
+    public CookieStore getCurrentThreadCookieStore()
+    {
+        return cookieStoreThreadLocal.get();
+    }
+
     @Override
     public String toString()
     {
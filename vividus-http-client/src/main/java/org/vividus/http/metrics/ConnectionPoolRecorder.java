@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.vividus.http.metrics.HttpMetricsReport.ConnectionPool;
+
+/**
+ * Records the connection pool utilization. The peaks are tracked by the own counters updated around the connection
+ * leases, since the pool statistics are collected under the global pool lock and are requested only for the report.
+ */
+final class ConnectionPoolRecorder
+{
+    private final String name;
+    private final ConnPoolControl<HttpRoute> connectionPool;
+    private final LongAccumulator peakLeased = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakPending = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    ConnectionPoolRecorder(String name, ConnPoolControl<HttpRoute> connectionPool)
+    {
+        this.name = name;
+        this.connectionPool = connectionPool;
+    }
+
+    void leaseRequested()
+    {
+        peakPending.accumulate(pending.incrementAndGet());
+    }
+
+    void leaseCompleted(boolean leasedSuccessfully)
+    {
+        pending.decrementAndGet();
+        if (leasedSuccessfully)
+        {
+            peakLeased.accumulate(leased.incrementAndGet());
+        }
+    }
+
+    void released()
+    {
+        leased.decrementAndGet();
+    }
+
+    ConnectionPool toConnectionPool()
+    {
+        PoolStats stats = connectionPool.getTotalStats();
+        peakLeased.accumulate(stats.getLeased());
+        peakPending.accumulate(stats.getPending());
+        return new ConnectionPool(name, connectionPool.getMaxTotal(), connectionPool.getDefaultMaxPerRoute(),
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), peakLeased.intValue(),
+                peakPending.intValue());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.RouteInfo;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.pool.ConnPoolControl;
+
+/**
+ * Run-level aggregator of the HTTP client metrics: response time and connection lease time histograms, retries and
+ * transferred bytes per route, and the utilization of the connection pools. The recording is lock-free, so the
+ * metrics can be shared by all HTTP clients used by the parallel stories.
+ */
+public class HttpMetrics
+{
+    private static final int DEFAULT_HTTPS_PORT = 443;
+    private static final int DEFAULT_HTTP_PORT = 80;
+
+    private final List<HttpMetricsSink> sinks;
+    private final Map<String, RouteRecorder> routes = new ConcurrentHashMap<>();
+    private final List<ConnectionPoolRecorder> connectionPools = new CopyOnWriteArrayList<>();
+    private boolean enabled;
+
+    public HttpMetrics(List<HttpMetricsSink> sinks)
+    {
+        this.sinks = sinks;
+    }
+
+    /**
+     * Wraps the connection manager to record the connection lease time and to sample the utilization of its pool on
+     * every lease.
+     *
+     * @param <T>               The type of the connection manager
+     * @param connectionManager The pooling connection manager
+     * @return The connection manager recording the metrics
+     */
+    public <T extends HttpClientConnectionManager & ConnPoolControl<HttpRoute>> HttpClientConnectionManager
+            instrument(T connectionManager)
+    {
+        return new InstrumentedHttpClientConnectionManager(connectionManager,
+                createConnectionPoolRecorder(connectionManager), this);
+    }
+
+    /**
+     * Registers the connection pool to report its utilization, the utilization is sampled only at the report
+     * creation.
+     *
+     * @param connectionPool The connection pool
+     */
+    public void registerConnectionPool(ConnPoolControl<HttpRoute> connectionPool)
+    {
+        createConnectionPoolRecorder(connectionPool);
+    }
+
+    private synchronized ConnectionPoolRecorder createConnectionPoolRecorder(
+            ConnPoolControl<HttpRoute> connectionPool)
+    {
+        ConnectionPoolRecorder recorder = new ConnectionPoolRecorder(
+                "Connection pool #" + (connectionPools.size() + 1), connectionPool);
+        connectionPools.add(recorder);
+        return recorder;
+    }
+
+    public void recordExchange(HttpHost targetHost, long responseTimeInMs, long requestBodySize,
+            long responseBodySize)
+    {
+        getRouteRecorder(targetHost).recordExchange(responseTimeInMs, requestBodySize, responseBodySize);
+    }
+
+    public void recordRetry(HttpContext context)
+    {
+        RouteInfo route = HttpClientContext.adapt(context).getHttpRoute();
+        if (route != null)
+        {
+            getRouteRecorder(route.getTargetHost()).recordRetry();
+        }
+    }
+
+    void recordConnectionLease(HttpHost targetHost, long waitTimeInMs)
+    {
+        getRouteRecorder(targetHost).recordConnectionLease(waitTimeInMs);
+    }
+
+    private RouteRecorder getRouteRecorder(HttpHost targetHost)
+    {
+        return routes.computeIfAbsent(getRouteName(targetHost), k -> new RouteRecorder());
+    }
+
+    private static String getRouteName(HttpHost targetHost)
+    {
+        String scheme = targetHost.getSchemeName();
+        int port = targetHost.getPort();
+        if (port < 0)
+        {
+            port = URIScheme.HTTPS.same(scheme) ? DEFAULT_HTTPS_PORT : DEFAULT_HTTP_PORT;
+        }
+        return scheme + "://" + targetHost.getHostName() + ":" + port;
+    }
+
+    public HttpMetricsReport createReport()
+    {
+        List<HttpMetricsReport.Route> routeMetrics = routes.entrySet().stream()
+                .map(e -> e.getValue().toRoute(e.getKey()))
+                .sorted(Comparator.comparing(HttpMetricsReport.Route::name))
+                .toList();
+        List<HttpMetricsReport.ConnectionPool> connectionPoolMetrics = connectionPools.stream()
+                .map(ConnectionPoolRecorder::toConnectionPool)
+                .toList();
+        return new HttpMetricsReport(routeMetrics, connectionPoolMetrics);
+    }
+
+    /**
+     * Publishes the report to all the sinks if the metrics are enabled and at least one request was executed.
+     */
+    public void publish()
+    {
+        if (enabled && !routes.isEmpty())
+        {
+            HttpMetricsReport report = createReport();
+            sinks.forEach(sink -> sink.publish(report));
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+}
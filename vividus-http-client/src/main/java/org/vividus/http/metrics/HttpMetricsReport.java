@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import java.util.List;
+
+/**
+ * Snapshot of the HTTP metrics aggregated by routes (scheme, host and port of the target server) and connection pools.
+ *
+ * @param routes          The metrics of the requests grouped by routes
+ * @param connectionPools The state of the connection pools of the HTTP clients
+ */
+public record HttpMetricsReport(List<Route> routes, List<ConnectionPool> connectionPools)
+{
+    /**
+     * @param name                The route in format <code>scheme://host:port</code>
+     * @param requests            The number of the executed requests
+     * @param retries             The number of the retried request executions
+     * @param bytesSent           The total size of the request bodies in bytes
+     * @param bytesReceived       The total size of the response bodies in bytes
+     * @param responseTime        The response time in milliseconds
+     * @param connectionLeaseTime The time in milliseconds spent on waiting for a connection from the pool
+     */
+    public record Route(String name, long requests, long retries, long bytesSent, long bytesReceived,
+            Latency responseTime, Latency connectionLeaseTime)
+    {
+    }
+
+    /**
+     * @param count The number of the measurements
+     * @param p50   The median
+     * @param p95   The 95th percentile
+     * @param p99   The 99th percentile
+     * @param max   The maximum
+     */
+    public record Latency(long count, long p50, long p95, long p99, long max)
+    {
+    }
+
+    /**
+     * @param name        The name of the connection pool
+     * @param maxTotal    The maximum number of connections in the pool
+     * @param maxPerRoute The maximum number of connections per route
+     * @param leased      The number of currently leased connections
+     * @param available   The number of currently available idle connections
+     * @param pending     The number of currently pending connection requests
+     * @param peakLeased  The maximum number of simultaneously leased connections observed during the run
+     * @param peakPending The maximum number of simultaneously pending connection requests observed during the run,
+     *                    any positive value means that the requests were waiting for a free connection
+     */
+    public record ConnectionPool(String name, int maxTotal, int maxPerRoute, int leased, int available, int pending,
+            int peakLeased, int peakPending)
+    {
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Connection manager measuring the time spent on waiting for the connections and counting the leased connections and
+ * the pending connection requests without querying the connection pool.
+ */
+final class InstrumentedHttpClientConnectionManager implements HttpClientConnectionManager
+{
+    private final HttpClientConnectionManager connectionManager;
+    private final ConnectionPoolRecorder connectionPoolRecorder;
+    private final HttpMetrics httpMetrics;
+
+    InstrumentedHttpClientConnectionManager(HttpClientConnectionManager connectionManager,
+            ConnectionPoolRecorder connectionPoolRecorder, HttpMetrics httpMetrics)
+    {
+        this.connectionManager = connectionManager;
+        this.connectionPoolRecorder = connectionPoolRecorder;
+        this.httpMetrics = httpMetrics;
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state)
+    {
+        LeaseRequest leaseRequest = connectionManager.lease(id, route, requestTimeout, state);
+        return new LeaseRequest()
+        {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException
+            {
+                long start = System.nanoTime();
+                connectionPoolRecorder.leaseRequested();
+                ConnectionEndpoint endpoint = null;
+                try
+                {
+                    endpoint = leaseRequest.get(timeout);
+                    return endpoint;
+                }
+                finally
+                {
+                    connectionPoolRecorder.leaseCompleted(endpoint != null);
+                    httpMetrics.recordConnectionLease(route.getTargetHost(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            }
+
+            @Override
+            public boolean cancel()
+            {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration)
+    {
+        try
+        {
+            connectionManager.release(endpoint, newState, validDuration);
+        }
+        finally
+        {
+            connectionPoolRecorder.released();
+        }
+    }
+
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException
+    {
+        connectionManager.connect(endpoint, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException
+    {
+        connectionManager.upgrade(endpoint, context);
+    }
+
+    @Override
+    public void close(CloseMode closeMode)
+    {
+        connectionManager.close(closeMode);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        connectionManager.close();
+    }
+}
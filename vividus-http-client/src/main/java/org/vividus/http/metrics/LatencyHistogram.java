@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with log-linear buckets: the values below 32 are counted exactly, every
+ * greater power of two range is split into 32 equal buckets, so the relative error of the percentiles does not exceed
+ * ~3% while the memory footprint stays constant regardless of the number of recorded values.
+ */
+final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long value)
+    {
+        long nonNegativeValue = Math.max(value, 0);
+        counts.incrementAndGet(getBucketIndex(nonNegativeValue));
+        count.increment();
+        max.accumulate(nonNegativeValue);
+    }
+
+    long getCount()
+    {
+        return count.sum();
+    }
+
+    long getMax()
+    {
+        return max.get();
+    }
+
+    /**
+     * Calculates the value below which the given percentage of the recorded values falls.
+     *
+     * @param percentile The percentile in the range (0, 100]
+     * @return The highest value equivalent to the bucket containing the percentile or 0 if nothing is recorded
+     */
+    long getPercentile(double percentile)
+    {
+        long total = getCount();
+        if (total == 0)
+        {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            cumulativeCount += counts.get(i);
+            if (cumulativeCount >= rank)
+            {
+                return Math.min(getUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int getBucketIndex(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long getLowerBound(int bucketIndex)
+    {
+        if (bucketIndex < SUB_BUCKET_COUNT)
+        {
+            return bucketIndex;
+        }
+        int shift = (bucketIndex - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (bucketIndex - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+    }
+
+    static long getUpperBound(int bucketIndex)
+    {
+        return bucketIndex == BUCKET_COUNT - 1 ? Long.MAX_VALUE : getLowerBound(bucketIndex + 1) - 1;
+    }
+}
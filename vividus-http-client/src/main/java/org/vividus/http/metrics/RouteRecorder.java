@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.vividus.http.metrics.HttpMetricsReport.Latency;
+import org.vividus.http.metrics.HttpMetricsReport.Route;
+
+final class RouteRecorder
+{
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram connectionLeaseTime = new LatencyHistogram();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    void recordExchange(long responseTimeInMs, long requestBodySize, long responseBodySize)
+    {
+        responseTime.record(responseTimeInMs);
+        bytesSent.add(requestBodySize);
+        bytesReceived.add(responseBodySize);
+    }
+
+    void recordConnectionLease(long waitTimeInMs)
+    {
+        connectionLeaseTime.record(waitTimeInMs);
+    }
+
+    void recordRetry()
+    {
+        retries.increment();
+    }
+
+    Route toRoute(String name)
+    {
+        return new Route(name, responseTime.getCount(), retries.sum(), bytesSent.sum(), bytesReceived.sum(),
+                toLatency(responseTime), toLatency(connectionLeaseTime));
+    }
+
+    private static Latency toLatency(LatencyHistogram histogram)
+    {
+        return new Latency(histogram.getCount(), histogram.getPercentile(50), histogram.getPercentile(95),
+                histogram.getPercentile(99), histogram.getMax());
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.cookie.BasicCookieStore;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpRequestInterceptor;
+import org.apache.hc.core5.http.HttpResponseInterceptor;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.http.handler.HttpResponseHandler;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncHttpClientTests
+{
+    private static final URI URI_TO_GO = URI.create("https://www.vividus.org/path?query=value");
+    private static final String BODY = "body";
+    private static final String HEADER_NAME = "Header-Name";
+    private static final String ANOTHER_HEADER_NAME = "Another-Header";
+
+    @Mock private HttpResponseHandler handler;
+    @Mock private HttpRequestInterceptor requestInterceptor;
+    @Mock private HttpResponseInterceptor responseInterceptor;
+    @Mock private CloseableHttpAsyncClient closeableHttpAsyncClient;
+    @Mock private Future<SimpleHttpResponse> execution;
+    private final AsyncHttpClient httpClient = new AsyncHttpClient(1);
+
+    @BeforeEach
+    void init()
+    {
+        httpClient.setCloseableHttpAsyncClient(closeableHttpAsyncClient);
+        httpClient.setHttpResponseHandlers(List.of(handler));
+        httpClient.setRequestInterceptors(List.of(requestInterceptor));
+        httpClient.setResponseInterceptors(List.of(responseInterceptor));
+    }
+
+    @Test
+    void shouldExecuteRequestAndInvokeInterceptorsAndHandlers() throws Exception
+    {
+        var request = new HttpPost(URI_TO_GO);
+        var entity = new StringEntity("request", ContentType.TEXT_PLAIN);
+        request.setEntity(entity);
+        var response = SimpleHttpResponse.create(HttpStatus.SC_OK, BODY, ContentType.TEXT_PLAIN);
+        mockExecution(callback -> callback.completed(response));
+
+        var httpResponse = httpClient.execute(request);
+
+        verify(requestInterceptor).process(any(HttpRequest.class), eq(entity), any(HttpClientContext.class));
+        verify(responseInterceptor).process(eq(response), any(), any(HttpClientContext.class));
+        verify(handler).handle(httpResponse);
+        assertEquals("POST", httpResponse.getMethod());
+        assertEquals(URI_TO_GO, httpResponse.getFrom());
+        assertEquals(HttpStatus.SC_OK, httpResponse.getStatusCode());
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), httpResponse.getResponseBody());
+        assertArrayEquals(response.getHeaders(), httpResponse.getResponseHeaders());
+    }
+
+    @Test
+    void shouldExecuteRequestAsynchronously() throws Exception
+    {
+        httpClient.setSkipResponseEntity(true);
+        var response = SimpleHttpResponse.create(HttpStatus.SC_NOT_FOUND, BODY, ContentType.TEXT_PLAIN);
+        var callbackCaptor = mockExecution(callback -> { });
+        var handlerThreadName = new AtomicReference<String>();
+        doAnswer(invocation -> {
+            handlerThreadName.set(Thread.currentThread().getName());
+            return null;
+        }).when(handler).handle(any(HttpResponse.class));
+
+        CompletableFuture<HttpResponse> future = httpClient.executeAsync(new HttpPost(URI_TO_GO));
+        assertFalse(future.isDone());
+        callbackCaptor.getValue().completed(response);
+
+        var httpResponse = future.get();
+        assertEquals(HttpStatus.SC_NOT_FOUND, httpResponse.getStatusCode());
+        assertNull(httpResponse.getResponseBody());
+        verify(handler).handle(httpResponse);
+        assertTrue(handlerThreadName.get().startsWith("http-async-callback-"));
+    }
+
+    @Test
+    void shouldRethrowIOExceptionOfFailedExecution()
+    {
+        var exception = new IOException("Connection reset");
+        mockExecution(callback -> callback.failed(exception));
+        var request = new HttpPost(URI_TO_GO);
+        var actual = assertThrows(IOException.class, () -> httpClient.execute(request));
+        assertSame(exception, actual);
+    }
+
+    @Test
+    void shouldCompleteAsynchronousExecutionExceptionally()
+    {
+        var exception = new IOException("Connection reset");
+        mockExecution(callback -> callback.failed(exception));
+        var future = httpClient.executeAsync(new HttpPost(URI_TO_GO));
+        var actual = assertThrows(ExecutionException.class, future::get);
+        assertSame(exception, actual.getCause());
+    }
+
+    @Test
+    void shouldResolveThreadBoundCookieStoreBeforeExecution() throws IOException
+    {
+        var threadedCookieStore = new ThreadedBasicCookieStore();
+        httpClient.setCookieStore(threadedCookieStore);
+        var response = SimpleHttpResponse.create(HttpStatus.SC_OK);
+        mockExecution(callback -> callback.completed(response));
+        var context = HttpClientContext.create();
+        httpClient.execute(new HttpPost(URI_TO_GO), context);
+        assertSame(threadedCookieStore.getCurrentThreadCookieStore(), context.getCookieStore());
+    }
+
+    @Test
+    void shouldNotOverrideCookieStoreOfProvidedContext() throws IOException
+    {
+        httpClient.setCookieStore(new ThreadedBasicCookieStore());
+        var response = SimpleHttpResponse.create(HttpStatus.SC_OK);
+        mockExecution(callback -> callback.completed(response));
+        var context = HttpClientContext.create();
+        var cookieStore = new BasicCookieStore();
+        context.setCookieStore(cookieStore);
+        httpClient.execute(new HttpPost(URI_TO_GO), context);
+        assertSame(cookieStore, context.getCookieStore());
+    }
+
+    @Test
+    void shouldAddDefaultHeadersBeforeInvokingRequestInterceptors() throws Exception
+    {
+        var defaultHeader = new BasicHeader(HEADER_NAME, "default");
+        var anotherDefaultHeader = new BasicHeader(ANOTHER_HEADER_NAME, "value");
+        httpClient.setDefaultHeaders(List.of(defaultHeader, anotherDefaultHeader));
+        var request = new HttpPost(URI_TO_GO);
+        request.addHeader(HEADER_NAME, "explicit");
+        var response = SimpleHttpResponse.create(HttpStatus.SC_OK);
+        mockExecution(callback -> callback.completed(response));
+        doAnswer(invocation -> {
+            HttpRequest interceptedRequest = invocation.getArgument(0);
+            assertEquals("explicit", interceptedRequest.getFirstHeader(HEADER_NAME).getValue());
+            assertEquals(1, interceptedRequest.getHeaders(HEADER_NAME).length);
+            assertSame(anotherDefaultHeader, interceptedRequest.getFirstHeader(ANOTHER_HEADER_NAME));
+            return null;
+        }).when(requestInterceptor).process(any(HttpRequest.class), any(), any(HttpClientContext.class));
+
+        httpClient.execute(request);
+        httpClient.execute(request);
+
+        verify(requestInterceptor, times(2)).process(any(HttpRequest.class), any(), any(HttpClientContext.class));
+        assertEquals(1, request.getHeaders(HEADER_NAME).length);
+        assertFalse(request.containsHeader(ANOTHER_HEADER_NAME));
+    }
+
+    @Test
+    void shouldFailAndCancelExecutionNotCompletedWithinExecutionTimeout()
+    {
+        httpClient.setExecutionTimeout(Duration.ofMillis(10));
+        mockExecution(callback -> { });
+        var request = new HttpPost(URI_TO_GO);
+        var exception = assertThrows(SocketTimeoutException.class, () -> httpClient.execute(request));
+        assertEquals("HTTP request execution is not completed within PT0.01S", exception.getMessage());
+        verify(execution).cancel(true);
+        verifyNoInteractions(handler);
+    }
+
+    @Test
+    void shouldCloseClientGracefully()
+    {
+        httpClient.close();
+        verify(closeableHttpAsyncClient).close(CloseMode.GRACEFUL);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<FutureCallback<SimpleHttpResponse>> mockExecution(
+            Consumer<FutureCallback<SimpleHttpResponse>> callbackConsumer)
+    {
+        ArgumentCaptor<FutureCallback<SimpleHttpResponse>> callbackCaptor = ArgumentCaptor.forClass(
+                FutureCallback.class);
+        when(closeableHttpAsyncClient.execute(any(), any(), any(HttpContext.class), callbackCaptor.capture()))
+                .thenAnswer(invocation -> {
+                    callbackConsumer.accept(callbackCaptor.getValue());
+                    return execution;
+                });
+        return callbackCaptor;
+    }
+}
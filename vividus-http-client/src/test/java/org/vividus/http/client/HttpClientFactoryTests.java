@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,7 @@ import static org.mockito.Mockito.when;
 import java.net.URISyntaxException;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -55,11 +56,17 @@ import org.apache.hc.client5.http.auth.CredentialsProvider;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.cookie.BasicCookieStore;
 import org.apache.hc.client5.http.cookie.CookieStore;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.impl.win.WinHttpClients;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.protocol.RedirectStrategy;
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
@@ -69,7 +76,9 @@ import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.HttpRequest;
 import org.apache.hc.core5.http.HttpRequestInterceptor;
 import org.apache.hc.core5.http.HttpResponseInterceptor;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
 import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -82,6 +91,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.http.handler.HttpResponseHandler;
 import org.vividus.http.keystore.IKeyStoreFactory;
+import org.vividus.http.metrics.HttpMetrics;
 
 @ExtendWith(MockitoExtension.class)
 class HttpClientFactoryTests
@@ -302,6 +312,94 @@ class HttpClientFactoryTests
         }
     }
 
+    @Test
+    void testBuildHttpClientWithMetrics() throws GeneralSecurityException
+    {
+        config.setAuthConfig(authConfig(null, null, false));
+        HttpMetrics httpMetrics = mock();
+        when(httpMetrics.isEnabled()).thenReturn(true);
+        HttpClientConnectionManager instrumentedConnectionManager = mock();
+        when(httpMetrics.<PoolingHttpClientConnectionManager>instrument(any())).thenReturn(
+                instrumentedConnectionManager);
+        config.setHttpMetrics(httpMetrics);
+        testBuildHttpClientUsingConfig(actualClient -> verify(actualClient).setHttpMetrics(httpMetrics));
+        verify(mockedHttpClientBuilder).setConnectionManager(instrumentedConnectionManager);
+    }
+
+    @Test
+    void testBuildAsyncHttpClient() throws GeneralSecurityException
+    {
+        config.setAsyncEnabled(true);
+        config.setHttpVersionPolicy(HttpVersionPolicy.FORCE_HTTP_2);
+        config.setAuthConfig(authConfig(USERNAME, PASSWORD, false));
+        String baseUrl = "https://somewh.ere";
+        config.setBaseUrl(baseUrl);
+        HttpRequestInterceptor firstRequestInterceptor = mock();
+        config.setFirstRequestInterceptor(firstRequestInterceptor);
+        HttpRequestInterceptor lastRequestInterceptor = mock();
+        config.setLastRequestInterceptor(lastRequestInterceptor);
+        HttpResponseInterceptor responseInterceptor = mock();
+        config.setLastResponseInterceptor(responseInterceptor);
+        HttpResponseHandler responseHandler = mock();
+        config.setHttpResponseHandlers(List.of(responseHandler));
+        CookieStore cookieStore = new BasicCookieStore();
+        config.setCookieStore(cookieStore);
+        int maxTotalConnections = 10;
+        config.setMaxTotalConnections(maxTotalConnections);
+        int maxConnectionsPerRoute = 2;
+        config.setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        HttpRequestRetryStrategy retryStrategy = mock();
+        config.setHttpRequestRetryStrategy(retryStrategy);
+        config.setHeaders(HEADERS);
+        config.setConnectionRequestTimeout(1000);
+        config.setConnectTimeout(2000);
+        config.setSocketTimeout(3000);
+        Duration executionTimeout = Duration.ofMinutes(1);
+        config.setAsyncExecutionTimeout(executionTimeout);
+
+        HttpAsyncClientBuilder asyncClientBuilder = mock();
+        CloseableHttpAsyncClient closeableHttpAsyncClient = mock();
+        try (var connectionManagerBuilderStaticMock = mockStatic(PoolingAsyncClientConnectionManagerBuilder.class);
+                var httpAsyncClients = mockStatic(HttpAsyncClients.class);
+                var asyncHttpClient = mockConstruction(AsyncHttpClient.class,
+                        (mock, context) -> assertEquals(List.of(maxTotalConnections), context.arguments()));
+                var credentialsProviderConstruction = mockConstruction(BasicCredentialsProvider.class))
+        {
+            httpAsyncClients.when(HttpAsyncClients::custom).thenReturn(asyncClientBuilder);
+            when(asyncClientBuilder.build()).thenReturn(closeableHttpAsyncClient);
+            PoolingAsyncClientConnectionManagerBuilder connectionManagerBuilder = mock(Answers.RETURNS_SELF);
+            connectionManagerBuilderStaticMock.when(PoolingAsyncClientConnectionManagerBuilder::create).thenReturn(
+                    connectionManagerBuilder);
+
+            IHttpClient client = httpClientFactory.buildHttpClient(config);
+            assertEquals(asyncHttpClient.constructed(), List.of(client));
+            @SuppressWarnings("PMD.CloseResource")
+            AsyncHttpClient actualClient = (AsyncHttpClient) client;
+            verify(actualClient).setCloseableHttpAsyncClient(closeableHttpAsyncClient);
+            verify(actualClient).setHttpHost(HttpHost.create(baseUrl));
+            Entry<String, String> headerEntry = HEADERS.entrySet().iterator().next();
+            verify(actualClient).setDefaultHeaders(argThat(headers -> headers.size() == 1
+                    && headerEntry.getKey().equals(headers.get(0).getName())
+                    && headerEntry.getValue().equals(headers.get(0).getValue())));
+            verify(actualClient).setExecutionTimeout(executionTimeout);
+            verify(actualClient).setSkipResponseEntity(false);
+            verify(actualClient).setCookieStore(cookieStore);
+            verify(actualClient).setRequestInterceptors(List.of(firstRequestInterceptor, lastRequestInterceptor));
+            verify(actualClient).setResponseInterceptors(List.of(responseInterceptor));
+            verify(actualClient).setHttpResponseHandlers(List.of(responseHandler));
+            verify(closeableHttpAsyncClient).start();
+            verify(asyncClientBuilder).setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_2);
+            verify(asyncClientBuilder).setDefaultCredentialsProvider(
+                    credentialsProviderConstruction.constructed().get(0));
+            verify(asyncClientBuilder).setRetryStrategy(retryStrategy);
+            verify(asyncClientBuilder, never()).addRequestInterceptorFirst(any());
+            verify(asyncClientBuilder, never()).setDefaultHeaders(any());
+            verify(connectionManagerBuilder).setMaxConnTotal(maxTotalConnections);
+            verify(connectionManagerBuilder).setMaxConnPerRoute(maxConnectionsPerRoute);
+            verify(connectionManagerBuilder).setTlsStrategy(any(TlsStrategy.class));
+        }
+    }
+
     private PoolingHttpClientConnectionManagerBuilder testBuildHttpClientUsingConfig() throws GeneralSecurityException
     {
         return testBuildHttpClientUsingConfig(client -> { });
@@ -17,15 +17,19 @@
 package org.vividus.http.client;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
@@ -35,10 +39,13 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
@@ -48,18 +55,22 @@ import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.AuthenticationException;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.client5.http.protocol.RedirectLocations;
 import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
 import org.apache.hc.core5.http.protocol.HttpContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,6 +82,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import org.vividus.http.handler.HttpResponseHandler;
+import org.vividus.http.metrics.HttpMetrics;
 import org.vividus.util.Sleeper;
 
 @ExtendWith(MockitoExtension.class)
@@ -92,6 +104,7 @@ class HttpClientTests
     private static final String SCHEME = "https";
     private static final String HOST = "www.vividus.org";
     private static final HttpHost HTTP_HOST = new HttpHost(SCHEME, HOST, 443);
+    private static final byte[] BODY = "response body".getBytes(StandardCharsets.UTF_8);
     private static final URI URI_WITH_BASIC_AUTH = URI.create(SCHEME + "://" + BASIC_AUTH + "@" + HOST + "/");
 
     @Mock private HttpResponseHandler handler;
@@ -186,6 +199,87 @@ class HttpClientTests
         verify(handler).handle(httpResponse);
     }
 
+    @Test
+    void shouldKeepResponseBodyNotExceedingThresholdInMemory() throws Exception
+    {
+        httpClient.setResponseBodySpillThreshold(BODY.length);
+        var httpResponse = handleResponse(new ByteArrayEntity(BODY, ContentType.APPLICATION_OCTET_STREAM));
+        assertArrayEquals(BODY, httpResponse.getResponseBody());
+        assertEquals(HttpStatus.SC_OK + " : " + new String(BODY, StandardCharsets.UTF_8), httpResponse.toString());
+    }
+
+    @Test
+    void shouldStoreResponseBodyExceedingThresholdInFile() throws Exception
+    {
+        httpClient.setResponseBodySpillThreshold(BODY.length - 1);
+        var httpResponse = handleResponse(new ByteArrayEntity(BODY, ContentType.APPLICATION_OCTET_STREAM));
+        assertThat(httpResponse.toString(), containsString(BODY.length + " bytes stored in "));
+        assertEquals(BODY.length, httpResponse.getResponseBodySize());
+        assertArrayEquals(BODY, httpResponse.getResponseBody());
+    }
+
+    @Test
+    void shouldStoreResponseBodyOfUnknownLengthExceedingThresholdInFile() throws Exception
+    {
+        httpClient.setResponseBodySpillThreshold(BODY.length - 1);
+        var httpResponse = handleResponse(new InputStreamEntity(new ByteArrayInputStream(BODY),
+                ContentType.APPLICATION_OCTET_STREAM));
+        assertThat(httpResponse.toString(), containsString(BODY.length + " bytes stored in "));
+        try (InputStream responseBody = httpResponse.getResponseBodyAsStream())
+        {
+            assertArrayEquals(BODY, responseBody.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldKeepResponseBodyOfUnknownLengthNotExceedingThresholdInMemory() throws Exception
+    {
+        httpClient.setResponseBodySpillThreshold(BODY.length);
+        var httpResponse = handleResponse(new InputStreamEntity(new ByteArrayInputStream(BODY),
+                ContentType.APPLICATION_OCTET_STREAM));
+        assertEquals(HttpStatus.SC_OK + " : " + new String(BODY, StandardCharsets.UTF_8), httpResponse.toString());
+    }
+
+    @Test
+    void shouldKeepResponseBodyOfUnknownLengthInMemoryIfThresholdIsMaximal() throws Exception
+    {
+        httpClient.setResponseBodySpillThreshold(Integer.MAX_VALUE);
+        var httpResponse = handleResponse(new InputStreamEntity(new ByteArrayInputStream(BODY),
+                ContentType.APPLICATION_OCTET_STREAM));
+        assertArrayEquals(BODY, httpResponse.getResponseBody());
+        assertEquals(HttpStatus.SC_OK + " : " + new String(BODY, StandardCharsets.UTF_8), httpResponse.toString());
+    }
+
+    @Test
+    void shouldDeleteResponseBodiesStoredInFilesOnClose() throws Exception
+    {
+        httpClient.setResponseBodySpillThreshold(BODY.length - 1);
+        var httpResponse = handleResponse(new ByteArrayEntity(BODY, ContentType.APPLICATION_OCTET_STREAM));
+        var description = httpResponse.toString();
+        var responseBodyFile = Path.of(description.substring(description.indexOf(" stored in ") + 11,
+                description.length() - 1));
+        assertTrue(Files.exists(responseBodyFile));
+        httpClient.close();
+        assertFalse(Files.exists(responseBodyFile));
+        assertFalse(Files.exists(responseBodyFile.getParent()));
+        verify(closeableHttpClient).close();
+    }
+
+    @Test
+    void shouldRecordExchangeMetrics() throws IOException
+    {
+        HttpMetrics httpMetrics = mock();
+        httpClient.setHttpMetrics(httpMetrics);
+        var request = new HttpPost(URI_TO_GO);
+        request.setEntity(new ByteArrayEntity(BODY, ContentType.APPLICATION_OCTET_STREAM));
+        var response = new HttpResponse();
+        response.setResponseBody(BODY);
+        when(closeableHttpClient.execute(eq(request), isA(HttpClientContext.class), any())).thenReturn(response);
+        httpClient.execute(request);
+        long bodySize = BODY.length;
+        verify(httpMetrics).recordExchange(eq(HttpHost.create(URI_TO_GO)), anyLong(), eq(bodySize), eq(bodySize));
+    }
+
     @Test
     void shouldDoHttpHead() throws IOException
     {
@@ -257,6 +351,22 @@ class HttpClientTests
         assertEquals("Target host is not specified", exception.getMessage());
     }
 
+    @SuppressWarnings("unchecked")
+    private HttpResponse handleResponse(HttpEntity httpEntity) throws IOException, HttpException
+    {
+        var request = new HttpGet(URI_TO_GO);
+        ArgumentCaptor<HttpClientResponseHandler<HttpResponse>> responseHandlerCaptor = ArgumentCaptor.forClass(
+                HttpClientResponseHandler.class);
+        when(closeableHttpClient.execute(eq(request), isA(HttpClientContext.class), responseHandlerCaptor.capture()))
+                .thenReturn(new HttpResponse());
+        httpClient.execute(request);
+        @SuppressWarnings("PMD.CloseResource")
+        ClassicHttpResponse classicHttpResponse = mock();
+        when(classicHttpResponse.getEntity()).thenReturn(httpEntity);
+        when(classicHttpResponse.getCode()).thenReturn(HttpStatus.SC_OK);
+        return responseHandlerCaptor.getValue().handleResponse(classicHttpResponse);
+    }
+
     private ArgumentMatcher<HttpClientResponseHandler<HttpResponse>> responseHandlerMatcher(String httpMethod,
             int statusCode, HttpEntity httpEntity)
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ package org.vividus.http.client;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
@@ -31,6 +33,7 @@ import java.util.stream.Stream;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpRequest;
 import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.protocol.HttpContext;
 import org.apache.hc.core5.util.TimeValue;
@@ -42,6 +45,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.vividus.http.HttpMethod;
 import org.vividus.http.HttpRequestBuilder;
 import org.vividus.http.exception.HttpRequestBuildException;
+import org.vividus.http.metrics.HttpMetrics;
 
 class HttpRequestRetryStrategyTests
 {
@@ -96,4 +100,22 @@ class HttpRequestRetryStrategyTests
         when(response.getCode()).thenReturn(500);
         assertEquals(retry, strategy.retryRequest(response, executionCount, null));
     }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 1",
+            "2, 0"
+    })
+    void shouldRecordRetries(int executionCount, int expectedRetries)
+    {
+        var strategy = new HttpRequestRetryStrategy(1, Duration.ofMillis(1), Set.of(HttpStatus.SC_BAD_GATEWAY));
+        var httpMetrics = mock(HttpMetrics.class);
+        when(httpMetrics.isEnabled()).thenReturn(true);
+        strategy.setHttpMetrics(httpMetrics);
+        var response = mock(HttpResponse.class);
+        when(response.getCode()).thenReturn(HttpStatus.SC_BAD_GATEWAY);
+        var context = mock(HttpContext.class);
+        strategy.retryRequest(response, executionCount, context);
+        verify(httpMetrics, times(expectedRetries)).recordRetry(context);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,26 @@
 
 package org.vividus.http.client;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpStatus;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class HttpResponseTests
 {
@@ -59,6 +67,43 @@ class HttpResponseTests
         assertNull(httpResponse.getResponseBody());
     }
 
+    @Test
+    void shouldReturnNoBodyDetailsForNullResponseBody() throws IOException
+    {
+        assertFalse(httpResponse.hasResponseBody());
+        assertEquals(0, httpResponse.getResponseBodySize());
+        assertNull(httpResponse.getResponseBodyAsStream());
+    }
+
+    @Test
+    void shouldReadResponseBodyStoredInFile(@TempDir Path tempDir) throws IOException
+    {
+        String responseBody = "{\"key\":\"value\"}";
+        Path responseBodyFile = Files.writeString(tempDir.resolve("body.json"), responseBody);
+        httpResponse.setStatusCode(HttpStatus.SC_OK);
+        httpResponse.setResponseBody(responseBodyFile);
+        assertTrue(httpResponse.hasResponseBody());
+        assertEquals(responseBody.length(), httpResponse.getResponseBodySize());
+        assertEquals(responseBody, httpResponse.getResponseBodyAsString());
+        assertArrayEquals(responseBody.getBytes(StandardCharsets.UTF_8), httpResponse.getResponseBody());
+        try (InputStream inputStream = httpResponse.getResponseBodyAsStream())
+        {
+            assertEquals(responseBody, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(HttpStatus.SC_OK + " : <" + responseBody.length() + " bytes stored in " + responseBodyFile + ">",
+                httpResponse.toString());
+    }
+
+    @Test
+    void shouldReplaceResponseBodyStoredInFileWithBytes(@TempDir Path tempDir) throws IOException
+    {
+        httpResponse.setResponseBody(Files.writeString(tempDir.resolve("body.txt"), "file"));
+        byte[] responseBody = { 1, 2 };
+        httpResponse.setResponseBody(responseBody);
+        assertArrayEquals(responseBody, httpResponse.getResponseBody());
+        assertEquals(responseBody.length, httpResponse.getResponseBodySize());
+    }
+
     @Test
     void testGetNullResponseHeaders()
     {
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.http.metrics.HttpMetricsReport.ConnectionPool;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPoolRecorderTests
+{
+    private static final String NAME = "Connection pool #1";
+
+    @Mock private ConnPoolControl<HttpRoute> connectionPool;
+
+    @Test
+    void shouldTrackPeaksWithoutQueryingPoolOnLeases()
+    {
+        var recorder = new ConnectionPoolRecorder(NAME, connectionPool);
+        recorder.leaseRequested();
+        recorder.leaseRequested();
+        recorder.leaseCompleted(true);
+        recorder.leaseCompleted(false);
+        recorder.leaseRequested();
+        recorder.leaseCompleted(true);
+        recorder.released();
+        recorder.released();
+
+        when(connectionPool.getMaxTotal()).thenReturn(80);
+        when(connectionPool.getDefaultMaxPerRoute()).thenReturn(60);
+        when(connectionPool.getTotalStats()).thenReturn(new PoolStats(0, 0, 2, 80));
+        assertEquals(new ConnectionPool(NAME, 80, 60, 0, 2, 0, 2, 2), recorder.toConnectionPool());
+    }
+}
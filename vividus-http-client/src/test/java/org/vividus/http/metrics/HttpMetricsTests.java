@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.Test;
+import org.vividus.http.metrics.HttpMetricsReport.ConnectionPool;
+import org.vividus.http.metrics.HttpMetricsReport.Latency;
+import org.vividus.http.metrics.HttpMetricsReport.Route;
+
+class HttpMetricsTests
+{
+    private static final String HTTPS_ROUTE = "https://www.vividus.org:443";
+    private static final String HTTPS = "https";
+    private static final String HOST = "www.vividus.org";
+    private static final HttpHost HTTPS_HOST = new HttpHost(HTTPS, HOST, -1);
+    private static final HttpHost HTTPS_HOST_WITH_PORT = new HttpHost(HTTPS, HOST, 443);
+    private static final HttpHost HTTP_HOST = new HttpHost("http", "localhost", 8080);
+
+    private final HttpMetricsSink sink = mock();
+    private final HttpMetrics httpMetrics = new HttpMetrics(List.of(sink));
+
+    @Test
+    void shouldAggregateExchangesByRoutes()
+    {
+        httpMetrics.recordExchange(HTTPS_HOST, 10, 100, 1_000);
+        httpMetrics.recordExchange(HTTPS_HOST_WITH_PORT, 30, 0, 2_000);
+        httpMetrics.recordExchange(HTTP_HOST, 5, 0, 0);
+        httpMetrics.recordConnectionLease(HTTPS_HOST, 7);
+        var context = HttpClientContext.create();
+        context.setAttribute(HttpClientContext.HTTP_ROUTE, new HttpRoute(HTTPS_HOST_WITH_PORT));
+        httpMetrics.recordRetry(context);
+
+        var report = httpMetrics.createReport();
+        assertEquals(List.of(
+                new Route("http://localhost:8080", 1, 0, 0, 0, new Latency(1, 5, 5, 5, 5), new Latency(0, 0, 0, 0, 0)),
+                new Route(HTTPS_ROUTE, 2, 1, 100, 3_000, new Latency(2, 10, 30, 30, 30), new Latency(1, 7, 7, 7, 7))
+        ), report.routes());
+        assertEquals(List.of(), report.connectionPools());
+    }
+
+    @Test
+    void shouldIgnoreRetryWithoutRoute()
+    {
+        httpMetrics.recordRetry(HttpClientContext.create());
+        assertEquals(List.of(), httpMetrics.createReport().routes());
+    }
+
+    @Test
+    void shouldReportConnectionPools()
+    {
+        @SuppressWarnings("unchecked")
+        ConnPoolControl<HttpRoute> connectionPool = mock();
+        when(connectionPool.getMaxTotal()).thenReturn(80);
+        when(connectionPool.getDefaultMaxPerRoute()).thenReturn(60);
+        when(connectionPool.getTotalStats()).thenReturn(new PoolStats(0, 0, 3, 80));
+        httpMetrics.registerConnectionPool(connectionPool);
+        assertEquals(List.of(new ConnectionPool("Connection pool #1", 80, 60, 0, 3, 0, 0, 0)),
+                httpMetrics.createReport().connectionPools());
+    }
+
+    @Test
+    void shouldInstrumentConnectionManager()
+    {
+        var connectionManager = mock(PoolingHttpClientConnectionManager.class);
+        assertInstanceOf(InstrumentedHttpClientConnectionManager.class, httpMetrics.instrument(connectionManager));
+    }
+
+    @Test
+    void shouldPublishReportToSinks()
+    {
+        httpMetrics.setEnabled(true);
+        httpMetrics.recordExchange(HTTPS_HOST, 1, 0, 0);
+        httpMetrics.publish();
+        verify(sink).publish(httpMetrics.createReport());
+    }
+
+    @Test
+    void shouldNotPublishReportWithoutExchanges()
+    {
+        httpMetrics.setEnabled(true);
+        httpMetrics.publish();
+        verifyNoInteractions(sink);
+    }
+
+    @Test
+    void shouldNotPublishReportIfMetricsAreDisabled()
+    {
+        httpMetrics.recordExchange(HTTPS_HOST, 1, 0, 0);
+        httpMetrics.publish();
+        verifyNoInteractions(sink);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedHttpClientConnectionManagerTests
+{
+    private static final HttpHost TARGET_HOST = new HttpHost("https", "www.vividus.org", 443);
+
+    @Mock private HttpClientConnectionManager connectionManager;
+    @Mock private ConnectionPoolRecorder connectionPoolRecorder;
+    @Mock private HttpMetrics httpMetrics;
+    @Mock private ConnectionEndpoint endpoint;
+    @InjectMocks private InstrumentedHttpClientConnectionManager instrumentedConnectionManager;
+
+    @Test
+    void shouldRecordConnectionLease() throws Exception
+    {
+        var route = new HttpRoute(TARGET_HOST);
+        var timeout = Timeout.ofSeconds(1);
+        var state = new Object();
+        LeaseRequest leaseRequest = mock();
+        when(connectionManager.lease("id", route, timeout, state)).thenReturn(leaseRequest);
+        when(leaseRequest.get(timeout)).thenReturn(endpoint);
+        when(leaseRequest.cancel()).thenReturn(true);
+
+        var instrumentedLeaseRequest = instrumentedConnectionManager.lease("id", route, timeout, state);
+        verifyNoInteractions(connectionPoolRecorder);
+        assertSame(endpoint, instrumentedLeaseRequest.get(timeout));
+        var ordered = inOrder(connectionPoolRecorder, leaseRequest);
+        ordered.verify(connectionPoolRecorder).leaseRequested();
+        ordered.verify(leaseRequest).get(timeout);
+        ordered.verify(connectionPoolRecorder).leaseCompleted(true);
+        verify(httpMetrics).recordConnectionLease(eq(TARGET_HOST), anyLong());
+        assertTrue(instrumentedLeaseRequest.cancel());
+    }
+
+    @Test
+    void shouldRecordFailedConnectionLease() throws Exception
+    {
+        var route = new HttpRoute(TARGET_HOST);
+        var timeout = Timeout.ofSeconds(1);
+        LeaseRequest leaseRequest = mock();
+        when(connectionManager.lease("id", route, timeout, null)).thenReturn(leaseRequest);
+        var exception = new TimeoutException();
+        when(leaseRequest.get(timeout)).thenThrow(exception);
+
+        var instrumentedLeaseRequest = instrumentedConnectionManager.lease("id", route, timeout, null);
+        assertSame(exception, assertThrows(TimeoutException.class, () -> instrumentedLeaseRequest.get(timeout)));
+        verify(connectionPoolRecorder).leaseRequested();
+        verify(connectionPoolRecorder).leaseCompleted(false);
+    }
+
+    @Test
+    void shouldDelegateConnectionManagement() throws IOException
+    {
+        var validDuration = TimeValue.ofSeconds(1);
+        var context = mock(HttpContext.class);
+        instrumentedConnectionManager.release(endpoint, null, validDuration);
+        verify(connectionManager).release(endpoint, null, validDuration);
+        verify(connectionPoolRecorder).released();
+        instrumentedConnectionManager.connect(endpoint, validDuration, context);
+        verify(connectionManager).connect(endpoint, validDuration, context);
+        instrumentedConnectionManager.upgrade(endpoint, context);
+        verify(connectionManager).upgrade(endpoint, context);
+        instrumentedConnectionManager.close(CloseMode.GRACEFUL);
+        verify(connectionManager).close(CloseMode.GRACEFUL);
+        instrumentedConnectionManager.close();
+        verify(connectionManager).close();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LatencyHistogramTests
+{
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, 1, 31, 32, 63, 64, 65, 100, 1_000, 123_456_789, Long.MAX_VALUE })
+    void shouldPutValueIntoBucketCoveringIt(long value)
+    {
+        int bucketIndex = LatencyHistogram.getBucketIndex(value);
+        assertTrue(LatencyHistogram.getLowerBound(bucketIndex) <= value);
+        assertTrue(value <= LatencyHistogram.getUpperBound(bucketIndex));
+    }
+
+    @Test
+    void shouldReturnZeroPercentileForEmptyHistogram()
+    {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void shouldCountSmallValuesExactly()
+    {
+        LongStream.rangeClosed(1, 20).forEach(histogram::record);
+        assertEquals(20, histogram.getCount());
+        assertEquals(10, histogram.getPercentile(50));
+        assertEquals(19, histogram.getPercentile(95));
+        assertEquals(20, histogram.getPercentile(99));
+        assertEquals(20, histogram.getMax());
+    }
+
+    @Test
+    void shouldCalculatePercentilesWithBoundedRelativeError()
+    {
+        LongStream.rangeClosed(1, 10_000).forEach(histogram::record);
+        assertPercentile(5_000, histogram.getPercentile(50));
+        assertPercentile(9_500, histogram.getPercentile(95));
+        assertPercentile(9_900, histogram.getPercentile(99));
+        assertEquals(10_000, histogram.getMax());
+    }
+
+    @Test
+    void shouldRecordNegativeValuesAsZero()
+    {
+        histogram.record(-5);
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax());
+    }
+
+    private static void assertPercentile(long expected, long actual)
+    {
+        assertTrue(actual >= expected && actual <= expected * 1.04, () -> expected + " vs " + actual);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -30,6 +31,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 public class CsvReader
@@ -71,6 +73,31 @@ public class CsvReader
         }
     }
 
+    /**
+     * Reads the CSV resource lazily: the records are parsed one by one while the processor iterates over them, so
+     * neither the whole CSV content nor the parsed records are kept in memory.
+     *
+     * @param <T>         The type of the processing result
+     * @param resourceUrl The URL of the CSV resource
+     * @param processor   The processor of the CSV header names and the records
+     * @param header      The CSV header, if not specified the first record is used as the header
+     * @return The result of the processing
+     * @throws IOException If an I/O error occurs during the CSV reading or processing
+     */
+    public <T> T processCsvFile(URL resourceUrl, CsvRecordsProcessor<T> processor, String... header)
+            throws IOException
+    {
+        try (Reader reader = new InputStreamReader(resourceUrl.openStream(), StandardCharsets.UTF_8);
+                CSVParser parser = csvFormat.builder().setHeader(header).build().parse(reader))
+        {
+            return processor.process(parser.getHeaderNames(), parser);
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
     private List<Map<String, String>> collectCsv(Reader reader, String... header) throws IOException
     {
         return readCsvFile(reader, header).map(CSVRecord::toMap).toList();
@@ -80,4 +107,10 @@ public class CsvReader
     {
         return StreamSupport.stream(csvFormat.builder().setHeader(header).build().parse(reader).spliterator(), false);
     }
+
+    @FunctionalInterface
+    public interface CsvRecordsProcessor<T>
+    {
+        T process(List<String> headerNames, Iterable<CSVRecord> records) throws IOException;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 
 package org.vividus.csv.transformer;
 
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.Validate.isTrue;
 import static org.vividus.util.ResourceUtils.findResource;
 
@@ -24,7 +23,6 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVRecord;
@@ -60,9 +58,9 @@ public class CsvTableTransformer implements ExtendedTableTransformer
         }
         try
         {
-            List<CSVRecord> result = new CsvReader(csvFormat).readCsvFile(findResource(getClass(), csvPath));
-            return ExamplesTableProcessor.buildExamplesTable(result.get(0).toMap().keySet(), extractValues(result),
-                    properties, true);
+            return new CsvReader(csvFormat).processCsvFile(findResource(getClass(), csvPath),
+                    (headerNames, records) -> ExamplesTableProcessor.buildExamplesTable(headerNames,
+                            extractValues(records, headerNames.size()), properties, true));
         }
         catch (IOException e)
         {
@@ -70,12 +68,14 @@ public class CsvTableTransformer implements ExtendedTableTransformer
         }
     }
 
-    private List<List<String>> extractValues(List<CSVRecord> data)
+    private List<List<String>> extractValues(Iterable<CSVRecord> records, int headersCount)
     {
-        return data.stream()
-                .map(CSVRecord::toMap)
-                .map(Map::values)
-                .map(ArrayList::new)
-                .collect(toList());
+        List<List<String>> rows = new ArrayList<>();
+        for (CSVRecord csvRecord : records)
+        {
+            List<String> values = csvRecord.toList();
+            rows.add(values.size() > headersCount ? new ArrayList<>(values.subList(0, headersCount)) : values);
+        }
+        return rows;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,14 @@
 package org.vividus.csv;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -84,6 +86,28 @@ class CsvReaderTests
         assertEquals(CSV_RECORDS, result.stream().map(CSVRecord::toMap).toList());
     }
 
+    @Test
+    void shouldProcessCsvRecordsLazily() throws IOException
+    {
+        URL url = getCsvResource();
+        List<String> result = csvReader.processCsvFile(url, (headerNames, records) -> {
+            List<String> values = new ArrayList<>(headerNames);
+            records.forEach(r -> values.addAll(r.toList()));
+            return values;
+        }, FIRST_HEADER, SECOND_HEADER);
+        assertEquals(List.of(FIRST_HEADER, SECOND_HEADER, FIRST_VALUE, SECOND_VALUE), result);
+    }
+
+    @Test
+    void shouldRethrowIoExceptionOccurredDuringProcessingOfCsvRecords()
+    {
+        URL url = getCsvResource();
+        var csvFormat = CSVFormat.DEFAULT.builder().setQuote('v').build();
+        var csvReaderWithQuote = new CsvReader(csvFormat);
+        assertThrows(IOException.class, () -> csvReaderWithQuote.processCsvFile(url,
+                (headerNames, records) -> records.iterator().next(), FIRST_HEADER, SECOND_HEADER));
+    }
+
     private URL getCsvResource()
     {
         return getCsvResource("unittest.csv");
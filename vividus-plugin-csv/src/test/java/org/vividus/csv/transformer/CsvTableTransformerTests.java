@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.vividus.csv.transformer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.when;
 import static org.vividus.util.ResourceUtils.findResource;
@@ -94,7 +96,7 @@ class CsvTableTransformerTests
                 (mock, context) -> {
                     assertEquals(1, context.getCount());
                     assertEquals(List.of(CSVFormat.DEFAULT), context.arguments());
-                    when(mock.readCsvFile(csvResource)).thenThrow(ioException);
+                    when(mock.processCsvFile(eq(csvResource), any())).thenThrow(ioException);
                 }))
         {
             var transformer = new CsvTableTransformer(CSVFormat.DEFAULT);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,11 @@
 
 package org.vividus.steps.db;
 
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ListMultimap;
 
-import org.apache.commons.lang3.tuple.Pair;
-
 public enum DataSetComparisonRule
 {
     IS_EQUAL_TO("Query results are equal")
@@ -36,11 +33,16 @@ public enum DataSetComparisonRule
         }
 
         @Override
-        public void fillStatistics(DataSourceStatistics statistics,
-                List<Pair<Map<String, Object>, Map<String, Object>>> comparison)
+        boolean isUnpairedLeftRowsCompared()
+        {
+            return true;
+        }
+
+        @Override
+        void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair)
         {
-            statistics.getLeft().setNoPair(comparison.stream().map(Pair::getRight).filter(Map::isEmpty).count());
-            statistics.getRight().setNoPair(comparison.stream().map(Pair::getLeft).filter(Map::isEmpty).count());
+            statistics.getLeft().setNoPair(leftNoPair);
+            statistics.getRight().setNoPair(rightNoPair);
         }
     },
     CONTAINS("The left data set contains all rows from the right data set")
@@ -53,10 +55,15 @@ public enum DataSetComparisonRule
         }
 
         @Override
-        public void fillStatistics(DataSourceStatistics statistics,
-                List<Pair<Map<String, Object>, Map<String, Object>>> comparison)
+        boolean isUnpairedLeftRowsCompared()
         {
-            statistics.getRight().setNoPair(comparison.stream().map(Pair::getLeft).filter(Map::isEmpty).count());
+            return false;
+        }
+
+        @Override
+        void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair)
+        {
+            statistics.getRight().setNoPair(rightNoPair);
         }
     };
 
@@ -75,6 +82,7 @@ public enum DataSetComparisonRule
     abstract Stream<Object> collectComparisonKeys(ListMultimap<Object, Map<String, Object>> leftData,
             ListMultimap<Object, Map<String, Object>> rightData);
 
-    abstract void fillStatistics(DataSourceStatistics statistics,
-            List<Pair<Map<String, Object>, Map<String, Object>>> comparison);
+    abstract boolean isUnpairedLeftRowsCompared();
+
+    abstract void fillStatistics(DataSourceStatistics statistics, long leftNoPair, long rightNoPair);
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,17 @@
 
 package org.vividus.steps.db;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -30,6 +35,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -41,19 +47,19 @@ import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.tuple.Pair;
 import org.jbehave.core.annotations.Then;
 import org.jbehave.core.annotations.When;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.vividus.context.VariableContext;
 import org.vividus.db.DataSourceManager;
 import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.StringComparisonRule;
-import org.vividus.util.comparison.ComparisonUtils;
 import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
 import org.vividus.util.wait.DurationBasedWaiter;
 import org.vividus.util.wait.WaitMode;
@@ -70,6 +76,8 @@ public class DatabaseSteps
     private Duration dbQueryTimeout;
     private DuplicateKeysStrategy duplicateKeysStrategy;
     private int diffLimit;
+    private int fetchSize;
+    private int spillToDiskPartitions;
 
     public DatabaseSteps(DataSourceManager dataSourceManager, VariableContext variableContext,
                          IAttachmentPublisher attachmentPublisher, ISoftAssert softAssert)
@@ -225,6 +233,13 @@ public class DatabaseSteps
      *   <li><code>NOOP</code> (by default)</li>
      *   <li><code>DISTINCT</code></li>
      * </ul>
+     * <p>
+     *   Use the following property to compare data sets which don't fit into memory:
+     *   <code>db.spill-to-disk-partitions</code>.<br>
+     *   If the value is positive, the rows are written to the specified number of on-disk partitions by hash of
+     *   their keys and the partitions are compared in parallel one by one. The default value is 0, i.e. the data
+     *   sets are compared in memory.
+     * </p>
      *
      * @param leftSqlQuery      The SQL query to execute to retrieve baseline data set.
      * @param leftDbKey         The database connection key to execute baseline query against.
@@ -249,14 +264,159 @@ public class DatabaseSteps
         left.setQuery(leftSqlQuery);
         QueryStatistic right = dataSourceStatistics.getRight();
         right.setQuery(rightSqlQuery);
-        CompletableFuture<ListMultimap<Object, Map<String, Object>>> leftData = createCompletableRequest(
-                dataSourceManager.getJdbcTemplate(leftDbKey), leftSqlQuery, columnsForMapping, left);
-        CompletableFuture<ListMultimap<Object, Map<String, Object>>> rightData = createCompletableRequest(
-                dataSourceManager.getJdbcTemplate(rightDbKey), rightSqlQuery, columnsForMapping, right);
+        List<List<EntryComparisonResult>> result;
+        if (spillToDiskPartitions > 0)
+        {
+            result = compareSpilledData(leftSqlQuery, leftDbKey, comparisonRule, rightSqlQuery, rightDbKey,
+                    columnsForMapping, dataSourceStatistics);
+        }
+        else
+        {
+            CompletableFuture<ListMultimap<Object, Map<String, Object>>> leftData = createCompletableRequest(
+                    dataSourceManager.getJdbcTemplate(leftDbKey), leftSqlQuery, columnsForMapping, left);
+            CompletableFuture<ListMultimap<Object, Map<String, Object>>> rightData = createCompletableRequest(
+                    dataSourceManager.getJdbcTemplate(rightDbKey), rightSqlQuery, columnsForMapping, right);
+
+            result = leftData.thenCombine(rightData, (leftResult, rightResult) -> compareData(comparisonRule,
+                    dataSourceStatistics, leftResult, rightResult)).get(dbQueryTimeout.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+
+        verifyComparisonResult(comparisonRule, dataSourceStatistics, result);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private List<List<EntryComparisonResult>> compareSpilledData(String leftSqlQuery, String leftDbKey,
+            DataSetComparisonRule comparisonRule, String rightSqlQuery, String rightDbKey, Set<String> keys,
+            DataSourceStatistics dataSourceStatistics)
+            throws InterruptedException, ExecutionException, TimeoutException
+    {
+        CompletableFuture<SpilledDataSet> leftData = createCompletableSpillingRequest(
+                dataSourceManager.getJdbcTemplate(leftDbKey), leftSqlQuery, keys, dataSourceStatistics.getLeft(),
+                "left");
+        CompletableFuture<SpilledDataSet> rightData = createCompletableSpillingRequest(
+                dataSourceManager.getJdbcTemplate(rightDbKey), rightSqlQuery, keys, dataSourceStatistics.getRight(),
+                "right");
+        PartitionedDataSetComparator comparator = new PartitionedDataSetComparator(comparisonRule,
+                duplicateKeysStrategy, diffLimit);
+
+        CompletableFuture<List<List<EntryComparisonResult>>> comparison = leftData.thenCombine(rightData,
+                (leftResult, rightResult) -> {
+                    try (leftResult; rightResult)
+                    {
+                        return comparator.compare(leftResult, rightResult, dataSourceStatistics);
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        // The data set spilled by one query is not compared if the other query fails, it must be released anyway
+        comparison.whenComplete((r, e) -> {
+            leftData.thenAccept(this::closeQuietly);
+            rightData.thenAccept(this::closeQuietly);
+        });
+        return comparison.get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void closeQuietly(SpilledDataSet dataSet)
+    {
+        try
+        {
+            dataSet.close();
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to delete the data set spilled to disk", e);
+        }
+    }
+
+    /**
+     * Actions performed in the step:
+     * <ul>
+     *   <li>executes provided SQL queries against databases by the provided keys</li>
+     *   <li>reads the queries results row by row and compares them without loading the whole data sets into
+     *   memory</li>
+     * </ul>
+     * <p>
+     *   Both SQL queries must sort their results by the key columns in the order they are listed in the step
+     *   (e.g. <code>ORDER BY id, name</code>): the rows are merged as sorted cursors, so the memory consumption
+     *   does not depend on the size of the compared data sets. <code>NULL</code> key values are expected to go
+     *   first and string keys are compared using binary collation. The step fails if any of the data sets is found
+     *   not to be sorted.
+     * </p>
+     * <p>
+     *   Use the following property to set the number of rows fetched from DB per one round trip:
+     *   <code>db.fetch-size</code>.<br>
+     *   The default value is 1000. Some JDBC drivers stream the rows only under certain conditions, e.g. PostgreSQL
+     *   driver fetches the rows by chunks only if the auto-commit mode is disabled for the connection, otherwise the
+     *   whole result set is loaded into memory.
+     * </p>
+     * <p>
+     *   The properties <code>db.query-timeout</code>, <code>db.diff-limit</code> and
+     *   <code>db.duplicate-keys-strategy</code> are applied the same way as for the step comparing unordered data
+     *   sets.
+     * </p>
+     *
+     * @param leftSqlQuery      The SQL query to execute to retrieve baseline data set sorted by the key columns.
+     * @param leftDbKey         The database connection key to execute baseline query against.
+     * @param comparisonRule    The data set comparison rule: either "is equal to" or "contains".
+     * @param rightSqlQuery     The SQL query to execute to retrieve checkpoint data set sorted by the key columns.
+     * @param rightDbKey        The database connection key to execute checkpoint query against.
+     * @param columnsForMapping The comma-separated list of column names the data sets are sorted by, they are used
+     *                          to map rows in the retrieved data sets.
+     * @throws InterruptedException in case of thread interruption
+     * @throws ExecutionException   in case of any exception during DB query
+     * @throws TimeoutException     in case when timeout to execute DB queries and compare data expires
+     */
+    @Then("data from `$leftSqlQuery` executed against `$leftDbKey` $comparisonRule data from `$rightSqlQuery` executed"
+            + " against `$rightDbKey` matching rows ordered by keys:$columnsForMapping")
+    public void compareOrderedData(String leftSqlQuery, String leftDbKey, DataSetComparisonRule comparisonRule,
+            String rightSqlQuery, String rightDbKey, List<String> columnsForMapping)
+            throws InterruptedException, ExecutionException, TimeoutException
+    {
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(columnsForMapping, comparisonRule,
+                duplicateKeysStrategy, diffLimit);
+        DataSourceStatistics dataSourceStatistics = new DataSourceStatistics(dataSourceManager.getDataSource(leftDbKey),
+                dataSourceManager.getDataSource(rightDbKey));
+        QueryStatistic left = dataSourceStatistics.getLeft();
+        left.setQuery(leftSqlQuery);
+        QueryStatistic right = dataSourceStatistics.getRight();
+        right.setQuery(rightSqlQuery);
+        CompletableFuture<Stream<Map<String, Object>>> leftData = createCompletableStreamingRequest(
+                dataSourceManager.getJdbcTemplate(leftDbKey), leftSqlQuery, left);
+        CompletableFuture<Stream<Map<String, Object>>> rightData = createCompletableStreamingRequest(
+                dataSourceManager.getJdbcTemplate(rightDbKey), rightSqlQuery, right);
 
-        List<List<EntryComparisonResult>> result = leftData.thenCombine(rightData,
-                (leftResult, rightResult) -> compareData(comparisonRule, dataSourceStatistics, leftResult, rightResult))
-                .get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<List<List<EntryComparisonResult>>> comparison = leftData.thenCombineAsync(rightData,
+                (leftRows, rightRows) -> {
+                    try
+                    {
+                        return comparator.compare(leftRows.iterator(), rightRows.iterator(), dataSourceStatistics,
+                                cancelled::get);
+                    }
+                    finally
+                    {
+                        left.end();
+                        right.end();
+                    }
+                });
+        // The streams hold the DB connections: they are closed once the comparison is over or can't be started
+        // because of the failure of the other query
+        comparison.whenComplete((r, e) -> {
+            leftData.thenAccept(Stream::close);
+            rightData.thenAccept(Stream::close);
+        });
+        List<List<EntryComparisonResult>> result;
+        try
+        {
+            result = comparison.get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        finally
+        {
+            cancelled.set(true);
+        }
 
         verifyComparisonResult(comparisonRule, dataSourceStatistics, result);
     }
@@ -366,30 +526,12 @@ public class DatabaseSteps
             DataSourceStatistics dataSourceStatistics, ListMultimap<Object, Map<String, Object>> leftData,
             ListMultimap<Object, Map<String, Object>> rightData)
     {
-        List<Pair<Map<String, Object>, Map<String, Object>>> comparison = new ArrayList<>();
-        comparisonRule.collectComparisonKeys(leftData, rightData).forEach(key ->
-        {
-            List<Map<String, Object>> left = leftData.get(key);
-            List<Map<String, Object>> right = rightData.get(key);
-            int leftSize = left.size();
-            int rightSize = right.size();
-            int size = duplicateKeysStrategy.getTargetSize(comparisonRule, leftSize, rightSize);
-            for (int i = 0; i < size; i++)
-            {
-                Map<String, Object> leftValue = i < leftSize ? left.get(i) : Map.of();
-                Map<String, Object> rightValue = i < rightSize ? right.get(i) : Map.of();
-                comparison.add(Pair.of(leftValue, rightValue));
-            }
-        });
-        comparisonRule.fillStatistics(dataSourceStatistics, comparison);
-        List<List<EntryComparisonResult>> comparisonResult = comparison.stream()
+        return comparisonRule.collectComparisonKeys(leftData, rightData)
                 .parallel()
-                .map(p -> ComparisonUtils.compareMaps(p.getLeft(), p.getRight()))
-                .toList();
-        List<List<EntryComparisonResult>> mismatchedRows = filterPassedChecks(comparisonResult);
-        dataSourceStatistics.setMismatched(mismatchedRows.size());
-        dataSourceStatistics.setTotalRows(comparisonResult.size());
-        return mismatchedRows.size() > diffLimit ? mismatchedRows.subList(0, diffLimit) : mismatchedRows;
+                .collect(() -> new RowComparisonAccumulator(comparisonRule, duplicateKeysStrategy, diffLimit),
+                        (accumulator, key) -> accumulator.compareGroups(leftData.get(key), rightData.get(key)),
+                        RowComparisonAccumulator::merge)
+                .complete(dataSourceStatistics);
     }
 
     private List<List<EntryComparisonResult>> filterPassedChecks(List<List<EntryComparisonResult>> comparisonResult)
@@ -412,6 +554,66 @@ public class DatabaseSteps
                 .thenApplyAsync(r -> hashMap(keys, r));
     }
 
+    private CompletableFuture<Stream<Map<String, Object>>> createCompletableStreamingRequest(
+            JdbcTemplate jdbcTemplate, String sqlRequest, QueryStatistic statistics)
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            statistics.start();
+            return jdbcTemplate.queryForStream(createStreamingStatement(sqlRequest), new ColumnMapRowMapper());
+        });
+    }
+
+    private CompletableFuture<SpilledDataSet> createCompletableSpillingRequest(JdbcTemplate jdbcTemplate,
+            String sqlRequest, Set<String> keys, QueryStatistic statistics, String name)
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            statistics.start();
+            SpilledDataSet dataSet;
+            try
+            {
+                dataSet = new SpilledDataSet(name, spillToDiskPartitions);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            try (Stream<Map<String, Object>> rows = jdbcTemplate.queryForStream(createStreamingStatement(sqlRequest),
+                    new ColumnMapRowMapper()))
+            {
+                Iterator<Map<String, Object>> iterator = rows.iterator();
+                while (iterator.hasNext())
+                {
+                    Map<String, Object> row = iterator.next();
+                    dataSet.add(hash(keys, row), row);
+                }
+                dataSet.finishWriting();
+                statistics.end();
+                statistics.setRowsQuantity(dataSet.getRowsQuantity());
+                return dataSet;
+            }
+            catch (IOException e)
+            {
+                dataSet.closeOnFailure(e);
+                throw new UncheckedIOException(e);
+            }
+            catch (RuntimeException e)
+            {
+                dataSet.closeOnFailure(e);
+                throw e;
+            }
+        });
+    }
+
+    private PreparedStatementCreator createStreamingStatement(String sqlRequest)
+    {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sqlRequest, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        };
+    }
+
     private Map<String, Object> convertValuesToString(Map<String, Object> map)
     {
         Map<String, Object> result = new HashMap<>();
@@ -465,4 +667,14 @@ public class DatabaseSteps
     {
         this.diffLimit = diffLimit;
     }
+
+    public void setFetchSize(int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+    }
+
+    public void setSpillToDiskPartitions(int spillToDiskPartitions)
+    {
+        this.spillToDiskPartitions = spillToDiskPartitions;
+    }
 }
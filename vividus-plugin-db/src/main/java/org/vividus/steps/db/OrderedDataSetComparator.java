@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+
+import org.apache.commons.lang3.Validate;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+/**
+ * Compares two data sets sorted by the same key columns in one pass, like the merge phase of a sort-merge join.
+ * Only the rows sharing the current key and at most <code>diffLimit</code> mismatches are kept in memory, so the
+ * memory consumption does not depend on the size of the compared data sets.
+ */
+final class OrderedDataSetComparator
+{
+    private final List<String> keys;
+    private final DataSetComparisonRule comparisonRule;
+    private final DuplicateKeysStrategy duplicateKeysStrategy;
+    private final int diffLimit;
+
+    OrderedDataSetComparator(List<String> keys, DataSetComparisonRule comparisonRule,
+            DuplicateKeysStrategy duplicateKeysStrategy, int diffLimit)
+    {
+        Validate.isTrue(!keys.isEmpty(), "At least one key column must be specified to compare ordered data sets");
+        this.keys = keys;
+        this.comparisonRule = comparisonRule;
+        this.duplicateKeysStrategy = duplicateKeysStrategy;
+        this.diffLimit = diffLimit;
+    }
+
+    List<List<EntryComparisonResult>> compare(Iterator<Map<String, Object>> leftRows,
+            Iterator<Map<String, Object>> rightRows, DataSourceStatistics statistics, BooleanSupplier cancelled)
+    {
+        Cursor left = new Cursor("left", leftRows);
+        Cursor right = new Cursor("right", rightRows);
+
+        RowComparisonAccumulator accumulator = new RowComparisonAccumulator(comparisonRule, duplicateKeysStrategy,
+                diffLimit);
+        while (left.hasNext() || right.hasNext())
+        {
+            if (cancelled.getAsBoolean())
+            {
+                throw new CancellationException("The comparison of the ordered data sets is cancelled");
+            }
+            int order;
+            if (!left.hasNext())
+            {
+                order = 1;
+            }
+            else if (!right.hasNext())
+            {
+                order = -1;
+            }
+            else
+            {
+                order = compareKeys(left.peekKey(), right.peekKey());
+            }
+            List<Map<String, Object>> leftGroup = order <= 0 ? left.nextGroup() : List.of();
+            List<Map<String, Object>> rightGroup = order >= 0 ? right.nextGroup() : List.of();
+            accumulator.compareGroups(leftGroup, rightGroup);
+        }
+
+        statistics.getLeft().setRowsQuantity(left.getRowsQuantity());
+        statistics.getRight().setRowsQuantity(right.getRowsQuantity());
+        return accumulator.complete(statistics);
+    }
+
+    private List<Object> extractKey(Map<String, Object> row)
+    {
+        List<Object> key = new ArrayList<>(keys.size());
+        for (String column : keys)
+        {
+            key.add(row.get(column));
+        }
+        return key;
+    }
+
+    private static int compareKeys(List<Object> left, List<Object> right)
+    {
+        for (int i = 0; i < left.size(); i++)
+        {
+            int result = compareValues(left.get(i), right.get(i));
+            if (result != 0)
+            {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareValues(Object left, Object right)
+    {
+        if (left == null || right == null)
+        {
+            if (left == right)
+            {
+                return 0;
+            }
+            return left == null ? -1 : 1;
+        }
+        if (left instanceof Number leftNumber && right instanceof Number rightNumber)
+        {
+            if (isNotFinite(leftNumber) || isNotFinite(rightNumber))
+            {
+                return Double.compare(leftNumber.doubleValue(), rightNumber.doubleValue());
+            }
+            return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString()));
+        }
+        if (left instanceof Comparable comparable && left.getClass() == right.getClass())
+        {
+            return comparable.compareTo(right);
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    private static boolean isNotFinite(Number number)
+    {
+        return (number instanceof Double || number instanceof Float) && !Double.isFinite(number.doubleValue());
+    }
+
+    private final class Cursor
+    {
+        private final String side;
+        private final PeekingIterator<Map<String, Object>> rows;
+        private List<Object> nextKey;
+        private long rowsQuantity;
+
+        Cursor(String side, Iterator<Map<String, Object>> rows)
+        {
+            this.side = side;
+            this.rows = Iterators.peekingIterator(rows);
+        }
+
+        boolean hasNext()
+        {
+            return rows.hasNext();
+        }
+
+        List<Object> peekKey()
+        {
+            if (nextKey == null)
+            {
+                nextKey = extractKey(rows.peek());
+            }
+            return nextKey;
+        }
+
+        List<Map<String, Object>> nextGroup()
+        {
+            List<Object> groupKey = peekKey();
+            List<Map<String, Object>> group = new ArrayList<>();
+            do
+            {
+                group.add(rows.next());
+                rowsQuantity++;
+                nextKey = null;
+            }
+            while (rows.hasNext() && compareKeys(groupKey, peekKey()) == 0);
+
+            if (rows.hasNext())
+            {
+                Validate.validState(compareKeys(groupKey, peekKey()) < 0,
+                        "The %s data set is not ordered by the key columns %s: the row with the key %s follows the row"
+                                + " with the key %s", side, keys, peekKey(), groupKey);
+            }
+            return group;
+        }
+
+        long getRowsQuantity()
+        {
+            return rowsQuantity;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Sets;
+
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+/**
+ * Compares two data sets spilled to disk partition by partition: the rows with the same keys always land in the
+ * partitions with the same index, so only one pair of partitions per worker thread is kept in memory at a time.
+ */
+final class PartitionedDataSetComparator
+{
+    private final DataSetComparisonRule comparisonRule;
+    private final DuplicateKeysStrategy duplicateKeysStrategy;
+    private final int diffLimit;
+
+    PartitionedDataSetComparator(DataSetComparisonRule comparisonRule, DuplicateKeysStrategy duplicateKeysStrategy,
+            int diffLimit)
+    {
+        this.comparisonRule = comparisonRule;
+        this.duplicateKeysStrategy = duplicateKeysStrategy;
+        this.diffLimit = diffLimit;
+    }
+
+    List<List<EntryComparisonResult>> compare(SpilledDataSet left, SpilledDataSet right,
+            DataSourceStatistics statistics)
+    {
+        return IntStream.range(0, left.getPartitionsNumber())
+                .parallel()
+                .collect(() -> new RowComparisonAccumulator(comparisonRule, duplicateKeysStrategy, diffLimit),
+                        (accumulator, partition) -> comparePartition(left, right, partition, accumulator),
+                        RowComparisonAccumulator::merge)
+                .complete(statistics);
+    }
+
+    private void comparePartition(SpilledDataSet left, SpilledDataSet right, int partition,
+            RowComparisonAccumulator accumulator)
+    {
+        ListMultimap<Object, Object[]> leftData;
+        ListMultimap<Object, Object[]> rightData;
+        try
+        {
+            leftData = left.readPartition(partition);
+            rightData = right.readPartition(partition);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        Set<Object> keys = comparisonRule.isUnpairedLeftRowsCompared()
+                ? Sets.union(leftData.keySet(), rightData.keySet())
+                : rightData.keySet();
+        for (Object key : keys)
+        {
+            accumulator.compareGroups(leftData.get(key), left::toRow, rightData.get(key), right::toRow);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.vividus.util.comparison.ComparisonUtils;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+/**
+ * Pairs the rows sharing the same key and compares the pairs, all the data set comparators accumulate the results
+ * here: the numbers of the compared and the mismatched pairs, the numbers of the rows having no pair and at most
+ * <code>diffLimit</code> mismatches in the order of the comparison.
+ */
+final class RowComparisonAccumulator
+{
+    private final DataSetComparisonRule comparisonRule;
+    private final DuplicateKeysStrategy duplicateKeysStrategy;
+    private final int diffLimit;
+
+    private final List<List<EntryComparisonResult>> mismatches = new ArrayList<>();
+    private long totalRows;
+    private long mismatched;
+    private long leftNoPair;
+    private long rightNoPair;
+
+    RowComparisonAccumulator(DataSetComparisonRule comparisonRule, DuplicateKeysStrategy duplicateKeysStrategy,
+            int diffLimit)
+    {
+        this.comparisonRule = comparisonRule;
+        this.duplicateKeysStrategy = duplicateKeysStrategy;
+        this.diffLimit = diffLimit;
+    }
+
+    void compareGroups(List<Map<String, Object>> leftGroup, List<Map<String, Object>> rightGroup)
+    {
+        compareGroups(leftGroup, Function.identity(), rightGroup, Function.identity());
+    }
+
+    /**
+     * Compares the rows sharing the same key, the rows are paired by their positions in the groups
+     * @param <L>            The type of the left rows
+     * @param <R>            The type of the right rows
+     * @param leftGroup      The left rows
+     * @param leftRowMapper  The function converting the left row to the map of the column values
+     * @param rightGroup     The right rows
+     * @param rightRowMapper The function converting the right row to the map of the column values
+     */
+    <L, R> void compareGroups(List<L> leftGroup, Function<L, Map<String, Object>> leftRowMapper, List<R> rightGroup,
+            Function<R, Map<String, Object>> rightRowMapper)
+    {
+        int leftSize = leftGroup.size();
+        int rightSize = rightGroup.size();
+        if (rightSize == 0 && !comparisonRule.isUnpairedLeftRowsCompared())
+        {
+            return;
+        }
+        int size = duplicateKeysStrategy.getTargetSize(comparisonRule, leftSize, rightSize);
+        for (int i = 0; i < size; i++)
+        {
+            Map<String, Object> leftValue = i < leftSize ? leftRowMapper.apply(leftGroup.get(i)) : Map.of();
+            Map<String, Object> rightValue = i < rightSize ? rightRowMapper.apply(rightGroup.get(i)) : Map.of();
+            if (rightValue.isEmpty())
+            {
+                leftNoPair++;
+            }
+            if (leftValue.isEmpty())
+            {
+                rightNoPair++;
+            }
+            List<EntryComparisonResult> result = ComparisonUtils.compareMaps(leftValue, rightValue);
+            totalRows++;
+            if (!result.stream().allMatch(EntryComparisonResult::isPassed))
+            {
+                mismatched++;
+                if (mismatches.size() < diffLimit)
+                {
+                    mismatches.add(result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the results accumulated by another accumulator, the results of which follow the results of this one
+     * @param other The accumulator to merge
+     */
+    void merge(RowComparisonAccumulator other)
+    {
+        other.mismatches.stream().limit((long) diffLimit - mismatches.size()).forEach(mismatches::add);
+        totalRows += other.totalRows;
+        mismatched += other.mismatched;
+        leftNoPair += other.leftNoPair;
+        rightNoPair += other.rightNoPair;
+    }
+
+    /**
+     * Fills the comparison statistics
+     * @param statistics The statistics to fill
+     * @return At most <code>diffLimit</code> mismatches
+     */
+    List<List<EntryComparisonResult>> complete(DataSourceStatistics statistics)
+    {
+        comparisonRule.fillStatistics(statistics, leftNoPair, rightNoPair);
+        statistics.setTotalRows(totalRows);
+        statistics.setMismatched(mismatched);
+        return mismatches;
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Map;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.hash.HashCode;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.Validate;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.vividus.util.ResourceUtils;
+
+/**
+ * Data set spilled to disk: the rows are distributed over the partition files by the hash of their keys and stored
+ * in the compact binary format: the column names are kept once per data set and every row is written as the
+ * sequence of the type-tagged values.
+ */
+final class SpilledDataSet implements Closeable
+{
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INTEGER = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 4;
+    private static final int FLOAT = 5;
+    private static final int SHORT = 6;
+    private static final int BYTE = 7;
+    private static final int BOOLEAN = 8;
+    private static final int BIG_DECIMAL = 9;
+    private static final int BIG_INTEGER = 10;
+    private static final int TIMESTAMP = 11;
+    private static final int DATE = 12;
+    private static final int TIME = 13;
+    private static final int BYTES = 14;
+    private static final int SERIALIZED = 15;
+
+    private final Path[] files;
+    private final DataOutputStream[] outputs;
+    private final int[] partitionSizes;
+    private String[] columns;
+    private long rowsQuantity;
+
+    SpilledDataSet(String name, int partitionsNumber) throws IOException
+    {
+        Validate.isTrue(partitionsNumber > 0, "The number of partitions must be positive, but got %d",
+                partitionsNumber);
+        files = new Path[partitionsNumber];
+        outputs = new DataOutputStream[partitionsNumber];
+        partitionSizes = new int[partitionsNumber];
+        try
+        {
+            for (int i = 0; i < partitionsNumber; i++)
+            {
+                files[i] = ResourceUtils.createTempFile("vividus-db-" + name + "-" + i + "-", ".bin");
+                outputs[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[i])));
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            closeOnFailure(e);
+            throw e;
+        }
+    }
+
+    void add(HashCode key, Map<String, Object> row) throws IOException
+    {
+        if (columns == null)
+        {
+            columns = row.keySet().toArray(String[]::new);
+        }
+        Validate.validState(row.size() == columns.length, "All rows of the data set must have the same columns");
+        int partition = Math.floorMod(key.asInt(), outputs.length);
+        DataOutputStream output = outputs[partition];
+        byte[] keyBytes = key.asBytes();
+        output.writeShort(keyBytes.length);
+        output.write(keyBytes);
+        for (String column : columns)
+        {
+            writeValue(output, row.get(column));
+        }
+        partitionSizes[partition]++;
+        rowsQuantity++;
+    }
+
+    void finishWriting() throws IOException
+    {
+        IOException exception = null;
+        for (DataOutputStream output : outputs)
+        {
+            try
+            {
+                if (output != null)
+                {
+                    output.close();
+                }
+            }
+            catch (IOException e)
+            {
+                if (exception == null)
+                {
+                    exception = e;
+                }
+                else
+                {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null)
+        {
+            throw exception;
+        }
+    }
+
+    ListMultimap<Object, Object[]> readPartition(int partition) throws IOException
+    {
+        int partitionSize = partitionSizes[partition];
+        ListMultimap<Object, Object[]> rows = ArrayListMultimap.create(partitionSize, 1);
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(files[partition]))))
+        {
+            for (int i = 0; i < partitionSize; i++)
+            {
+                byte[] keyBytes = new byte[input.readUnsignedShort()];
+                input.readFully(keyBytes);
+                Object[] values = new Object[columns.length];
+                for (int j = 0; j < values.length; j++)
+                {
+                    values[j] = readValue(input);
+                }
+                rows.put(HashCode.fromBytes(keyBytes), values);
+            }
+        }
+        return rows;
+    }
+
+    Map<String, Object> toRow(Object[] values)
+    {
+        Map<String, Object> row = new LinkedCaseInsensitiveMap<>(columns.length);
+        for (int i = 0; i < columns.length; i++)
+        {
+            row.put(columns[i], values[i]);
+        }
+        return row;
+    }
+
+    int getPartitionsNumber()
+    {
+        return files.length;
+    }
+
+    long getRowsQuantity()
+    {
+        return rowsQuantity;
+    }
+
+    /**
+     * Closes the partition files and deletes them, the method can be invoked several times
+     * @throws IOException in case of failure to close or to delete any of the partition files
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            finishWriting();
+        }
+        finally
+        {
+            for (Path file : files)
+            {
+                if (file != null)
+                {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the data set after the failure, the exceptions occurred during closing are suppressed by the failure
+     * @param failure The failure occurred while working with the data set
+     */
+    void closeOnFailure(Exception failure)
+    {
+        try
+        {
+            close();
+        }
+        catch (IOException e)
+        {
+            failure.addSuppressed(e);
+        }
+    }
+
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private static void writeValue(DataOutputStream output, Object value) throws IOException
+    {
+        if (value == null)
+        {
+            output.writeByte(NULL);
+        }
+        else if (value instanceof String string)
+        {
+            output.writeByte(STRING);
+            writeBytes(output, string.getBytes(StandardCharsets.UTF_8));
+        }
+        else if (value instanceof Integer integer)
+        {
+            output.writeByte(INTEGER);
+            output.writeInt(integer);
+        }
+        else if (value instanceof Long longValue)
+        {
+            output.writeByte(LONG);
+            output.writeLong(longValue);
+        }
+        else if (value instanceof Double doubleValue)
+        {
+            output.writeByte(DOUBLE);
+            output.writeDouble(doubleValue);
+        }
+        else if (value instanceof Float floatValue)
+        {
+            output.writeByte(FLOAT);
+            output.writeFloat(floatValue);
+        }
+        else if (value instanceof Short shortValue)
+        {
+            output.writeByte(SHORT);
+            output.writeShort(shortValue);
+        }
+        else if (value instanceof Byte byteValue)
+        {
+            output.writeByte(BYTE);
+            output.writeByte(byteValue);
+        }
+        else if (value instanceof Boolean booleanValue)
+        {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean(booleanValue);
+        }
+        else if (value instanceof BigDecimal bigDecimal)
+        {
+            output.writeByte(BIG_DECIMAL);
+            output.writeInt(bigDecimal.scale());
+            writeBytes(output, bigDecimal.unscaledValue().toByteArray());
+        }
+        else if (value instanceof BigInteger bigInteger)
+        {
+            output.writeByte(BIG_INTEGER);
+            writeBytes(output, bigInteger.toByteArray());
+        }
+        else if (value instanceof Timestamp timestamp)
+        {
+            output.writeByte(TIMESTAMP);
+            output.writeLong(timestamp.getTime());
+            output.writeInt(timestamp.getNanos());
+        }
+        else if (value instanceof Date date)
+        {
+            output.writeByte(DATE);
+            output.writeLong(date.getTime());
+        }
+        else if (value instanceof Time time)
+        {
+            output.writeByte(TIME);
+            output.writeLong(time.getTime());
+        }
+        else if (value instanceof byte[] bytes)
+        {
+            output.writeByte(BYTES);
+            writeBytes(output, bytes);
+        }
+        else if (value instanceof Serializable serializable)
+        {
+            output.writeByte(SERIALIZED);
+            writeBytes(output, SerializationUtils.serialize(serializable));
+        }
+        else
+        {
+            writeValue(output, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException
+    {
+        int type = input.readByte();
+        return switch (type)
+        {
+            case NULL -> null;
+            case STRING -> new String(readBytes(input), StandardCharsets.UTF_8);
+            case INTEGER -> input.readInt();
+            case LONG -> input.readLong();
+            case DOUBLE -> input.readDouble();
+            case FLOAT -> input.readFloat();
+            case SHORT -> input.readShort();
+            case BYTE -> input.readByte();
+            case BOOLEAN -> input.readBoolean();
+            case BIG_DECIMAL ->
+            {
+                int scale = input.readInt();
+                yield new BigDecimal(new BigInteger(readBytes(input)), scale);
+            }
+            case BIG_INTEGER -> new BigInteger(readBytes(input));
+            case TIMESTAMP ->
+            {
+                Timestamp timestamp = new Timestamp(input.readLong());
+                timestamp.setNanos(input.readInt());
+                yield timestamp;
+            }
+            case DATE -> new Date(input.readLong());
+            case TIME -> new Time(input.readLong());
+            case BYTES -> readBytes(input);
+            case SERIALIZED -> SerializationUtils.deserialize(readBytes(input));
+            default -> throw new IllegalStateException("Unknown value type: " + type);
+        };
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException
+    {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException
+    {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
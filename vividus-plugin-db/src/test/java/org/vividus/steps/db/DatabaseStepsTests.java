@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -43,6 +44,8 @@ import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.Collections;
@@ -50,7 +53,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -75,7 +80,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.vividus.context.VariableContext;
 import org.vividus.db.DataSourceManager;
@@ -233,6 +240,118 @@ class DatabaseStepsTests
         verify(hashFunction, times(2)).hashString(argThat(matcher), eq(StandardCharsets.UTF_8));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldCompareOrderedQueriesResponsesAndPostDiffTable() throws InterruptedException,
+            ExecutionException, TimeoutException, SQLException
+    {
+        int fetchSize = 500;
+        databaseSteps.setFetchSize(fetchSize);
+        databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
+        configureTimeout();
+        Stream<Map<String, Object>> leftStream = Stream.of(Map.of(COL1, VAL1), Map.of(COL1, VAL3));
+        Stream<Map<String, Object>> rightStream = Stream.of(Map.of(COL1, VAL2), Map.of(COL1, VAL3));
+        JdbcTemplate leftJdbcTemplate = mockQueryForStream(DB_KEY, leftStream);
+        mockQueryForStream(DB_KEY2, rightStream);
+        doAnswer(getAssertionAnswer(false)).when(softAssert).assertTrue(eq(QUERY_RESULTS_ARE_EQUAL), eq(false), any());
+
+        databaseSteps.compareOrderedData(QUERY, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, QUERY2, DB_KEY2,
+                List.of(COL1));
+
+        ArgumentCaptor<PreparedStatementCreator> creatorCaptor = ArgumentCaptor.forClass(
+                PreparedStatementCreator.class);
+        verify(leftJdbcTemplate).queryForStream(creatorCaptor.capture(), any(ColumnMapRowMapper.class));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(QUERY, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        assertEquals(statement, creatorCaptor.getValue().createPreparedStatement(connection));
+        verify(statement).setFetchSize(fetchSize);
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SOURCES_STATISTICS_FTL),
+                argThat(r -> {
+                    DataSourceStatistics statistics = ((Map<String, DataSourceStatistics>) r).get(STATISTICS);
+                    QueryStatistic right = statistics.getRight();
+                    QueryStatistic left = statistics.getLeft();
+                    return 2 == statistics.getMismatched()
+                            && 3 == statistics.getTotalRows()
+                            && 1 == statistics.getMatched()
+                            && QUERY2.equals(right.getQuery())
+                            && QUERY.equals(left.getQuery())
+                            && 2 == right.getRowsQuantity()
+                            && 2 == left.getRowsQuantity()
+                            && 1 == left.getNoPair()
+                            && 1 == right.getNoPair();
+                }), eq(DATA_SOURCES_STATISTICS_TITLE));
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SET_COMPARISON_FTL), argThat(r ->
+            ((Map<String, List<List<EntryComparisonResult>>>) r).get(RESULTS).size() == 2),
+                eq(DATA_SETS_COMPARISON_TITLE));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldCompareQueriesResponsesSpilledToDisk() throws InterruptedException, ExecutionException,
+            TimeoutException
+    {
+        databaseSteps.setSpillToDiskPartitions(4);
+        databaseSteps.setHashFunction(Hashing.murmur3_128());
+        databaseSteps.setDuplicateKeysStrategy(DuplicateKeysStrategy.NOOP);
+        configureTimeout();
+        mockQueryForStream(DB_KEY, Stream.of(Map.of(COL1, VAL1, COL2, VAL1), Map.of(COL1, VAL3, COL2, VAL3)));
+        mockQueryForStream(DB_KEY2, Stream.of(Map.of(COL1, VAL2, COL2, VAL2), Map.of(COL1, VAL3, COL2, VAL3)));
+        doAnswer(getAssertionAnswer(false)).when(softAssert).assertTrue(eq(QUERY_RESULTS_ARE_EQUAL), eq(false), any());
+
+        databaseSteps.compareData(QUERY, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, QUERY2, DB_KEY2, KEYS);
+
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SOURCES_STATISTICS_FTL),
+                argThat(r -> {
+                    DataSourceStatistics statistics = ((Map<String, DataSourceStatistics>) r).get(STATISTICS);
+                    QueryStatistic right = statistics.getRight();
+                    QueryStatistic left = statistics.getLeft();
+                    return 2 == statistics.getMismatched()
+                            && 3 == statistics.getTotalRows()
+                            && 2 == right.getRowsQuantity()
+                            && 2 == left.getRowsQuantity()
+                            && 1 == left.getNoPair()
+                            && 1 == right.getNoPair();
+                }), eq(DATA_SOURCES_STATISTICS_TITLE));
+        verify(attachmentPublisher).publishAttachment(eq(DATA_SET_COMPARISON_FTL), argThat(r ->
+            ((Map<String, List<List<EntryComparisonResult>>>) r).get(RESULTS).size() == 2),
+                eq(DATA_SETS_COMPARISON_TITLE));
+    }
+
+    @Test
+    void shouldCloseOrderedDataStreamIfOtherQueryFails() throws InterruptedException
+    {
+        configureTimeout();
+        CountDownLatch leftStreamClosed = new CountDownLatch(1);
+        mockQueryForStream(DB_KEY, Stream.<Map<String, Object>>of(Map.of(COL1, VAL1))
+                .onClose(leftStreamClosed::countDown));
+        DriverManagerDataSource dataSource = mockDataSource(DB_KEY2);
+        lenient().when(dataSource.getUrl()).thenReturn(DB_URL);
+        JdbcTemplate rightJdbcTemplate = mockJdbcTemplate(DB_KEY2, dataSource);
+        IllegalStateException queryFailure = new IllegalStateException("Query failure");
+        when(rightJdbcTemplate.queryForStream(any(PreparedStatementCreator.class), any(ColumnMapRowMapper.class)))
+                .thenThrow(queryFailure);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> databaseSteps.compareOrderedData(QUERY, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, QUERY2, DB_KEY2,
+                    List.of(COL1)));
+        assertEquals(queryFailure, exception.getCause());
+        assertTrue(leftStreamClosed.await(5, TimeUnit.SECONDS));
+        verifyNoInteractions(attachmentPublisher, softAssert);
+    }
+
+    @Test
+    void shouldNotCompareOrderedQueriesResponsesWithoutKeys()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> databaseSteps.compareOrderedData(QUERY, DB_KEY, DataSetComparisonRule.IS_EQUAL_TO, QUERY2, DB_KEY2,
+                    List.of()));
+        assertEquals("At least one key column must be specified to compare ordered data sets",
+                exception.getMessage());
+        verifyNoInteractions(dataSourceManager, attachmentPublisher, softAssert);
+    }
+
     @Test
     void shouldExecuteSqlQuery()
     {
@@ -639,6 +758,16 @@ class DatabaseStepsTests
         when(jdbcTemplate.queryForList(query)).thenReturn(result);
     }
 
+    private JdbcTemplate mockQueryForStream(String dbKey, Stream<Map<String, Object>> result)
+    {
+        DriverManagerDataSource dataSource = mockDataSource(dbKey);
+        lenient().when(dataSource.getUrl()).thenReturn(DB_URL);
+        JdbcTemplate jdbcTemplate = mockJdbcTemplate(dbKey, dataSource);
+        when(jdbcTemplate.queryForStream(any(PreparedStatementCreator.class), any(ColumnMapRowMapper.class)))
+                .thenReturn(result);
+        return jdbcTemplate;
+    }
+
     private JdbcTemplate mockJdbcTemplate(String dbKey, DriverManagerDataSource dataSource)
     {
         JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
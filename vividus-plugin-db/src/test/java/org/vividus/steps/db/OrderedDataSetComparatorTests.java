@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+class OrderedDataSetComparatorTests
+{
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String VALUE = "value";
+    private static final List<String> KEYS = List.of(ID, NAME);
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+
+    private final DataSourceStatistics statistics = new DataSourceStatistics(mock(DriverManagerDataSource.class),
+            mock(DriverManagerDataSource.class));
+
+    @Test
+    void shouldCompareEqualDataSets()
+    {
+        List<Map<String, Object>> rows = List.of(row(1, "a", "x"), row(1, "b", "y"), row(2, "a", "z"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 10);
+        List<List<EntryComparisonResult>> result = comparator.compare(rows.iterator(), rows.iterator(), statistics,
+                NOT_CANCELLED);
+        assertEquals(List.of(), result);
+        assertEquals(3, statistics.getTotalRows());
+        assertEquals(0, statistics.getMismatched());
+        assertEquals(3, statistics.getLeft().getRowsQuantity());
+        assertEquals(3, statistics.getRight().getRowsQuantity());
+        assertEquals(0, statistics.getLeft().getNoPair());
+        assertEquals(0, statistics.getRight().getNoPair());
+    }
+
+    @Test
+    void shouldCollectMismatchesAndUnpairedRows()
+    {
+        List<Map<String, Object>> left = List.of(row(1, "a", "x"), row(2, "a", "y"), row(10, "a", "z"));
+        List<Map<String, Object>> right = List.of(row(1L, "a", "x"), row(3, "a", "y"), row(10, "a", "changed"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 10);
+        List<List<EntryComparisonResult>> result = comparator.compare(left.iterator(), right.iterator(), statistics,
+                NOT_CANCELLED);
+        assertEquals(3, result.size());
+        assertEquals(4, statistics.getTotalRows());
+        assertEquals(3, statistics.getMismatched());
+        assertEquals(1, statistics.getMatched());
+        assertEquals(1, statistics.getLeft().getNoPair());
+        assertEquals(1, statistics.getRight().getNoPair());
+    }
+
+    @Test
+    void shouldIgnoreUnpairedLeftRowsForContainsRule()
+    {
+        List<Map<String, Object>> left = List.of(row(1, "a", "x"), row(2, "a", "y"), row(3, "a", "z"));
+        List<Map<String, Object>> right = List.of(row(2, "a", "y"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.CONTAINS,
+                DuplicateKeysStrategy.NOOP, 10);
+        List<List<EntryComparisonResult>> result = comparator.compare(left.iterator(), right.iterator(), statistics,
+                NOT_CANCELLED);
+        assertEquals(List.of(), result);
+        assertEquals(1, statistics.getTotalRows());
+        assertEquals(3, statistics.getLeft().getRowsQuantity());
+        assertNull(statistics.getLeft().getNoPair());
+        assertEquals(0, statistics.getRight().getNoPair());
+    }
+
+    @Test
+    void shouldApplyDuplicateKeysStrategy()
+    {
+        List<Map<String, Object>> left = List.of(row(1, "a", "x"), row(1, "a", "y"));
+        List<Map<String, Object>> right = List.of(row(1, "a", "x"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.DISTINCT, 10);
+        List<List<EntryComparisonResult>> result = comparator.compare(left.iterator(), right.iterator(), statistics,
+                NOT_CANCELLED);
+        assertEquals(List.of(), result);
+        assertEquals(1, statistics.getTotalRows());
+    }
+
+    @Test
+    void shouldSortNullKeysFirst()
+    {
+        Map<String, Object> nullKeyRow = new HashMap<>(row(1, "a", "x"));
+        nullKeyRow.put(NAME, null);
+        List<Map<String, Object>> rows = List.of(nullKeyRow, row(1, "a", "x"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 10);
+        List<List<EntryComparisonResult>> result = comparator.compare(rows.iterator(), rows.iterator(), statistics,
+                NOT_CANCELLED);
+        assertEquals(List.of(), result);
+        assertEquals(2, statistics.getTotalRows());
+    }
+
+    @Test
+    void shouldLimitCollectedMismatchesButCountAllOfThem()
+    {
+        Iterator<Map<String, Object>> left = IntStream.range(0, 1000).mapToObj(i -> row(i, "a", "left")).iterator();
+        Iterator<Map<String, Object>> right = IntStream.range(0, 1000).mapToObj(i -> row(i, "a", "right")).iterator();
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 5);
+        List<List<EntryComparisonResult>> result = comparator.compare(left, right, statistics, NOT_CANCELLED);
+        assertEquals(5, result.size());
+        assertEquals(1000, statistics.getTotalRows());
+        assertEquals(1000, statistics.getMismatched());
+    }
+
+    @Test
+    void shouldFailOnUnorderedDataSet()
+    {
+        List<Map<String, Object>> left = List.of(row(2, "a", "x"), row(1, "a", "y"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 10);
+        Iterator<Map<String, Object>> right = Collections.emptyIterator();
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> comparator.compare(left.iterator(), right, statistics, NOT_CANCELLED));
+        assertEquals("The left data set is not ordered by the key columns [id, name]: the row with the key [1, a]"
+                + " follows the row with the key [2, a]", exception.getMessage());
+    }
+
+    @Test
+    void shouldCompareNonFiniteNumericKeys()
+    {
+        List<Map<String, Object>> left = List.of(row(Double.NEGATIVE_INFINITY, "a", "x"), row(1, "a", "y"),
+                row(Double.NaN, "a", "z"));
+        List<Map<String, Object>> right = List.of(row(Double.NEGATIVE_INFINITY, "a", "x"), row(1, "a", "y"),
+                row(Double.NaN, "a", "z"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 10);
+        List<List<EntryComparisonResult>> result = comparator.compare(left.iterator(), right.iterator(), statistics,
+                NOT_CANCELLED);
+        assertEquals(List.of(), result);
+        assertEquals(3, statistics.getTotalRows());
+    }
+
+    @Test
+    void shouldStopComparisonOnceCancelled()
+    {
+        List<Map<String, Object>> rows = List.of(row(1, "a", "x"));
+        OrderedDataSetComparator comparator = new OrderedDataSetComparator(KEYS, DataSetComparisonRule.IS_EQUAL_TO,
+                DuplicateKeysStrategy.NOOP, 10);
+        Iterator<Map<String, Object>> left = rows.iterator();
+        Iterator<Map<String, Object>> right = rows.iterator();
+        assertThrows(CancellationException.class, () -> comparator.compare(left, right, statistics, () -> true));
+    }
+
+    @Test
+    void shouldNotAllowEmptyKeys()
+    {
+        List<String> keys = List.of();
+        assertThrows(IllegalArgumentException.class, () -> new OrderedDataSetComparator(keys,
+                DataSetComparisonRule.IS_EQUAL_TO, DuplicateKeysStrategy.NOOP, 10));
+    }
+
+    private static Map<String, Object> row(Object id, String name, String value)
+    {
+        return Map.of(ID, id, NAME, name, VALUE, value);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+class PartitionedDataSetComparatorTests
+{
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final String ID = "id";
+    private static final String VALUE = "value";
+    private static final int PARTITIONS_NUMBER = 4;
+
+    private final DataSourceStatistics statistics = new DataSourceStatistics(mock(DriverManagerDataSource.class),
+            mock(DriverManagerDataSource.class));
+
+    @Test
+    void shouldCompareEqualDataSets() throws IOException
+    {
+        try (SpilledDataSet left = spill("left", 0, 100, VALUE); SpilledDataSet right = spill("right", 0, 100, VALUE))
+        {
+            PartitionedDataSetComparator comparator = new PartitionedDataSetComparator(
+                    DataSetComparisonRule.IS_EQUAL_TO, DuplicateKeysStrategy.NOOP, 10);
+            List<List<EntryComparisonResult>> result = comparator.compare(left, right, statistics);
+            assertEquals(List.of(), result);
+            assertEquals(100, statistics.getTotalRows());
+            assertEquals(0, statistics.getMismatched());
+            assertEquals(0, statistics.getLeft().getNoPair());
+            assertEquals(0, statistics.getRight().getNoPair());
+        }
+    }
+
+    @Test
+    void shouldCollectMismatchesAndUnpairedRowsAcrossPartitions() throws IOException
+    {
+        try (SpilledDataSet left = spill("left", 0, 50, VALUE); SpilledDataSet right = spill("right", 10, 60, "other"))
+        {
+            PartitionedDataSetComparator comparator = new PartitionedDataSetComparator(
+                    DataSetComparisonRule.IS_EQUAL_TO, DuplicateKeysStrategy.NOOP, 5);
+            List<List<EntryComparisonResult>> result = comparator.compare(left, right, statistics);
+            assertEquals(5, result.size());
+            assertEquals(60, statistics.getTotalRows());
+            assertEquals(60, statistics.getMismatched());
+            assertEquals(10, statistics.getLeft().getNoPair());
+            assertEquals(10, statistics.getRight().getNoPair());
+        }
+    }
+
+    @Test
+    void shouldIgnoreUnpairedLeftRowsForContainsRule() throws IOException
+    {
+        try (SpilledDataSet left = spill("left", 0, 50, VALUE); SpilledDataSet right = spill("right", 10, 20, VALUE))
+        {
+            PartitionedDataSetComparator comparator = new PartitionedDataSetComparator(
+                    DataSetComparisonRule.CONTAINS, DuplicateKeysStrategy.NOOP, 5);
+            List<List<EntryComparisonResult>> result = comparator.compare(left, right, statistics);
+            assertEquals(List.of(), result);
+            assertEquals(10, statistics.getTotalRows());
+            assertNull(statistics.getLeft().getNoPair());
+            assertEquals(0, statistics.getRight().getNoPair());
+        }
+    }
+
+    private static SpilledDataSet spill(String name, int from, int to, String value) throws IOException
+    {
+        SpilledDataSet dataSet = new SpilledDataSet(name, PARTITIONS_NUMBER);
+        for (int i = from; i < to; i++)
+        {
+            String id = Integer.toString(i);
+            dataSet.add(HASH_FUNCTION.hashString(id, StandardCharsets.UTF_8), Map.of(ID, id, VALUE, value));
+        }
+        dataSet.finishWriting();
+        return dataSet;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+class RowComparisonAccumulatorTests
+{
+    private static final String VALUE = "value";
+
+    private final DataSourceStatistics statistics = new DataSourceStatistics(mock(DriverManagerDataSource.class),
+            mock(DriverManagerDataSource.class));
+
+    @Test
+    void shouldMergeResultsInOrderUpToDiffLimit()
+    {
+        RowComparisonAccumulator first = createAccumulator(DataSetComparisonRule.IS_EQUAL_TO);
+        first.compareGroups(List.of(row("a")), List.of(row("b")));
+        first.compareGroups(List.of(row("c")), List.of(row("c")));
+        RowComparisonAccumulator second = createAccumulator(DataSetComparisonRule.IS_EQUAL_TO);
+        second.compareGroups(List.of(row("d")), List.of());
+        second.compareGroups(List.of(), List.of(row("e")));
+        first.merge(second);
+
+        List<List<EntryComparisonResult>> mismatches = first.complete(statistics);
+        assertEquals(2, mismatches.size());
+        assertEquals("a", mismatches.get(0).get(0).getLeft());
+        assertEquals("d", mismatches.get(1).get(0).getLeft());
+        assertEquals(4, statistics.getTotalRows());
+        assertEquals(3, statistics.getMismatched());
+        assertEquals(1, statistics.getLeft().getNoPair());
+        assertEquals(1, statistics.getRight().getNoPair());
+    }
+
+    @Test
+    void shouldSkipGroupsWithoutRightRowsForContainsRule()
+    {
+        RowComparisonAccumulator accumulator = createAccumulator(DataSetComparisonRule.CONTAINS);
+        accumulator.compareGroups(List.of(row("a")), List.of());
+        accumulator.compareGroups(List.of(), List.of(row("b")));
+
+        assertEquals(1, accumulator.complete(statistics).size());
+        assertEquals(1, statistics.getTotalRows());
+        assertEquals(1, statistics.getRight().getNoPair());
+    }
+
+    private static RowComparisonAccumulator createAccumulator(DataSetComparisonRule comparisonRule)
+    {
+        return new RowComparisonAccumulator(comparisonRule, DuplicateKeysStrategy.NOOP, 2);
+    }
+
+    private static Map<String, Object> row(String value)
+    {
+        return Map.of(VALUE, value);
+    }
+}
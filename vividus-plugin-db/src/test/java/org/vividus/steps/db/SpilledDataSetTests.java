@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import org.junit.jupiter.api.Test;
+
+class SpilledDataSetTests
+{
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    @Test
+    void shouldWriteAndReadRowsOfAllSupportedTypes() throws IOException
+    {
+        Timestamp timestamp = new Timestamp(1_700_000_000_123L);
+        timestamp.setNanos(123_456_789);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("null", null);
+        row.put("string", "значение");
+        row.put("integer", 1);
+        row.put("long", 2L);
+        row.put("double", 3.5d);
+        row.put("float", 4.5f);
+        row.put("short", (short) 5);
+        row.put("byte", (byte) 6);
+        row.put("boolean", true);
+        row.put("bigDecimal", new BigDecimal("-7.250"));
+        row.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        row.put("timestamp", timestamp);
+        row.put("date", new Date(1_700_000_000_000L));
+        row.put("time", new Time(43_200_000L));
+        row.put("serializable", LocalDate.of(2024, 1, 31));
+        row.put("other", Optional.of("value"));
+        byte[] bytes = { 1, 2, 3 };
+        row.put("bytes", bytes);
+
+        HashCode key = HASH_FUNCTION.hashString("key", StandardCharsets.UTF_8);
+        try (SpilledDataSet dataSet = new SpilledDataSet("test", 4))
+        {
+            dataSet.add(key, row);
+            dataSet.finishWriting();
+            assertEquals(1, dataSet.getRowsQuantity());
+            ListMultimap<Object, Object[]> partition = dataSet.readPartition(Math.floorMod(key.asInt(), 4));
+            List<Object[]> rows = partition.get(key);
+            assertEquals(1, rows.size());
+            Map<String, Object> actual = dataSet.toRow(rows.get(0));
+            assertArrayEquals(bytes, (byte[]) actual.remove("bytes"));
+            row.remove("bytes");
+            row.put("other", "Optional[value]");
+            assertEquals(row, new LinkedHashMap<>(actual));
+            assertEquals(timestamp.getNanos(), ((Timestamp) actual.get("TIMESTAMP")).getNanos());
+        }
+    }
+
+    @Test
+    void shouldDistributeRowsOverPartitions() throws IOException
+    {
+        int partitionsNumber = 8;
+        try (SpilledDataSet dataSet = new SpilledDataSet("distribution", partitionsNumber))
+        {
+            for (int i = 0; i < 100; i++)
+            {
+                String value = Integer.toString(i);
+                dataSet.add(HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8), Map.of("id", value));
+            }
+            dataSet.finishWriting();
+            int totalRows = 0;
+            for (int i = 0; i < partitionsNumber; i++)
+            {
+                ListMultimap<Object, Object[]> partition = dataSet.readPartition(i);
+                assertTrue(partition.size() < 100);
+                totalRows += partition.size();
+            }
+            assertEquals(100, totalRows);
+            assertEquals(100, dataSet.getRowsQuantity());
+        }
+    }
+
+    @Test
+    void shouldNotAllowRowsWithDifferentColumns() throws IOException
+    {
+        HashCode key = HASH_FUNCTION.hashString("key", StandardCharsets.UTF_8);
+        try (SpilledDataSet dataSet = new SpilledDataSet("columns", 1))
+        {
+            dataSet.add(key, Map.of("id", 1));
+            Map<String, Object> row = Map.of("id", 2, "name", "value");
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> dataSet.add(key, row));
+            assertEquals("All rows of the data set must have the same columns", exception.getMessage());
+        }
+    }
+
+    @Test
+    void shouldDeletePartitionFilesOnFailureAndAllowRepeatedClosing() throws IOException
+    {
+        HashCode key = HASH_FUNCTION.hashString("key", StandardCharsets.UTF_8);
+        SpilledDataSet dataSet = new SpilledDataSet("failure", 2);
+        dataSet.add(key, Map.of("id", 1));
+        IllegalStateException failure = new IllegalStateException("Query failure");
+        dataSet.closeOnFailure(failure);
+        assertEquals(0, failure.getSuppressed().length);
+        int partition = Math.floorMod(key.asInt(), 2);
+        assertThrows(NoSuchFileException.class, () -> dataSet.readPartition(partition));
+        dataSet.close();
+    }
+
+    @Test
+    void shouldNotAllowNonPositiveNumberOfPartitions()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new SpilledDataSet("invalid", 0));
+        assertEquals("The number of partitions must be positive, but got 0", exception.getMessage());
+    }
+}
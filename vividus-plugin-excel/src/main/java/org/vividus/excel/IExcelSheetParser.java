@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,31 +16,9 @@
 
 package org.vividus.excel;
 
-import java.util.List;
-import java.util.Map;
-
 import org.apache.poi.ss.usermodel.Sheet;
-import org.vividus.model.CellValue;
 
-public interface IExcelSheetParser
+public interface IExcelSheetParser extends IExcelSheetDataParser
 {
-    List<String> getRow(int rowNumber);
-
-    List<List<String>> getData();
-
-    List<List<String>> getData(int from);
-
-    List<List<String>> getData(int from, int skipBottomRows);
-
-    List<Map<String, String>> getDataWithTitle(int titleRowNumber);
-
-    List<Map<String, String>> getDataWithTitle(int titleRowNumber, int skipBottomRows);
-
     Sheet getSheet();
-
-    List<CellValue> getDataFromRange(String range);
-
-    String getDataFromCell(String cellAddress);
-
-    Map<String, List<String>> getDataAsTable(String range);
 }
@@ -0,0 +1,543 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.vividus.model.CellValue;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Parses the sheet of Office Open XML workbook (.xlsx) using SAX API without loading the workbook into memory: only
+ * the cells requested by the particular operation are read, the reading is stopped right after the last requested
+ * row. The cell values are the same as the ones returned by {@link ExcelSheetParser}.
+ */
+public final class StreamingExcelSheetParser implements IExcelSheetDataParser, AutoCloseable
+{
+    private static final int LAST_COLUMN_INDEX = SpreadsheetVersion.EXCEL2007.getLastColumnIndex();
+
+    private final OPCPackage workbookPackage;
+    private final XSSFReader reader;
+    private final String sheetName;
+    private final boolean preserveCellFormatting;
+
+    private ReadOnlySharedStringsTable sharedStrings;
+    private StylesTable stylesTable;
+    private DataFormatter dataFormatter;
+    private boolean use1904Windowing;
+
+    private StreamingExcelSheetParser(OPCPackage workbookPackage, XSSFReader reader, String sheetName,
+            boolean preserveCellFormatting)
+    {
+        this.workbookPackage = workbookPackage;
+        this.reader = reader;
+        this.sheetName = sheetName;
+        this.preserveCellFormatting = preserveCellFormatting;
+    }
+
+    /**
+     * Opens the sheet with the specified name of the workbook located at the specified path.
+     *
+     * @param workbookPath           The path to the .xlsx workbook
+     * @param sheetName              The name of the sheet to parse
+     * @param preserveCellFormatting Whether to format the cell values according to the cells format
+     * @return The parser of the sheet or empty optional if the sheet with the specified name does not exist
+     * @throws WorkbookParsingException If the workbook can't be parsed
+     */
+    public static Optional<StreamingExcelSheetParser> open(Path workbookPath, String sheetName,
+            boolean preserveCellFormatting) throws WorkbookParsingException
+    {
+        OPCPackage workbookPackage = null;
+        try
+        {
+            workbookPackage = OPCPackage.open(workbookPath.toFile(), PackageAccess.READ);
+            StreamingExcelSheetParser parser = new StreamingExcelSheetParser(workbookPackage,
+                    new XSSFReader(workbookPackage), sheetName, preserveCellFormatting);
+            if (parser.hasSheet())
+            {
+                parser.init();
+                return Optional.of(parser);
+            }
+            workbookPackage.revert();
+            return Optional.empty();
+        }
+        catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e)
+        {
+            if (workbookPackage != null)
+            {
+                workbookPackage.revert();
+            }
+            throw new WorkbookParsingException(e);
+        }
+    }
+
+    private boolean hasSheet() throws IOException, OpenXML4JException
+    {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext())
+        {
+            sheets.next().close();
+            if (sheetName.equals(sheets.getSheetName()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void init() throws IOException, OpenXML4JException, SAXException, ParserConfigurationException
+    {
+        sharedStrings = new ReadOnlySharedStringsTable(workbookPackage);
+        if (preserveCellFormatting)
+        {
+            stylesTable = reader.getStylesTable();
+            dataFormatter = new DataFormatter();
+            try (InputStream workbook = reader.getWorkbookData())
+            {
+                XMLReader xmlReader = XMLHelper.newXMLReader();
+                xmlReader.setContentHandler(new DefaultHandler()
+                {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes)
+                    {
+                        if ("workbookPr".equals(localName))
+                        {
+                            String date1904 = attributes.getValue("date1904");
+                            use1904Windowing = "1".equals(date1904) || "true".equals(date1904);
+                        }
+                    }
+                });
+                xmlReader.parse(new InputSource(workbook));
+            }
+        }
+    }
+
+    @Override
+    public List<String> getRow(int rowNumber)
+    {
+        SheetData sheetData = read(List.of(new CellRangeAddress(rowNumber, rowNumber, 0, LAST_COLUMN_INDEX)));
+        return new ArrayList<>(getExistingRow(sheetData, rowNumber, () -> "Row at index " + rowNumber).values());
+    }
+
+    @Override
+    public List<List<String>> getData()
+    {
+        return getData(0, 0);
+    }
+
+    @Override
+    public List<List<String>> getData(int from)
+    {
+        return getData(from, 0);
+    }
+
+    @Override
+    public List<List<String>> getData(int from, int skipBottomRows)
+    {
+        SheetData sheetData = read(List.of());
+        int to = sheetData.lastRowIndex + 1 - skipBottomRows;
+        List<List<String>> data = new ArrayList<>();
+        if (from < to)
+        {
+            sheetData.rows.subMap(from, to).values().forEach(row -> data.add(
+                    new ArrayList<>(row.headMap(sheetData.lastColumnIndex, true).values())));
+        }
+        return data;
+    }
+
+    @Override
+    public List<Map<String, String>> getDataWithTitle(int titleRowNumber)
+    {
+        return getDataWithTitle(titleRowNumber, 0);
+    }
+
+    @Override
+    public List<Map<String, String>> getDataWithTitle(int titleRowNumber, int skipBottomRows)
+    {
+        SheetData sheetData = read(List.of());
+        NavigableMap<Integer, String> titleRow = getExistingRow(sheetData, titleRowNumber,
+                () -> "Title row at index " + titleRowNumber);
+        int lastTitleCellNum = titleRow.isEmpty() ? -1 : titleRow.lastKey() + 1;
+        int cellsCount = Math.min(lastTitleCellNum + 1, sheetData.lastColumnIndex + 1);
+        int to = sheetData.lastRowIndex + 1 - skipBottomRows;
+        List<Map<String, String>> resultData = new ArrayList<>();
+        if (titleRowNumber + 1 < to)
+        {
+            sheetData.rows.subMap(titleRowNumber + 1, to).values().forEach(dataRow -> {
+                Map<String, String> entryData = new LinkedHashMap<>();
+                titleRow.headMap(cellsCount).forEach((columnIndex, key) -> {
+                    String value = dataRow.get(columnIndex);
+                    if (value != null && !key.isEmpty())
+                    {
+                        entryData.put(key, value);
+                    }
+                });
+                resultData.add(entryData);
+            });
+        }
+        return resultData;
+    }
+
+    @Override
+    public List<CellValue> getDataFromRange(String range)
+    {
+        CellRangeAddress rangeAddress = CellRangeAddress.valueOf(range);
+        SheetData sheetData = read(List.of(rangeAddress));
+        return StreamSupport.stream(rangeAddress.spliterator(), false)
+                .map(address -> new CellValue(getCellValue(sheetData, address), address.formatAsString()))
+                .toList();
+    }
+
+    @Override
+    public String getDataFromCell(String address)
+    {
+        return getDataFromCells(List.of(address)).get(0);
+    }
+
+    @Override
+    public List<String> getDataFromCells(List<String> addresses)
+    {
+        List<CellAddress> cellAddresses = addresses.stream().map(CellReference::new).map(CellAddress::new).toList();
+        SheetData sheetData = read(cellAddresses.stream()
+                .map(a -> new CellRangeAddress(a.getRow(), a.getRow(), a.getColumn(), a.getColumn()))
+                .toList());
+        return cellAddresses.stream().map(address -> getCellValue(sheetData, address)).toList();
+    }
+
+    @Override
+    public Map<String, List<String>> getDataAsTable(String range)
+    {
+        List<String> rangesAsStrings = Stream.of(StringUtils.split(range, ';')).map(String::trim).toList();
+        List<CellRangeAddress> ranges = rangesAsStrings.stream().map(CellRangeAddress::valueOf).toList();
+        SheetData sheetData = read(ranges);
+
+        CellRangeAddress headerRange = ranges.get(0);
+        Map<String, List<String>> data = new LinkedHashMap<>();
+        for (int columnIndex = headerRange.getFirstColumn(); columnIndex <= headerRange.getLastColumn(); columnIndex++)
+        {
+            String columnName = getCellValue(sheetData, new CellAddress(headerRange.getFirstRow(), columnIndex));
+            List<String> columnData = new ArrayList<>();
+            for (int rowIndex = headerRange.getFirstRow() + 1; rowIndex <= headerRange.getLastRow(); rowIndex++)
+            {
+                columnData.add(getCellValue(sheetData, new CellAddress(rowIndex, columnIndex)));
+            }
+            data.put(columnName, columnData);
+        }
+
+        int headersCount = data.size();
+        List<List<String>> columns = new ArrayList<>(data.values());
+        for (int rangeIndex = 1; rangeIndex < ranges.size(); rangeIndex++)
+        {
+            CellRangeAddress address = ranges.get(rangeIndex);
+            int columnsCount = address.getLastColumn() - address.getFirstColumn() + 1;
+            if (headersCount != columnsCount)
+            {
+                throw new IllegalArgumentException(String.format(
+                "The number of columns (%d) in the \"%s\" range must correspond to the number of table headers (%d)",
+                        columnsCount, rangesAsStrings.get(rangeIndex), headersCount));
+            }
+            for (int i = 0; i < columnsCount; i++)
+            {
+                for (int rowIndex = address.getFirstRow(); rowIndex <= address.getLastRow(); rowIndex++)
+                {
+                    CellAddress cellAddress = new CellAddress(rowIndex, address.getFirstColumn() + i);
+                    columns.get(i).add(getCellValue(sheetData, cellAddress));
+                }
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public void close()
+    {
+        workbookPackage.revert();
+    }
+
+    private static NavigableMap<Integer, String> getExistingRow(SheetData sheetData, int rowIndex,
+            Supplier<String> rowDescription)
+    {
+        NavigableMap<Integer, String> row = sheetData.rows.get(rowIndex);
+        if (row == null)
+        {
+            throw new IllegalArgumentException(rowDescription.get() + " doesn't exist");
+        }
+        return row;
+    }
+
+    private static String getCellValue(SheetData sheetData, CellAddress address)
+    {
+        NavigableMap<Integer, String> row = sheetData.rows.get(address.getRow());
+        if (row == null)
+        {
+            throw new IllegalArgumentException(
+                    String.format("Row at address '%s' doesn't exist", address.formatAsString()));
+        }
+        return row.get(address.getColumn());
+    }
+
+    private static int getColumnIndex(String cellReference)
+    {
+        int columnNumber = 0;
+        for (int i = 0; i < cellReference.length() && Character.isLetter(cellReference.charAt(i)); i++)
+        {
+            columnNumber = columnNumber * ('Z' - 'A' + 1) + Character.toUpperCase(cellReference.charAt(i)) - 'A'
+                    + 1;
+        }
+        return columnNumber - 1;
+    }
+
+    private SheetData read(List<CellRangeAddress> ranges)
+    {
+        SheetHandler handler = new SheetHandler(ranges);
+        try
+        {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext())
+            {
+                try (InputStream sheet = sheets.next())
+                {
+                    if (sheetName.equals(sheets.getSheetName()))
+                    {
+                        XMLReader xmlReader = XMLHelper.newXMLReader();
+                        xmlReader.setContentHandler(handler);
+                        xmlReader.parse(new InputSource(sheet));
+                        break;
+                    }
+                }
+            }
+        }
+        catch (StopReadingException e)
+        {
+            // All the requested rows are read
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        catch (OpenXML4JException | SAXException | ParserConfigurationException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        return handler.sheetData;
+    }
+
+    private String formatNumber(String value, String styleIndex)
+    {
+        double number = Double.parseDouble(value);
+        if (!preserveCellFormatting)
+        {
+            return String.valueOf(number);
+        }
+        XSSFCellStyle style = null;
+        if (styleIndex != null)
+        {
+            style = stylesTable.getStyleAt(Integer.parseInt(styleIndex));
+        }
+        else if (stylesTable.getNumCellStyles() > 0)
+        {
+            style = stylesTable.getStyleAt(0);
+        }
+        if (style == null)
+        {
+            return dataFormatter.formatRawCellContents(number, 0, BuiltinFormats.getBuiltinFormat(0),
+                    use1904Windowing);
+        }
+        short formatIndex = style.getDataFormat();
+        String formatString = style.getDataFormatString();
+        if (formatString == null)
+        {
+            formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+        }
+        return dataFormatter.formatRawCellContents(number, formatIndex, formatString, use1904Windowing);
+    }
+
+    private static final class SheetData
+    {
+        private final NavigableMap<Integer, NavigableMap<Integer, String>> rows = new TreeMap<>();
+        private int lastRowIndex = -1;
+        private int lastColumnIndex = -1;
+    }
+
+    private static final class StopReadingException extends SAXException
+    {
+        private static final long serialVersionUID = -2480209387185826395L;
+    }
+
+    private final class SheetHandler extends DefaultHandler
+    {
+        private final List<CellRangeAddress> ranges;
+        private final int lastRequestedRowIndex;
+        private final SheetData sheetData = new SheetData();
+
+        private int rowIndex = -1;
+        private NavigableMap<Integer, String> row;
+        private int columnIndex;
+        private String cellType;
+        private String cellStyle;
+        private boolean cellSelected;
+        private boolean valueOpen;
+        private final StringBuilder value = new StringBuilder();
+        private boolean hasValue;
+
+        SheetHandler(List<CellRangeAddress> ranges)
+        {
+            this.ranges = ranges;
+            this.lastRequestedRowIndex = ranges.isEmpty() ? Integer.MAX_VALUE
+                    : ranges.stream().mapToInt(CellRangeAddress::getLastRow).max().getAsInt();
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException
+        {
+            switch (localName)
+            {
+                case "row" -> startRow(attributes.getValue("r"));
+                case "c" -> startCell(attributes);
+                case "v", "t" -> {
+                    if (row != null && cellSelected)
+                    {
+                        valueOpen = true;
+                        hasValue = true;
+                    }
+                }
+                default -> {
+                    // Other elements are not needed to get the cell values
+                }
+            }
+        }
+
+        private void startRow(String rowReference) throws StopReadingException
+        {
+            rowIndex = rowReference == null ? rowIndex + 1 : Integer.parseInt(rowReference) - 1;
+            if (rowIndex > lastRequestedRowIndex)
+            {
+                throw new StopReadingException();
+            }
+            columnIndex = -1;
+            row = null;
+            if (ranges.isEmpty() || ranges.stream().anyMatch(r -> r.getFirstRow() <= rowIndex
+                    && rowIndex <= r.getLastRow()))
+            {
+                row = new TreeMap<>();
+                sheetData.rows.put(rowIndex, row);
+            }
+        }
+
+        private void startCell(Attributes attributes)
+        {
+            String cellReference = attributes.getValue("r");
+            columnIndex = cellReference == null ? columnIndex + 1 : getColumnIndex(cellReference);
+            cellType = attributes.getValue("t");
+            cellStyle = attributes.getValue("s");
+            cellSelected = row != null && (ranges.isEmpty() || ranges.stream().anyMatch(r -> r.isInRange(rowIndex,
+                    columnIndex)));
+            value.setLength(0);
+            hasValue = false;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length)
+        {
+            if (valueOpen)
+            {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName)
+        {
+            if ("v".equals(localName) || "t".equals(localName))
+            {
+                valueOpen = false;
+            }
+            else if ("c".equals(localName) && cellSelected)
+            {
+                String rawValue = value.toString();
+                String cellValue = hasValue ? getCellValue(rawValue) : StringUtils.EMPTY;
+                row.put(columnIndex, cellValue);
+                if (hasValue && !isEmpty(rawValue, cellValue))
+                {
+                    sheetData.lastRowIndex = rowIndex;
+                    sheetData.lastColumnIndex = Math.max(sheetData.lastColumnIndex, columnIndex);
+                }
+                cellSelected = false;
+            }
+        }
+
+        private String getCellValue(String rawValue)
+        {
+            if (cellType == null || "n".equals(cellType))
+            {
+                return formatNumber(rawValue, cellStyle);
+            }
+            return switch (cellType)
+            {
+                case "s" -> sharedStrings.getItemAt(Integer.parseInt(rawValue)).getString();
+                case "b" -> {
+                    boolean booleanValue = "1".equals(rawValue) || "true".equals(rawValue);
+                    yield preserveCellFormatting ? String.valueOf(booleanValue).toUpperCase()
+                            : String.valueOf(booleanValue);
+                }
+                case "e" -> preserveCellFormatting ? rawValue : StringUtils.EMPTY;
+                default -> rawValue;
+            };
+        }
+
+        private boolean isEmpty(String rawValue, String cellValue)
+        {
+            return "e".equals(cellType) || (cellType == null || "n".equals(cellType) || "b".equals(cellType)
+                    ? rawValue.isEmpty() : cellValue.isEmpty());
+        }
+    }
+}
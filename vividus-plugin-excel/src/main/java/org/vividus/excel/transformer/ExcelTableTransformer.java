@@ -20,20 +20,23 @@ import static java.util.Map.entry;
 import static org.apache.commons.lang3.Validate.notBlank;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 import org.vividus.excel.ExcelSheetParser;
 import org.vividus.excel.ExcelSheetsExtractor;
-import org.vividus.excel.IExcelSheetParser;
+import org.vividus.excel.IExcelSheetDataParser;
 import org.vividus.excel.IExcelSheetsExtractor;
+import org.vividus.excel.StreamingExcelSheetParser;
 import org.vividus.excel.WorkbookParsingException;
 import org.vividus.model.CellValue;
 import org.vividus.transformer.ExtendedTableTransformer;
@@ -45,6 +48,7 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
     private static final String RANGE = "range";
 
     private final boolean preserveCellFormatting;
+    private int streamingThreshold = Integer.MAX_VALUE;
 
     public ExcelTableTransformer(boolean preserveCellFormatting)
     {
@@ -59,26 +63,20 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         String sheetName = properties.getMandatoryNonBlankProperty("sheet", String.class);
         try
         {
+            Optional<Path> workbookFile = ResourceUtils.findResourceOrFile(path);
+            if (workbookFile.isPresent() && Files.size(workbookFile.get()) >= streamingThreshold
+                    && FileMagic.valueOf(workbookFile.get().toFile()) == FileMagic.OOXML)
+            {
+                return transformUsingStreaming(workbookFile.get(), sheetName, properties);
+            }
             byte[] excelDocumentAsBytes = ResourceUtils.loadResourceOrFileAsByteArray(path);
             IExcelSheetsExtractor excelSheetsExtractor = new ExcelSheetsExtractor(excelDocumentAsBytes);
             Optional<Sheet> sheet = excelSheetsExtractor.getSheet(sheetName);
             if (sheet.isEmpty())
             {
-                throw new IllegalArgumentException("Sheet with name '" + sheetName + "' does not exist");
+                throw createMissingSheetException(sheetName);
             }
-            IExcelSheetParser excelSheetParser = new ExcelSheetParser(sheet.get(), preserveCellFormatting);
-            String column = properties.getProperties().getProperty("column");
-            if (column != null)
-            {
-                notBlank(column, "Table property 'column' is blank");
-                String joinValues = properties.getProperties().getProperty("joinValues");
-                List<String> result = extractData(excelSheetParser, properties);
-                List<String> data = Boolean.parseBoolean(joinValues) ? List.of(String.join(" ", result)) : result;
-                return build(List.of(column), List.of(data), properties);
-            }
-            String range = properties.getMandatoryNonBlankProperty(RANGE, String.class);
-            Map<String, List<String>> exactDataTable = excelSheetParser.getDataAsTable(range);
-            return build(exactDataTable.keySet(), exactDataTable.values(), properties);
+            return transform(new ExcelSheetParser(sheet.get(), preserveCellFormatting), properties);
         }
         catch (WorkbookParsingException | IOException e)
         {
@@ -86,14 +84,46 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         }
     }
 
-    private List<String> extractData(IExcelSheetParser sheetParser, TableProperties properties)
+    private String transformUsingStreaming(Path workbook, String sheetName, TableProperties properties)
+            throws WorkbookParsingException
+    {
+        try (StreamingExcelSheetParser excelSheetParser = StreamingExcelSheetParser.open(workbook, sheetName,
+                preserveCellFormatting).orElseThrow(() -> createMissingSheetException(sheetName)))
+        {
+            return transform(excelSheetParser, properties);
+        }
+    }
+
+    private static IllegalArgumentException createMissingSheetException(String sheetName)
+    {
+        return new IllegalArgumentException("Sheet with name '" + sheetName + "' does not exist");
+    }
+
+    private String transform(IExcelSheetDataParser excelSheetParser, TableProperties properties)
+    {
+        String column = properties.getProperties().getProperty("column");
+        if (column != null)
+        {
+            notBlank(column, "Table property 'column' is blank");
+            String joinValues = properties.getProperties().getProperty("joinValues");
+            List<String> result = extractData(excelSheetParser, properties);
+            List<String> data = Boolean.parseBoolean(joinValues) ? List.of(String.join(" ", result)) : result;
+            return build(List.of(column), List.of(data), properties);
+        }
+        String range = properties.getMandatoryNonBlankProperty(RANGE, String.class);
+        Map<String, List<String>> exactDataTable = excelSheetParser.getDataAsTable(range);
+        return build(exactDataTable.keySet(), exactDataTable.values(), properties);
+    }
+
+    private List<String> extractData(IExcelSheetDataParser sheetParser, TableProperties properties)
     {
         return processCompetingMandatoryProperties(properties,
                 entry(RANGE, range -> extractDataFromRange(sheetParser, properties, range)),
                 entry("addresses", addresses -> extractDataFromAddresses(sheetParser, addresses)));
     }
 
-    private List<String> extractDataFromRange(IExcelSheetParser sheetParser, TableProperties properties, String range)
+    private List<String> extractDataFromRange(IExcelSheetDataParser sheetParser, TableProperties properties,
+            String range)
     {
         List<String> data = extractValues(sheetParser, range);
         String incrementAsString = properties.getProperties().getProperty("increment");
@@ -107,14 +137,14 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         return data;
     }
 
-    private List<String> extractValues(IExcelSheetParser sheetParser, String range)
+    private List<String> extractValues(IExcelSheetDataParser sheetParser, String range)
     {
         return sheetParser.getDataFromRange(range).stream().map(CellValue::value).toList();
     }
 
-    private List<String> extractDataFromAddresses(IExcelSheetParser sheetParser, String addresses)
+    private List<String> extractDataFromAddresses(IExcelSheetDataParser sheetParser, String addresses)
     {
-        return Stream.of(addresses.split(";")).map(sheetParser::getDataFromCell).toList();
+        return sheetParser.getDataFromCells(List.of(addresses.split(";")));
     }
 
     private String build(Collection<String> headers, Collection<List<String>> data, TableProperties properties)
@@ -134,4 +164,9 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
                      .map(e -> e == null ? e : e.replace("\n", lineBreakReplacement))
                      .toList();
     }
+
+    public void setStreamingThreshold(int streamingThreshold)
+    {
+        this.streamingThreshold = streamingThreshold;
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class StreamingExcelSheetParserTests
+{
+    private static final String MAPPING_SHEET = "Mapping";
+    private static final String REPEATING_DATA_SHEET = "RepeatingData";
+    private static final String DIFFERENT_TYPES_SHEET = "DifferentTypes";
+
+    private static Path workbookPath;
+    private static IExcelSheetsExtractor extractor;
+
+    @BeforeAll
+    static void beforeAll() throws URISyntaxException, IOException, WorkbookParsingException
+    {
+        workbookPath = Path.of(StreamingExcelSheetParserTests.class.getResource("/TestTemplate.xlsx").toURI());
+        extractor = new ExcelSheetsExtractor(Files.readAllBytes(workbookPath));
+    }
+
+    static Stream<Arguments> operations()
+    {
+        return Stream.of(
+                operation(MAPPING_SHEET, p -> p.getRow(2)),
+                operation(MAPPING_SHEET, IExcelSheetDataParser::getData),
+                operation(MAPPING_SHEET, p -> p.getData(4)),
+                operation(MAPPING_SHEET, p -> p.getData(2, 2)),
+                operation(MAPPING_SHEET, p -> p.getDataWithTitle(2)),
+                operation(MAPPING_SHEET, p -> p.getDataWithTitle(2, 1)),
+                operation("AsString", IExcelSheetDataParser::getData),
+                operation(REPEATING_DATA_SHEET, IExcelSheetDataParser::getData),
+                operation(REPEATING_DATA_SHEET, p -> p.getDataFromRange("B2:B7")),
+                operation(REPEATING_DATA_SHEET, p -> p.getDataFromCell("A1")),
+                operation(REPEATING_DATA_SHEET, p -> p.getDataFromCells(List.of("B4", "B8", "C2"))),
+                operation(REPEATING_DATA_SHEET, p -> p.getDataAsTable("A1:B1")),
+                operation(REPEATING_DATA_SHEET, p -> p.getDataAsTable("A9:B9;A4:B4;")),
+                operation(REPEATING_DATA_SHEET, p -> p.getDataAsTable("A1:B2;A4:B4")),
+                operation(DIFFERENT_TYPES_SHEET, IExcelSheetDataParser::getData),
+                operation(DIFFERENT_TYPES_SHEET, p -> p.getDataAsTable("A1:E3"))
+        );
+    }
+
+    private static Arguments operation(String sheetName, Function<IExcelSheetDataParser, Object> operation)
+    {
+        return Arguments.of(sheetName, operation);
+    }
+
+    @ParameterizedTest
+    @MethodSource("operations")
+    void shouldReturnSameDataAsDomBasedParser(String sheetName, Function<IExcelSheetDataParser, Object> operation)
+            throws WorkbookParsingException
+    {
+        for (boolean preserveCellFormatting : List.of(false, true))
+        {
+            Sheet sheet = extractor.getSheet(sheetName).get();
+            Object expected = operation.apply(new ExcelSheetParser(sheet, preserveCellFormatting));
+            try (StreamingExcelSheetParser parser = StreamingExcelSheetParser.open(workbookPath, sheetName,
+                    preserveCellFormatting).get())
+            {
+                assertEquals(expected, operation.apply(parser));
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnEmptyOptionalForMissingSheet() throws WorkbookParsingException
+    {
+        assertTrue(StreamingExcelSheetParser.open(workbookPath, "missing", false).isEmpty());
+    }
+
+    @Test
+    void shouldThrowExceptionForNotExistingRow() throws WorkbookParsingException
+    {
+        try (StreamingExcelSheetParser parser = StreamingExcelSheetParser.open(workbookPath, REPEATING_DATA_SHEET,
+                false).get())
+        {
+            var exception = assertThrows(IllegalArgumentException.class, () -> parser.getDataFromCell("A1001"));
+            assertEquals("Row at address 'A1001' doesn't exist", exception.getMessage());
+        }
+    }
+
+    @Test
+    void shouldNotProvideAccessToSheetModel()
+    {
+        assertFalse(IExcelSheetParser.class.isAssignableFrom(StreamingExcelSheetParser.class));
+    }
+}
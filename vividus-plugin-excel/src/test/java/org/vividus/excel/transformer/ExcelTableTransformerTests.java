@@ -158,6 +158,30 @@ class ExcelTableTransformerTests
         assertEquals("|Sixth|CLOSED|\n|Seventh|CLOSED !|", actualResult);
     }
 
+    @Test
+    void shouldTransformUsingStreamingForLargeWorkbooks()
+    {
+        transformer.setStreamingThreshold(0);
+        properties.getProperties().setProperty(COLUMN, DATA);
+        properties.getProperties().setProperty(ADDRESSES, "B4;B6");
+        assertEquals("|data|\n|OPEN|\n|CLOSED|", transformer.transform("", null, properties));
+        properties.getProperties().remove(COLUMN);
+        properties.getProperties().remove(ADDRESSES);
+        properties.getProperties().setProperty(RANGE, EXTEND_RANGE_VALUE);
+        assertEquals("|name|status|\n|First|OPEN|\n|Second|OPEN|", transformer.transform("", null, properties));
+    }
+
+    @Test
+    void shouldThrowErrorOnAttemptToLoadDataFromMissingSheetUsingStreaming()
+    {
+        transformer.setStreamingThreshold(0);
+        var missingSheetName = "missing";
+        properties.getProperties().setProperty(SHEET, missingSheetName);
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> transformer.transform("", null, properties));
+        assertEquals("Sheet with name '" + missingSheetName + "' does not exist", exception.getMessage());
+    }
+
     @Test
     void shouldRethrowErrorOnFailedAttemptToLoadExcelResource()
     {
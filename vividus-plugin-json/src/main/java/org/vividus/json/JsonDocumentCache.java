@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.json;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of parsed JSON documents allowing consecutive JSON path evaluations against the same JSON to parse it
+ * only once. Documents are keyed by the JSON string itself: the hash code is computed once per string instance and
+ * the same instance is matched by identity, while another instance with the same content is matched by equality.
+ * The cache is bounded by the total length of the cached JSON strings as an estimate of the memory taken by the parsed
+ * documents, the documents longer than the bound are parsed without caching. The cached documents are shared between
+ * threads, so their JSON objects and arrays are made unmodifiable. Compiled JSON paths are reused from the path cache
+ * of the JSON path library.
+ */
+public class JsonDocumentCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonDocumentCache.class);
+
+    private final Cache<String, DocumentContext> documents;
+    private final long maximumLength;
+
+    public JsonDocumentCache(boolean enabled, long maximumLength)
+    {
+        this.maximumLength = maximumLength;
+        // The single segment makes the whole maximum weight available to any document, otherwise the weight is split
+        // between the segments and the document longer than the segment share is evicted right after the insertion
+        this.documents = enabled ? CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maximumLength)
+                .weigher((String json, DocumentContext document) -> json.length())
+                .recordStats()
+                .build() : null;
+    }
+
+    /**
+     * Reads data from JSON using JSON path
+     * @param <T> resulting type
+     * @param json JSON String
+     * @param jsonPath JSON path
+     * @return desired data from JSON
+     */
+    public <T> T read(String json, String jsonPath)
+    {
+        return parse(json).read(jsonPath);
+    }
+
+    /**
+     * Gets parsed JSON document, the cached document is unmodifiable
+     * @param json JSON String
+     * @return parsed JSON document
+     */
+    public DocumentContext parse(String json)
+    {
+        if (documents == null || json.length() > maximumLength)
+        {
+            return JsonPath.parse(json);
+        }
+        try
+        {
+            return documents.get(json, () -> JsonPath.parse(freeze(JsonPath.parse(json).json())));
+        }
+        catch (ExecutionException | UncheckedExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+            {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object node)
+    {
+        if (node instanceof Map<?, ?> map)
+        {
+            ((Map<Object, Object>) map).replaceAll((key, value) -> freeze(value));
+            return Collections.unmodifiableMap(map);
+        }
+        if (node instanceof List<?> list)
+        {
+            ((List<Object>) list).replaceAll(JsonDocumentCache::freeze);
+            return Collections.unmodifiableList(list);
+        }
+        return node;
+    }
+
+    public CacheStats getStats()
+    {
+        return documents != null ? documents.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    public void logStats()
+    {
+        if (documents != null)
+        {
+            CacheStats stats = documents.stats();
+            LOGGER.info("Parsed JSON documents cache: {} hits, {} misses", stats.hitCount(), stats.missCount());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,11 @@ import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +33,8 @@ import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.regex.Pattern;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.PathNotFoundException;
 
 import org.apache.commons.lang3.StringUtils;
@@ -42,6 +48,7 @@ import org.jbehave.core.steps.ParameterConverters.FluentEnumConverter;
 import org.vividus.context.VariableContext;
 import org.vividus.json.JsonContext;
 import org.vividus.json.JsonDiffMatcher;
+import org.vividus.json.JsonDocumentCache;
 import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
@@ -49,6 +56,7 @@ import org.vividus.steps.StringComparisonRule;
 import org.vividus.steps.SubSteps;
 import org.vividus.util.json.JsonPathUtils;
 import org.vividus.util.json.JsonUtils;
+import org.vividus.util.json.StreamingJsonPath;
 import org.vividus.variable.VariableScope;
 
 import net.javacrumbs.jsonunit.core.Option;
@@ -76,10 +84,12 @@ public class JsonSteps
     private final ISoftAssert softAssert;
     private final IAttachmentPublisher attachmentPublisher;
     private final Map<String, Matcher<Object>> customJsonMatchers;
+    private final JsonDocumentCache jsonDocumentCache;
+    private int streamingEvaluationThreshold = Integer.MAX_VALUE;
 
     public JsonSteps(FluentEnumConverter fluentEnumConverter, JsonContext jsonContext, VariableContext variableContext,
             JsonUtils jsonUtils, ISoftAssert softAssert, IAttachmentPublisher attachmentPublisher,
-                     Map<String, Matcher<Object>> customJsonMatchers)
+                     Map<String, Matcher<Object>> customJsonMatchers, JsonDocumentCache jsonDocumentCache)
     {
         this.fluentEnumConverter = fluentEnumConverter;
         this.jsonContext = jsonContext;
@@ -88,6 +98,7 @@ public class JsonSteps
         this.softAssert = softAssert;
         this.attachmentPublisher = attachmentPublisher;
         this.customJsonMatchers = customJsonMatchers;
+        this.jsonDocumentCache = jsonDocumentCache;
     }
 
     /**
@@ -527,19 +538,77 @@ public class JsonSteps
                 matcher);
     }
 
-    @SuppressWarnings("rawtypes")
+    /**
+     * Asserts the number of JSON elements found by JSON path in JSON read from the stream, see
+     * {@link #getElementsNumber(InputStream, long, String)}
+     * @param json JSON stream
+     * @param jsonLength JSON length in bytes
+     * @param jsonPath JSON path
+     * @param comparisonRule The rule to compare the number of found elements with the expected one
+     * @param elementsNumber The expected number of elements
+     * @throws IOException in case of any I/O errors
+     */
+    public void assertNumberOfJsonElements(InputStream json, long jsonLength, String jsonPath,
+            ComparisonRule comparisonRule, int elementsNumber) throws IOException
+    {
+        int actualNumber = getElementsNumber(json, jsonLength, jsonPath);
+        assertJsonElementsNumber(jsonPath, actualNumber, comparisonRule, elementsNumber);
+    }
+
     public int getElementsNumber(String json, String jsonPath)
     {
-        return getDataByJsonPathSafely(json, jsonPath, false).map(
-                jsonByPath -> jsonByPath.filter(List.class::isInstance).map(List.class::cast).map(List::size).orElse(1)
-        ).orElse(0);
+        return getDataByJsonPathSafely(json, jsonPath, false).map(JsonSteps::countElements).orElse(0);
+    }
+
+    /**
+     * Gets the number of JSON elements found by JSON path in JSON read from the stream: if JSON length reaches the
+     * streaming evaluation threshold and JSON path is streamable, JSON path is evaluated in a single pass over the
+     * stream, otherwise the whole JSON is read into the memory
+     * @param json JSON stream
+     * @param jsonLength JSON length in bytes
+     * @param jsonPath JSON path
+     * @return the number of found JSON elements
+     * @throws IOException in case of any I/O errors
+     */
+    public int getElementsNumber(InputStream json, long jsonLength, String jsonPath) throws IOException
+    {
+        if (jsonLength >= streamingEvaluationThreshold)
+        {
+            Optional<StreamingJsonPath> streamingJsonPath = StreamingJsonPath.compile(jsonPath);
+            if (streamingJsonPath.isPresent())
+            {
+                try
+                {
+                    return countElements(Optional.ofNullable(streamingJsonPath.get().read(json)));
+                }
+                catch (PathNotFoundException e)
+                {
+                    return 0;
+                }
+                catch (UncheckedIOException e)
+                {
+                    if (e.getCause() instanceof JsonProcessingException jsonProcessingException)
+                    {
+                        throw new InvalidJsonException(jsonProcessingException);
+                    }
+                    throw e;
+                }
+            }
+        }
+        return getElementsNumber(new String(json.readAllBytes(), StandardCharsets.UTF_8), jsonPath);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static int countElements(Optional<Object> jsonByPath)
+    {
+        return jsonByPath.filter(List.class::isInstance).map(List.class::cast).map(List::size).orElse(1);
     }
 
     private <T> Optional<Optional<T>> getDataByJsonPathSafely(String json, String jsonPath, boolean recordFail)
     {
         try
         {
-            return Optional.of(Optional.ofNullable(JsonPathUtils.getData(json, jsonPath)));
+            return Optional.of(Optional.ofNullable(getDataByJsonPath(json, jsonPath)));
         }
         catch (PathNotFoundException e)
         {
@@ -551,6 +620,12 @@ public class JsonSteps
         }
     }
 
+    private <T> T getDataByJsonPath(String json, String jsonPath)
+    {
+        return json.length() >= streamingEvaluationThreshold ? JsonPathUtils.getDataStreaming(json, jsonPath)
+                : jsonDocumentCache.read(json, jsonPath);
+    }
+
     private boolean reportUnexpectedValueType(String jsonPath, Object jsonValue)
     {
         String actualType = jsonValue instanceof List ? "array" : "object";
@@ -566,4 +641,9 @@ public class JsonSteps
         return softAssert.assertThat("The number of JSON elements by JSON path: " + jsonPath, actualNumber,
                 comparisonRule.getComparisonRule(expectedElementsNumber));
     }
+
+    public void setStreamingEvaluationThreshold(int streamingEvaluationThreshold)
+    {
+        this.streamingEvaluationThreshold = streamingEvaluationThreshold;
+    }
 }
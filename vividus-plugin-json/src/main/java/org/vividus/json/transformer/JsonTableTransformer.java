@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.vividus.json.transformer;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,7 @@ import org.vividus.context.VariableContext;
 import org.vividus.transformer.ExtendedTableTransformer;
 import org.vividus.util.ExamplesTableProcessor;
 import org.vividus.util.json.JsonPathUtils;
+import org.vividus.util.json.StreamingJsonPath;
 
 public class JsonTableTransformer implements ExtendedTableTransformer
 {
@@ -52,7 +54,11 @@ public class JsonTableTransformer implements ExtendedTableTransformer
         Map<String, String> columnsPerJsonPaths = Splitter.on(';').withKeyValueSeparator(Splitter.on('=').limit(2))
                 .split(columns);
 
-        List<List<String>> values = JsonPathUtils.getData(jsonData, columnsPerJsonPaths.values()).stream().map(e ->
+        boolean streaming = Boolean.parseBoolean(properties.getProperties().getProperty("streaming"));
+        List<Object> data = streaming ? readStreaming(jsonData, columnsPerJsonPaths.values())
+                : JsonPathUtils.getData(jsonData, columnsPerJsonPaths.values());
+
+        List<List<String>> values = data.stream().map(e ->
         {
             List<Object> columnValues = e instanceof List ? (List<Object>) e : Collections.singletonList(e);
             return columnValues.stream().map(String::valueOf).toList();
@@ -60,4 +66,13 @@ public class JsonTableTransformer implements ExtendedTableTransformer
 
         return ExamplesTableProcessor.buildExamplesTableFromColumns(columnsPerJsonPaths.keySet(), values, properties);
     }
+
+    private static List<Object> readStreaming(String jsonData, Collection<String> jsonPaths)
+    {
+        List<StreamingJsonPath> streamingJsonPaths = jsonPaths.stream()
+                .map(jsonPath -> StreamingJsonPath.compile(jsonPath).orElseThrow(() -> new IllegalArgumentException(
+                        "JSON path '" + jsonPath + "' is not supported by streaming evaluation")))
+                .toList();
+        return StreamingJsonPath.read(streamingJsonPaths, jsonData);
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.cache.CacheStats;
+import com.jayway.jsonpath.InvalidJsonException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.vividus.util.json.JsonPathUtils;
+
+class JsonDocumentCacheTests
+{
+    private static final String JSON = "{\"store\":{\"book\":[{\"title\":\"Dune\"},{\"title\":\"Solaris\"}]}}";
+    private static final String ANOTHER_JSON = "{\"store\":{\"book\":[]}}";
+    private static final String TITLES_PATH = "$.store.book[*].title";
+    private static final String BOOKS_NUMBER_PATH = "$.store.book.length()";
+    private static final long MAXIMUM_LENGTH = 1000;
+
+    @BeforeAll
+    static void beforeAll()
+    {
+        JsonPathUtils.setJacksonConfiguration();
+    }
+
+    @Test
+    void shouldParseSameJsonOnce()
+    {
+        JsonDocumentCache cache = new JsonDocumentCache(true, MAXIMUM_LENGTH);
+        assertEquals(List.of("Dune", "Solaris"), cache.read(JSON, TITLES_PATH));
+        assertEquals(Integer.valueOf(2), cache.read(JSON, BOOKS_NUMBER_PATH));
+        assertSame(cache.parse(JSON), cache.parse(new String(JSON)));
+        assertEquals(new CacheStats(3, 1, 1, 0, cache.getStats().totalLoadTime(), 0), cache.getStats());
+    }
+
+    @Test
+    void shouldNotCacheDocumentsExceedingMaximumLength()
+    {
+        JsonDocumentCache cache = new JsonDocumentCache(true, MAXIMUM_LENGTH);
+        String longJson = ANOTHER_JSON + " ".repeat((int) MAXIMUM_LENGTH);
+        assertEquals(Integer.valueOf(2), cache.read(JSON, BOOKS_NUMBER_PATH));
+        assertEquals(Integer.valueOf(2), cache.read(JSON, BOOKS_NUMBER_PATH));
+        assertEquals(Integer.valueOf(0), cache.read(longJson, BOOKS_NUMBER_PATH));
+        List<Object> books = cache.read(longJson, "$.store.book");
+        books.add("modifiable");
+        assertEquals(new CacheStats(1, 1, 1, 0, cache.getStats().totalLoadTime(), 0), cache.getStats());
+    }
+
+    @Test
+    void shouldCacheDocumentTakingMostOfMaximumLength()
+    {
+        JsonDocumentCache cache = new JsonDocumentCache(true, MAXIMUM_LENGTH);
+        String longJson = ANOTHER_JSON + " ".repeat((int) MAXIMUM_LENGTH - ANOTHER_JSON.length());
+        assertSame(cache.parse(longJson), cache.parse(longJson));
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(0, stats.evictionCount());
+    }
+
+    @Test
+    void shouldShareUnmodifiableDocuments()
+    {
+        JsonDocumentCache cache = new JsonDocumentCache(true, MAXIMUM_LENGTH);
+        List<Map<String, Object>> books = cache.read(JSON, "$.store.book");
+        assertThrows(UnsupportedOperationException.class, () -> books.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> books.get(0).put("title", "Ubik"));
+        assertEquals(List.of("Dune", "Solaris"), cache.read(JSON, TITLES_PATH));
+    }
+
+    @Test
+    void shouldParseJsonEachTimeWhenDisabled()
+    {
+        JsonDocumentCache cache = new JsonDocumentCache(false, MAXIMUM_LENGTH);
+        assertEquals(List.of("Dune", "Solaris"), cache.read(JSON, TITLES_PATH));
+        assertNotSame(cache.parse(JSON), cache.parse(JSON));
+        assertEquals(new CacheStats(0, 0, 0, 0, 0, 0), cache.getStats());
+    }
+
+    @Test
+    void shouldRethrowParsingException()
+    {
+        JsonDocumentCache cache = new JsonDocumentCache(true, MAXIMUM_LENGTH);
+        assertThrows(InvalidJsonException.class, () -> cache.parse("{"));
+        assertEquals(1, cache.getStats().missCount());
+    }
+}
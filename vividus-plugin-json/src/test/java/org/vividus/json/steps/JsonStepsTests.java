@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,10 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +44,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.PathNotFoundException;
 
 import org.hamcrest.Matcher;
@@ -57,6 +62,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.context.VariableContext;
 import org.vividus.json.JsonContext;
+import org.vividus.json.JsonDocumentCache;
 import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
@@ -145,7 +151,7 @@ class JsonStepsTests
     {
         JsonPathUtils.setJacksonConfiguration();
         steps = new JsonSteps(new FluentEnumConverter(), jsonContext, variableContext, new JsonUtils(), softAssert,
-                attachmentPublisher, Map.of());
+                attachmentPublisher, Map.of(), new JsonDocumentCache(true, 1));
     }
 
     static Stream<Arguments> jsonValues()
@@ -195,6 +201,25 @@ class JsonStepsTests
         verifyNoInteractions(variableContext);
     }
 
+    @ParameterizedTest
+    @MethodSource("jsonValues")
+    void shouldSaveJsonValueToVariableUsingStreamingEvaluation(String jsonPath, String expectedData)
+    {
+        steps.setStreamingEvaluationThreshold(0);
+        steps.saveJsonValueToVariable(JSON, jsonPath, SCOPES, VARIABLE_NAME);
+        verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, expectedData);
+        verifyNoInteractions(softAssert);
+    }
+
+    @Test
+    void shouldFailToSaveNonExistingJsonValueUsingStreamingEvaluation()
+    {
+        steps.setStreamingEvaluationThreshold(0);
+        steps.saveJsonValueToVariable(JSON, NON_EXISTING_PATH, SCOPES, VARIABLE_NAME);
+        verifyPathNotFoundExceptionRecording(NON_EXISTING_PATH);
+        verifyNoInteractions(variableContext);
+    }
+
     static Stream<Arguments> jsonValueValidations()
     {
         return Stream.of(
@@ -498,6 +523,39 @@ class JsonStepsTests
                 verifyMatcher(elementsNumber));
     }
 
+    @ParameterizedTest
+    @MethodSource("checkJsonElementsNumberDataProvider")
+    void shouldAssertNumberOfJsonElementsFromStream(String jsonPath, int elementsNumber) throws IOException
+    {
+        steps.assertNumberOfJsonElements(toStream(JSON), JSON.length(), jsonPath, ComparisonRule.EQUAL_TO,
+                elementsNumber);
+        verify(softAssert).assertThat(eq(NUMBER_OF_JSON_ELEMENTS_ASSERTION_MESSAGE + jsonPath), eq(elementsNumber),
+                verifyMatcher(elementsNumber));
+    }
+
+    @ParameterizedTest
+    @MethodSource("checkJsonElementsNumberDataProvider")
+    void shouldGetElementsNumberFromStreamUsingStreamingEvaluation(String jsonPath, int elementsNumber)
+            throws IOException
+    {
+        steps.setStreamingEvaluationThreshold(0);
+        assertEquals(elementsNumber, steps.getElementsNumber(toStream(JSON), JSON.length(), jsonPath));
+    }
+
+    @Test
+    void shouldFailToGetElementsNumberFromInvalidJsonStreamUsingStreamingEvaluation()
+    {
+        steps.setStreamingEvaluationThreshold(0);
+        String html = "<html></html>";
+        InputStream json = toStream(html);
+        assertThrows(InvalidJsonException.class, () -> steps.getElementsNumber(json, html.length(), STRING_PATH));
+    }
+
+    private static InputStream toStream(String json)
+    {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
     @ParameterizedTest
     @MethodSource("checkJsonElementsNumberDataProvider")
     void testSaveElementsNumberFromJsonByJsonPath(String jsonPath, int elementsNumber)
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -72,6 +72,34 @@ class JsonTableTransformerTests
         assertEquals(expectedTable, table);
     }
 
+    @Test
+    void testTransformFromVariableUsingStreaming()
+    {
+        when(variableContext.getVariable("varName")).thenReturn(readJsonData());
+        var tableProperties = createProperties("variableName=varName,streaming=true"
+                + ",columns=code=$.superCodes[?(@.codes[0].codeSystem==\"VIVIDUS\")].codes[0].code;"
+                + "type=$.superCodes[?(@.codes[0].codeSystem==\"VIVIDUS\")].type");
+        var table = jsonTableTransformer.transform(StringUtils.EMPTY, null, tableProperties);
+        var expectedTable = """
+                |code|type|
+                |107214|A|
+                |107224|B|
+                |107314|C|
+                |107324|D|
+                |107XX4|E|""";
+        assertEquals(expectedTable, table);
+    }
+
+    @Test
+    void shouldFailToTransformUsingStreamingWithNotStreamableJsonPath()
+    {
+        when(variableContext.getVariable("varName")).thenReturn(readJsonData());
+        var tableProperties = createProperties("variableName=varName,streaming=true,columns=code=$..code");
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> jsonTableTransformer.transform(StringUtils.EMPTY, null, tableProperties));
+        assertEquals("JSON path '$..code' is not supported by streaming evaluation", exception.getMessage());
+    }
+
     @ParameterizedTest
     @CsvSource({
             "'columns=key=value\\,url', variableName",
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Sends events asynchronously keeping at most the configured number of events awaiting acknowledgement from the
+ * broker, so the events are batched by the producer instead of being sent one round trip at a time.
+ */
+final class KafkaBulkSender
+{
+    private final int maxInFlightEvents;
+
+    KafkaBulkSender(int maxInFlightEvents)
+    {
+        this.maxInFlightEvents = maxInFlightEvents;
+    }
+
+    Result send(KafkaTemplate<String, String> kafkaTemplate, Iterator<ProducerRecord<String, String>> records,
+            Duration timeout) throws InterruptedException
+    {
+        Semaphore inFlightEvents = new Semaphore(maxInFlightEvents);
+        Map<Integer, Throwable> failures = new ConcurrentSkipListMap<>();
+        long start = System.nanoTime();
+        int eventsCount = 0;
+        while (records.hasNext())
+        {
+            ProducerRecord<String, String> record = records.next();
+            int eventIndex = eventsCount++;
+            inFlightEvents.acquire();
+            try
+            {
+                kafkaTemplate.send(record).whenComplete((result, exception) -> {
+                    if (exception != null)
+                    {
+                        failures.put(eventIndex, exception);
+                    }
+                    inFlightEvents.release();
+                });
+            }
+            catch (RuntimeException e)
+            {
+                failures.put(eventIndex, e);
+                inFlightEvents.release();
+            }
+        }
+        if (inFlightEvents.availablePermits() < maxInFlightEvents)
+        {
+            kafkaTemplate.flush();
+        }
+        int unacknowledgedEvents = 0;
+        if (!inFlightEvents.tryAcquire(maxInFlightEvents, timeout.toNanos(), TimeUnit.NANOSECONDS))
+        {
+            unacknowledgedEvents = maxInFlightEvents - inFlightEvents.availablePermits();
+        }
+        return new Result(eventsCount, new TreeMap<>(failures), unacknowledgedEvents,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * The result of the sending
+     * @param eventsCount          The total number of the events
+     * @param failures             The exceptions of the failed events by zero-based event indices
+     * @param unacknowledgedEvents The number of the events not acknowledged within the timeout
+     * @param duration             The duration of the sending
+     */
+    record Result(int eventsCount, Map<Integer, Throwable> failures, int unacknowledgedEvents, Duration duration)
+    {
+    }
+}
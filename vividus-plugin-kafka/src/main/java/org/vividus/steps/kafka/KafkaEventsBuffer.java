@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the consumed events matching the filter, at most the configured number of events is kept: the events
+ * exceeding the capacity are dropped according to the overflow policy. The waiting threads are signalled on each
+ * change of the buffer, so they are woken up as soon as the expected condition is met.
+ */
+final class KafkaEventsBuffer
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaEventsBuffer.class);
+
+    private final int capacity;
+    private final BufferOverflowPolicy overflowPolicy;
+    private final Predicate<ConsumerRecord<String, String>> filter;
+
+    private final Deque<ConsumerRecord<String, String>> events = new ArrayDeque<>();
+    private final Lock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long droppedEventsCount;
+
+    KafkaEventsBuffer(int capacity, BufferOverflowPolicy overflowPolicy,
+            Predicate<ConsumerRecord<String, String>> filter)
+    {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.filter = filter;
+    }
+
+    void add(ConsumerRecord<String, String> event)
+    {
+        if (!filter.test(event))
+        {
+            return;
+        }
+        lock.lock();
+        try
+        {
+            if (events.size() >= capacity)
+            {
+                if (droppedEventsCount++ == 0)
+                {
+                    LOGGER.warn("The capacity of Kafka events buffer ({} events) is exceeded, the {} events are"
+                            + " dropped", capacity, overflowPolicy == BufferOverflowPolicy.DROP_OLDEST ? "oldest"
+                            : "newest");
+                }
+                if (overflowPolicy == BufferOverflowPolicy.DROP_NEWEST)
+                {
+                    return;
+                }
+                events.pollFirst();
+            }
+            events.addLast(event);
+            changed.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    List<ConsumerRecord<String, String>> peek()
+    {
+        lock.lock();
+        try
+        {
+            return new ArrayList<>(events);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    List<ConsumerRecord<String, String>> drain()
+    {
+        lock.lock();
+        try
+        {
+            List<ConsumerRecord<String, String>> drained = new ArrayList<>(events);
+            events.clear();
+            changed.signalAll();
+            return drained;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    int size()
+    {
+        lock.lock();
+        try
+        {
+            return events.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of the events dropped since the previous call and resets it.
+     *
+     * @return The number of the newly dropped events
+     */
+    long takeDroppedEventsCount()
+    {
+        lock.lock();
+        try
+        {
+            long count = droppedEventsCount;
+            droppedEventsCount = 0;
+            return count;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the count of the buffered events matches the condition or until the timeout is exceeded.
+     *
+     * @param condition The condition to match the count of the events
+     * @param timeout   The maximum time to wait
+     * @return The last count of the buffered events
+     * @throws InterruptedException If the current thread was interrupted while waiting
+     */
+    int awaitSize(IntPredicate condition, Duration timeout) throws InterruptedException
+    {
+        long remainingNanos = timeout.toNanos();
+        lock.lock();
+        try
+        {
+            while (!condition.test(events.size()) && remainingNanos > 0)
+            {
+                remainingNanos = changed.awaitNanos(remainingNanos);
+            }
+            return events.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
@@ -28,15 +28,16 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -66,7 +67,6 @@ import org.vividus.softassert.ISoftAssert;
 import org.vividus.steps.ComparisonRule;
 import org.vividus.testcontext.TestContext;
 import org.vividus.util.property.IPropertyParser;
-import org.vividus.util.wait.DurationBasedWaiter;
 import org.vividus.variable.VariableScope;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -76,6 +76,9 @@ public class KafkaSteps
     private static final String DOT = ".";
     private static final String NAME = "name";
     private static final String VALUE = "value";
+    private static final String KEY = "key";
+    private static final String HEADER_COLUMN_PREFIX = "header.";
+    private static final int MAX_REPORTED_FAILURES = 10;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaSteps.class);
 
@@ -92,6 +95,10 @@ public class KafkaSteps
     private final VariableContext variableContext;
     private final ISoftAssert softAssert;
 
+    private int maxInFlightEvents;
+    private int consumptionBufferCapacity;
+    private BufferOverflowPolicy consumptionBufferOverflowPolicy;
+
     public KafkaSteps(IPropertyParser propertyParser, TestContext testContext, VariableContext variableContext,
             ISoftAssert softAssert)
     {
@@ -184,6 +191,63 @@ public class KafkaSteps
         kafkaTemplates.get(producerKey).send(record).get(WAIT_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES);
     }
 
+    /**
+     * Sends the events to the provided topic asynchronously: up to the configured number of events are awaiting the
+     * acknowledgement from the broker at the same time, so the producer batches them according to its configuration
+     * (e.g. <code>linger.ms</code>, <code>batch.size</code>, <code>compression.type</code>). The step waits for the
+     * acknowledgements of all events once at the end, logs the throughput and records a failed assertion for each event
+     * not sent.
+     *
+     * @param producerKey           The key of the producer configuration
+     * @param topic                 The topic name
+     * @param events                ExamplesTable representing the events with the mandatory column "value", the
+     *                              optional column "key" and the optional columns with the "header." prefix, e.g.
+     *                              "header.source", specifying the event headers
+     * @throws InterruptedException If the current thread was interrupted while waiting
+     */
+    @When("I send events to `$producerKey` Kafka topic `$topic`:$events")
+    public void sendEvents(String producerKey, String topic, ExamplesTable events) throws InterruptedException
+    {
+        List<Header> commonHeaders = testContext.remove(HEADERS_KEY);
+        Iterator<ProducerRecord<String, String>> records = events.getRows().stream().map(row -> {
+            List<Header> headers = new ArrayList<>();
+            if (commonHeaders != null)
+            {
+                headers.addAll(commonHeaders);
+            }
+            row.forEach((name, value) -> {
+                if (name.startsWith(HEADER_COLUMN_PREFIX))
+                {
+                    headers.add(new RecordHeader(name.substring(HEADER_COLUMN_PREFIX.length()),
+                            value.getBytes(StandardCharsets.UTF_8)));
+                }
+            });
+            return new ProducerRecord<>(topic, null, row.get(KEY), row.get(VALUE), headers);
+        }).iterator();
+
+        KafkaBulkSender.Result result = new KafkaBulkSender(maxInFlightEvents).send(kafkaTemplates.get(producerKey),
+                records, Duration.ofMinutes(WAIT_TIMEOUT_IN_MINUTES));
+
+        int eventsCount = result.eventsCount();
+        int sentEventsCount = eventsCount - result.failures().size() - result.unacknowledgedEvents();
+        long durationInMillis = Math.max(result.duration().toMillis(), 1);
+        LOGGER.info("{} of {} Kafka events are sent in {} ms ({} events/s)", sentEventsCount, eventsCount,
+                durationInMillis, sentEventsCount * 1000L / durationInMillis);
+
+        result.failures().entrySet().stream().limit(MAX_REPORTED_FAILURES).forEach(failure -> softAssert
+                .recordFailedAssertion("Kafka event #" + (failure.getKey() + 1) + " is not sent", failure.getValue()));
+        int notReportedFailures = result.failures().size() - MAX_REPORTED_FAILURES;
+        if (notReportedFailures > 0)
+        {
+            softAssert.recordFailedAssertion(notReportedFailures + " more Kafka events are not sent");
+        }
+        if (result.unacknowledgedEvents() > 0)
+        {
+            softAssert.recordFailedAssertion(String.format("%d Kafka events are not acknowledged within %d minutes",
+                    result.unacknowledgedEvents(), WAIT_TIMEOUT_IN_MINUTES));
+        }
+    }
+
     /**
      * Starts the Kafka consumer with the provided configuration to listen the specified topics. The consumer must be
      * stopped when it's not needed.
@@ -191,15 +255,39 @@ public class KafkaSteps
      * @param consumerKey The key of the producer configuration
      * @param topics      The comma-separated set of topics to listen
      */
-    @SuppressWarnings("PreferMethodReference")
     @When("I start consuming events from `$consumerKey` Kafka topics `$topics`")
     public void startKafkaListener(String consumerKey, Set<String> topics)
+    {
+        startKafkaListener(consumerKey, topics, event -> true);
+    }
+
+    /**
+     * Starts the Kafka consumer with the provided configuration to listen the specified topics and keeps only the
+     * consumed events matching the filter. The consumer must be stopped when it's not needed.
+     *
+     * @param consumerKey The key of the producer configuration
+     * @param topics      The comma-separated set of topics to listen
+     * @param filter      ExamplesTable representing the filter with the optional column "key" and the optional
+     *                    columns with the "header." prefix, e.g. "header.source", containing regular expressions to
+     *                    match the event key and the event header values. An event is kept if it matches all the
+     *                    non-empty cells of at least one row.
+     */
+    @When("I start consuming events from `$consumerKey` Kafka topics `$topics` filtering by:$filter")
+    public void startKafkaListener(String consumerKey, Set<String> topics, ExamplesTable filter)
+    {
+        startKafkaListener(consumerKey, topics, createFilter(filter));
+    }
+
+    @SuppressWarnings("PreferMethodReference")
+    private void startKafkaListener(String consumerKey, Set<String> topics,
+            Predicate<ConsumerRecord<String, String>> filter)
     {
         stopListener(getListeners().remove(consumerKey), false);
-        BlockingQueue<ConsumerRecord<String, String>> eventValueQueue = new LinkedBlockingDeque<>();
-        testContext.get(EVENTS_KEY, HashMap::new).put(consumerKey, eventValueQueue);
+        KafkaEventsBuffer eventsBuffer = new KafkaEventsBuffer(consumptionBufferCapacity,
+                consumptionBufferOverflowPolicy, filter);
+        testContext.get(EVENTS_KEY, HashMap::new).put(consumerKey, eventsBuffer);
         ContainerProperties containerProperties = new ContainerProperties(topics.toArray(new String[0]));
-        containerProperties.setMessageListener((MessageListener<String, String>) data -> eventValueQueue.add(data));
+        containerProperties.setMessageListener((MessageListener<String, String>) data -> eventsBuffer.add(data));
         GenericMessageListenerContainer<String, String> container = new KafkaMessageListenerContainer<>(
                 consumerFactories.get(consumerKey), containerProperties);
         container.start();
@@ -208,6 +296,34 @@ public class KafkaSteps
         LOGGER.info("Kafka event listener is started");
     }
 
+    private static Predicate<ConsumerRecord<String, String>> createFilter(ExamplesTable filter)
+    {
+        return filter.getRows().stream().map(row -> row.entrySet().stream()
+                .filter(cell -> !cell.getValue().isEmpty())
+                .map(cell -> {
+                    String name = cell.getKey();
+                    Predicate<String> valueMatcher = Pattern.compile(cell.getValue()).asMatchPredicate();
+                    if (KEY.equals(name))
+                    {
+                        return (Predicate<ConsumerRecord<String, String>>) e -> e.key() != null
+                                && valueMatcher.test(e.key());
+                    }
+                    if (name.startsWith(HEADER_COLUMN_PREFIX))
+                    {
+                        String headerName = name.substring(HEADER_COLUMN_PREFIX.length());
+                        return (Predicate<ConsumerRecord<String, String>>) e -> {
+                            Header header = e.headers().lastHeader(headerName);
+                            return header != null && header.value() != null
+                                    && valueMatcher.test(new String(header.value(), StandardCharsets.UTF_8));
+                        };
+                    }
+                    throw new IllegalArgumentException("Unsupported Kafka event filter column: " + name);
+                })
+                .reduce(e -> true, Predicate::and))
+                .reduce(Predicate::or)
+                .orElse(e -> true);
+    }
+
     /**
      * Waits until the count of the consumed events (from the consumer start or after the last draining operation)
      * matches to the rule or until the timeout is exceeded.
@@ -224,21 +340,21 @@ public class KafkaSteps
      *                       <li>not equal to (!=)</li>
      *                       </ul>
      * @param expectedCount  The expected count of the events to be matched by the rule
+     * @throws InterruptedException If the current thread was interrupted while waiting
      */
     @When("I wait with `$timeout` timeout until count of consumed `$consumerKey` Kafka events is $comparisonRule"
             + " `$expectedCount`")
     public void waitForKafkaEvents(Duration timeout, String consumerKey, ComparisonRule comparisonRule,
-            int expectedCount)
+            int expectedCount) throws InterruptedException
     {
         Matcher<Integer> countMatcher = comparisonRule.getComparisonRule(expectedCount);
-        Integer result = new DurationBasedWaiter(timeout, Duration.ofSeconds(1)).wait(
-                () -> getEventsBy(consumerKey).size(), countMatcher::matches);
+        int result = getEventsBy(consumerKey).awaitSize(countMatcher::matches, timeout);
         softAssert.assertThat("Total count of consumed Kafka events", result, countMatcher);
     }
 
-    private BlockingQueue<ConsumerRecord<String, String>> getEventsBy(String key)
+    private KafkaEventsBuffer getEventsBy(String key)
     {
-        return testContext.<Map<String, BlockingQueue<ConsumerRecord<String, String>>>>get(EVENTS_KEY).get(key);
+        return testContext.<Map<String, KafkaEventsBuffer>>get(EVENTS_KEY).get(key);
     }
 
     /**
@@ -280,7 +396,14 @@ public class KafkaSteps
     public void processKafkaEvents(QueueOperation queueOperation, String consumerKey, Set<VariableScope> scopes,
             String variableName)
     {
-        List<ConsumerRecord<String, String>> events = queueOperation.performOn(getEventsBy(consumerKey));
+        KafkaEventsBuffer eventsBuffer = getEventsBy(consumerKey);
+        List<ConsumerRecord<String, String>> events = queueOperation.performOn(eventsBuffer);
+        long droppedEventsCount = eventsBuffer.takeDroppedEventsCount();
+        if (droppedEventsCount > 0)
+        {
+            LOGGER.warn("{} consumed Kafka events were dropped due to the exceeded buffer capacity since the previous"
+                    + " processing of the events", droppedEventsCount);
+        }
         LOGGER.atInfo().addArgument(() -> events.stream().map(e -> {
             String key = e.key() == null ? "<no key>" : e.key();
             String headerNames = StreamSupport.stream(e.headers().spliterator(), false)
@@ -320,28 +443,40 @@ public class KafkaSteps
         return testContext.get(LISTENER_KEY, HashMap::new);
     }
 
+    public void setMaxInFlightEvents(int maxInFlightEvents)
+    {
+        this.maxInFlightEvents = maxInFlightEvents;
+    }
+
+    public void setConsumptionBufferCapacity(int consumptionBufferCapacity)
+    {
+        this.consumptionBufferCapacity = consumptionBufferCapacity;
+    }
+
+    public void setConsumptionBufferOverflowPolicy(BufferOverflowPolicy consumptionBufferOverflowPolicy)
+    {
+        this.consumptionBufferOverflowPolicy = consumptionBufferOverflowPolicy;
+    }
+
     protected enum QueueOperation
     {
         PEEK
         {
             @Override
-            List<ConsumerRecord<String, String>> performOn(BlockingQueue<ConsumerRecord<String, String>> eventsQueue)
+            List<ConsumerRecord<String, String>> performOn(KafkaEventsBuffer eventsBuffer)
             {
-                return new ArrayList<>(eventsQueue);
+                return eventsBuffer.peek();
             }
         },
         DRAIN
         {
             @Override
-            List<ConsumerRecord<String, String>> performOn(BlockingQueue<ConsumerRecord<String, String>> eventsQueue)
+            List<ConsumerRecord<String, String>> performOn(KafkaEventsBuffer eventsBuffer)
             {
-                List<ConsumerRecord<String, String>> events = new ArrayList<>();
-                eventsQueue.drainTo(events);
-                return events;
+                return eventsBuffer.drain();
             }
         };
 
-        abstract List<ConsumerRecord<String, String>>
-                performOn(BlockingQueue<ConsumerRecord<String, String>> blockingQueue);
+        abstract List<ConsumerRecord<String, String>> performOn(KafkaEventsBuffer eventsBuffer);
     }
 }
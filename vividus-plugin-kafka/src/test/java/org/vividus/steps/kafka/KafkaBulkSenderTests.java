@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaBulkSenderTests
+{
+    private static final String TOPIC = "topic";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock private KafkaTemplate<String, String> kafkaTemplate;
+
+    private static List<ProducerRecord<String, String>> createRecords(int count)
+    {
+        return IntStream.range(0, count).mapToObj(i -> new ProducerRecord<>(TOPIC, "key" + i, "value" + i)).toList();
+    }
+
+    @Test
+    void shouldSendEventsKeepingLimitedNumberOfEventsInFlight() throws InterruptedException
+    {
+        int maxInFlightEvents = 3;
+        List<CompletableFuture<SendResult<String, String>>> pending = new ArrayList<>();
+        AtomicInteger maxPending = new AtomicInteger();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            CompletableFuture<SendResult<String, String>> future = new CompletableFuture<>();
+            pending.add(future);
+            maxPending.accumulateAndGet(pending.size(), Math::max);
+            if (pending.size() == maxInFlightEvents)
+            {
+                pending.forEach(f -> f.complete(null));
+                pending.clear();
+            }
+            return future;
+        });
+        List<ProducerRecord<String, String>> records = createRecords(9);
+        KafkaBulkSender.Result result = new KafkaBulkSender(maxInFlightEvents).send(kafkaTemplate, records.iterator(),
+                TIMEOUT);
+        assertEquals(9, result.eventsCount());
+        assertEquals(Map.of(), result.failures());
+        assertEquals(0, result.unacknowledgedEvents());
+        assertEquals(maxInFlightEvents, maxPending.get());
+        records.forEach(record -> verify(kafkaTemplate).send(record));
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    void shouldCollectFailedEvents() throws InterruptedException
+    {
+        List<ProducerRecord<String, String>> records = createRecords(3);
+        IllegalStateException asyncFailure = new IllegalStateException("Broker is not available");
+        IllegalArgumentException syncFailure = new IllegalArgumentException("Invalid record");
+        when(kafkaTemplate.send(records.get(0))).thenReturn(CompletableFuture.failedFuture(asyncFailure));
+        when(kafkaTemplate.send(records.get(1))).thenThrow(syncFailure);
+        when(kafkaTemplate.send(records.get(2))).thenReturn(CompletableFuture.completedFuture(null));
+        KafkaBulkSender.Result result = new KafkaBulkSender(1).send(kafkaTemplate, records.iterator(), TIMEOUT);
+        assertEquals(3, result.eventsCount());
+        assertEquals(Map.of(0, asyncFailure, 1, syncFailure), result.failures());
+        assertEquals(0, result.unacknowledgedEvents());
+    }
+
+    @Test
+    void shouldReportUnacknowledgedEvents() throws InterruptedException
+    {
+        List<ProducerRecord<String, String>> records = createRecords(2);
+        when(kafkaTemplate.send(records.get(0))).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(records.get(1))).thenReturn(new CompletableFuture<>());
+        KafkaBulkSender.Result result = new KafkaBulkSender(5).send(kafkaTemplate, records.iterator(),
+                Duration.ofMillis(100));
+        assertEquals(2, result.eventsCount());
+        assertTrue(result.failures().isEmpty());
+        assertEquals(1, result.unacknowledgedEvents());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.steps.kafka;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(TestLoggerFactoryExtension.class)
+class KafkaEventsBufferTests
+{
+    private static final String TOPIC = "topic";
+    private static final String OVERFLOW_MESSAGE = "The capacity of Kafka events buffer ({} events) is exceeded, the {}"
+            + " events are dropped";
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(KafkaEventsBuffer.class);
+
+    private static ConsumerRecord<String, String> createEvent(int index)
+    {
+        return new ConsumerRecord<>(TOPIC, 0, index, "key" + index, "value" + index);
+    }
+
+    private static void addEvents(KafkaEventsBuffer buffer, int count)
+    {
+        IntStream.range(0, count).mapToObj(KafkaEventsBufferTests::createEvent).forEach(buffer::add);
+    }
+
+    private static List<String> getValues(List<ConsumerRecord<String, String>> events)
+    {
+        return events.stream().map(ConsumerRecord::value).toList();
+    }
+
+    @Test
+    void shouldDropOldestEventsWhenCapacityIsExceeded()
+    {
+        KafkaEventsBuffer buffer = new KafkaEventsBuffer(2, BufferOverflowPolicy.DROP_OLDEST, e -> true);
+        addEvents(buffer, 5);
+        assertEquals(List.of("value3", "value4"), getValues(buffer.peek()));
+        assertEquals(3, buffer.takeDroppedEventsCount());
+        assertEquals(0, buffer.takeDroppedEventsCount());
+        addEvents(buffer, 1);
+        assertEquals(1, buffer.takeDroppedEventsCount());
+        assertThat(logger.getLoggingEvents(), is(List.of(warn(OVERFLOW_MESSAGE, 2, "oldest"),
+                warn(OVERFLOW_MESSAGE, 2, "oldest"))));
+    }
+
+    @Test
+    void shouldDropNewestEventsWhenCapacityIsExceeded()
+    {
+        KafkaEventsBuffer buffer = new KafkaEventsBuffer(2, BufferOverflowPolicy.DROP_NEWEST, e -> true);
+        addEvents(buffer, 5);
+        assertEquals(List.of("value0", "value1"), getValues(buffer.drain()));
+        assertEquals(0, buffer.size());
+        assertEquals(3, buffer.takeDroppedEventsCount());
+        assertThat(logger.getLoggingEvents(), is(List.of(warn(OVERFLOW_MESSAGE, 2, "newest"))));
+    }
+
+    @Test
+    void shouldKeepOnlyEventsMatchingFilter()
+    {
+        KafkaEventsBuffer buffer = new KafkaEventsBuffer(10, BufferOverflowPolicy.DROP_OLDEST,
+                e -> e.offset() % 2 == 0);
+        addEvents(buffer, 5);
+        assertEquals(List.of("value0", "value2", "value4"), getValues(buffer.peek()));
+        assertEquals(0, buffer.takeDroppedEventsCount());
+        assertThat(logger.getLoggingEvents(), is(List.of()));
+    }
+
+    @Test
+    void shouldWakeUpAsSoonAsConditionIsMet()
+    {
+        KafkaEventsBuffer buffer = new KafkaEventsBuffer(10, BufferOverflowPolicy.DROP_OLDEST, e -> true);
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> addEvents(buffer, 3));
+        int size = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> buffer.awaitSize(count -> count >= 3, Duration.ofMinutes(1)));
+        assertEquals(3, size);
+        producer.join();
+    }
+
+    @Test
+    void shouldReturnLastSizeWhenTimeoutIsExceeded() throws InterruptedException
+    {
+        KafkaEventsBuffer buffer = new KafkaEventsBuffer(10, BufferOverflowPolicy.DROP_OLDEST, e -> true);
+        addEvents(buffer, 1);
+        assertEquals(1, buffer.awaitSize(count -> count == 2, Duration.ofMillis(100)));
+    }
+}
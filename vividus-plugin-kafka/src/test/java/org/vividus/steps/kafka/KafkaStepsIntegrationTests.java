@@ -125,6 +125,9 @@ class KafkaStepsIntegrationTests
         when(propertyParser.getPropertyValuesByPrefix("kafka.producer.")).thenReturn(producerConfigs);
         when(propertyParser.getPropertyValuesByPrefix("kafka.consumer.")).thenReturn(consumerConfigs);
         kafkaSteps = new KafkaSteps(propertyParser, new SimpleTestContext(), variableContext, softAssert);
+        kafkaSteps.setMaxInFlightEvents(100);
+        kafkaSteps.setConsumptionBufferCapacity(100);
+        kafkaSteps.setConsumptionBufferOverflowPolicy(BufferOverflowPolicy.DROP_OLDEST);
     }
 
     static Stream<Arguments> kafkaOperations()
@@ -204,4 +207,30 @@ class KafkaStepsIntegrationTests
         List<String> variable = variableValueArgumentCaptor.getValue();
         assertThat(variable, containsInAnyOrder(ANY_DATA, ANY_DATA, ANY_DATA, ANY_DATA, ANY_DATA, anyDataWithHeader));
     }
+
+    @Test
+    void shouldSendEventsInBulkAndConsumeOnlyEventsMatchingFilter() throws InterruptedException
+    {
+        kafkaSteps.startKafkaListener(CONSUMER, Set.of(TOPIC),
+                new ExamplesTable("|key        |header.type|\n|filtered-.*|           |\n|           |match      |"));
+
+        StringBuilder events = new StringBuilder("|key|value|header.type|");
+        for (int i = 0; i < 10; i++)
+        {
+            events.append("\n|filtered-").append(i).append('|').append(i).append("|skip|");
+            events.append("\n|other-").append(i).append('|').append(i).append('|').append(i % 2 == 0 ? "match" : "skip")
+                    .append('|');
+        }
+        kafkaSteps.sendEvents(PRODUCER, TOPIC, new ExamplesTable(events.toString()));
+
+        kafkaSteps.waitForKafkaEvents(Duration.ofSeconds(10), CONSUMER, ComparisonRule.GREATER_THAN_OR_EQUAL_TO, 15);
+        kafkaSteps.stopKafkaListener(CONSUMER);
+        kafkaSteps.processKafkaEvents(QueueOperation.DRAIN, CONSUMER, SCOPES, VARIABLE_NAME);
+
+        verify(softAssert).assertThat(eq("Total count of consumed Kafka events"), eq(15),
+                argThat(matcher -> "a value equal to or greater than <15>".equals(matcher.toString())));
+        var variableValueArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(variableContext).putVariable(eq(SCOPES), eq(VARIABLE_NAME), variableValueArgumentCaptor.capture());
+        assertThat(variableValueArgumentCaptor.getValue(), hasSize(15));
+    }
 }
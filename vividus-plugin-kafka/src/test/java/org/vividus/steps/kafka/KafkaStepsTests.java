@@ -38,6 +38,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import com.github.valfirst.slf4jtest.LoggingEvent;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
@@ -164,6 +165,39 @@ class KafkaStepsTests
         }
     }
 
+    @Test
+    void shouldThrowExceptionWhenFilterContainsUnsupportedColumn()
+    {
+        ExamplesTable filter = new ExamplesTable("|value|\n|any|");
+        Set<String> topics = Set.of("topic");
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> kafkaSteps.startKafkaListener(KEY2, topics, filter));
+        assertEquals("Unsupported Kafka event filter column: value", exception.getMessage());
+    }
+
+    @Test
+    void shouldRecordFailedAssertionsForEventsNotSent() throws InterruptedException
+    {
+        kafkaSteps.setMaxInFlightEvents(5);
+        StringBuilder table = new StringBuilder("|key|value|header.source|");
+        for (int i = 0; i < 12; i++)
+        {
+            table.append("\n|key").append(i).append("|value").append(i).append("|test|");
+        }
+        kafkaSteps.sendEvents("key", "topic", new ExamplesTable(table.toString()));
+        verify(testContext).remove(HEADERS_KEY);
+        for (int i = 1; i <= 10; i++)
+        {
+            verify(softAssert).recordFailedAssertion(eq("Kafka event #" + i + " is not sent"), any(Throwable.class));
+        }
+        verify(softAssert).recordFailedAssertion("2 more Kafka events are not sent");
+        verifyNoMoreInteractions(softAssert);
+        List<LoggingEvent> loggingEvents = logger.getLoggingEvents();
+        assertThat(loggingEvents, hasSize(1));
+        assertEquals("{} of {} Kafka events are sent in {} ms ({} events/s)", loggingEvents.get(0).getMessage());
+        assertEquals(List.of(0, 12), loggingEvents.get(0).getArguments().subList(0, 2));
+    }
+
     @Test
     void testAddEventHeaders()
     {
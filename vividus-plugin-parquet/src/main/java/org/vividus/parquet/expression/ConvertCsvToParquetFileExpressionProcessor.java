@@ -20,12 +20,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Map;
 
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Parser;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.parquet.avro.AvroParquetWriter;
 import org.apache.parquet.hadoop.ParquetFileWriter;
@@ -46,10 +47,21 @@ public class ConvertCsvToParquetFileExpressionProcessor extends BiArgExpressionP
     {
         try
         {
-            List<Map<String, String>> csvData = csvReader.readCsvString(ResourceUtils.loadResource(csvPath));
             File temporaryFile = ResourceUtils.createTempFile(FilenameUtils.getBaseName(csvPath), ".parquet", null)
                     .toFile();
-            write(temporaryFile, schemaPath, csvData);
+            Schema schema = new Parser().parse(ResourceUtils.loadResource(schemaPath));
+            try (ParquetWriter<GenericRecord> writer = AvroParquetWriter
+                    .<GenericRecord>builder(new LocalOutputFile(temporaryFile.toPath()))
+                    .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                    .withDataModel(GenericData.get())
+                    .withSchema(schema)
+                    .build())
+            {
+                csvReader.processCsvFile(ResourceUtils.findResource(csvPath), (headerNames, records) -> {
+                    write(writer, schema, headerNames, records);
+                    return null;
+                });
+            }
             return temporaryFile.getPath();
         }
         catch (IOException e)
@@ -58,22 +70,25 @@ public class ConvertCsvToParquetFileExpressionProcessor extends BiArgExpressionP
         }
     }
 
-    private static void write(File file, String avroSchemaPath, List<Map<String, String>> data) throws IOException
+    private static void write(ParquetWriter<GenericRecord> writer, Schema schema, List<String> headerNames,
+            Iterable<CSVRecord> records) throws IOException
     {
-        Schema schema = new Parser().parse(ResourceUtils.loadResource(avroSchemaPath));
-        try (ParquetWriter<GenericRecord> writer = AvroParquetWriter
-                .<GenericRecord>builder(new LocalOutputFile(file.toPath()))
-                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
-                .withDataModel(GenericData.get())
-                .withSchema(schema)
-                .build())
+        int[] fieldPositions = headerNames.stream().mapToInt(name -> {
+            Schema.Field field = schema.getField(name);
+            if (field == null)
+            {
+                throw new AvroRuntimeException("Not a valid schema field: " + name);
+            }
+            return field.pos();
+        }).toArray();
+        GenericRecord record = new GenericData.Record(schema);
+        for (CSVRecord csvRecord : records)
         {
-            for (Map<String, String> map : data)
+            for (int i = 0; i < fieldPositions.length; i++)
             {
-                GenericRecord record = new GenericData.Record(schema);
-                map.forEach(record::put);
-                writer.write(record);
+                record.put(fieldPositions[i], i < csvRecord.size() ? csvRecord.get(i) : null);
             }
+            writer.write(record);
         }
     }
 }
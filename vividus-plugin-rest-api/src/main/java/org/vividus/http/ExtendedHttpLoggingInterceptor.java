@@ -124,7 +124,7 @@ public class ExtendedHttpLoggingInterceptor implements HttpRequestInterceptor, H
                     .addArgument(() -> Stream.of(headers).map(Object::toString).collect(Collectors.joining(NEW_LINE)));
             loggerFormat.append(HEADERS_FORMAT);
 
-            if (httpResponse.getResponseBody() != null)
+            if (httpResponse.hasResponseBody())
             {
                 String mimeType = MimeTypeUtils.getMimeTypeFromHeadersWithDefault(headers);
                 if (mimeType.startsWith("text/") || LOGGED_CONTENT_TYPES.contains(mimeType))
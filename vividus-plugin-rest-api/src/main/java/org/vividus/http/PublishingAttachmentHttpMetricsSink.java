@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http;
+
+import java.util.Map;
+
+import org.vividus.http.metrics.HttpMetricsReport;
+import org.vividus.http.metrics.HttpMetricsSink;
+import org.vividus.reporter.event.IAttachmentPublisher;
+
+public class PublishingAttachmentHttpMetricsSink implements HttpMetricsSink
+{
+    private final IAttachmentPublisher attachmentPublisher;
+
+    public PublishingAttachmentHttpMetricsSink(IAttachmentPublisher attachmentPublisher)
+    {
+        this.attachmentPublisher = attachmentPublisher;
+    }
+
+    @Override
+    public void publish(HttpMetricsReport report)
+    {
+        attachmentPublisher.publishAttachment("/org/vividus/http/steps/attachment/http-metrics.ftl",
+                Map.of("routes", report.routes(), "connectionPools", report.connectionPools()), "HTTP metrics");
+    }
+}
@@ -19,6 +19,7 @@ package org.vividus.http.steps;
 import java.util.List;
 import java.util.Map;
 
+import org.jbehave.core.annotations.AfterStories;
 import org.jbehave.core.annotations.Then;
 import org.jbehave.core.model.ExamplesTable;
 import org.vividus.http.validation.ResourceValidation;
@@ -68,4 +69,10 @@ public class HttpResourceValidationSteps
                     Map.of("results", validations), "HTTP resources validation results");
         });
     }
+
+    @AfterStories
+    public void logResourceValidationCacheStats()
+    {
+        resourceValidator.logCacheStats();
+    }
 }
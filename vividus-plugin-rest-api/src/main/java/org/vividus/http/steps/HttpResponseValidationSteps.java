@@ -18,7 +18,9 @@ package org.vividus.http.steps;
 
 import static org.hamcrest.Matchers.contains;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -74,7 +76,7 @@ public class HttpResponseValidationSteps
     public void doesResponseContainNoBody()
     {
         performIfHttpResponseIsPresent(
-            response -> softAssert.assertNull("The response does not contain body", response.getResponseBody()));
+            response -> softAssert.assertFalse("The response does not contain body", response.hasResponseBody()));
     }
 
     /**
@@ -95,10 +97,18 @@ public class HttpResponseValidationSteps
     {
         performIfHttpResponseIsPresent(response ->
         {
-            byte[] responseBody = response.getResponseBody();
-            String actualContentType = TIKA.detect(responseBody);
+            String actualContentType;
+            // Only the leading bytes of the body are needed to detect the content type
+            try (InputStream responseBody = response.getResponseBodyAsStream())
+            {
+                actualContentType = TIKA.detect(responseBody);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
             if (ContentType.TEXT_PLAIN.getMimeType().equals(actualContentType) && jsonUtils.isJson(
-                    new String(responseBody, StandardCharsets.UTF_8)))
+                    response.getResponseBodyAsString()))
             {
                 actualContentType = "application/json";
             }
@@ -135,10 +145,10 @@ public class HttpResponseValidationSteps
      * @param sizeInBytes    The expected size of the response body in bytes
      */
     @Then("size of decompressed response body is $comparisonRule `$sizeInBytes`")
-    public void doesDecompressedResponseBodySizeConfirmRule(ComparisonRule comparisonRule, int sizeInBytes)
+    public void doesDecompressedResponseBodySizeConfirmRule(ComparisonRule comparisonRule, long sizeInBytes)
     {
         performIfHttpResponseIsPresent(response ->
-            softAssert.assertThat("Size of decompressed HTTP response body", response.getResponseBody().length,
+            softAssert.assertThat("Size of decompressed HTTP response body", response.getResponseBodySize(),
                     comparisonRule.getComparisonRule(sizeInBytes)));
     }
 
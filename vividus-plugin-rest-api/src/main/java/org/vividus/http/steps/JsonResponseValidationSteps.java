@@ -16,12 +16,14 @@
 
 package org.vividus.http.steps;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.Optional;
 
 import com.jayway.jsonpath.InvalidJsonException;
 
-import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.annotations.When;
 import org.vividus.http.HttpTestContext;
 import org.vividus.http.client.HttpResponse;
@@ -110,16 +112,24 @@ public class JsonResponseValidationSteps
         {
             return true;
         }
-        String responseBody = response.getResponseBodyAsString();
-        try
+        long responseBodySize = response.getResponseBodySize();
+        // Empty response may be in case of HTTP "204 NO CONTENT"
+        if (responseBodySize == 0)
         {
-            // Empty response may be in case of HTTP "204 NO CONTENT"
-            return StringUtils.isNotEmpty(responseBody) && jsonSteps.getElementsNumber(responseBody, jsonPath) > 0;
+            return false;
+        }
+        try (InputStream responseBody = response.getResponseBodyAsStream())
+        {
+            return jsonSteps.getElementsNumber(responseBody, responseBodySize, jsonPath) > 0;
         }
         catch (InvalidJsonException ignored)
         {
             return false;
         }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private void assertJsonElementExists(String jsonPath)
@@ -127,10 +137,17 @@ public class JsonResponseValidationSteps
         HttpResponse response = httpTestContext.getResponse();
         if (response != null)
         {
-            if (response.getResponseBody() != null)
+            if (response.hasResponseBody())
             {
-                jsonSteps.assertNumberOfJsonElements(response.getResponseBodyAsString(), jsonPath,
-                        ComparisonRule.GREATER_THAN, 0);
+                try (InputStream responseBody = response.getResponseBodyAsStream())
+                {
+                    jsonSteps.assertNumberOfJsonElements(responseBody, response.getResponseBodySize(), jsonPath,
+                            ComparisonRule.GREATER_THAN, 0);
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
             }
             else
             {
@@ -21,19 +21,28 @@ import static org.hamcrest.Matchers.oneOf;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.Map;
-import java.util.Optional;
+import java.time.Duration;
 import java.util.OptionalInt;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 
 import org.apache.hc.core5.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.http.client.IHttpClient;
 import org.vividus.softassert.ISoftAssert;
 
 public class ResourceValidator<T extends AbstractResourceValidation<T>>
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceValidator.class);
+
     private static final Set<Integer> NOT_ALLOWED_HEAD_STATUS_CODES = Set.of(
             // twitter.com for HEAD requests returns response with 403 status code
             HttpStatus.SC_FORBIDDEN,
@@ -49,8 +58,10 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
 
     private final Set<Integer> allowedStatusCodes = Set.of(HttpStatus.SC_OK);
 
-    private final Map<URI, T> cache = new ConcurrentHashMap<>();
+    private Cache<URI, CompletableFuture<T>> cache;
     private boolean publishResponseBody;
+    private long cacheSize = Long.MAX_VALUE;
+    private Duration cacheTtl = Duration.ZERO;
 
     public ResourceValidator(IHttpClient httpClient, ISoftAssert softAssert)
     {
@@ -58,18 +69,97 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
         this.softAssert = softAssert;
     }
 
+    public void init()
+    {
+        cache = buildCache();
+    }
+
+    private Cache<URI, CompletableFuture<T>> buildCache()
+    {
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats();
+        if (!cacheTtl.isZero())
+        {
+            cacheBuilder.expireAfterWrite(cacheTtl);
+        }
+        return cacheBuilder.build();
+    }
+
+    /**
+     * Validates the resource once per URI: the first caller performs the HTTP calls, while the concurrent and the
+     * subsequent callers for the same URI wait for the same result and get its copy with
+     * {@link CheckStatus#SKIPPED} status. The network round trip is performed outside of any cache lock, so the
+     * validations of the different URIs are not blocked by each other.
+     *
+     * @param resourceValidation the resource validation to perform
+     * @return the performed validation or the copy of the cached one
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
     public T perform(T resourceValidation)
     {
-        return cache.compute(resourceValidation.getUriOrError().getLeft(), (uri, rv) -> Optional.ofNullable(rv)
-                .map(r -> {
-                    T cachedResult = r.copy();
-                    cachedResult.setCheckStatus(CheckStatus.SKIPPED);
-                    return cachedResult;
-                }).orElseGet(() -> {
-                    validateResource(uri, resourceValidation);
-                    return resourceValidation;
-                })
-        );
+        URI uri = resourceValidation.getUriOrError().getLeft();
+        CompletableFuture<T> newFuture = new CompletableFuture<>();
+        CompletableFuture<T> future = getOrPut(uri, newFuture);
+        if (future == newFuture)
+        {
+            try
+            {
+                validateResource(uri, resourceValidation);
+                newFuture.complete(resourceValidation);
+                return resourceValidation;
+            }
+            catch (RuntimeException e)
+            {
+                completeExceptionally(uri, newFuture, e);
+                throw e;
+            }
+            finally
+            {
+                // Errors are not caught above, but the waiters for the same URI must not hang anyway
+                if (!newFuture.isDone())
+                {
+                    completeExceptionally(uri, newFuture,
+                            new IllegalStateException("The validation of " + uri + " is interrupted"));
+                }
+            }
+        }
+        T cachedResult = awaitResult(future).copy();
+        cachedResult.setCheckStatus(CheckStatus.SKIPPED);
+        return cachedResult;
+    }
+
+    private void completeExceptionally(URI uri, CompletableFuture<T> future, RuntimeException exception)
+    {
+        cache.asMap().remove(uri, future);
+        future.completeExceptionally(exception);
+    }
+
+    private CompletableFuture<T> getOrPut(URI uri, CompletableFuture<T> newFuture)
+    {
+        try
+        {
+            return cache.get(uri, () -> newFuture);
+        }
+        catch (ExecutionException e)
+        {
+            // The loader just returns the prepared future and never throws
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private T awaitResult(CompletableFuture<T> future)
+    {
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+            {
+                throw runtimeException;
+            }
+            throw e;
+        }
     }
 
     private void validateResource(URI uri, T resourceValidation)
@@ -106,4 +196,33 @@ public class ResourceValidator<T extends AbstractResourceValidation<T>>
     {
         this.publishResponseBody = publishResponseBody;
     }
+
+    public void setCacheSize(long cacheSize)
+    {
+        this.cacheSize = cacheSize;
+    }
+
+    public void setCacheTtl(Duration cacheTtl)
+    {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public CacheStats getCacheStats()
+    {
+        return cache.stats();
+    }
+
+    public void logCacheStats()
+    {
+        CacheStats stats = getCacheStats();
+        if (stats.requestCount() > 0)
+        {
+            LOGGER.atInfo()
+                    .addArgument(stats.missCount())
+                    .addArgument(stats.hitCount())
+                    .addArgument(stats.evictionCount())
+                    .log("Resource validation cache: {} resources validated, {} validation results reused,"
+                            + " {} results evicted");
+        }
+    }
 }
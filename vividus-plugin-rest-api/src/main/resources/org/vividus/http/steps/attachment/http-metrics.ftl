@@ -0,0 +1,103 @@
+<#ftl strip_whitespace=true>
+
+<!DOCTYPE html>
+<html lang="en">
+<head>
+    <meta charset="utf-8">
+    <title>HTTP metrics</title>
+    <link rel="stylesheet" href="../../webjars/vividus/style.css"/>
+    <link rel="stylesheet" href="../../webjars/bootstrap/5.3.1/css/bootstrap.min.css"/>
+    <style>
+        .starving {
+            --bs-table-bg: #F2DEDE;
+        }
+        table {
+            border-collapse: collapse;
+            width: 100%;
+        }
+        table th {
+            text-align: center;
+            font-family: Arial, Helvetica, sans-serif;
+        }
+    </style>
+</head>
+<body>
+    <h5 align="center"><u>Routes</u></h5>
+    <table class="table table-hover table-bordered">
+        <thead>
+            <tr>
+                <th rowspan="2">Route</th>
+                <th rowspan="2">Requests</th>
+                <th rowspan="2">Retries</th>
+                <th rowspan="2">Bytes sent</th>
+                <th rowspan="2">Bytes received</th>
+                <th colspan="4">Response time, ms</th>
+                <th colspan="4">Connection lease time, ms</th>
+            </tr>
+            <tr>
+                <th>p50</th>
+                <th>p95</th>
+                <th>p99</th>
+                <th>max</th>
+                <th>p50</th>
+                <th>p95</th>
+                <th>p99</th>
+                <th>max</th>
+            </tr>
+        </thead>
+        <tbody>
+            <#list routes as route>
+                <#assign responseTime = route.responseTime()>
+                <#assign connectionLeaseTime = route.connectionLeaseTime()>
+                <tr>
+                    <td>${route.name()}</td>
+                    <td>${route.requests()?c}</td>
+                    <td>${route.retries()?c}</td>
+                    <td>${route.bytesSent()?c}</td>
+                    <td>${route.bytesReceived()?c}</td>
+                    <td>${responseTime.p50()?c}</td>
+                    <td>${responseTime.p95()?c}</td>
+                    <td>${responseTime.p99()?c}</td>
+                    <td>${responseTime.max()?c}</td>
+                    <td>${connectionLeaseTime.p50()?c}</td>
+                    <td>${connectionLeaseTime.p95()?c}</td>
+                    <td>${connectionLeaseTime.p99()?c}</td>
+                    <td>${connectionLeaseTime.max()?c}</td>
+                </tr>
+            </#list>
+        </tbody>
+    </table>
+
+    <#if connectionPools?has_content>
+    <h5 align="center"><u>Connection pools</u></h5>
+    <table class="table table-hover table-bordered">
+        <thead>
+            <tr>
+                <th>Connection pool</th>
+                <th>Max total</th>
+                <th>Max per route</th>
+                <th>Leased</th>
+                <th>Available</th>
+                <th>Pending</th>
+                <th>Peak leased</th>
+                <th>Peak pending</th>
+            </tr>
+        </thead>
+        <tbody>
+            <#list connectionPools as connectionPool>
+                <tr<#if (connectionPool.peakPending() > 0)> class="starving"</#if>>
+                    <td>${connectionPool.name()}</td>
+                    <td>${connectionPool.maxTotal()?c}</td>
+                    <td>${connectionPool.maxPerRoute()?c}</td>
+                    <td>${connectionPool.leased()?c}</td>
+                    <td>${connectionPool.available()?c}</td>
+                    <td>${connectionPool.pending()?c}</td>
+                    <td>${connectionPool.peakLeased()?c}</td>
+                    <td>${connectionPool.peakPending()?c}</td>
+                </tr>
+            </#list>
+        </tbody>
+    </table>
+    </#if>
+</body>
+</html>
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http;
+
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.http.metrics.HttpMetricsReport;
+import org.vividus.http.metrics.HttpMetricsReport.ConnectionPool;
+import org.vividus.http.metrics.HttpMetricsReport.Latency;
+import org.vividus.http.metrics.HttpMetricsReport.Route;
+import org.vividus.reporter.event.IAttachmentPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class PublishingAttachmentHttpMetricsSinkTests
+{
+    @Mock private IAttachmentPublisher attachmentPublisher;
+    @InjectMocks private PublishingAttachmentHttpMetricsSink sink;
+
+    @Test
+    void shouldPublishReportAsAttachment()
+    {
+        var latency = new Latency(1, 10, 10, 10, 10);
+        var routes = List.of(new Route("https://www.vividus.org:443", 1, 0, 0, 100, latency, latency));
+        var connectionPools = List.of(new ConnectionPool("Connection pool #1", 80, 60, 0, 1, 0, 1, 0));
+        sink.publish(new HttpMetricsReport(routes, connectionPools));
+        verify(attachmentPublisher).publishAttachment("/org/vividus/http/steps/attachment/http-metrics.ftl",
+                Map.of("routes", routes, "connectionPools", connectionPools), "HTTP metrics");
+    }
+}
@@ -74,6 +74,13 @@ class HttpResourceValidationStepsTests
                 Map.of("results", List.of(failed1, failed2, passed)), "HTTP resources validation results");
     }
 
+    @Test
+    void shouldLogResourceValidationCacheStats()
+    {
+        steps.logResourceValidationCacheStats();
+        verify(resourceValidator).logCacheStats();
+    }
+
     private static ResourceValidation createResourceValidation(String url, CheckStatus status)
     {
         ResourceValidation validation = new ResourceValidation(URI.create(url));
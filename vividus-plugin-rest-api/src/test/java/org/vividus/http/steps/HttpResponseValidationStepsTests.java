@@ -157,7 +157,7 @@ class HttpResponseValidationStepsTests
     @Test
     void testDecompressedResponseBodySizeNoHttpResponse()
     {
-        httpResponseValidationSteps.doesDecompressedResponseBodySizeConfirmRule(ComparisonRule.LESS_THAN, 10);
+        httpResponseValidationSteps.doesDecompressedResponseBodySizeConfirmRule(ComparisonRule.LESS_THAN, 10L);
         verifyNoHttpResponse();
     }
 
@@ -168,10 +168,10 @@ class HttpResponseValidationStepsTests
         String body = RESPONSE_BODY;
         when(softAssert.assertNotNull(HTTP_RESPONSE_IS_NOT_NULL, httpResponse)).thenReturn(true);
         httpResponse.setResponseBody(body.getBytes(StandardCharsets.UTF_8));
-        httpResponseValidationSteps.doesDecompressedResponseBodySizeConfirmRule(ComparisonRule.EQUAL_TO, 10);
+        httpResponseValidationSteps.doesDecompressedResponseBodySizeConfirmRule(ComparisonRule.EQUAL_TO, 10L);
         verify(softAssert).assertThat(eq("Size of decompressed HTTP response body"),
-                eq(body.getBytes(StandardCharsets.UTF_8).length),
-                argThat(m -> "a value equal to <10>".equals(m.toString())));
+                eq((long) body.getBytes(StandardCharsets.UTF_8).length),
+                argThat(m -> "a value equal to <10L>".equals(m.toString())));
     }
 
     @Test
@@ -303,7 +303,7 @@ class HttpResponseValidationStepsTests
         mockHttpResponse();
         httpResponse.setResponseBody(null);
         httpResponseValidationSteps.doesResponseContainNoBody();
-        verify(softAssert).assertNull(RESPONSE_WITH_NO_BODY, null);
+        verify(softAssert).assertFalse(RESPONSE_WITH_NO_BODY, false);
     }
 
     @Test
@@ -41,6 +41,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.context.VariableContext;
 import org.vividus.http.HttpTestContext;
 import org.vividus.http.client.HttpResponse;
+import org.vividus.json.JsonDocumentCache;
 import org.vividus.json.steps.JsonSteps;
 import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
@@ -64,6 +65,7 @@ class JsonResponseValidationStepsTests
     @Mock private HttpTestContext httpTestContext;
     @Mock private IAttachmentPublisher attachmentPublisher;
 
+    private JsonSteps jsonSteps;
     private JsonResponseValidationSteps steps;
 
     @BeforeEach
@@ -71,8 +73,8 @@ class JsonResponseValidationStepsTests
     {
         JsonPathUtils.setJacksonConfiguration();
         JsonUtils jsonUtils = new JsonUtils();
-        var jsonSteps = new JsonSteps(new FluentEnumConverter(), httpTestContext, variableContext, jsonUtils,
-                softAssert, attachmentPublisher, Map.of());
+        jsonSteps = new JsonSteps(new FluentEnumConverter(), httpTestContext, variableContext, jsonUtils,
+                softAssert, attachmentPublisher, Map.of(), new JsonDocumentCache(false, 0));
         steps = new JsonResponseValidationSteps(httpTestContext, jsonSteps, softAssert);
     }
 
@@ -107,6 +109,22 @@ class JsonResponseValidationStepsTests
         verifyAssertion();
     }
 
+    @Test
+    void shouldWaitForJsonElementUsingStreamingEvaluation()
+    {
+        jsonSteps.setStreamingEvaluationThreshold(0);
+        var stepsToExecute = mock(SubSteps.class);
+        when(httpTestContext.getResponse())
+                .thenReturn(createHttpResponse(HTML))
+                .thenReturn(createHttpResponse(SIMPLE_JSON))
+                .thenReturn(new HttpResponse())
+                .thenReturn(createHttpResponse(COMPLEX_JSON));
+        var retryTimes = 4;
+        steps.waitForJsonElementWithPollingInterval(JSON_PATH, Duration.ofMillis(100), retryTimes, stepsToExecute);
+        verify(stepsToExecute, times(retryTimes)).execute(Optional.empty());
+        verifyAssertion();
+    }
+
     private HttpResponse createHttpResponse(String body)
     {
         var response = new HttpResponse();
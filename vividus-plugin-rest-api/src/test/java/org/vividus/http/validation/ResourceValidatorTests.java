@@ -16,21 +16,39 @@
 
 package org.vividus.http.validation;
 
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.hamcrest.Matcher;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -43,7 +61,7 @@ import org.vividus.http.client.HttpResponse;
 import org.vividus.http.client.IHttpClient;
 import org.vividus.softassert.ISoftAssert;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
 class ResourceValidatorTests
 {
     private static final String PASSED_CHECK_MESSAGE =
@@ -58,6 +76,14 @@ class ResourceValidatorTests
     @Mock private HttpResponse httpResponse;
     @InjectMocks private ResourceValidator<ResourceValidation> resourceValidator;
 
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(ResourceValidator.class);
+
+    @BeforeEach
+    void beforeEach()
+    {
+        resourceValidator.init();
+    }
+
     @Test
     void shouldValidateResource() throws IOException
     {
@@ -177,4 +203,113 @@ class ResourceValidatorTests
         assertEquals(CheckStatus.BROKEN, result.getCheckStatus());
         verify(softAssert).recordFailedAssertion("Exception occured during check of: https://vividus.org", ioException);
     }
+
+    @Test
+    void shouldPerformSingleRequestForConcurrentValidationsOfTheSameUrl() throws Exception
+    {
+        var requestStarted = new CountDownLatch(1);
+        var releaseRequest = new CountDownLatch(1);
+        when(httpClient.doHttpHead(FIRST)).thenAnswer(invocation -> {
+            requestStarted.countDown();
+            releaseRequest.await();
+            return httpResponse;
+        });
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        when(softAssert.assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER))).thenReturn(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            var first = CompletableFuture.supplyAsync(() -> resourceValidator.perform(new ResourceValidation(FIRST)),
+                    executor);
+            requestStarted.await();
+            var second = CompletableFuture.supplyAsync(() -> resourceValidator.perform(new ResourceValidation(FIRST)),
+                    executor);
+            releaseRequest.countDown();
+            assertEquals(CheckStatus.PASSED, first.get(1, TimeUnit.MINUTES).getCheckStatus());
+            assertEquals(CheckStatus.SKIPPED, second.get(1, TimeUnit.MINUTES).getCheckStatus());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        verify(httpClient, times(1)).doHttpHead(FIRST);
+        var cacheStats = resourceValidator.getCacheStats();
+        assertEquals(1, cacheStats.hitCount());
+        assertEquals(1, cacheStats.missCount());
+    }
+
+    @Test
+    void shouldValidateResourceAgainAfterCacheTtlExpiration() throws IOException, InterruptedException
+    {
+        resourceValidator.setCacheTtl(Duration.ofMillis(1));
+        resourceValidator.init();
+        when(httpClient.doHttpHead(FIRST)).thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        when(softAssert.assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER))).thenReturn(true);
+        assertEquals(CheckStatus.PASSED, resourceValidator.perform(new ResourceValidation(FIRST)).getCheckStatus());
+        TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(CheckStatus.PASSED, resourceValidator.perform(new ResourceValidation(FIRST)).getCheckStatus());
+        verify(httpClient, times(2)).doHttpHead(FIRST);
+    }
+
+    @Test
+    void shouldEvictValidationResultsExceedingCacheSize() throws IOException
+    {
+        resourceValidator.setCacheSize(0);
+        resourceValidator.init();
+        when(httpClient.doHttpHead(FIRST)).thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        when(softAssert.assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER))).thenReturn(true);
+        assertEquals(CheckStatus.PASSED, resourceValidator.perform(new ResourceValidation(FIRST)).getCheckStatus());
+        assertEquals(CheckStatus.PASSED, resourceValidator.perform(new ResourceValidation(FIRST)).getCheckStatus());
+        verify(httpClient, times(2)).doHttpHead(FIRST);
+    }
+
+    @Test
+    void shouldNotCacheValidationFailedWithUnexpectedException() throws IOException
+    {
+        var exception = new IllegalStateException();
+        when(httpClient.doHttpHead(FIRST)).thenThrow(exception).thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        when(softAssert.assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER))).thenReturn(true);
+        var resourceValidation = new ResourceValidation(FIRST);
+        var actual = assertThrows(IllegalStateException.class, () -> resourceValidator.perform(resourceValidation));
+        assertSame(exception, actual);
+        assertEquals(CheckStatus.PASSED, resourceValidator.perform(new ResourceValidation(FIRST)).getCheckStatus());
+        verify(httpClient, times(2)).doHttpHead(FIRST);
+    }
+
+    @Test
+    void shouldNotCacheValidationFailedWithError() throws IOException
+    {
+        var error = new OutOfMemoryError();
+        when(httpClient.doHttpHead(FIRST)).thenThrow(error).thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        when(softAssert.assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER))).thenReturn(true);
+        var resourceValidation = new ResourceValidation(FIRST);
+        var actual = assertThrows(OutOfMemoryError.class, () -> resourceValidator.perform(resourceValidation));
+        assertSame(error, actual);
+        assertEquals(CheckStatus.PASSED, resourceValidator.perform(new ResourceValidation(FIRST)).getCheckStatus());
+        verify(httpClient, times(2)).doHttpHead(FIRST);
+    }
+
+    @Test
+    void shouldLogCacheStats() throws IOException
+    {
+        when(httpClient.doHttpHead(FIRST)).thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        when(softAssert.assertThat(eq(PASSED_CHECK_MESSAGE), eq(OK), argThat(MATCHER))).thenReturn(true);
+        resourceValidator.perform(new ResourceValidation(FIRST));
+        resourceValidator.perform(new ResourceValidation(FIRST));
+        resourceValidator.logCacheStats();
+        assertThat(logger.getLoggingEvents(), is(List.of(info("Resource validation cache: {} resources validated, {}"
+                + " validation results reused, {} results evicted", 1L, 1L, 0L))));
+    }
+
+    @Test
+    void shouldNotLogCacheStatsIfNoValidationsArePerformed()
+    {
+        resourceValidator.logCacheStats();
+        assertThat(logger.getLoggingEvents(), is(empty()));
+    }
 }
@@ -34,6 +34,7 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hc.core5.net.URIBuilder;
+import org.jbehave.core.annotations.AfterStories;
 import org.jbehave.core.annotations.Then;
 import org.jbehave.core.model.ExamplesTable;
 import org.jsoup.nodes.Document;
@@ -378,4 +379,10 @@ public class ResourceCheckSteps
     {
         this.uriToIgnoreRegex = uriToIgnoreRegex;
     }
+
+    @AfterStories
+    public void logResourceValidationCacheStats()
+    {
+        resourceValidator.logCacheStats();
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium;
+
+import static org.openqa.selenium.chromium.ChromiumDriver.IS_CHROMIUM_BROWSER;
+
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.vividus.selenium.session.AllCookiesCleaner;
+
+public class CdpAllCookiesCleaner implements AllCookiesCleaner
+{
+    @Override
+    public boolean deleteAllCookies(WebDriver webDriver)
+    {
+        RemoteWebDriver remoteWebDriver = WebDriverUtils.unwrap(webDriver, RemoteWebDriver.class);
+        if (!IS_CHROMIUM_BROWSER.test(remoteWebDriver.getCapabilities().getBrowserName()))
+        {
+            return false;
+        }
+        WebDriver cdpWebDriver = remoteWebDriver instanceof HasCdp ? remoteWebDriver
+                : new Augmenter().augment(remoteWebDriver);
+        if (cdpWebDriver instanceof HasCdp hasCdp)
+        {
+            hasCdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            return true;
+        }
+        return false;
+    }
+}
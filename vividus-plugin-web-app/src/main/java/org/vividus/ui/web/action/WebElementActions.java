@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,26 @@
 
 package org.vividus.ui.web.action;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.vividus.util.ResourceUtils;
 
 public class WebElementActions implements IWebElementActions
 {
     private static final char APOSTROPHE = '\'';
     private static final char QUOTE = '"';
 
+    // The same atom is used by Selenium to implement WebElement#isDisplayed for W3C-compliant drivers
+    private static final String ARE_ELEMENTS_VISIBLE_SCRIPT = "var isDisplayed = ("
+            + ResourceUtils.loadResource(RemoteWebDriver.class, "isDisplayed.js") + ");\n"
+            + ResourceUtils.loadResource(WebElementActions.class, "are-elements-visible.js");
+
     private final WebJavascriptActions javascriptActions;
 
     public WebElementActions(WebJavascriptActions javascriptActions)
@@ -93,6 +103,31 @@ public class WebElementActions implements IWebElementActions
         return isElementVisible(element, false);
     }
 
+    @Override
+    public List<Boolean> areElementsVisible(List<WebElement> elements)
+    {
+        List<Boolean> displayed;
+        try
+        {
+            displayed = javascriptActions.executeScript(ARE_ELEMENTS_VISIBLE_SCRIPT, elements);
+        }
+        catch (JavascriptException | UnsupportedCommandException e)
+        {
+            return IWebElementActions.super.areElementsVisible(elements);
+        }
+        List<Boolean> visibilities = new ArrayList<>(displayed);
+        for (int i = 0; i < visibilities.size(); i++)
+        {
+            if (!visibilities.get(i))
+            {
+                WebElement element = elements.get(i);
+                javascriptActions.scrollIntoView(element, true);
+                visibilities.set(i, isElementVisible(element, true));
+            }
+        }
+        return visibilities;
+    }
+
     private boolean isElementVisible(WebElement element, boolean scrolled)
     {
         if (!element.isDisplayed())
@@ -0,0 +1,6 @@
+var elements = arguments[0];
+var visibilities = [];
+for (var i = 0; i < elements.length; i++) {
+    visibilities.push(isDisplayed(elements[i]));
+}
+return visibilities;
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+class CdpAllCookiesCleanerTests
+{
+    private final CdpAllCookiesCleaner cleaner = new CdpAllCookiesCleaner();
+
+    @Test
+    void shouldDeleteCookiesOfAllDomainsInChromiumBrowser()
+    {
+        var webDriver = mock(RemoteWebDriver.class, withSettings().extraInterfaces(HasCdp.class));
+        mockBrowserName(webDriver, "chrome");
+        assertTrue(cleaner.deleteAllCookies(webDriver));
+        verify((HasCdp) webDriver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+    }
+
+    @Test
+    void shouldNotDeleteCookiesInNotChromiumBrowser()
+    {
+        var webDriver = mock(RemoteWebDriver.class);
+        mockBrowserName(webDriver, "firefox");
+        assertFalse(cleaner.deleteAllCookies(webDriver));
+    }
+
+    private static void mockBrowserName(RemoteWebDriver webDriver, String browserName)
+    {
+        Capabilities capabilities = mock();
+        when(capabilities.getBrowserName()).thenReturn(browserName);
+        when(webDriver.getCapabilities()).thenReturn(capabilities);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,18 @@ package org.vividus.ui.web.action;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -32,6 +38,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.WebElement;
 
 @ExtendWith(MockitoExtension.class)
@@ -174,4 +181,44 @@ class WebElementActionsTests
         verify(javascriptActions).scrollIntoView(webElement, true);
         verifyNoMoreInteractions(javascriptActions);
     }
+
+    @Test
+    void shouldCheckVisibilityOfElementsAtOnce()
+    {
+        var elements = List.of(webElement, webElement);
+        var visibilities = List.of(true, true);
+        when(javascriptActions.executeScript(argThat(script -> script.contains("isDisplayed(elements[i])")),
+                eq(elements))).thenReturn(visibilities);
+
+        assertEquals(visibilities, webElementActions.areElementsVisible(elements));
+
+        verifyNoInteractions(webElement);
+        verifyNoMoreInteractions(javascriptActions);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void shouldCheckVisibilityOfHiddenElementsWithScrolling(boolean visibilityAfterScroll)
+    {
+        var hiddenElement = mock(WebElement.class);
+        var elements = List.of(webElement, hiddenElement);
+        when(javascriptActions.executeScript(anyString(), eq(elements))).thenReturn(List.of(true, false));
+        when(hiddenElement.isDisplayed()).thenReturn(visibilityAfterScroll);
+
+        assertEquals(List.of(true, visibilityAfterScroll), webElementActions.areElementsVisible(elements));
+
+        verify(javascriptActions).scrollIntoView(hiddenElement, true);
+        verifyNoMoreInteractions(javascriptActions);
+        verifyNoInteractions(webElement);
+    }
+
+    @Test
+    void shouldCheckVisibilityOfElementsOneByOneIfScriptExecutionFails()
+    {
+        var elements = List.of(webElement);
+        when(javascriptActions.executeScript(anyString(), eq(elements))).thenThrow(new JavascriptException("error"));
+        when(webElement.isDisplayed()).thenReturn(true);
+
+        assertEquals(List.of(true), webElementActions.areElementsVisible(elements));
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -111,7 +111,7 @@ class LinkUrlSearchTests
         var webElements = List.of(webElement);
         String xpath = ".//a[normalize-space(@href)=\"" + URL + "\"]";
         when(searchContext.findElements(By.xpath(xpath))).thenReturn(webElements);
-        when(elementActions.isElementVisible(webElement)).thenReturn(true);
+        when(elementActions.areElementsVisible(webElements)).thenReturn(List.of(true));
         var foundElements = linkUrlSearch.search(searchContext, parameters);
         assertEquals(webElements, foundElements);
         assertThat(logger.getLoggingEvents(), equalTo(List.of(
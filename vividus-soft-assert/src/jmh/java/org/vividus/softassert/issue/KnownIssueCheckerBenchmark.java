@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.softassert.issue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.softassert.model.KnownIssue;
+
+/**
+ * Compares the known issue lookup of {@link KnownIssueChecker} against the linear scan of all assertion patterns over
+ * the large known issue catalogs. Run with <code>./gradlew :vividus-soft-assert:jmh</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KnownIssueCheckerBenchmark
+{
+    @Param({ "1000", "10000" })
+    private int catalogSize;
+
+    @Param({ "Element with locator 'By.id: element-%d' is not found on the page", "Unknown failure" })
+    private String failedAssertionTemplate;
+
+    private Map<String, KnownIssueIdentifier> identifiers;
+    private KnownIssueChecker knownIssueChecker;
+    private String failedAssertion;
+
+    @Setup
+    public void setUp()
+    {
+        identifiers = new LinkedHashMap<>();
+        for (int i = 0; i < catalogSize; i++)
+        {
+            String assertionPattern = switch (i % 4)
+            {
+                case 0 -> "Element with locator 'By.id: element-" + i + "' is not found.*";
+                case 1 -> ".*Expected status code: " + i + ", but was: \\d+";
+                case 2 -> "Request to https://service-" + i + "\\.example\\.com/.* failed with .*";
+                default -> "\\QUnexpected value 'value-" + i + "'\\E";
+            };
+            KnownIssueIdentifier identifier = new KnownIssueIdentifier();
+            identifier.setType(KnownIssueType.AUTOMATION);
+            identifier.setAssertionPattern(assertionPattern);
+            identifiers.put("ISSUE-" + i, identifier);
+        }
+        knownIssueChecker = new KnownIssueChecker(() -> identifiers, key -> Optional.empty());
+        failedAssertion = String.format(failedAssertionTemplate, catalogSize - 4);
+    }
+
+    @Benchmark
+    public KnownIssue indexedLookup()
+    {
+        return knownIssueChecker.getKnownIssue(failedAssertion);
+    }
+
+    @Benchmark
+    public String linearScan()
+    {
+        for (Entry<String, KnownIssueIdentifier> entry : identifiers.entrySet())
+        {
+            if (entry.getValue().getAssertionCompiledPattern().matcher(failedAssertion).matches())
+            {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.softassert.issue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton finding all occurrences of the set of the literals in the text with a single pass.
+ */
+final class AhoCorasickMatcher
+{
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> literalIds = new ArrayList<>();
+    private int[] failureLinks;
+    private int[] outputLinks;
+
+    /**
+     * Builds the automaton.
+     *
+     * @param literals The literals to find, the index of the literal in the list is its identifier
+     */
+    AhoCorasickMatcher(List<String> literals)
+    {
+        addNode();
+        for (int literalId = 0; literalId < literals.size(); literalId++)
+        {
+            int node = ROOT;
+            for (char c : literals.get(literalId).toCharArray())
+            {
+                Integer next = transitions.get(node).get(c);
+                if (next == null)
+                {
+                    next = addNode();
+                    transitions.get(node).put(c, next);
+                }
+                node = next;
+            }
+            literalIds.set(node, literalId);
+        }
+        buildLinks();
+    }
+
+    private int addNode()
+    {
+        transitions.add(new HashMap<>());
+        literalIds.add(NONE);
+        return transitions.size() - 1;
+    }
+
+    private void buildLinks()
+    {
+        int nodeCount = transitions.size();
+        failureLinks = new int[nodeCount];
+        outputLinks = new int[nodeCount];
+        outputLinks[ROOT] = NONE;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(ROOT).values())
+        {
+            failureLinks[child] = ROOT;
+            outputLinks[child] = NONE;
+            queue.add(child);
+        }
+        while (!queue.isEmpty())
+        {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> transition : transitions.get(node).entrySet())
+            {
+                char c = transition.getKey();
+                int child = transition.getValue();
+                int failure = failureLinks[node];
+                while (failure != ROOT && !transitions.get(failure).containsKey(c))
+                {
+                    failure = failureLinks[failure];
+                }
+                failureLinks[child] = transitions.get(failure).getOrDefault(c, ROOT);
+                int failureNode = failureLinks[child];
+                outputLinks[child] = literalIds.get(failureNode) != NONE ? failureNode : outputLinks[failureNode];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Finds the literals occurring in the text, the same literal may be reported several times.
+     *
+     * @param text            The text to search in
+     * @param literalConsumer The consumer of the identifiers of the found literals
+     */
+    void findLiterals(String text, IntConsumer literalConsumer)
+    {
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            Integer next = transitions.get(node).get(c);
+            while (next == null && node != ROOT)
+            {
+                node = failureLinks[node];
+                next = transitions.get(node).get(c);
+            }
+            node = next != null ? next : ROOT;
+            for (int output = literalIds.get(node) != NONE ? node : outputLinks[node]; output != NONE;
+                    output = outputLinks[output])
+            {
+                literalConsumer.accept(literalIds.get(output));
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.softassert.issue;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Issue state provider serving states of known issues from a local cache. States of all known issues are prefetched
+ * in background on initialization, the states missing in the cache or expired are requested from the delegate
+ * asynchronously, so the calling thread is never blocked by the issue tracker: until the state is resolved
+ * the last known one (or an empty one) is returned.
+ */
+public class CachingIssueStateProvider implements IIssueStateProvider
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingIssueStateProvider.class);
+
+    private final IIssueStateProvider issueStateProvider;
+    private final IKnownIssueProvider knownIssueProvider;
+    private final Map<String, IssueState> issueStates = new ConcurrentHashMap<>();
+    private final Set<String> pendingIssues = ConcurrentHashMap.newKeySet();
+
+    private LongSupplier nanoClock = System::nanoTime;
+    private ExecutorService executor;
+    private Duration timeToLive;
+    private int threads;
+
+    public CachingIssueStateProvider(IIssueStateProvider issueStateProvider, IKnownIssueProvider knownIssueProvider)
+    {
+        this.issueStateProvider = issueStateProvider;
+        this.knownIssueProvider = knownIssueProvider;
+    }
+
+    public void init()
+    {
+        if (executor == null)
+        {
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("issue-state-provider-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        Collection<String> issues = knownIssueProvider.getKnownIssueIdentifiers().keySet();
+        LOGGER.debug("Prefetching states of {} known issues", issues.size());
+        issues.forEach(this::scheduleResolution);
+    }
+
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Optional<String> getIssueStatus(String issue)
+    {
+        return getIssueState(issue).status();
+    }
+
+    @Override
+    public Optional<String> getIssueResolution(String issue)
+    {
+        return getIssueState(issue).resolution();
+    }
+
+    private IssueState getIssueState(String issue)
+    {
+        IssueState issueState = issueStates.get(issue);
+        if (issueState == null || issueState.isExpired(nanoClock.getAsLong()))
+        {
+            scheduleResolution(issue);
+        }
+        return issueState != null ? issueState : IssueState.UNRESOLVED;
+    }
+
+    private void scheduleResolution(String issue)
+    {
+        if (pendingIssues.add(issue))
+        {
+            try
+            {
+                executor.execute(() -> resolve(issue));
+            }
+            catch (RejectedExecutionException e)
+            {
+                pendingIssues.remove(issue);
+                LOGGER.atDebug().setCause(e).log("Unable to schedule resolution of state of issue {}", issue);
+            }
+        }
+    }
+
+    private void resolve(String issue)
+    {
+        try
+        {
+            Optional<String> status = issueStateProvider.getIssueStatus(issue);
+            Optional<String> resolution = issueStateProvider.getIssueResolution(issue);
+            issueStates.put(issue, new IssueState(status, resolution, nanoClock.getAsLong() + timeToLive.toNanos()));
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Unable to resolve state of issue {}", issue, e);
+        }
+        finally
+        {
+            pendingIssues.remove(issue);
+        }
+    }
+
+    void setNanoClock(LongSupplier nanoClock)
+    {
+        this.nanoClock = nanoClock;
+    }
+
+    void setExecutor(ExecutorService executor)
+    {
+        this.executor = executor;
+    }
+
+    public void setTimeToLive(Duration timeToLive)
+    {
+        this.timeToLive = timeToLive;
+    }
+
+    public void setThreads(int threads)
+    {
+        this.threads = threads;
+    }
+
+    private record IssueState(Optional<String> status, Optional<String> resolution, long expirationTime)
+    {
+        static final IssueState UNRESOLVED = new IssueState(Optional.empty(), Optional.empty(), Long.MIN_VALUE);
+
+        boolean isExpired(long currentTime)
+        {
+            return currentTime - expirationTime >= 0;
+        }
+    }
+}
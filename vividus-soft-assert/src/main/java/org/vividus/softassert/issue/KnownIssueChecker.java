@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,9 @@
 
 package org.vividus.softassert.issue;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.vividus.softassert.model.KnownIssue;
@@ -32,6 +31,7 @@ public class KnownIssueChecker implements IKnownIssueChecker
     private ITestInfoProvider testInfoProvider;
     private IIssueStateProvider issueStateProvider;
     private boolean detectPotentiallyKnownIssues;
+    private volatile KnownIssueIndex knownIssueIndex;
 
     public KnownIssueChecker(IKnownIssueProvider knownIssueProvider, KnownIssueDataProvider knownIssueDataProvider)
     {
@@ -44,20 +44,24 @@ public class KnownIssueChecker implements IKnownIssueChecker
     {
         TestInfo testInfo = testInfoProvider != null ? testInfoProvider.getTestInfo() : null;
         CandidateIssue candidateIssue = new CandidateIssue(testInfo);
-        for (Entry<String, ? extends KnownIssueIdentifier> knownIssueEntry : knownIssueProvider
-                .getKnownIssueIdentifiers().entrySet())
-        {
-            KnownIssueIdentifier knownIssueIdentifier = knownIssueEntry.getValue();
-            if (knownIssueIdentifier.getAssertionCompiledPattern().matcher(failedAssertion).matches() && candidateIssue
-                    .isProperCandidate(knownIssueEntry.getKey(), knownIssueIdentifier))
-            {
-                break;
-            }
-        }
+        getKnownIssueIndex().forEachMatchingIdentifier(failedAssertion, candidateIssue::isProperCandidate);
         Optional.ofNullable(candidateIssue.issue).ifPresent(this::setState);
         return candidateIssue.issue;
     }
 
+    private KnownIssueIndex getKnownIssueIndex()
+    {
+        Map<String, ? extends KnownIssueIdentifier> knownIssueIdentifiers = knownIssueProvider
+                .getKnownIssueIdentifiers();
+        KnownIssueIndex index = knownIssueIndex;
+        if (index == null || !index.isBuiltFrom(knownIssueIdentifiers))
+        {
+            index = new KnownIssueIndex(knownIssueIdentifiers);
+            knownIssueIndex = index;
+        }
+        return index;
+    }
+
     private void setState(KnownIssue knownIssue)
     {
         if (issueStateProvider != null)
@@ -92,6 +96,8 @@ public class KnownIssueChecker implements IKnownIssueChecker
         private int bestPatternsMatched;
         private int currentPatternsMatched;
         private final TestInfo testInfo;
+        private final Map<String, Optional<String>> data = new HashMap<>();
+        private final Map<PatternMatch, Boolean> patternMatches = new HashMap<>();
         private KnownIssue issue;
 
         CandidateIssue(TestInfo testInfo)
@@ -129,9 +135,8 @@ public class KnownIssueChecker implements IKnownIssueChecker
             return dataPatterns.entrySet().stream().allMatch(entry -> {
                 String key = entry.getKey();
                 Pattern pattern = entry.getValue();
-                return knownIssueDataProvider.getData(key)
-                            .map(pattern::matcher)
-                            .map(Matcher::matches)
+                return data.computeIfAbsent(key, knownIssueDataProvider::getData)
+                            .map(value -> matches(pattern, value))
                             .orElse(false);
             });
         }
@@ -152,7 +157,7 @@ public class KnownIssueChecker implements IKnownIssueChecker
         {
             if (testInfo != null && pattern != null)
             {
-                if (!pattern.matcher(testInfo).matches())
+                if (!matches(pattern, testInfo))
                 {
                     return true;
                 }
@@ -165,5 +170,15 @@ public class KnownIssueChecker implements IKnownIssueChecker
         {
             currentPatternsMatched = 0;
         }
+
+        private boolean matches(Pattern pattern, String value)
+        {
+            return patternMatches.computeIfAbsent(new PatternMatch(pattern.pattern(), value),
+                    k -> pattern.matcher(value).matches());
+        }
+    }
+
+    private record PatternMatch(String regex, String value)
+    {
     }
 }
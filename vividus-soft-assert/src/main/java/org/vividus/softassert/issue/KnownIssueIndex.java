@@ -0,0 +1,395 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.softassert.issue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Index over the assertion patterns of the known issues. Every pattern is analyzed to find the literal the matching
+ * assertions must start with and the longest literal they must contain. The required literals of all patterns are
+ * combined into one {@link AhoCorasickMatcher}, so the failed assertion is scanned once to find the candidates and
+ * only the candidates are matched against their regular expressions. The patterns consisting of the literal only are
+ * compared with the assertion without the regular expressions at all.
+ */
+final class KnownIssueIndex
+{
+    private final Map<String, ? extends KnownIssueIdentifier> source;
+    private final int sourceSize;
+    private final List<IndexedIdentifier> identifiers = new ArrayList<>();
+    private final BitSet unfilteredIdentifiers = new BitSet();
+    private final List<int[]> identifiersByLiteral = new ArrayList<>();
+    private final AhoCorasickMatcher literalMatcher;
+
+    KnownIssueIndex(Map<String, ? extends KnownIssueIdentifier> knownIssueIdentifiers)
+    {
+        this.source = knownIssueIdentifiers;
+        this.sourceSize = knownIssueIdentifiers.size();
+        Map<String, List<Integer>> identifierIndexesByLiteral = new HashMap<>();
+        for (Entry<String, ? extends KnownIssueIdentifier> entry : knownIssueIdentifiers.entrySet())
+        {
+            int index = identifiers.size();
+            PatternLiterals literals = PatternLiterals.of(entry.getValue().getAssertionCompiledPattern());
+            identifiers.add(new IndexedIdentifier(entry.getKey(), entry.getValue(), literals));
+            if (literals.requiredLiteral().isEmpty())
+            {
+                unfilteredIdentifiers.set(index);
+            }
+            else
+            {
+                identifierIndexesByLiteral.computeIfAbsent(literals.requiredLiteral(), k -> new ArrayList<>())
+                        .add(index);
+            }
+        }
+        List<String> literals = new ArrayList<>(identifierIndexesByLiteral.size());
+        identifierIndexesByLiteral.forEach((literal, indexes) -> {
+            literals.add(literal);
+            identifiersByLiteral.add(indexes.stream().mapToInt(Integer::intValue).toArray());
+        });
+        literalMatcher = new AhoCorasickMatcher(literals);
+    }
+
+    boolean isBuiltFrom(Map<String, ? extends KnownIssueIdentifier> knownIssueIdentifiers)
+    {
+        return source == knownIssueIdentifiers && sourceSize == knownIssueIdentifiers.size();
+    }
+
+    /**
+     * Passes the known issues with the assertion patterns matching the failed assertion to the consumer in the order
+     * of the known issue identifiers map, until the consumer returns <code>true</code>.
+     *
+     * @param failedAssertion The failed assertion
+     * @param consumer        The consumer of the known issue key and identifier
+     */
+    void forEachMatchingIdentifier(String failedAssertion, BiPredicate<String, KnownIssueIdentifier> consumer)
+    {
+        BitSet candidates = (BitSet) unfilteredIdentifiers.clone();
+        literalMatcher.findLiterals(failedAssertion, literalId -> {
+            for (int index : identifiersByLiteral.get(literalId))
+            {
+                candidates.set(index);
+            }
+        });
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1))
+        {
+            IndexedIdentifier identifier = identifiers.get(index);
+            if (identifier.matches(failedAssertion) && consumer.test(identifier.key(), identifier.identifier()))
+            {
+                return;
+            }
+        }
+    }
+
+    private record IndexedIdentifier(String key, KnownIssueIdentifier identifier, PatternLiterals literals)
+    {
+        boolean matches(String failedAssertion)
+        {
+            if (literals.exactLiteral())
+            {
+                return literals.requiredLiteral().equals(failedAssertion);
+            }
+            return failedAssertion.startsWith(literals.prefix())
+                    && identifier.getAssertionCompiledPattern().matcher(failedAssertion).matches();
+        }
+    }
+
+    /**
+     * The literals of the regular expression: the prefix every matching string starts with, the longest literal
+     * every matching string contains and whether the expression matches the required literal only. The literals are
+     * empty if the expression is too complex to analyze.
+     */
+    record PatternLiterals(String prefix, String requiredLiteral, boolean exactLiteral)
+    {
+        private static final PatternLiterals NONE = new PatternLiterals("", "", false);
+        private static final int UNSUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE
+                | Pattern.COMMENTS | Pattern.CANON_EQ;
+
+        static PatternLiterals of(Pattern pattern)
+        {
+            if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0)
+            {
+                return NONE;
+            }
+            if ((pattern.flags() & Pattern.LITERAL) != 0)
+            {
+                return new PatternLiterals(pattern.pattern(), pattern.pattern(), true);
+            }
+            return new PatternParser(pattern.pattern()).parse();
+        }
+    }
+
+    private static final class PatternParser
+    {
+        private final String regex;
+        private final List<String> literals = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+        private String prefix;
+        private boolean exactLiteral = true;
+        private int position;
+
+        private PatternParser(String regex)
+        {
+            this.regex = regex;
+        }
+
+        private PatternLiterals parse()
+        {
+            while (position < regex.length())
+            {
+                char c = regex.charAt(position);
+                switch (c)
+                {
+                    case '\\':
+                        if (!parseEscape())
+                        {
+                            return PatternLiterals.NONE;
+                        }
+                        break;
+                    case '[':
+                        endLiteral();
+                        skipCharacterClass();
+                        break;
+                    case '(':
+                        endLiteral();
+                        if (!skipGroup())
+                        {
+                            return PatternLiterals.NONE;
+                        }
+                        break;
+                    case '|':
+                        return PatternLiterals.NONE;
+                    case '*', '?':
+                        removeQuantifiedCharacter();
+                        position++;
+                        skipQuantifierMode();
+                        break;
+                    case '{':
+                        removeQuantifiedCharacter();
+                        position = regex.indexOf('}', position) + 1;
+                        if (position == 0)
+                        {
+                            return PatternLiterals.NONE;
+                        }
+                        skipQuantifierMode();
+                        break;
+                    case '+':
+                        endLiteral();
+                        position++;
+                        skipQuantifierMode();
+                        break;
+                    case '.', '^', '$':
+                        endLiteral();
+                        position++;
+                        break;
+                    default:
+                        literal.append(c);
+                        position++;
+                        break;
+                }
+            }
+            endLiteral();
+            if (exactLiteral)
+            {
+                String value = literals.isEmpty() ? "" : literals.get(0);
+                return new PatternLiterals(value, value, true);
+            }
+            String requiredLiteral = literals.stream().reduce("", (l1, l2) -> l2.length() > l1.length() ? l2 : l1);
+            return new PatternLiterals(prefix == null ? "" : prefix, requiredLiteral, false);
+        }
+
+        private boolean parseEscape()
+        {
+            if (position + 1 >= regex.length())
+            {
+                return false;
+            }
+            char escaped = regex.charAt(position + 1);
+            if (escaped == 'Q')
+            {
+                int end = regex.indexOf("\\E", position + 2);
+                int literalEnd = end < 0 ? regex.length() : end;
+                literal.append(regex, position + 2, literalEnd);
+                position = end < 0 ? regex.length() : end + 2;
+                return true;
+            }
+            if (!Character.isLetterOrDigit(escaped))
+            {
+                literal.append(escaped);
+                position += 2;
+                return true;
+            }
+            endLiteral();
+            position += 2;
+            switch (escaped)
+            {
+                case 'p', 'P', 'x', 'N':
+                    if (position < regex.length() && regex.charAt(position) == '{')
+                    {
+                        position = regex.indexOf('}', position) + 1;
+                        return position > 0;
+                    }
+                    position += escaped == 'x' ? 2 : 1;
+                    return true;
+                case 'k':
+                    position = regex.indexOf('>', position) + 1;
+                    return position > 0;
+                case 'u':
+                    position += 4;
+                    return true;
+                case 'c':
+                    position++;
+                    return true;
+                default:
+                    while (Character.isDigit(escaped) && position < regex.length()
+                            && Character.isDigit(regex.charAt(position)))
+                    {
+                        position++;
+                    }
+                    return true;
+            }
+        }
+
+        private void skipCharacterClass()
+        {
+            int depth = 0;
+            do
+            {
+                char c = regex.charAt(position);
+                if (c == '\\')
+                {
+                    skipEscape();
+                    continue;
+                }
+                if (c == '[')
+                {
+                    depth++;
+                    if (regex.startsWith("^", position + 1))
+                    {
+                        position++;
+                    }
+                    if (regex.startsWith("]", position + 1))
+                    {
+                        position++;
+                    }
+                }
+                else if (c == ']')
+                {
+                    depth--;
+                }
+                position++;
+            }
+            while (depth > 0 && position < regex.length());
+        }
+
+        private void skipEscape()
+        {
+            if (regex.startsWith("Q", position + 1))
+            {
+                int end = regex.indexOf("\\E", position + 2);
+                position = end < 0 ? regex.length() : end + 2;
+            }
+            else
+            {
+                position += 2;
+            }
+        }
+
+        private boolean skipGroup()
+        {
+            if (regex.startsWith("(?", position))
+            {
+                int flagsEnd = position + 2;
+                while (flagsEnd < regex.length() && (Character.isLetter(regex.charAt(flagsEnd))
+                        || regex.charAt(flagsEnd) == '-'))
+                {
+                    flagsEnd++;
+                }
+                if (flagsEnd > position + 2 && flagsEnd < regex.length() && regex.charAt(flagsEnd) == ')')
+                {
+                    return false;
+                }
+            }
+            int depth = 0;
+            do
+            {
+                char c = regex.charAt(position);
+                if (c == '\\')
+                {
+                    skipEscape();
+                    continue;
+                }
+                if (c == '[')
+                {
+                    skipCharacterClass();
+                    continue;
+                }
+                if (c == '(')
+                {
+                    depth++;
+                }
+                else if (c == ')')
+                {
+                    depth--;
+                }
+                position++;
+            }
+            while (depth > 0 && position < regex.length());
+            return true;
+        }
+
+        private void removeQuantifiedCharacter()
+        {
+            if (!literal.isEmpty())
+            {
+                literal.setLength(literal.length() - 1);
+            }
+            endLiteral();
+        }
+
+        private void skipQuantifierMode()
+        {
+            if (position < regex.length() && (regex.charAt(position) == '?' || regex.charAt(position) == '+'))
+            {
+                position++;
+            }
+        }
+
+        private void endLiteral()
+        {
+            boolean atStart = prefix == null;
+            if (atStart)
+            {
+                prefix = literal.toString();
+            }
+            if (position < regex.length())
+            {
+                exactLiteral = false;
+            }
+            if (!literal.isEmpty())
+            {
+                literals.add(literal.toString());
+                literal.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.softassert.issue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickMatcherTests
+{
+    @Test
+    void shouldFindAllLiterals()
+    {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("he", "she", "his", "hers", "x"));
+        List<Integer> found = new ArrayList<>();
+        matcher.findLiterals("ushers", found::add);
+        assertEquals(List.of(1, 0, 3), found);
+    }
+
+    @Test
+    void shouldFindNothing()
+    {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("abc"));
+        List<Integer> found = new ArrayList<>();
+        matcher.findLiterals("ababd", found::add);
+        assertEquals(List.of(), found);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.softassert.issue;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.debug;
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class CachingIssueStateProviderTests
+{
+    private static final String ISSUE = "VVD-1";
+    private static final String UNKNOWN_ISSUE = "VVD-2";
+    private static final Optional<String> OPEN = Optional.of("Open");
+    private static final Optional<String> CLOSED = Optional.of("Closed");
+    private static final Optional<String> FIXED = Optional.of("Fixed");
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(CachingIssueStateProvider.class);
+    private final AtomicLong clock = new AtomicLong();
+
+    @Mock private IIssueStateProvider issueStateProvider;
+    @Mock private IKnownIssueProvider knownIssueProvider;
+    private CachingIssueStateProvider cachingIssueStateProvider;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        cachingIssueStateProvider = new CachingIssueStateProvider(issueStateProvider, knownIssueProvider);
+        cachingIssueStateProvider.setNanoClock(clock::get);
+        cachingIssueStateProvider.setTimeToLive(TIME_TO_LIVE);
+    }
+
+    private void init(ExecutorService executor, String... issues)
+    {
+        Map<String, KnownIssueIdentifier> identifiers = new LinkedHashMap<>();
+        for (String issue : issues)
+        {
+            identifiers.put(issue, new KnownIssueIdentifier());
+        }
+        doReturn(identifiers).when(knownIssueProvider).getKnownIssueIdentifiers();
+        cachingIssueStateProvider.setExecutor(executor);
+        cachingIssueStateProvider.init();
+    }
+
+    @Test
+    void shouldPrefetchStatesOfKnownIssues()
+    {
+        when(issueStateProvider.getIssueStatus(ISSUE)).thenReturn(CLOSED);
+        when(issueStateProvider.getIssueResolution(ISSUE)).thenReturn(FIXED);
+        init(MoreExecutors.newDirectExecutorService(), ISSUE);
+        assertEquals(CLOSED, cachingIssueStateProvider.getIssueStatus(ISSUE));
+        assertEquals(FIXED, cachingIssueStateProvider.getIssueResolution(ISSUE));
+        verify(issueStateProvider).getIssueStatus(ISSUE);
+        verify(issueStateProvider).getIssueResolution(ISSUE);
+    }
+
+    @Test
+    void shouldNotBlockWhileStateIsUnresolved()
+    {
+        ExecutorService executor = mock();
+        init(executor, ISSUE);
+        assertEquals(Optional.empty(), cachingIssueStateProvider.getIssueStatus(ISSUE));
+        assertEquals(Optional.empty(), cachingIssueStateProvider.getIssueResolution(UNKNOWN_ISSUE));
+        assertEquals(Optional.empty(), cachingIssueStateProvider.getIssueStatus(UNKNOWN_ISSUE));
+        verify(executor, times(2)).execute(any());
+        verifyNoInteractions(issueStateProvider);
+    }
+
+    @Test
+    void shouldResolveStateOfIssueMissingInCacheAsynchronously()
+    {
+        when(issueStateProvider.getIssueStatus(UNKNOWN_ISSUE)).thenReturn(OPEN);
+        when(issueStateProvider.getIssueResolution(UNKNOWN_ISSUE)).thenReturn(Optional.empty());
+        init(MoreExecutors.newDirectExecutorService());
+        assertEquals(Optional.empty(), cachingIssueStateProvider.getIssueStatus(UNKNOWN_ISSUE));
+        assertEquals(OPEN, cachingIssueStateProvider.getIssueStatus(UNKNOWN_ISSUE));
+        verify(issueStateProvider).getIssueStatus(UNKNOWN_ISSUE);
+    }
+
+    @Test
+    void shouldServeExpiredStateWhileRefreshing()
+    {
+        when(issueStateProvider.getIssueStatus(ISSUE)).thenReturn(OPEN).thenReturn(CLOSED);
+        when(issueStateProvider.getIssueResolution(ISSUE)).thenReturn(Optional.empty());
+        init(MoreExecutors.newDirectExecutorService(), ISSUE);
+        clock.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+        assertEquals(OPEN, cachingIssueStateProvider.getIssueStatus(ISSUE));
+        clock.incrementAndGet();
+        assertEquals(OPEN, cachingIssueStateProvider.getIssueStatus(ISSUE));
+        assertEquals(CLOSED, cachingIssueStateProvider.getIssueStatus(ISSUE));
+        verify(issueStateProvider, times(2)).getIssueStatus(ISSUE);
+    }
+
+    @Test
+    void shouldRetryResolutionOnFailure()
+    {
+        IllegalStateException exception = new IllegalStateException("Issue tracker is unavailable");
+        when(issueStateProvider.getIssueStatus(ISSUE)).thenThrow(exception).thenReturn(OPEN);
+        when(issueStateProvider.getIssueResolution(ISSUE)).thenReturn(Optional.empty());
+        init(MoreExecutors.newDirectExecutorService(), ISSUE);
+        assertEquals(Optional.empty(), cachingIssueStateProvider.getIssueStatus(ISSUE));
+        assertEquals(OPEN, cachingIssueStateProvider.getIssueStatus(ISSUE));
+        assertThat(logger.getLoggingEvents(),
+                equalTo(List.of(debug("Prefetching states of {} known issues", 1),
+                        warn(exception, "Unable to resolve state of issue {}", ISSUE))));
+    }
+
+    @Test
+    void shouldIgnoreRejectedResolution()
+    {
+        ExecutorService executor = mock();
+        doThrow(RejectedExecutionException.class).when(executor).execute(any());
+        init(executor);
+        assertEquals(Optional.empty(), cachingIssueStateProvider.getIssueStatus(ISSUE));
+        assertEquals(Optional.empty(), cachingIssueStateProvider.getIssueStatus(ISSUE));
+        verify(executor, times(2)).execute(any());
+        verifyNoInteractions(issueStateProvider);
+    }
+
+    @Test
+    void shouldShutdownExecutorOnDestroy()
+    {
+        ExecutorService executor = MoreExecutors.newDirectExecutorService();
+        init(executor);
+        cachingIssueStateProvider.destroy();
+        assertTrue(executor.isShutdown());
+        verifyNoMoreInteractions(issueStateProvider);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.softassert.issue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vividus.softassert.issue.KnownIssueIndex.PatternLiterals;
+
+class KnownIssueIndexTests
+{
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', quoteCharacter = '"', value = {
+        "abc;                       abc;        abc;            true",
+        "a\\.b;                     a.b;        a.b;            true",
+        "\\Qa.b\\E;                 a.b;        a.b;            true",
+        "Element '.*' is not found; Element ';  ' is not found; false",
+        "ab*c;                      a;          a;              false",
+        "ab+c;                      ab;         ab;             false",
+        "foo\\d{2}barbaz;           foo;        barbaz;         false",
+        "x[^]a]yz;                  x;          yz;             false",
+        "(ab|cd)ef;                 \"\";       ef;             false",
+        "a(\\Q)\\E)yz;              a;          yz;             false",
+        "ab|cd;                     \"\";       \"\";           false",
+        "(?i)abc;                   \"\";       \"\";           false"
+    })
+    void shouldFindPatternLiterals(String regex, String prefix, String requiredLiteral, boolean exactLiteral)
+    {
+        assertEquals(new PatternLiterals(prefix, requiredLiteral, exactLiteral),
+                PatternLiterals.of(Pattern.compile(regex, Pattern.DOTALL)));
+    }
+
+    @Test
+    void shouldFindMatchingIdentifiersInOrder()
+    {
+        Map<String, KnownIssueIdentifier> identifiers = new LinkedHashMap<>();
+        identifiers.put("ISSUE-1", createIdentifier(".*timeout.*"));
+        identifiers.put("ISSUE-2", createIdentifier("Element '.*' is not found"));
+        identifiers.put("ISSUE-3", createIdentifier(".*(not|never) found"));
+        identifiers.put("ISSUE-4", createIdentifier("Element 'button' is not found"));
+        identifiers.put("ISSUE-5", createIdentifier("Element 'link' is not found"));
+        KnownIssueIndex index = new KnownIssueIndex(identifiers);
+
+        List<String> matched = new ArrayList<>();
+        index.forEachMatchingIdentifier("Element 'button' is not found", (key, identifier) -> {
+            matched.add(key);
+            return false;
+        });
+        assertEquals(List.of("ISSUE-2", "ISSUE-3", "ISSUE-4"), matched);
+    }
+
+    @Test
+    void shouldStopWhenConsumerReturnsTrue()
+    {
+        Map<String, KnownIssueIdentifier> identifiers = new LinkedHashMap<>();
+        identifiers.put("ISSUE-1", createIdentifier(".*error.*"));
+        identifiers.put("ISSUE-2", createIdentifier(".*error"));
+        KnownIssueIndex index = new KnownIssueIndex(identifiers);
+
+        List<String> matched = new ArrayList<>();
+        index.forEachMatchingIdentifier("fatal error", (key, identifier) -> matched.add(key));
+        assertEquals(List.of("ISSUE-1"), matched);
+    }
+
+    @Test
+    void shouldCheckWhetherIndexIsBuiltFromIdentifiers()
+    {
+        Map<String, KnownIssueIdentifier> identifiers = new HashMap<>();
+        identifiers.put("ISSUE-1", createIdentifier("error"));
+        KnownIssueIndex index = new KnownIssueIndex(identifiers);
+        assertTrue(index.isBuiltFrom(identifiers));
+        assertFalse(index.isBuiltFrom(new HashMap<>(identifiers)));
+        identifiers.put("ISSUE-2", createIdentifier("failure"));
+        assertFalse(index.isBuiltFrom(identifiers));
+    }
+
+    private static KnownIssueIdentifier createIdentifier(String assertionPattern)
+    {
+        KnownIssueIdentifier identifier = new KnownIssueIdentifier();
+        identifier.setAssertionPattern(assertionPattern);
+        return identifier;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
@@ -105,6 +106,42 @@ public final class ResourceUtils
                         + "' is found");
     }
 
+    /**
+     * Finds the file system path of the resource from the classpath root or of the file, the resources packed into
+     * archives have no file system path
+     * @param resourceNameOrFilePath Resource name or file path
+     * @return path to the resource or the file, or empty optional if neither resource nor file is found in the file
+     * system
+     */
+    public static Optional<Path> findResourceOrFile(String resourceNameOrFilePath)
+    {
+        URL resource = ResourceUtils.class.getResource(ensureRootPath(resourceNameOrFilePath));
+        if (resource != null)
+        {
+            try
+            {
+                return "file".equals(resource.getProtocol()) ? Optional.of(Paths.get(resource.toURI()))
+                        : Optional.empty();
+            }
+            catch (URISyntaxException e)
+            {
+                return Optional.empty();
+            }
+        }
+        Path path = Paths.get(resourceNameOrFilePath);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Searches for resource in the classpath root and return URL if it's found, otherwise throws exception
+     * @param resourceName Resource name
+     * @return resource URL
+     */
+    public static URL findResource(String resourceName)
+    {
+        return findResource(ResourceUtils.class, ensureRootPath(resourceName));
+    }
+
     /**
      * Searches for resource and return URL if it's found, otherwise throws exception
      * @param clazz Class to search resource relatively
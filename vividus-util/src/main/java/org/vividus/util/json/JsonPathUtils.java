@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -69,11 +69,30 @@ public final class JsonPathUtils
         return jsonPaths.stream().map(jsonPathContext::<T>read).toList();
     }
 
+    /**
+     * Gets data from JSON using JSON path, the JSON is processed as a stream of tokens without building the tree of
+     * the whole JSON if the JSON path is supported by {@link StreamingJsonPath}
+     * @param <T> resulting type
+     * @param json JSON String
+     * @param jsonPath JSON path
+     * @return desired data from JSON
+     */
+    public static <T> T getDataStreaming(String json, String jsonPath)
+    {
+        return StreamingJsonPath.compile(jsonPath).map(path -> path.<T>read(json))
+                .orElseGet(() -> getData(json, jsonPath));
+    }
+
     public static void setJacksonConfiguration()
     {
         Configuration.setDefaults(new JacksonConfiguration());
     }
 
+    static ObjectMapper getObjectMapper()
+    {
+        return JacksonConfiguration.OBJECT_MAPPER;
+    }
+
     private static final class JacksonConfiguration implements Configuration.Defaults
     {
         private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
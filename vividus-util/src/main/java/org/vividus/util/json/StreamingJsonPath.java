@@ -0,0 +1,669 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.PathNotFoundException;
+
+/**
+ * JSON path evaluated in a single pass over the JSON token stream without building the tree of the whole JSON, only
+ * the found values and the array elements checked by filters are materialized. The streamable subset of JSON path
+ * includes properties in dot- and bracket-notation, wildcards, non-negative array indexes in ascending order,
+ * array slices with non-negative bounds and filters consisting of a single comparison of the current element property
+ * with a literal or of a single property existence check, e.g.:
+ * <ul>
+ * <li><code>$.store.book[0].title</code></li>
+ * <li><code>$.store.book[*]['author']</code></li>
+ * <li><code>$.store.book[1:3].price</code></li>
+ * <li><code>$.store.book[?(@.price &lt; 10)].title</code></li>
+ * </ul>
+ * The results are the same as the ones returned by {@link JsonPathUtils}: a definite path returns the found value or
+ * throws {@link PathNotFoundException}, an indefinite path returns the list of the found values.
+ */
+public final class StreamingJsonPath
+{
+    private static final String IDENTIFIER = "[^.\\[\\]\\s()'\"*?@,:=!<>&|]+";
+    private static final String FILTER_PATH_ELEMENT = "(?:\\." + IDENTIFIER
+            + "|\\['[^'\\\\]*'\\]|\\[\"[^\"\\\\]*\"\\]|\\[\\d+\\])";
+    private static final String LITERAL = "-?\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?|'[^'\\\\]*'|\"[^\"\\\\]*\""
+            + "|true|false|null";
+
+    private static final Pattern DOT_PROPERTY = Pattern.compile("\\.(" + IDENTIFIER + ")");
+    private static final Pattern BRACKET_PROPERTY = Pattern.compile("\\[(?:'([^'\\\\]*)'|\"([^\"\\\\]*)\")\\]");
+    private static final Pattern WILDCARD = Pattern.compile("\\.\\*|\\[\\*\\]");
+    private static final Pattern INDEXES = Pattern.compile("\\[(\\d+(?:\\s*,\\s*\\d+)*)\\]");
+    private static final Pattern SLICE = Pattern.compile("\\[(\\d*):(\\d*)\\]");
+    private static final Pattern FILTER = Pattern.compile(
+            "\\[\\?\\(\\s*@((?:" + FILTER_PATH_ELEMENT + ")+)\\s*(?:(==|!=|<=|>=|<|>)\\s*(" + LITERAL
+                    + ")\\s*)?\\)\\]");
+    private static final Pattern FILTER_PATH_SEGMENT = Pattern.compile(FILTER_PATH_ELEMENT);
+
+    private final String path;
+    private final List<Segment> segments;
+    private final boolean definite;
+
+    private StreamingJsonPath(List<Segment> segments)
+    {
+        this.path = segments.stream().map(Segment::toString).collect(Collectors.joining("", "$", ""));
+        this.segments = segments;
+        this.definite = segments.stream().allMatch(Segment::isDefinite);
+    }
+
+    /**
+     * Compiles JSON path for streaming evaluation
+     * @param jsonPath JSON path
+     * @return compiled JSON path or empty optional if the JSON path is not streamable
+     */
+    public static Optional<StreamingJsonPath> compile(String jsonPath)
+    {
+        String path = jsonPath.strip();
+        if (!path.startsWith("$"))
+        {
+            return Optional.empty();
+        }
+        List<Segment> segments = new ArrayList<>();
+        int position = 1;
+        while (position < path.length())
+        {
+            Matcher matcher = matchAt(path, position, DOT_PROPERTY, BRACKET_PROPERTY, WILDCARD, INDEXES, SLICE,
+                    FILTER);
+            if (matcher == null)
+            {
+                return Optional.empty();
+            }
+            Segment segment = toSegment(matcher);
+            if (segment == null)
+            {
+                return Optional.empty();
+            }
+            segments.add(segment);
+            position = matcher.end();
+        }
+        return Optional.of(new StreamingJsonPath(segments));
+    }
+
+    private static Matcher matchAt(String path, int position, Pattern... patterns)
+    {
+        for (Pattern pattern : patterns)
+        {
+            Matcher matcher = pattern.matcher(path).region(position, path.length());
+            if (matcher.lookingAt())
+            {
+                return matcher;
+            }
+        }
+        return null;
+    }
+
+    private static Segment toSegment(Matcher matcher)
+    {
+        Pattern pattern = matcher.pattern();
+        if (pattern == DOT_PROPERTY)
+        {
+            return new Property(matcher.group(1));
+        }
+        if (pattern == BRACKET_PROPERTY)
+        {
+            return new Property(Objects.requireNonNullElse(matcher.group(1), matcher.group(2)));
+        }
+        if (pattern == WILDCARD)
+        {
+            return new Wildcard();
+        }
+        if (pattern == INDEXES)
+        {
+            int[] indexes = Arrays.stream(matcher.group(1).split(",")).map(String::strip)
+                    .mapToInt(Integer::parseInt).toArray();
+            for (int i = 1; i < indexes.length; i++)
+            {
+                if (indexes[i] <= indexes[i - 1])
+                {
+                    return null;
+                }
+            }
+            return new Indexes(indexes);
+        }
+        if (pattern == SLICE)
+        {
+            String from = matcher.group(1);
+            String to = matcher.group(2);
+            return new Slice(from.isEmpty() ? 0 : Integer.parseInt(from),
+                    to.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(to));
+        }
+        List<Object> properties = new ArrayList<>();
+        Matcher propertyMatcher = FILTER_PATH_SEGMENT.matcher(matcher.group(1));
+        while (propertyMatcher.find())
+        {
+            String property = propertyMatcher.group();
+            if (property.charAt(0) == '.')
+            {
+                properties.add(property.substring(1));
+            }
+            else if (Character.isDigit(property.charAt(1)))
+            {
+                properties.add(Integer.valueOf(property.substring(1, property.length() - 1)));
+            }
+            else
+            {
+                properties.add(property.substring(2, property.length() - 2));
+            }
+        }
+        String operator = matcher.group(2);
+        return new Filter(properties, operator, operator != null ? parseLiteral(matcher.group(3)) : null);
+    }
+
+    private static Object parseLiteral(String literal)
+    {
+        char first = literal.charAt(0);
+        if (first == '\'' || first == '"')
+        {
+            return literal.substring(1, literal.length() - 1);
+        }
+        return switch (literal)
+        {
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            case "null" -> null;
+            default -> new BigDecimal(literal);
+        };
+    }
+
+    /**
+     * Reads data from JSON
+     * @param <T> resulting type
+     * @param json JSON String
+     * @return the value found by the definite JSON path or the list of values found by the indefinite JSON path
+     */
+    public <T> T read(String json)
+    {
+        return StreamingJsonPath.<T>read(List.of(this), json).get(0);
+    }
+
+    /**
+     * Reads data from JSON
+     * @param <T> resulting type
+     * @param json JSON stream
+     * @return the value found by the definite JSON path or the list of values found by the indefinite JSON path
+     */
+    public <T> T read(InputStream json)
+    {
+        return StreamingJsonPath.<T>read(List.of(this), json).get(0);
+    }
+
+    /**
+     * Reads data from JSON by several JSON paths in a single pass
+     * @param <T> resulting type
+     * @param jsonPaths JSON paths
+     * @param json JSON String
+     * @return list with results found by JSON paths
+     */
+    public static <T> List<T> read(List<StreamingJsonPath> jsonPaths, String json)
+    {
+        ObjectMapper objectMapper = JsonPathUtils.getObjectMapper();
+        try (JsonParser parser = objectMapper.createParser(json))
+        {
+            return read(jsonPaths, parser, objectMapper);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads data from JSON by several JSON paths in a single pass
+     * @param <T> resulting type
+     * @param jsonPaths JSON paths
+     * @param json JSON stream
+     * @return list with results found by JSON paths
+     */
+    public static <T> List<T> read(List<StreamingJsonPath> jsonPaths, InputStream json)
+    {
+        ObjectMapper objectMapper = JsonPathUtils.getObjectMapper();
+        try (JsonParser parser = objectMapper.createParser(json))
+        {
+            return read(jsonPaths, parser, objectMapper);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> read(List<StreamingJsonPath> jsonPaths, JsonParser parser, ObjectMapper objectMapper)
+            throws IOException
+    {
+        List<Cursor> cursors = new ArrayList<>(jsonPaths.size());
+        for (StreamingJsonPath jsonPath : jsonPaths)
+        {
+            cursors.add(new Cursor(jsonPath, 0, new ArrayList<>()));
+        }
+        if (parser.nextToken() != null)
+        {
+            new Evaluation(parser, objectMapper).evaluate(cursors);
+        }
+        List<T> results = new ArrayList<>(cursors.size());
+        for (Cursor cursor : cursors)
+        {
+            StreamingJsonPath jsonPath = cursor.jsonPath();
+            List<Object> values = cursor.results();
+            if (!jsonPath.definite)
+            {
+                results.add((T) values);
+            }
+            else if (values.isEmpty())
+            {
+                throw new PathNotFoundException("No results for path: " + jsonPath.path);
+            }
+            else
+            {
+                results.add((T) values.get(0));
+            }
+        }
+        return results;
+    }
+
+    public boolean isDefinite()
+    {
+        return definite;
+    }
+
+    @Override
+    public String toString()
+    {
+        return path;
+    }
+
+    private record Cursor(StreamingJsonPath jsonPath, int position, List<Object> results)
+    {
+        Segment segment()
+        {
+            return position < jsonPath.segments.size() ? jsonPath.segments.get(position) : null;
+        }
+
+        Cursor next()
+        {
+            return new Cursor(jsonPath, position + 1, results);
+        }
+    }
+
+    private static final class Evaluation
+    {
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+
+        Evaluation(JsonParser parser, ObjectMapper objectMapper)
+        {
+            this.parser = parser;
+            this.objectMapper = objectMapper;
+        }
+
+        /**
+         * Evaluates the cursors against the value starting at the current token, on return the parser points to the
+         * last token of the value.
+         */
+        void evaluate(List<Cursor> cursors) throws IOException
+        {
+            JsonToken token = parser.currentToken();
+            if (token != JsonToken.START_ARRAY && !needsNoMaterialization(cursors))
+            {
+                Object value = objectMapper.readValue(parser, Object.class);
+                cursors.forEach(cursor -> evaluate(value, cursor));
+                return;
+            }
+            if (token == JsonToken.START_OBJECT)
+            {
+                while (parser.nextToken() == JsonToken.FIELD_NAME)
+                {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    List<Cursor> next = new ArrayList<>();
+                    for (Cursor cursor : cursors)
+                    {
+                        if (cursor.segment().selects(name))
+                        {
+                            next.add(cursor.next());
+                        }
+                    }
+                    evaluateOrSkip(next);
+                }
+            }
+            else if (token == JsonToken.START_ARRAY)
+            {
+                evaluateArray(cursors);
+            }
+        }
+
+        private void evaluateArray(List<Cursor> cursors) throws IOException
+        {
+            List<Cursor> atEnd = new ArrayList<>();
+            List<Cursor> filters = new ArrayList<>();
+            List<Cursor> navigations = new ArrayList<>();
+            for (Cursor cursor : cursors)
+            {
+                Segment segment = cursor.segment();
+                (segment == null ? atEnd : segment instanceof Filter ? filters : navigations).add(cursor);
+            }
+            if (!atEnd.isEmpty())
+            {
+                Object value = objectMapper.readValue(parser, Object.class);
+                cursors.forEach(cursor -> evaluate(value, cursor));
+                return;
+            }
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY)
+            {
+                List<Cursor> next = new ArrayList<>();
+                for (Cursor cursor : navigations)
+                {
+                    if (cursor.segment().selects(index))
+                    {
+                        next.add(cursor.next());
+                    }
+                }
+                if (filters.isEmpty())
+                {
+                    evaluateOrSkip(next);
+                }
+                else
+                {
+                    Object element = objectMapper.readValue(parser, Object.class);
+                    next.forEach(cursor -> evaluate(element, cursor));
+                    for (Cursor cursor : filters)
+                    {
+                        if (((Filter) cursor.segment()).test(element))
+                        {
+                            evaluate(element, cursor.next());
+                        }
+                    }
+                }
+                index++;
+            }
+        }
+
+        private void evaluateOrSkip(List<Cursor> cursors) throws IOException
+        {
+            if (cursors.isEmpty())
+            {
+                parser.skipChildren();
+            }
+            else
+            {
+                evaluate(cursors);
+            }
+        }
+
+        private static boolean needsNoMaterialization(List<Cursor> cursors)
+        {
+            return cursors.stream().map(Cursor::segment).allMatch(s -> s != null && !(s instanceof Filter));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void evaluate(Object value, Cursor cursor)
+        {
+            Segment segment = cursor.segment();
+            if (segment == null)
+            {
+                cursor.results().add(value);
+            }
+            else if (value instanceof Map<?, ?> map)
+            {
+                if (segment instanceof Filter filter)
+                {
+                    if (filter.test(map))
+                    {
+                        evaluate(map, cursor.next());
+                    }
+                    return;
+                }
+                ((Map<String, Object>) map).forEach((name, propertyValue) -> {
+                    if (segment.selects(name))
+                    {
+                        evaluate(propertyValue, cursor.next());
+                    }
+                });
+            }
+            else if (value instanceof List<?> list)
+            {
+                int index = 0;
+                for (Object element : list)
+                {
+                    if (segment instanceof Filter filter ? filter.test(element) : segment.selects(index))
+                    {
+                        evaluate(element, cursor.next());
+                    }
+                    index++;
+                }
+            }
+        }
+    }
+
+    private interface Segment
+    {
+        default boolean selects(String name)
+        {
+            return false;
+        }
+
+        default boolean selects(int index)
+        {
+            return false;
+        }
+
+        default boolean isDefinite()
+        {
+            return false;
+        }
+    }
+
+    private record Property(String name) implements Segment
+    {
+        @Override
+        public String toString()
+        {
+            return "['" + name + "']";
+        }
+
+        @Override
+        public boolean selects(String name)
+        {
+            return this.name.equals(name);
+        }
+
+        @Override
+        public boolean isDefinite()
+        {
+            return true;
+        }
+    }
+
+    private record Wildcard() implements Segment
+    {
+        @Override
+        public String toString()
+        {
+            return "[*]";
+        }
+
+        @Override
+        public boolean selects(String name)
+        {
+            return true;
+        }
+
+        @Override
+        public boolean selects(int index)
+        {
+            return true;
+        }
+    }
+
+    private record Indexes(int[] indexes) implements Segment
+    {
+        @Override
+        public String toString()
+        {
+            return Arrays.stream(indexes).mapToObj(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+        }
+
+        @Override
+        public boolean selects(int index)
+        {
+            return Arrays.binarySearch(indexes, index) >= 0;
+        }
+
+        @Override
+        public boolean isDefinite()
+        {
+            return indexes.length == 1;
+        }
+    }
+
+    private record Slice(int from, int to) implements Segment
+    {
+        @Override
+        public String toString()
+        {
+            return "[" + (from > 0 ? from : "") + ":" + (to < Integer.MAX_VALUE ? to : "") + "]";
+        }
+
+        @Override
+        public boolean selects(int index)
+        {
+            return index >= from && index < to;
+        }
+    }
+
+    private record Filter(List<Object> properties, String operator, Object literal) implements Segment
+    {
+        @Override
+        public String toString()
+        {
+            return "[?]";
+        }
+
+        boolean test(Object element)
+        {
+            Object value = element;
+            for (Object property : properties)
+            {
+                if (value instanceof Map<?, ?> map && map.containsKey(property))
+                {
+                    value = map.get(property);
+                }
+                else if (value instanceof List<?> list && property instanceof Integer index && index < list.size())
+                {
+                    value = list.get(index);
+                }
+                else
+                {
+                    return "!=".equals(operator);
+                }
+            }
+            return operator == null || compare(value);
+        }
+
+        private boolean compare(Object value)
+        {
+            return switch (operator)
+            {
+                case "==" -> isEqual(value);
+                case "!=" -> !isEqual(value);
+                default -> {
+                    int comparison;
+                    if (value instanceof Number number && literal instanceof BigDecimal decimal)
+                    {
+                        comparison = toBigDecimal(number).compareTo(decimal);
+                    }
+                    else if (value instanceof String string && literal instanceof String literalString)
+                    {
+                        comparison = string.compareTo(literalString);
+                    }
+                    else
+                    {
+                        yield false;
+                    }
+                    yield switch (operator)
+                    {
+                        case "<" -> comparison < 0;
+                        case "<=" -> comparison <= 0;
+                        case ">" -> comparison > 0;
+                        default -> comparison >= 0;
+                    };
+                }
+            };
+        }
+
+        private boolean isEqual(Object value)
+        {
+            if (value == null || literal == null)
+            {
+                return value == literal;
+            }
+            BigDecimal number = toComparableNumber(value);
+            BigDecimal literalNumber = toComparableNumber(literal);
+            if (number != null && literalNumber != null
+                    && (value instanceof Number || literal instanceof BigDecimal))
+            {
+                return number.compareTo(literalNumber) == 0;
+            }
+            return value.equals(literal);
+        }
+
+        private static BigDecimal toComparableNumber(Object value)
+        {
+            if (value instanceof Number number)
+            {
+                return toBigDecimal(number);
+            }
+            if (value instanceof String string)
+            {
+                try
+                {
+                    return new BigDecimal(string);
+                }
+                catch (NumberFormatException e)
+                {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private static BigDecimal toBigDecimal(Number number)
+        {
+            return number instanceof BigDecimal decimal ? decimal : new BigDecimal(number.toString());
+        }
+    }
+}
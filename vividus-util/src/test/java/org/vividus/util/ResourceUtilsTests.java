@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,12 +27,14 @@ import static org.mockito.ArgumentMatchers.eq;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -104,6 +106,27 @@ public class ResourceUtilsTests
                 exception.getMessage());
     }
 
+    @Test
+    public void shouldFindResourceInFileSystem() throws IOException
+    {
+        Path resource = ResourceUtils.findResourceOrFile(RESOURCE_NAME).get();
+        assertArrayEquals(ROOT_RESOURCE_CONTENT.getBytes(StandardCharsets.UTF_8),
+                normalizeBytes(Files.readAllBytes(resource)));
+    }
+
+    @Test
+    public void shouldFindFile() throws IOException
+    {
+        var file = folder.newFile(RESOURCE_NAME);
+        assertEquals(Optional.of(file.toPath()), ResourceUtils.findResourceOrFile(file.getAbsolutePath()));
+    }
+
+    @Test
+    public void shouldNotFindFolder()
+    {
+        assertEquals(Optional.empty(), ResourceUtils.findResourceOrFile(folder.getRoot().getAbsolutePath()));
+    }
+
     @Test
     public void testResourceLoadingAsStringIsSuccessful()
     {
@@ -151,6 +174,17 @@ public class ResourceUtilsTests
         assertThat(actual.getAbsolutePath(), equalTo(file.getAbsolutePath()));
     }
 
+    @Test
+    public void testResourceSearchFromRootIsSuccessful() throws IOException
+    {
+        URL resource = ResourceUtils.findResource(RESOURCE_NAME);
+        try (InputStream inputStream = resource.openStream())
+        {
+            assertEquals(ROOT_RESOURCE_CONTENT, normalizeLineFeeds(new String(inputStream.readAllBytes(),
+                    StandardCharsets.UTF_8)));
+        }
+    }
+
     @Test
     public void testUnexistentResourceLoadingIsFailed()
     {
@@ -63,6 +63,20 @@ class JsonPathUtilsTests
         assertEquals(expected, JsonPathUtils.getData(JSON, jsonPaths));
     }
 
+    @Test
+    void testGetDataStreaming()
+    {
+        assertEquals(NAME_VALUES, JsonPathUtils.getDataStreaming(JSON, "$.test[*].name"));
+        assertEquals(new BigDecimal("485690.3866338789319252000000135498000000"),
+                JsonPathUtils.getDataStreaming(JSON, "$.float"));
+    }
+
+    @Test
+    void testGetDataStreamingFallsBackToNotStreamableJsonPath()
+    {
+        assertEquals(NAME_VALUES, JsonPathUtils.getDataStreaming(JSON, NAME_JSON_PATH));
+    }
+
     @Test
     void testConfiguration()
     {
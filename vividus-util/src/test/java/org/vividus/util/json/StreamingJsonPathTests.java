@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.jayway.jsonpath.PathNotFoundException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StreamingJsonPathTests
+{
+    private static final String JSON = """
+            {
+              "store": {
+                "book": [
+                  {"category": "reference", "author": "Nigel Rees", "title": "Sayings", "price": 8.95},
+                  {"category": "fiction", "author": "Evelyn Waugh", "title": "Sword", "price": 12.99},
+                  {"category": "fiction", "author": "Herman Melville", "title": "Moby Dick", "isbn": "0-553",
+                   "price": 8, "tags": ["sea", "whale"]},
+                  {"category": "fiction", "author": "J. R. R. Tolkien", "title": "The Lord", "isbn": null,
+                   "price": 22.99, "tags": ["ring"]}
+                ],
+                "bicycle": {"color": "red", "price": 19.95}
+              },
+              "expensive": 10,
+              "empty": null
+            }""";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "$",
+        "$.expensive",
+        "$.empty",
+        "$.store.bicycle",
+        "$.store.book[0].title",
+        "$['store']['book'][1]['author']",
+        "$[\"store\"].bicycle[\"color\"]",
+        "$.store.book[*].author",
+        "$.store.*",
+        "$.*.bicycle.*",
+        "$.store.bicycle[*]",
+        "$.store.book[1:3].title",
+        "$.store.book[:2].price",
+        "$.store.book[2:].title",
+        "$.store.book[0,2].title",
+        "$.store.book[*].isbn",
+        "$.store.book[*].tags[0]",
+        "$.store.book[*].title[0]",
+        "$.store.book[?(@.price < 10)].title",
+        "$.store.book[?(@.price >= 12.99)].title",
+        "$.store.book[?(@.isbn)].title",
+        "$.store.book[?(@.isbn == null)].title",
+        "$.store.book[?(@.category == 'fiction')].price",
+        "$.store.book[?(@.category != 'fiction')]",
+        "$.store.book[?(@.tags[0] == \"ring\")].author",
+        "$.store.book[?(@['title'] > 'N')].title",
+        "$.store[?(@.bicycle.color == 'red')].bicycle",
+        "$.*.book[?(@.price > 20)]['title']"
+    })
+    void shouldReadTheSameDataAsJsonPath(String jsonPath)
+    {
+        StreamingJsonPath streamingJsonPath = StreamingJsonPath.compile(jsonPath).orElseThrow();
+        Object expected = JsonPathUtils.getData(JSON, jsonPath);
+        assertEquals(expected, streamingJsonPath.read(JSON));
+        assertEquals(expected, streamingJsonPath.read(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "$..title", "$.store.book.length()", "$.store.book[-1]", "$.store.book[2,0]",
+            "$.store.book[0:4:2]", "$.store.book[?(@.price < 10 && @.isbn)]", "$.store.book[?(@.title =~ /M.*/)]",
+            "store.book" })
+    void shouldNotCompileNotStreamableJsonPath(String jsonPath)
+    {
+        assertTrue(StreamingJsonPath.compile(jsonPath).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "$.store.x", "$.store.book.title", "$.store.book[10]", "$.expensive.value" })
+    void shouldFailWhenDefinitePathIsNotFound(String jsonPath)
+    {
+        StreamingJsonPath streamingJsonPath = StreamingJsonPath.compile(jsonPath).orElseThrow();
+        assertTrue(streamingJsonPath.isDefinite());
+        var exception = assertThrows(PathNotFoundException.class, () -> streamingJsonPath.read(JSON));
+        assertEquals("No results for path: " + streamingJsonPath, exception.getMessage());
+    }
+
+    @Test
+    void shouldReadDataByMultipleJsonPathsInSinglePass()
+    {
+        List<String> jsonPaths = List.of("$.store.book[*].title", "$.store.book[?(@.isbn)].price", "$.expensive");
+        List<StreamingJsonPath> streamingJsonPaths = jsonPaths.stream()
+                .map(jsonPath -> StreamingJsonPath.compile(jsonPath).orElseThrow())
+                .toList();
+        assertEquals(JsonPathUtils.getData(JSON, jsonPaths), StreamingJsonPath.read(streamingJsonPaths, JSON));
+    }
+
+    @Test
+    void shouldNormalizeJsonPath()
+    {
+        StreamingJsonPath streamingJsonPath = StreamingJsonPath.compile(" $.store.book[1:][?(@.isbn)].tags[*] ")
+                .orElseThrow();
+        assertFalse(streamingJsonPath.isDefinite());
+        assertEquals("$['store']['book'][1:][?]['tags'][*]", streamingJsonPath.toString());
+    }
+}
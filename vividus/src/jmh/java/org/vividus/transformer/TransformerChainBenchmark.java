@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.model.TableParsers;
+import org.jbehave.core.model.TableTransformers.TableTransformer;
+import org.jbehave.core.steps.ParameterConverters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.converter.FluentTrimmedEnumConverter;
+import org.vividus.util.ExamplesTableProcessor;
+
+/**
+ * Measures the chain of the filtering, sorting and distincting transformers. The columnar chain lets the transformers
+ * reuse the table rendered by the previous transformer, the reparsing chain copies the text between the transformers,
+ * so every transformer has to parse its input like before the introduction of {@link ColumnarTables}.
+ * Run with <code>./gradlew :vividus:jmh</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformerChainBenchmark
+{
+    @Param({ "10000", "200000" })
+    private int rows;
+
+    private final ParameterConverters parameterConverters = new ParameterConverters();
+    private final TableParsers tableParsers = new TableParsers(parameterConverters);
+    private List<ChainLink> chain;
+    private String table;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(0);
+        List<List<String>> data = IntStream.range(0, rows)
+                .mapToObj(i -> List.of("user" + random.nextInt(rows / 4), "category" + random.nextInt(20),
+                        String.valueOf(random.nextInt(1000)), "description of row " + i))
+                .toList();
+        table = ExamplesTableProcessor.buildExamplesTable(List.of("user", "category", "score", "description"), data,
+                createProperties(""));
+        chain = List.of(
+                new ChainLink(new FilteringTableTransformer(), createProperties("column.category=category1[0-9]")),
+                new ChainLink(new SortingTableTransformer(new FluentTrimmedEnumConverter()),
+                        createProperties("byColumns=score|user, sortingTypes=NUMBER|STRING, order=DESCENDING")),
+                new ChainLink(new DistinctingTableTransformer(),
+                        createProperties("byColumnNames=user, keepAllColumns=true")),
+                new ChainLink(new FilteringTableTransformer(), createProperties("byColumnNames=user;score"))
+        );
+    }
+
+    @Benchmark
+    public String columnarChain()
+    {
+        String result = table;
+        for (ChainLink link : chain)
+        {
+            result = link.transformer().transform(result, tableParsers, link.properties());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String reparsingChain()
+    {
+        String result = table;
+        for (ChainLink link : chain)
+        {
+            result = link.transformer().transform(new String(result), tableParsers, link.properties());
+        }
+        return result;
+    }
+
+    private TableProperties createProperties(String propertiesAsString)
+    {
+        return new TableProperties(propertiesAsString, new Keywords(), parameterConverters);
+    }
+
+    private record ChainLink(TableTransformer transformer, TableProperties properties)
+    {
+    }
+}
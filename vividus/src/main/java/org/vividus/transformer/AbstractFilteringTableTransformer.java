@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,6 @@ import static org.apache.commons.lang3.Validate.isTrue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
@@ -45,19 +44,4 @@ public abstract class AbstractFilteringTableTransformer implements ExtendedTable
         filtered.retainAll(selectedColumnNames);
         return filtered;
     }
-
-    protected void filterRowsByColumnNames(List<String> allColumnNames, List<List<String>> rows,
-            List<String> columnNamesToKeep)
-    {
-        int[] indexesToRemove = IntStream.range(0, allColumnNames.size())
-                .filter(i -> !columnNamesToKeep.contains(allColumnNames.get(i)))
-                .sorted()
-                .toArray();
-        rows.forEach(row -> {
-            for (int i = indexesToRemove.length - 1; i >= 0; i--)
-            {
-                row.remove(indexesToRemove[i]);
-            }
-        });
-    }
 }
@@ -18,22 +18,31 @@ package org.vividus.transformer;
 
 import static org.apache.commons.lang3.Validate.isTrue;
 
+import java.util.AbstractList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
+import org.vividus.transformer.TableJoiner.JointRows;
 
 public abstract class AbstractJoinTableTransformer extends AbstractTableLoadingTransformer
 {
-    protected AbstractJoinTableTransformer()
+    private final TableJoiner tableJoiner = new TableJoiner();
+    private final boolean keepUnmatchedLeftRows;
+
+    protected AbstractJoinTableTransformer(boolean keepUnmatchedLeftRows)
     {
         super(false);
+        this.keepUnmatchedLeftRows = keepUnmatchedLeftRows;
     }
 
     @Override
@@ -55,26 +64,100 @@ public abstract class AbstractJoinTableTransformer extends AbstractTableLoadingT
         isTrue(repeatingKeys.isEmpty(), "Tables must contain different columns (except joint column),"
                 + " but found the same columns: %s", repeatingKeys);
 
-        List<Map<String, String>> resultRows = join(leftTable, rightTable, leftTableJoinColumn, rightTableJoinColumn);
-        ExamplesTable resultTable = ExamplesTable.empty().withRows(resultRows);
-        return resultTable.isEmpty() ? getEmptyTableWithHeaders(tables, properties) : resultTable.asString();
+        ColumnarTable left = toColumnarTable(leftTable);
+        ColumnarTable right = toColumnarTable(rightTable);
+        JointRows jointRows = tableJoiner.join(left, left.getColumnIndex(leftTableJoinColumn), right,
+                right.getColumnIndex(rightTableJoinColumn), keepUnmatchedLeftRows);
+        if (jointRows.size() == 0)
+        {
+            return getEmptyTableWithHeaders(tables, properties);
+        }
+        List<String> headers = getJointHeaders(left, right, jointRows.rightRows()[0] != -1);
+        List<List<String>> rows = toRows(headers, left, right, jointRows);
+        TableProperties defaultProperties = new TableProperties("", getConfiguration().keywords(),
+                getConfiguration().parameterConverters());
+        return ColumnarTables.write(ColumnarTable.of(headers, rows), defaultProperties);
     }
 
-    protected abstract List<Map<String, String>> join(ExamplesTable leftTable, ExamplesTable rightTable,
-            String leftTableJoinColumn, String rightTableJoinColumn);
+    private static ColumnarTable toColumnarTable(ExamplesTable table)
+    {
+        // The row values are already ordered by the headers, so no intermediate row maps are built
+        return ColumnarTable.of(table.getHeaders(), IntStream.range(0, table.getRowCount())
+                .mapToObj(row -> table.getRowValues(row, false))
+                .toList());
+    }
 
-    protected Map<String, String> joinMaps(Map<String, String> l, Map<String, String> r)
+    /**
+     * Orders the headers of the joint table the way the joint rows stored in {@link HashMap}-s used to order them, so
+     * the column order of the joint tables stays unchanged.
+     */
+    private static List<String> getJointHeaders(ColumnarTable left, ColumnarTable right, boolean firstRowMatched)
     {
+        Map<String, String> leftRow = new LinkedHashMap<>();
+        left.getHeaders().forEach(h -> leftRow.put(h, StringUtils.EMPTY));
+        Map<String, String> rightRow;
+        if (firstRowMatched)
+        {
+            rightRow = new LinkedHashMap<>();
+            right.getHeaders().forEach(h -> rightRow.put(h, StringUtils.EMPTY));
+        }
+        else
+        {
+            rightRow = right.getHeaders().stream()
+                    .filter(h -> !left.getHeaders().contains(h))
+                    .collect(Collectors.toMap(Function.identity(), k -> StringUtils.EMPTY));
+        }
         Map<String, String> jointRow = new HashMap<>();
-        jointRow.putAll(l);
-        jointRow.putAll(r);
-        return jointRow;
+        jointRow.putAll(leftRow);
+        jointRow.putAll(rightRow);
+        return List.copyOf(jointRow.keySet());
+    }
+
+    private static List<List<String>> toRows(List<String> headers, ColumnarTable left, ColumnarTable right,
+            JointRows jointRows)
+    {
+        int[] leftColumns = headers.stream().mapToInt(left::getColumnIndex).toArray();
+        int[] rightColumns = headers.stream().mapToInt(right::getColumnIndex).toArray();
+        return new AbstractList<>()
+        {
+            @Override
+            public List<String> get(int index)
+            {
+                int leftRow = jointRows.leftRows()[index];
+                int rightRow = jointRows.rightRows()[index];
+                return new AbstractList<>()
+                {
+                    @Override
+                    public String get(int column)
+                    {
+                        if (rightColumns[column] != -1 && rightRow != -1)
+                        {
+                            return right.getValue(rightRow, rightColumns[column]);
+                        }
+                        return leftColumns[column] != -1 ? left.getValue(leftRow, leftColumns[column])
+                                : StringUtils.EMPTY;
+                    }
+
+                    @Override
+                    public int size()
+                    {
+                        return headers.size();
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return jointRows.size();
+            }
+        };
     }
 
     private static String getEmptyTableWithHeaders(List<ExamplesTable> tables, TableProperties tableProperties)
     {
         Set<String> headers = tables.stream().map(ExamplesTable::getHeaders)
                 .flatMap(List::stream).collect(Collectors.toSet());
-        return ExamplesTableProcessor.buildExamplesTable(headers, List.of(), tableProperties);
+        return ColumnarTables.write(ColumnarTable.of(List.copyOf(headers), List.of()), tableProperties);
     }
 }
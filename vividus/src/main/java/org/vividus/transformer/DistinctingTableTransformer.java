@@ -16,18 +16,13 @@
 
 package org.vividus.transformer;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class DistinctingTableTransformer extends AbstractFilteringTableTransformer
 {
@@ -37,34 +32,17 @@ public class DistinctingTableTransformer extends AbstractFilteringTableTransform
         String byColumnNames = tableProperties.getMandatoryNonBlankProperty(BY_COLUMNS_NAMES_PROPERTY, String.class);
         String keepAllColumns = tableProperties.getProperties().getProperty("keepAllColumns");
 
-        TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
-        List<String> allColumnNames = tableRows.getHeaders();
-        List<String> filteredColumnNames = filterColumnNames(allColumnNames, byColumnNames);
-        List<List<String>> rows = tableRows.getRows();
+        ColumnarTable table = ColumnarTables.read(tableAsString, tableParsers, tableProperties);
+        List<String> filteredColumnNames = filterColumnNames(table.getHeaders(), byColumnNames);
 
-        Collection<String> headers;
-        Collection<List<String>> distinctRows;
-        if (Boolean.parseBoolean(keepAllColumns))
-        {
-            int[] indexesToDistinct = IntStream.range(0, allColumnNames.size())
-                    .filter(i -> filteredColumnNames.contains(allColumnNames.get(i)))
-                    .sorted()
-                    .toArray();
-
-            distinctRows = rows.stream().collect(Collectors.toMap(
-                    r -> IntStream.of(indexesToDistinct).mapToObj(r::get).toList(),
-                    Function.identity(),
-                    (r1, r2) -> r1,
-                    LinkedHashMap::new
-            )).values();
-            headers = allColumnNames;
-        }
-        else
-        {
-            filterRowsByColumnNames(allColumnNames, rows, filteredColumnNames);
-            distinctRows = new LinkedHashSet<>(rows);
-            headers = filteredColumnNames;
-        }
-        return ExamplesTableProcessor.buildExamplesTable(headers, distinctRows, tableProperties);
+        ColumnarTable resultTable = Boolean.parseBoolean(keepAllColumns) ? table
+                : table.selectColumns(filteredColumnNames);
+        int[] columnsToDistinct = filteredColumnNames.stream().mapToInt(resultTable::getColumnIndex).toArray();
+        Set<List<Integer>> distinctKeys = new HashSet<>();
+        int[] distinctRows = IntStream.range(0, resultTable.getRowCount())
+                .filter(r -> distinctKeys.add(
+                        IntStream.of(columnsToDistinct).mapToObj(c -> resultTable.getCode(r, c)).toList()))
+                .toArray();
+        return ColumnarTables.write(resultTable.selectRows(distinctRows), tableProperties);
     }
 }
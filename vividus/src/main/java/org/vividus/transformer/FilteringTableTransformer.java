@@ -35,9 +35,7 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class FilteringTableTransformer extends AbstractFilteringTableTransformer
 {
@@ -69,8 +67,8 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 BY_MAX_COLUMNS_PROPERTY, BY_MAX_ROWS_PROPERTY, BY_COLUMNS_NAMES_PROPERTY, REGEX_FILTER_DECLARATION,
                 BY_ROW_INDEXES_PROPERTY, BY_RANDOM_ROWS_PROPERTY);
 
-        TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
-        List<String> allColumnNames = tableRows.getHeaders();
+        ColumnarTable table = ColumnarTables.read(tableAsString, tableParsers, tableProperties);
+        List<String> allColumnNames = table.getHeaders();
         if (!columnFilters.isEmpty())
         {
             isTrue(allNull(byMaxColumns, byColumnNames, byMaxRows, byRowIndexes, byRandomRows),
@@ -79,8 +77,7 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                     BY_MAX_COLUMNS_PROPERTY, BY_COLUMNS_NAMES_PROPERTY, BY_MAX_ROWS_PROPERTY, BY_ROW_INDEXES_PROPERTY,
                     BY_RANDOM_ROWS_PROPERTY);
 
-            return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(),
-                    filterRows(columnFilters, allColumnNames, tableRows.getRows(), properties), tableProperties);
+            return ColumnarTables.write(filterRows(columnFilters, table, properties), tableProperties);
         }
 
         isTrue(anyNull(byMaxColumns, byColumnNames), CONFLICTING_PROPERTIES_MESSAGE,
@@ -96,40 +93,38 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 BY_RANDOM_ROWS_PROPERTY, BY_MAX_ROWS_PROPERTY);
 
         List<String> filteredColumnNames = filterColumnNames(byMaxColumns, byColumnNames, allColumnNames);
-        List<List<String>> filteredRows = filterRows(byMaxRows, byRowIndexes, byRandomRows, tableRows.getRows());
-        filterRowsByColumnNames(allColumnNames, filteredRows, filteredColumnNames);
+        ColumnarTable filteredTable = filterRows(byMaxRows, byRowIndexes, byRandomRows, table);
 
-        return ExamplesTableProcessor.buildExamplesTable(filteredColumnNames, filteredRows, tableProperties);
+        return ColumnarTables.write(filteredTable.selectColumns(filteredColumnNames), tableProperties);
     }
 
-    private <T> List<T> filterRows(String byMaxRows, String byRowIndexes, String byRandomRows, List<T> rows)
+    private ColumnarTable filterRows(String byMaxRows, String byRowIndexes, String byRandomRows, ColumnarTable table)
     {
-        int numberOfRows = rows.size();
+        int numberOfRows = table.getRowCount();
         if (byRowIndexes == null && byRandomRows == null)
         {
             return Optional.ofNullable(byMaxRows)
                     .map(Integer::parseInt)
                     .filter(m -> m < numberOfRows)
-                    .map(m -> rows.subList(0, m))
-                    .orElse(rows);
+                    .map(m -> table.selectRows(IntStream.range(0, m).toArray()))
+                    .orElse(table);
         }
         else if (byRandomRows != null)
         {
             int randomRowsCount = Integer.parseInt(byRandomRows);
             if (randomRowsCount >= numberOfRows)
             {
-                return rows;
+                return table;
             }
-            return ThreadLocalRandom.current()
+            return table.selectRows(ThreadLocalRandom.current()
                     .ints(0, numberOfRows)
                     .distinct()
                     .limit(randomRowsCount)
-                    .mapToObj(rows::get)
-                    .toList();
+                    .toArray());
         }
         else
         {
-            return Stream.of(StringUtils.split(byRowIndexes, ';'))
+            return table.selectRows(Stream.of(StringUtils.split(byRowIndexes, ';'))
                     .flatMapToInt(range ->
                     {
                         String[] rangeBounds = StringUtils.split(range, "-", 2);
@@ -143,8 +138,7 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                                 + " The start index must be less than or equal to the end index.", range);
                         return IntStream.rangeClosed(startInclusive, endInclusive);
                     })
-                    .mapToObj(rows::get)
-                    .toList();
+                    .toArray());
         }
     }
 
@@ -171,13 +165,18 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 .collect(Collectors.toSet());
     }
 
-    private List<List<String>> filterRows(Set<String> columnFilters, List<String> allColumnNames,
-            List<List<String>> rows, Properties properties)
+    private ColumnarTable filterRows(Set<String> columnFilters, ColumnarTable table, Properties properties)
     {
-        return columnFilters.stream().collect(
-                Collectors.collectingAndThen(Collectors.toMap(k -> StringUtils.substringAfter(k, COLUMN_PREFIX),
-                        k -> createFilter(properties.getProperty(k))),
-                        filters -> filterRows(allColumnNames, rows, filters)));
+        Map<String, Predicate<String>> filters = columnFilters.stream().collect(Collectors.toMap(
+                k -> StringUtils.substringAfter(k, COLUMN_PREFIX), k -> createFilter(properties.getProperty(k))));
+        List<String> allColumnNames = table.getHeaders();
+        List<ColumnFilter> applicableFilters = IntStream.range(0, allColumnNames.size())
+                .filter(i -> filters.containsKey(allColumnNames.get(i)))
+                .mapToObj(i -> new ColumnFilter(i, table.testValues(i, filters.get(allColumnNames.get(i)))))
+                .toList();
+        return table.selectRows(IntStream.range(0, table.getRowCount())
+                .filter(r -> applicableFilters.stream().allMatch(f -> f.matches()[table.getCode(r, f.column())]))
+                .toArray());
     }
 
     private static Predicate<String> createFilter(String regex)
@@ -185,21 +184,7 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
         return Pattern.compile(regex).asPredicate();
     }
 
-    public static List<List<String>> filterRows(List<String> allColumnNames, List<List<String>> rows,
-            Map<String, Predicate<String>> columnFilters)
+    private record ColumnFilter(int column, boolean[] matches)
     {
-        return rows.stream()
-                   .filter(row -> applyFilters(allColumnNames, row, columnFilters))
-                   .toList();
-    }
-
-    private static boolean applyFilters(List<String> allColumnNames, List<String> row,
-            Map<String, Predicate<String>> columnFilters)
-    {
-        return IntStream.range(0, allColumnNames.size()).allMatch(i -> {
-            String columnName = allColumnNames.get(i);
-            Predicate<String> filter = columnFilters.get(columnName);
-            return Optional.ofNullable(filter).map(f -> f.test(row.get(i))).orElse(true);
-        });
     }
 }
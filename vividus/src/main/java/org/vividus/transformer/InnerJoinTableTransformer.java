@@ -16,27 +16,10 @@
 
 package org.vividus.transformer;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-import org.jbehave.core.model.ExamplesTable;
-
 public class InnerJoinTableTransformer extends AbstractJoinTableTransformer
 {
-    @Override
-    protected List<Map<String, String>> join(ExamplesTable leftTable, ExamplesTable rightTable,
-            String leftTableJoinColumn, String rightTableJoinColumn)
+    public InnerJoinTableTransformer()
     {
-        List<Map<String, String>> leftRows = leftTable.getRows();
-        List<Map<String, String>> rightRows = rightTable.getRows();
-        Map<String, List<Map<String, String>>> rightByColumn = rightRows.stream()
-                .collect(Collectors.groupingBy(m -> m.get(rightTableJoinColumn)));
-        return leftRows.stream()
-                       .flatMap(leftRow -> Optional.ofNullable(rightByColumn.get(leftRow.get(leftTableJoinColumn)))
-                               .stream()
-                               .flatMap(value -> value.stream().map(rightRow -> joinMaps(leftRow, rightRow))))
-                       .toList();
+        super(false);
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,22 +19,27 @@ package org.vividus.transformer;
 import static org.apache.commons.lang3.Validate.isTrue;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
-import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
 import org.vividus.converter.FluentTrimmedEnumConverter;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class SortingTableTransformer implements ExtendedTableTransformer
 {
     private static final char DELIMITER = '|';
 
+    private static final int DEFAULT_PARALLEL_SORT_THRESHOLD = 1_000_000;
+
     private final FluentTrimmedEnumConverter fluentTrimmedEnumConverter;
+    private int parallelSortThreshold = DEFAULT_PARALLEL_SORT_THRESHOLD;
 
     public SortingTableTransformer(FluentTrimmedEnumConverter fluentTrimmedEnumConverter)
     {
@@ -44,11 +49,10 @@ public class SortingTableTransformer implements ExtendedTableTransformer
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
     {
-        TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
+        ColumnarTable table = ColumnarTables.read(tableAsString, tableParsers, properties);
         String byColumns = properties.getMandatoryNonBlankProperty("byColumns", String.class);
         String orderProperty = properties.getProperties().getProperty("order", "ASCENDING");
         Order order = (Order) fluentTrimmedEnumConverter.convertValue(orderProperty, Order.class);
-        List<String> headerValues = tableRows.getHeaders();
         List<String> columnsToCompare = Stream.of(StringUtils.split(byColumns, DELIMITER))
                 .map(String::trim)
                 .toList();
@@ -60,37 +64,143 @@ public class SortingTableTransformer implements ExtendedTableTransformer
         isTrue(sortingTypesSize == 1 || sortingTypesSize == columnsToCompare.size(),
                 "Please, specify parameter 'sortingType' (%s) with the same count of types as count of column"
                 + " names in parameter 'byColumns' (%s)", sortingTypes, byColumns);
-        List<List<String>> rows = sort(tableRows, columnsToCompare, sortingTypesToCompare, headerValues, order);
-        return ExamplesTableProcessor.buildExamplesTable(headerValues, rows, properties);
+        ColumnarTable sortedTable = sort(table, columnsToCompare, sortingTypesToCompare, order,
+                parallelSortThreshold);
+        return ColumnarTables.write(sortedTable, properties);
     }
 
-    private static List<List<String>> sort(TableRows tableRows, List<String> columnsToCompare,
-            List<SortingType> sortingTypesToCompare, List<String> headerValues, Order order)
+    /**
+     * Sets the number of the rows above which the rows are sorted in parallel by the normalized keys packed into
+     * <code>long</code> values instead of comparing the rows one by one.
+     *
+     * @param parallelSortThreshold The number of the rows
+     */
+    public void setParallelSortThreshold(int parallelSortThreshold)
     {
-        return tableRows.getRows().stream()
-                .sorted((r1, r2) ->
-                {
-                    int result = 0;
-                    Iterator<String> columnIterator = columnsToCompare.iterator();
-                    Iterator<SortingType> sortingTypeIterator = sortingTypesToCompare.iterator();
-                    SortingType sortingType = null;
-                    while (result == 0 && columnIterator.hasNext())
-                    {
-                        String column = columnIterator.next();
-                        if (sortingTypeIterator.hasNext())
-                        {
-                            sortingType = sortingTypeIterator.next();
-                        }
-                        int indexOfColumn = headerValues.indexOf(column);
-                        if (indexOfColumn > -1)
-                        {
-                            result = order.getDirection() * sortingType.compareValues(r1.get(indexOfColumn),
-                                    r2.get(indexOfColumn));
-                        }
-                    }
-                    return result;
-                })
-                .toList();
+        this.parallelSortThreshold = parallelSortThreshold;
+    }
+
+    private static ColumnarTable sort(ColumnarTable table, List<String> columnsToCompare,
+            List<SortingType> sortingTypesToCompare, Order order, int parallelSortThreshold)
+    {
+        List<SortKey> sortKeys = new ArrayList<>();
+        SortingType sortingType = null;
+        for (int i = 0; i < columnsToCompare.size(); i++)
+        {
+            if (i < sortingTypesToCompare.size())
+            {
+                sortingType = sortingTypesToCompare.get(i);
+            }
+            int indexOfColumn = table.getColumnIndex(columnsToCompare.get(i));
+            if (indexOfColumn > -1)
+            {
+                sortKeys.add(new SortKey(table, indexOfColumn, sortingType));
+            }
+        }
+        int rowCount = table.getRowCount();
+        boolean parallel = rowCount > parallelSortThreshold;
+        if (parallel)
+        {
+            int rowBits = Integer.SIZE - Integer.numberOfLeadingZeros(rowCount - 1);
+            int keyBits = sortKeys.stream().mapToInt(SortKey::getNormalizedKeyBits).sum();
+            if (keyBits + rowBits < Long.SIZE)
+            {
+                return sortByNormalizedKeys(table, sortKeys, order, rowBits);
+            }
+            // The keys don't fit into long values, the rows are compared one by one, but still in parallel: the value
+            // ranks are already computed while getting the key bits, so they are safely read by the sorting threads
+        }
+        Integer[] rowIndexes = IntStream.range(0, rowCount).boxed().toArray(Integer[]::new);
+        Comparator<Integer> rowComparator = (r1, r2) ->
+        {
+            int result = 0;
+            Iterator<SortKey> sortKeyIterator = sortKeys.iterator();
+            while (result == 0 && sortKeyIterator.hasNext())
+            {
+                result = order.getDirection() * sortKeyIterator.next().compareRows(r1, r2);
+            }
+            return result;
+        };
+        if (parallel)
+        {
+            Arrays.parallelSort(rowIndexes, rowComparator);
+        }
+        else
+        {
+            Arrays.sort(rowIndexes, rowComparator);
+        }
+        return table.selectRows(Stream.of(rowIndexes).mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Sorts the rows by the normalized keys: every key is a <code>long</code> value with the row index packed into its
+     * lowest bits, so the keys are unique and the sorting is stable. The keys take 8 bytes per row and are sorted in
+     * memory in parallel.
+     */
+    private static ColumnarTable sortByNormalizedKeys(ColumnarTable table, List<SortKey> sortKeys, Order order,
+            int rowBits)
+    {
+        long rowMask = (1L << rowBits) - 1;
+        long[] keys = new long[table.getRowCount()];
+        Arrays.parallelSetAll(keys, row ->
+        {
+            long key = 0;
+            for (SortKey sortKey : sortKeys)
+            {
+                key = key << sortKey.getNormalizedKeyBits() | sortKey.getNormalizedKey(row, order);
+            }
+            return key << rowBits | row;
+        });
+        Arrays.parallelSort(keys);
+        int[] sortedRows = new int[keys.length];
+        Arrays.parallelSetAll(sortedRows, i -> (int) (keys[i] & rowMask));
+        return table.selectRows(sortedRows);
+    }
+
+    private static final class SortKey
+    {
+        private final ColumnarTable table;
+        private final int column;
+        private final SortingType sortingType;
+        private int[] ranks;
+        private int maxRank = -1;
+
+        private SortKey(ColumnarTable table, int column, SortingType sortingType)
+        {
+            this.table = table;
+            this.column = column;
+            this.sortingType = sortingType;
+        }
+
+        private int compareRows(int row1, int row2)
+        {
+            int[] valueRanks = getRanks();
+            return Integer.compare(valueRanks[table.getCode(row1, column)], valueRanks[table.getCode(row2, column)]);
+        }
+
+        private int getNormalizedKeyBits()
+        {
+            if (maxRank < 0)
+            {
+                maxRank = IntStream.of(getRanks()).max().orElse(0);
+            }
+            return Integer.SIZE - Integer.numberOfLeadingZeros(maxRank);
+        }
+
+        private long getNormalizedKey(int row, Order order)
+        {
+            int rank = getRanks()[table.getCode(row, column)];
+            return order.getDirection() > 0 ? rank : maxRank - rank;
+        }
+
+        private int[] getRanks()
+        {
+            if (ranks == null)
+            {
+                ranks = table.rankValues(column, sortingType::compareValues);
+            }
+            return ranks;
+        }
     }
 
     private enum SortingType
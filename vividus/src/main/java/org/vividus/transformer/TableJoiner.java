@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Joins the rows of two columnar tables by the values of the join columns. The values of the join columns are matched
+ * once per distinct value with a hash lookup built from the distinct values of the right join column. The left table
+ * is split into partitions processed in parallel for large tables. The joint rows are kept as pairs of the row
+ * indexes, so the values are not copied.
+ */
+final class TableJoiner
+{
+    private static final int PARALLEL_THRESHOLD = 50_000;
+    private static final int PARTITION_SIZE = 8_192;
+    private static final int NO_MATCH = -1;
+
+    private final int parallelThreshold;
+    private final int partitionSize;
+
+    TableJoiner()
+    {
+        this(PARALLEL_THRESHOLD, PARTITION_SIZE);
+    }
+
+    TableJoiner(int parallelThreshold, int partitionSize)
+    {
+        this.parallelThreshold = parallelThreshold;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Joins the tables preserving the order of the left table rows and the order of the right table rows matching
+     * the same left row.
+     *
+     * @param left                  The left table
+     * @param leftColumn            The index of the left table join column
+     * @param right                 The right table
+     * @param rightColumn           The index of the right table join column
+     * @param keepUnmatchedLeftRows Whether to keep the left rows having no matching right rows
+     * @return The joint rows, the right row index is <code>-1</code> for the unmatched left rows
+     */
+    JointRows join(ColumnarTable left, int leftColumn, ColumnarTable right, int rightColumn,
+            boolean keepUnmatchedLeftRows)
+    {
+        int[] rightCodes = matchCodes(left, leftColumn, right, rightColumn);
+        RowGroups rightRowGroups = groupRows(right, rightColumn);
+
+        int leftRowCount = left.getRowCount();
+        int partitionCount = Math.max(1, (leftRowCount + partitionSize - 1) / partitionSize);
+        int[] partitionOffsets = new int[partitionCount + 1];
+        partitions(partitionCount, leftRowCount).forEach(partition -> {
+            int size = 0;
+            for (int row = partition * partitionSize, end = partitionEnd(partition, leftRowCount); row < end; row++)
+            {
+                int matches = rightRowGroups.size(rightCodes[left.getCode(row, leftColumn)]);
+                size += matches == 0 && keepUnmatchedLeftRows ? 1 : matches;
+            }
+            partitionOffsets[partition + 1] = size;
+        });
+        Arrays.parallelPrefix(partitionOffsets, Integer::sum);
+
+        int[] leftRows = new int[partitionOffsets[partitionCount]];
+        int[] rightRows = new int[leftRows.length];
+        partitions(partitionCount, leftRowCount).forEach(partition -> {
+            int index = partitionOffsets[partition];
+            for (int row = partition * partitionSize, end = partitionEnd(partition, leftRowCount); row < end; row++)
+            {
+                int rightCode = rightCodes[left.getCode(row, leftColumn)];
+                int matches = rightRowGroups.size(rightCode);
+                if (matches == 0 && keepUnmatchedLeftRows)
+                {
+                    leftRows[index] = row;
+                    rightRows[index++] = NO_MATCH;
+                }
+                for (int i = 0; i < matches; i++)
+                {
+                    leftRows[index] = row;
+                    rightRows[index++] = rightRowGroups.row(rightCode, i);
+                }
+            }
+        });
+        return new JointRows(leftRows, rightRows);
+    }
+
+    private IntStream partitions(int partitionCount, int rowCount)
+    {
+        IntStream partitions = IntStream.range(0, partitionCount);
+        return rowCount >= parallelThreshold ? partitions.parallel() : partitions;
+    }
+
+    private int partitionEnd(int partition, int rowCount)
+    {
+        return Math.min(rowCount, (partition + 1) * partitionSize);
+    }
+
+    private static int[] matchCodes(ColumnarTable left, int leftColumn, ColumnarTable right, int rightColumn)
+    {
+        int rightDictionarySize = right.getDictionarySize(rightColumn);
+        Map<String, Integer> rightCodesByValue = new HashMap<>(rightDictionarySize * 4 / 3 + 1);
+        for (int code = 0; code < rightDictionarySize; code++)
+        {
+            rightCodesByValue.put(right.getDictionaryValue(rightColumn, code), code);
+        }
+        int[] rightCodes = new int[left.getDictionarySize(leftColumn)];
+        for (int code = 0; code < rightCodes.length; code++)
+        {
+            rightCodes[code] = rightCodesByValue.getOrDefault(left.getDictionaryValue(leftColumn, code), NO_MATCH);
+        }
+        return rightCodes;
+    }
+
+    private static RowGroups groupRows(ColumnarTable table, int column)
+    {
+        int[] offsets = new int[table.getDictionarySize(column) + 1];
+        int rowCount = table.getRowCount();
+        for (int row = 0; row < rowCount; row++)
+        {
+            offsets[table.getCode(row, column) + 1]++;
+        }
+        Arrays.parallelPrefix(offsets, Integer::sum);
+        int[] positions = Arrays.copyOf(offsets, offsets.length - 1);
+        int[] rows = new int[rowCount];
+        for (int row = 0; row < rowCount; row++)
+        {
+            rows[positions[table.getCode(row, column)]++] = row;
+        }
+        return new RowGroups(offsets, rows);
+    }
+
+    record JointRows(int[] leftRows, int[] rightRows)
+    {
+        int size()
+        {
+            return leftRows.length;
+        }
+    }
+
+    private record RowGroups(int[] offsets, int[] rows)
+    {
+        int size(int code)
+        {
+            return code == NO_MATCH ? 0 : offsets[code + 1] - offsets[code];
+        }
+
+        int row(int code, int index)
+        {
+            return rows[offsets[code] + index];
+        }
+    }
+}
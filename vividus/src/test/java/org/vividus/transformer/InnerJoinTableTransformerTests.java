@@ -85,11 +85,23 @@ class InnerJoinTableTransformerTests
                 |row13|3|row53|row43|row33|row23|
                 |row13|3|row533|row433|row33|row23|
                 |row133|3|row53|row43|row333|row233|
-                |row133|3|row533|row433|row333|row233|
-                """;
+                |row133|3|row533|row433|row333|row233|""";
         assertInnerJoin(SECOND_TABLE, properties, expectedTable);
     }
 
+    @Test
+    void shouldPassJointTableToNextTransformerWithoutParsing()
+    {
+        Properties properties = createProperties(JOINT_COLUMN, JOINT_COLUMN, PATH_1);
+        mockCreateExamplesTable(PATH_1, FIRST_TABLE);
+        mockCreateExamplesTable(SECOND_TABLE);
+        String jointTable = transform(SECOND_TABLE, properties);
+        var nextTableProperties = new TableProperties(StringUtils.EMPTY, keywords, parameterConverters);
+        ColumnarTable table = ColumnarTables.read(jointTable, null, nextTableProperties);
+        assertEquals(5, table.getRowCount());
+        assertEquals("row533", table.getValue(4, table.getColumnIndex("column5")));
+    }
+
     @Test
     void shouldTransformDifferentJoinColumnNames()
     {
@@ -109,8 +121,7 @@ class InnerJoinTableTransformerTests
                 |row13|3|row53|row43|row33|row23|3|
                 |row13|3|row533|row433|row33|row23|3|
                 |row133|3|row53|row43|row333|row233|3|
-                |row133|3|row533|row433|row333|row233|3|
-                """;
+                |row133|3|row533|row433|row333|row233|3|""";
         assertInnerJoin(table, properties, expectedTable);
     }
 
@@ -180,12 +191,17 @@ class InnerJoinTableTransformerTests
     }
 
     private void assertInnerJoin(String tableBody, Properties properties, String expected)
+    {
+        assertEquals(expected, transform(tableBody, properties));
+    }
+
+    private String transform(String tableBody, Properties properties)
     {
         when(configuration.examplesTableFactory()).thenReturn(factory);
         TableProperties tableProperties = new TableProperties(StringUtils.EMPTY, keywords, parameterConverters);
         tableProperties.getProperties().putAll(properties);
         when(configuration.keywords()).thenReturn(keywords);
-        assertEquals(expected, transformer.transform(tableBody, null, tableProperties));
+        return transformer.transform(tableBody, null, tableProperties);
     }
 
     private Properties createProperties(String rightTableJoinColumn, String leftTableJoinColumn,  String tables)
@@ -73,8 +73,7 @@ class LeftJoinTableTransformerTests
                 |UK|3|200.00|Charlie|102|
                 |Australia|4||David||
                 |Germany|5|250.00|Eva|103|
-                |Germany|5|300.00|Eva|104|
-                """;
+                |Germany|5|300.00|Eva|104|""";
         assertJoin(ORDERS, properties, expectedTable);
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2023 the original author or authors.
+ * Copyright 2019-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -69,6 +69,15 @@ class SortingTableTransformerTests
         assertEquals(expectedTable, transformer.transform(tableToTransform, tableParsers, tableProperties));
     }
 
+    @ParameterizedTest
+    @MethodSource("tableSource")
+    void testTransformWithParallelSort(String expectedTable, String propertiesAsString, String tableToTransform)
+    {
+        transformer.setParallelSortThreshold(1);
+        var tableProperties = new TableProperties(propertiesAsString, keywords, parameterConverters);
+        assertEquals(expectedTable, transformer.transform(tableToTransform, tableParsers, tableProperties));
+    }
+
     @Test
     void testFailOnMissingTableProperty()
     {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.vividus.transformer.TableJoiner.JointRows;
+
+class TableJoinerTests
+{
+    private static final List<String> HEADERS = List.of("key", "value");
+
+    private final ColumnarTable left = ColumnarTable.of(HEADERS, List.of(
+            List.of("1", "a"),
+            List.of("2", "b"),
+            List.of("3", "c"),
+            List.of("1", "d")
+    ));
+    private final ColumnarTable right = ColumnarTable.of(HEADERS, List.of(
+            List.of("3", "x"),
+            List.of("1", "y"),
+            List.of("4", "z"),
+            List.of("1", "w")
+    ));
+
+    static Stream<TableJoiner> tableJoiners()
+    {
+        return Stream.of(
+                new TableJoiner(),
+                new TableJoiner(Integer.MAX_VALUE, 2),
+                new TableJoiner(0, 1),
+                new TableJoiner(0, 3)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("tableJoiners")
+    void shouldJoinMatchingRows(TableJoiner tableJoiner)
+    {
+        JointRows jointRows = tableJoiner.join(left, 0, right, 0, false);
+        assertArrayEquals(new int[] { 0, 0, 2, 3, 3 }, jointRows.leftRows());
+        assertArrayEquals(new int[] { 1, 3, 0, 1, 3 }, jointRows.rightRows());
+    }
+
+    @ParameterizedTest
+    @MethodSource("tableJoiners")
+    void shouldKeepUnmatchedLeftRows(TableJoiner tableJoiner)
+    {
+        JointRows jointRows = tableJoiner.join(left, 0, right, 0, true);
+        assertArrayEquals(new int[] { 0, 0, 1, 2, 3, 3 }, jointRows.leftRows());
+        assertArrayEquals(new int[] { 1, 3, -1, 0, 1, 3 }, jointRows.rightRows());
+    }
+
+    @ParameterizedTest
+    @MethodSource("tableJoiners")
+    void shouldJoinRowSelections(TableJoiner tableJoiner)
+    {
+        JointRows jointRows = tableJoiner.join(left.selectRows(new int[] { 3, 1 }), 0,
+                right.selectRows(new int[] { 2, 3 }), 0, false);
+        assertArrayEquals(new int[] { 0 }, jointRows.leftRows());
+        assertArrayEquals(new int[] { 1 }, jointRows.rightRows());
+    }
+}